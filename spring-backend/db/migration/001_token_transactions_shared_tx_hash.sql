@@ -0,0 +1,29 @@
+-- All exchanges aggregated into one GovernanceToken.batchMint share its transaction hash,
+-- so token_transactions.tx_hash can no longer be unique.
+-- Hibernate generated the unique constraint with a random name, so it is looked up in the catalog.
+
+DO $$
+DECLARE
+    unique_index RECORD;
+BEGIN
+    FOR unique_index IN
+        SELECT idx.indexrelid::regclass AS index_name, con.conname AS constraint_name
+        FROM pg_index idx
+        JOIN pg_attribute att ON att.attrelid = idx.indrelid AND att.attnum = idx.indkey[0]
+        LEFT JOIN pg_constraint con ON con.conindid = idx.indexrelid AND con.contype = 'u'
+        WHERE idx.indrelid = 'token_transactions'::regclass
+          AND idx.indisunique
+          AND NOT idx.indisprimary
+          AND idx.indnatts = 1
+          AND att.attname = 'tx_hash'
+    LOOP
+        IF unique_index.constraint_name IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE token_transactions DROP CONSTRAINT %I', unique_index.constraint_name);
+        ELSE
+            EXECUTE format('DROP INDEX %s', unique_index.index_name);
+        END IF;
+    END LOOP;
+END $$;
+
+-- Lookups by hash (receipt handling) keep a plain index
+CREATE INDEX IF NOT EXISTS idx_token_tx_hash ON token_transactions (tx_hash);
@@ -0,0 +1,25 @@
+-- Transactional outbox for on-chain operations (BlockchainOutboxMessage), plus the signed
+-- transaction kept on each exchange so a dropped or never sent mint can be re-broadcast.
+
+CREATE TABLE IF NOT EXISTS blockchain_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    operation_type VARCHAR(32) NOT NULL,
+    aggregate_id INTEGER NOT NULL,
+    user_google_id VARCHAR(255),
+    target_address VARCHAR(42),
+    amount_wei VARCHAR(78),
+    reason TEXT,
+    status VARCHAR(16) NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    tx_hash VARCHAR(66),
+    last_error TEXT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    completed_at TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_status_next ON blockchain_outbox (status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_outbox_aggregate ON blockchain_outbox (operation_type, aggregate_id);
+
+ALTER TABLE token_transactions ADD COLUMN IF NOT EXISTS signed_tx TEXT;
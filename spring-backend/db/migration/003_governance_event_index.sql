@@ -0,0 +1,27 @@
+-- Governance event index (GovernanceEventLog) and the block checkpoint it resumes from (IndexerCheckpoint).
+
+CREATE TABLE IF NOT EXISTS governance_event_logs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type VARCHAR(32) NOT NULL,
+    block_number BIGINT NOT NULL,
+    tx_hash VARCHAR(66) NOT NULL,
+    log_index INTEGER NOT NULL,
+    proposal_id INTEGER,
+    account VARCHAR(42),
+    support BOOLEAN,
+    amount_wei VARCHAR(78),
+    deadline_epoch BIGINT,
+    data TEXT,
+    indexed_at TIMESTAMP(6),
+    CONSTRAINT uk_governance_event_logs_tx_log UNIQUE (tx_hash, log_index)
+);
+
+CREATE INDEX IF NOT EXISTS idx_governance_event_logs_type_proposal ON governance_event_logs (event_type, proposal_id);
+CREATE INDEX IF NOT EXISTS idx_governance_event_logs_account ON governance_event_logs (account);
+CREATE INDEX IF NOT EXISTS idx_governance_event_logs_block ON governance_event_logs (block_number);
+
+CREATE TABLE IF NOT EXISTS indexer_checkpoints (
+    name VARCHAR(64) PRIMARY KEY,
+    last_block BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,15 @@
+-- Proposal ID reservations (ProposalIdReservation) shared by all backend nodes through ProposalIdAllocator.
+
+CREATE TABLE IF NOT EXISTS proposal_id_reservations (
+    proposal_id INTEGER PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    reserved_by VARCHAR(128) NOT NULL,
+    reserved_at TIMESTAMP(6) NOT NULL,
+    lease_expires_at TIMESTAMP(6) NOT NULL,
+    chain_proposal_id INTEGER,
+    tx_hash VARCHAR(66),
+    last_error TEXT,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_proposal_id_reservations_status ON proposal_id_reservations (status, lease_expires_at);
@@ -0,0 +1,3 @@
+-- Marker for exchanges whose points were restored after a failed mint (TokenTransaction.compensatedAt).
+
+ALTER TABLE token_transactions ADD COLUMN IF NOT EXISTS compensated_at TIMESTAMP(6);
@@ -0,0 +1,69 @@
+package com.blooming.blockchain.springbackend.zksync.cassette;
+
+import com.blooming.blockchain.springbackend.global.enums.CassetteLatencyType;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceCalldataEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.request.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport overhead of a replayed eth_call / eth_blockNumber through the shared Web3j client
+ * - the floor that offline benchmark runs of the zkSync services sit on
+ * Run with ./gradlew jmh (the gc profiler reports allocation per operation)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CassetteReplayBenchmark {
+
+    private static final String TOKEN = "0x21341e1672ee0a7ddadb5d7bff72f93c8e81ef3e";
+    private static final String CALLER = "0x00000000000000000000000000000000000000aa";
+
+    private final String getProposalData = GovernanceCalldataEncoder.getProposal(1);
+    private Path cassette;
+    private Web3j web3j;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        cassette = Files.createTempFile("replay-benchmark", ".cassette");
+        String callKey = "eth_call [{\"from\":\"" + CALLER + "\",\"to\":\"" + TOKEN + "\",\"data\":\""
+            + getProposalData + "\"},\"latest\"]";
+        try (CassetteWriter writer = new CassetteWriter(cassette)) {
+            writer.append("eth_blockNumber []", "{\"result\":\"0x1b4\"}".getBytes(StandardCharsets.UTF_8), 0);
+            writer.append(callKey, ("{\"result\":\"0x" + "0".repeat(64 * 10) + "\"}").getBytes(StandardCharsets.UTF_8), 0);
+        }
+        web3j = Web3j.build(new CassetteReplayGateway(cassette,
+            new CassetteReplayGateway.Settings(CassetteLatencyType.NONE, 0, 0, false)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        web3j.shutdown();
+        Files.deleteIfExists(cassette);
+    }
+
+    @Benchmark
+    public Object blockNumber() throws Exception {
+        return web3j.ethBlockNumber().send().getBlockNumber();
+    }
+
+    @Benchmark
+    public Object getProposalCall() throws Exception {
+        return web3j.ethCall(Transaction.createEthCallTransaction(CALLER, TOKEN, getProposalData),
+            DefaultBlockParameterName.LATEST).send().getValue();
+    }
+}
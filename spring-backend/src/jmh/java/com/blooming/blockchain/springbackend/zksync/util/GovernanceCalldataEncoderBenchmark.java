@@ -0,0 +1,125 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GovernanceCalldataEncoder vs web3j Function + FunctionEncoder for the hot governance calls
+ * Run with ./gradlew jmh (the gc profiler reports allocation per operation)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GovernanceCalldataEncoderBenchmark {
+
+    private static final String WALLET = "0x2c7536E3605D9C16a7a3D7b1898e529396a65c23";
+    private static final String REASON = "포인트 교환 - exchange of 1000 points";
+    private static final String DESCRIPTION = "예산 집행 안건: 커뮤니티 이벤트 보상 풀을 두 배로 늘립니다";
+
+    private final BigInteger amount = new BigInteger("1000000000000000000000");
+    private final BigInteger deadline = BigInteger.valueOf(1_767_225_600L);
+    private final List<String> batchRecipients = new ArrayList<>();
+    private final List<BigInteger> batchAmounts = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < 50; i++) {
+            batchRecipients.add(String.format("0x%040x", i + 1));
+            batchAmounts.add(amount.add(BigInteger.valueOf(i)));
+        }
+    }
+
+    @Benchmark
+    public String voteWeb3j() {
+        return FunctionEncoder.encode(new Function(
+            "vote",
+            Arrays.asList(new Uint256(BigInteger.valueOf(42)), new Bool(true)),
+            Collections.emptyList()));
+    }
+
+    @Benchmark
+    public String voteEncoder() {
+        return GovernanceCalldataEncoder.vote(42, true);
+    }
+
+    @Benchmark
+    public String mintForExchangeWeb3j() {
+        return FunctionEncoder.encode(new Function(
+            "mintForExchange",
+            Arrays.asList(new Address(WALLET), new Uint256(amount), new Utf8String(REASON)),
+            Collections.emptyList()));
+    }
+
+    @Benchmark
+    public String mintForExchangeEncoder() {
+        return GovernanceCalldataEncoder.mintForExchange(WALLET, amount, REASON);
+    }
+
+    @Benchmark
+    public String batchMint50Web3j() {
+        List<Address> recipients = new ArrayList<>(batchRecipients.size());
+        List<Uint256> amounts = new ArrayList<>(batchAmounts.size());
+        for (int i = 0; i < batchRecipients.size(); i++) {
+            recipients.add(new Address(batchRecipients.get(i)));
+            amounts.add(new Uint256(batchAmounts.get(i)));
+        }
+        return FunctionEncoder.encode(new Function(
+            "batchMint",
+            Arrays.asList(
+                new DynamicArray<>(Address.class, recipients),
+                new DynamicArray<>(Uint256.class, amounts),
+                new Utf8String(REASON)),
+            Collections.emptyList()));
+    }
+
+    @Benchmark
+    public String batchMint50Encoder() {
+        return GovernanceCalldataEncoder.batchMint(batchRecipients, batchAmounts, REASON);
+    }
+
+    @Benchmark
+    public String createProposalWeb3j() {
+        return FunctionEncoder.encode(new Function(
+            "createProposal",
+            Arrays.asList(new Utf8String(DESCRIPTION), new Uint256(deadline)),
+            Collections.singletonList(new TypeReference<Uint256>() {})));
+    }
+
+    @Benchmark
+    public String createProposalEncoder() {
+        return GovernanceCalldataEncoder.createProposal(DESCRIPTION, deadline);
+    }
+
+    @Benchmark
+    public String balanceOfWeb3j() {
+        return FunctionEncoder.encode(new Function(
+            "balanceOf",
+            Collections.singletonList(new Address(WALLET)),
+            Collections.singletonList(new TypeReference<Uint256>() {})));
+    }
+
+    @Benchmark
+    public String balanceOfEncoder() {
+        return GovernanceCalldataEncoder.balanceOf(WALLET);
+    }
+}
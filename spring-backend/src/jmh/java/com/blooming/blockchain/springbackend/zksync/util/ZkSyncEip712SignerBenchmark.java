@@ -0,0 +1,57 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-transaction cost of signing a gasless vote as a type 113 (EIP-712) transaction,
+ * with the legacy web3j signing path that was used before as a baseline
+ * Run with ./gradlew jmh (the gc profiler reports allocation per operation)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ZkSyncEip712SignerBenchmark {
+
+    private static final String TOKEN = "0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e";
+    private static final String PAYMASTER = "0x8F3D9b1C04A4D26e0E6C3b3e1A8E3f6b2D1c0A9e";
+
+    private final Credentials credentials =
+        Credentials.create("0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318");
+    private final ZkSyncEip712Signer signer = new ZkSyncEip712Signer(300);
+    private final String voteData = GovernanceCalldataEncoder.vote(42, true);
+    private final BigInteger nonce = BigInteger.valueOf(7);
+    private final BigInteger gasLimit = BigInteger.valueOf(300_000);
+    private final BigInteger gasPrice = BigInteger.valueOf(25_000_000);
+
+    private final ZkSyncEip712Signer.Transaction vote = new ZkSyncEip712Signer.Transaction(
+        credentials.getAddress(), TOKEN, nonce, gasLimit, gasPrice, BigInteger.ZERO, BigInteger.ZERO,
+        voteData, ZkSyncEip712Signer.DEFAULT_GAS_PER_PUBDATA, PAYMASTER, ZkSyncEip712Signer.GENERAL_FLOW_INPUT);
+
+    @Benchmark
+    public byte[] eip712SigningHash() {
+        return signer.signingHash(vote);
+    }
+
+    @Benchmark
+    public String eip712Sign() {
+        return signer.sign(credentials, vote);
+    }
+
+    @Benchmark
+    public byte[] legacySign() {
+        RawTransaction rawTransaction = RawTransaction.createTransaction(
+            nonce, gasPrice, gasLimit, TOKEN, BigInteger.ZERO, voteData);
+        return TransactionEncoder.signMessage(rawTransaction, 300L, credentials);
+    }
+}
@@ -2,8 +2,10 @@ package com.blooming.blockchain.springbackend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SpringBackendApplication {
 
     public static void main(String[] args) {
@@ -4,14 +4,20 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.util.List;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -21,6 +27,9 @@ public class SecurityConfig {
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
     private final CorsConfigurationSource corsConfigurationSource;
 
+    @Value("${app.management.prometheus-allowed-cidrs:127.0.0.1/32,::1/128}")
+    private List<String> prometheusAllowedCidrs;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -53,9 +62,13 @@ public class SecurityConfig {
                     "/api/votes/**",          // Allow public access to all voting endpoints
                     "/public/**",
                     "/actuator/health",
+                    "/actuator/health/**",  // Liveness/readiness probes
                     "/h2-console/**",
                     "/error"
                 ).permitAll()
+
+                // Metrics scrape - only from the monitoring network, never public
+                .requestMatchers("/actuator/prometheus").access(fromScrapeNetwork())
                 
                 // Protected endpoints (authentication required)
                 .requestMatchers("/api/**").authenticated()
@@ -96,4 +109,13 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    private AuthorizationManager<RequestAuthorizationContext> fromScrapeNetwork() {
+        List<IpAddressMatcher> allowed = prometheusAllowedCidrs.stream()
+            .map(String::trim)
+            .map(IpAddressMatcher::new)
+            .toList();
+        return (authentication, context) -> new AuthorizationDecision(
+            allowed.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+    }
 }
\ No newline at end of file
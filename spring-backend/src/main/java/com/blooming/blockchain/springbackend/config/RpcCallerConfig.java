@@ -0,0 +1,36 @@
+package com.blooming.blockchain.springbackend.config;
+
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Names the handling controller as the RPC caller for the duration of an API request,
+ * so zksync.rpc.requests metrics can be split by controller
+ */
+@Configuration
+public class RpcCallerConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (handler instanceof HandlerMethod handlerMethod) {
+                    RpcRateLimiter.setCaller(handlerMethod.getBeanType().getSimpleName());
+                }
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                RpcRateLimiter.clearCaller();
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
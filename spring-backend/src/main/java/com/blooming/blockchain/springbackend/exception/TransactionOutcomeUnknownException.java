@@ -0,0 +1,22 @@
+package com.blooming.blockchain.springbackend.exception;
+
+import java.io.IOException;
+
+/**
+ * Exception for a signed transaction whose send failed after it may have reached the node
+ * (connection dropped, response timeout). The transaction may still be mined, so callers
+ * must check its receipt instead of sending it again.
+ */
+public class TransactionOutcomeUnknownException extends IOException {
+
+    private final String txHash;
+
+    public TransactionOutcomeUnknownException(String txHash, Throwable cause) {
+        super("Outcome of transaction " + txHash + " is unknown: " + cause.getMessage(), cause);
+        this.txHash = txHash;
+    }
+
+    public String getTxHash() {
+        return txHash;
+    }
+}
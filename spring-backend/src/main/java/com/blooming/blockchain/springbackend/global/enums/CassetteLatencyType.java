@@ -0,0 +1,22 @@
+package com.blooming.blockchain.springbackend.global.enums;
+
+/**
+ * Synthetic latency applied when replaying a JSON-RPC cassette
+ */
+public enum CassetteLatencyType {
+
+    /**
+     * Respond immediately (pure CPU cost of the code under test)
+     */
+    NONE,
+
+    /**
+     * Sleep for the latency observed while recording each call
+     */
+    RECORDED,
+
+    /**
+     * Fixed latency plus uniform random jitter
+     */
+    FIXED
+}
@@ -0,0 +1,27 @@
+package com.blooming.blockchain.springbackend.global.enums;
+
+/**
+ * GovernanceToken contract events tracked by the governance event indexer
+ */
+public enum GovernanceEventType {
+
+    /**
+     * ProposalCreated(uint256 indexed proposalId, address indexed proposer, string description, uint256 deadline)
+     */
+    PROPOSAL_CREATED,
+
+    /**
+     * VoteCast(uint256 indexed proposalId, address indexed voter, bool support, uint256 weight)
+     */
+    VOTE_CAST,
+
+    /**
+     * ProposalExecuted(uint256 indexed proposalId)
+     */
+    PROPOSAL_EXECUTED,
+
+    /**
+     * TokensMinted(address indexed to, uint256 amount, string reason) - to = 0x0 for batchMint
+     */
+    TOKENS_MINTED
+}
@@ -0,0 +1,12 @@
+package com.blooming.blockchain.springbackend.global.enums;
+
+/**
+ * On-chain operations that are dispatched through the blockchain outbox
+ */
+public enum OutboxOperationType {
+
+    /**
+     * Governance token mint for a points-to-token exchange (aggregate = TokenTransaction id)
+     */
+    EXCHANGE_MINT
+}
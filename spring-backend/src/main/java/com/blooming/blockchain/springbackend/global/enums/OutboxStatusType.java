@@ -0,0 +1,24 @@
+package com.blooming.blockchain.springbackend.global.enums;
+
+/**
+ * Lifecycle of a blockchain outbox message
+ *
+ * PENDING → IN_FLIGHT → COMPLETED
+ *               ↓
+ *         PENDING (retry with backoff) → ... → DEAD_LETTER
+ */
+public enum OutboxStatusType {
+
+    PENDING,
+    IN_FLIGHT,
+    COMPLETED,
+    DEAD_LETTER;
+
+    /**
+     * Check if no further dispatch will happen for this message
+     * @return true if completed or dead-lettered
+     */
+    public boolean isFinal() {
+        return this == COMPLETED || this == DEAD_LETTER;
+    }
+}
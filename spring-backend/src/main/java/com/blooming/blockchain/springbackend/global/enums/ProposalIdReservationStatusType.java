@@ -0,0 +1,15 @@
+package com.blooming.blockchain.springbackend.global.enums;
+
+/**
+ * Lifecycle of a proposal ID reservation
+ *
+ * RESERVED → CONFIRMED (proposal created on-chain and saved)
+ *     ↓
+ * ABANDONED (creation failed or the lease expired) → RESERVED again by any node
+ */
+public enum ProposalIdReservationStatusType {
+
+    RESERVED,
+    CONFIRMED,
+    ABANDONED
+}
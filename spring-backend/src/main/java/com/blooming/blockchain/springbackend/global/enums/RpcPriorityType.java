@@ -0,0 +1,22 @@
+package com.blooming.blockchain.springbackend.global.enums;
+
+/**
+ * Priority lanes of the zkSync RPC rate limiter, highest first
+ */
+public enum RpcPriorityType {
+
+    /**
+     * Transactions sent on behalf of a user request (and their nonce reads)
+     */
+    USER_WRITE,
+
+    /**
+     * Reads serving a user request (balances, proposal state, wallet creation)
+     */
+    USER_READ,
+
+    /**
+     * Scheduled jobs: head polling, paymaster monitor, event indexer, outbox
+     */
+    BACKGROUND
+}
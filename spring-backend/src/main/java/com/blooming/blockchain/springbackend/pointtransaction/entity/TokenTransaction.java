@@ -37,8 +37,11 @@ public class TokenTransaction {
     @Min(1)
     private Long tokensReceived; // Using long to match UserPointToken.tokenBalance
 
-    @Column(name = "tx_hash", unique = true, length = 66)
-    private String txHash; // zkSync transaction hash
+    @Column(name = "tx_hash", length = 66)
+    private String txHash; // zkSync transaction hash (shared by all rows of one batchMint)
+
+    @Column(name = "signed_tx", columnDefinition = "TEXT")
+    private String signedTx; // Raw signed transaction behind txHash, re-broadcast if the node never got it
 
     @Column(name = "transaction_status_id", nullable = false)
     private Byte transactionStatusId = TransactionStatusType.PENDING.getId(); // Default to PENDING
@@ -60,6 +63,8 @@ public class TokenTransaction {
 
     private LocalDateTime confirmedAt;
 
+    private LocalDateTime compensatedAt; // Set once, when the points of a failed mint were restored
+
     // Constructor for creating token transactions
     public TokenTransaction(String userGoogleId, Integer mainPointsSpent, Long tokensReceived, String description) {
         this.userGoogleId = userGoogleId;
@@ -92,6 +97,12 @@ public class TokenTransaction {
         this.confirmedAt = LocalDateTime.now();
     }
 
+    // Helper method to record the submitted (not yet confirmed) blockchain transaction
+    public void attachTxHash(String txHash, String signedTx) {
+        this.txHash = txHash;
+        this.signedTx = signedTx;
+    }
+
     // Helper method to fail transaction
     public void failTransaction() {
         this.transactionStatusId = TransactionStatusType.FAILED.getId();
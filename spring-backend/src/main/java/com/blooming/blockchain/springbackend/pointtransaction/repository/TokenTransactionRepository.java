@@ -2,10 +2,12 @@ package com.blooming.blockchain.springbackend.pointtransaction.repository;
 
 import com.blooming.blockchain.springbackend.pointtransaction.entity.TokenTransaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,4 +34,10 @@ public interface TokenTransactionRepository extends JpaRepository<TokenTransacti
     
     @Query("SELECT COALESCE(SUM(t.tokensReceived), 0) FROM TokenTransaction t WHERE t.userGoogleId = :userGoogleId AND t.transactionStatusId = 2")
     Long getTotalTokensReceivedByUser(@Param("userGoogleId") String userGoogleId);
+
+    // Fail and mark compensated in one step - only the first caller of an unconfirmed transaction gets a row
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE TokenTransaction t SET t.transactionStatusId = 3, t.compensatedAt = :now, t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.transactionStatusId <> 2 AND t.compensatedAt IS NULL")
+    int markCompensated(@Param("id") Integer id, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
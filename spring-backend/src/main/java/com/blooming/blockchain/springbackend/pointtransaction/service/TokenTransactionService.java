@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -83,6 +85,90 @@ public class TokenTransactionService {
         }
     }
 
+    /**
+     * Fail a transaction whose points are being restored, at most once
+     * Joins the caller's transaction so the marker commits together with the refund
+     * @return true if this call claimed the compensation, false if it was confirmed or already compensated
+     */
+    public boolean markCompensated(Integer transactionId) {
+        return tokenTransactionRepository.markCompensated(transactionId, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Record the submitted batch transaction (hash and signed raw transaction) on every transaction in the batch
+     * @return number of transactions updated
+     */
+    public int attachTxHash(List<Integer> transactionIds, String txHash, String signedTx) {
+        List<TokenTransaction> transactions = tokenTransactionRepository.findAllById(transactionIds);
+        transactions.forEach(transaction -> transaction.attachTxHash(txHash, signedTx));
+        tokenTransactionRepository.saveAll(transactions);
+
+        log.info("Attached TX Hash {} to {} token transactions", txHash, transactions.size());
+        return transactions.size();
+    }
+
+    /**
+     * Clear the hash of a batch transaction the node rejected or dropped, so the mints can be sent again
+     * @return number of transactions updated
+     */
+    public int detachTxHash(List<Integer> transactionIds, String txHash) {
+        List<TokenTransaction> transactions = tokenTransactionRepository.findAllById(transactionIds);
+        List<TokenTransaction> detached = transactions.stream()
+            .filter(transaction -> transaction.isPending() && txHash.equals(transaction.getTxHash()))
+            .toList();
+        detached.forEach(transaction -> transaction.attachTxHash(null, null));
+        tokenTransactionRepository.saveAll(detached);
+
+        log.info("Detached rejected TX Hash {} from {} token transactions", txHash, detached.size());
+        return detached.size();
+    }
+
+    /**
+     * Confirm every transaction minted by one batch transaction
+     * @return number of transactions confirmed
+     */
+    public int confirmTokenTransactions(List<Integer> transactionIds, String txHash) {
+        List<TokenTransaction> transactions = tokenTransactionRepository.findAllById(transactionIds);
+        transactions.stream()
+            .filter(TokenTransaction::isPending)
+            .forEach(transaction -> transaction.confirmTransaction(txHash));
+        tokenTransactionRepository.saveAll(transactions);
+
+        log.info("Confirmed {} token transactions - TX Hash: {}", transactions.size(), txHash);
+        return transactions.size();
+    }
+
+    /**
+     * Fail every transaction of a reverted or rejected batch
+     * @return number of transactions failed
+     */
+    public int failTokenTransactions(List<Integer> transactionIds) {
+        List<TokenTransaction> transactions = tokenTransactionRepository.findAllById(transactionIds);
+        transactions.stream()
+            .filter(TokenTransaction::isPending)
+            .forEach(TokenTransaction::failTransaction);
+        tokenTransactionRepository.saveAll(transactions);
+
+        log.info("Failed {} token transactions", transactions.size());
+        return transactions.size();
+    }
+
+    /**
+     * Get a single token transaction
+     */
+    @Transactional(readOnly = true)
+    public Optional<TokenTransaction> getTokenTransaction(Integer transactionId) {
+        return tokenTransactionRepository.findById(transactionId);
+    }
+
+    /**
+     * Get several token transactions in one query
+     */
+    @Transactional(readOnly = true)
+    public List<TokenTransaction> getTokenTransactions(Collection<Integer> transactionIds) {
+        return tokenTransactionRepository.findAllById(transactionIds);
+    }
+
     /**
      * Get user's token transaction history
      */
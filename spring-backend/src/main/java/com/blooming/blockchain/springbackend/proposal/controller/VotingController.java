@@ -5,6 +5,7 @@ import com.blooming.blockchain.springbackend.proposal.dto.VoteResponse;
 import com.blooming.blockchain.springbackend.proposal.dto.TransactionData;
 import com.blooming.blockchain.springbackend.proposal.entity.UserVote;
 import com.blooming.blockchain.springbackend.proposal.service.VotingService;
+import com.blooming.blockchain.springbackend.zksync.service.PaymasterMonitor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +29,7 @@ import java.time.LocalDateTime;
 public class VotingController {
 
     private final VotingService votingService;
+    private final PaymasterMonitor paymasterMonitor;
 
     /**
      * 새로운 투표 실행 (스마트 컨트랙트 통합)
@@ -229,34 +231,43 @@ public class VotingController {
 
     /**
      * Health check endpoint for paymaster service
-     * Verifies that the zkSync Era paymaster service is available and working
+     * Answered from the PaymasterMonitor snapshot, so probes never hit the RPC node.
+     * 503 until the first balance sample, or while the paymaster is below its minimum balance.
      */
     @GetMapping("/paymaster-health")
     public ResponseEntity<Map<String, Object>> checkPaymasterHealth() {
-        log.info("Checking paymaster service health...");
-        
-        try {
-            // Get paymaster service info
-            String paymasterInfo = votingService.getPaymasterServiceInfo();
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "healthy");
-            response.put("timestamp", LocalDateTime.now());
-            response.put("paymasterInfo", paymasterInfo);
-            
-            log.info("Paymaster service health check successful");
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            log.error("Paymaster service health check failed: {}", e.getMessage(), e);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "unhealthy");
-            response.put("timestamp", LocalDateTime.now());
-            response.put("error", e.getMessage());
-            
+        PaymasterMonitor.Snapshot snapshot = paymasterMonitor.getSnapshot();
+
+        String status;
+        if (!snapshot.isAvailable() || !snapshot.funded()) {
+            status = "unhealthy";
+        } else if (snapshot.stale()) {
+            status = "degraded";
+        } else {
+            status = "healthy";
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", status);
+        response.put("timestamp", LocalDateTime.now());
+        response.put("paymasterInfo", votingService.getPaymasterServiceInfo());
+        response.put("paymasterAddress", snapshot.address());
+        response.put("funded", snapshot.funded());
+        response.put("stale", snapshot.stale());
+        if (snapshot.isAvailable()) {
+            response.put("balance", snapshot.balance().toString());
+            response.put("updatedAt", snapshot.updatedAt());
+            response.put("burnRateWeiPerHour", snapshot.burnRateWeiPerHour().toString());
+            if (snapshot.timeToEmpty() != null) {
+                response.put("secondsToEmpty", snapshot.timeToEmpty().toSeconds());
+            }
+        }
+
+        if ("unhealthy".equals(status)) {
+            log.warn("Paymaster health check failed - Available: {}, Funded: {}", snapshot.isAvailable(), snapshot.funded());
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         }
+        return ResponseEntity.ok(response);
     }
 
     /**
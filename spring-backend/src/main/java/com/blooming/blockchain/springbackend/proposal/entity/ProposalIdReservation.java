@@ -0,0 +1,73 @@
+package com.blooming.blockchain.springbackend.proposal.entity;
+
+import com.blooming.blockchain.springbackend.global.enums.ProposalIdReservationStatusType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proposal ID reserved by one backend node for a proposal it is creating
+ * The primary key is the predicted proposal ID, so two nodes can never hold the same
+ * ID: a reservation is an INSERT that only one of them wins (or a conditional take-over
+ * of an abandoned/expired row). The GovernanceToken contract assigns the real ID, which
+ * is stored as chainProposalId on confirmation. A reservation that is still RESERVED
+ * with a txHash has a createProposal transaction whose outcome is unknown.
+ */
+@Entity
+@Table(name = "proposal_id_reservations", indexes = {
+    @Index(name = "idx_proposal_id_reservations_status", columnList = "status, lease_expires_at")
+})
+@Getter
+@NoArgsConstructor
+public class ProposalIdReservation {
+
+    @Id
+    @Column(name = "proposal_id")
+    private Integer proposalId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private ProposalIdReservationStatusType status;
+
+    @Column(name = "reserved_by", nullable = false, length = 128)
+    private String reservedBy; // pid@host of the reserving node
+
+    @Column(name = "reserved_at", nullable = false)
+    private LocalDateTime reservedAt;
+
+    @Column(name = "lease_expires_at", nullable = false)
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "chain_proposal_id")
+    private Integer chainProposalId;
+
+    @Column(name = "tx_hash", length = 66)
+    private String txHash;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public ProposalIdReservation(Integer proposalId, ProposalIdReservationStatusType status,
+                                 String reservedBy, LocalDateTime leaseExpiresAt) {
+        this.proposalId = proposalId;
+        this.status = status;
+        this.reservedBy = reservedBy;
+        this.reservedAt = LocalDateTime.now();
+        this.leaseExpiresAt = leaseExpiresAt;
+        this.updatedAt = this.reservedAt;
+    }
+
+    /**
+     * Whether another reservation may take this ID over
+     * @return true if abandoned, or still reserved after its lease expired without a transaction sent
+     */
+    public boolean isReusable(LocalDateTime now) {
+        return status == ProposalIdReservationStatusType.ABANDONED
+            || (status == ProposalIdReservationStatusType.RESERVED && leaseExpiresAt.isBefore(now) && txHash == null);
+    }
+}
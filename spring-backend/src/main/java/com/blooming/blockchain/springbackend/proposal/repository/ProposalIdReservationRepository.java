@@ -0,0 +1,93 @@
+package com.blooming.blockchain.springbackend.proposal.repository;
+
+import com.blooming.blockchain.springbackend.global.enums.ProposalIdReservationStatusType;
+import com.blooming.blockchain.springbackend.proposal.entity.ProposalIdReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProposalIdReservationRepository extends JpaRepository<ProposalIdReservation, Integer> {
+
+    // Reserve a free ID - plain INSERT so a concurrent reservation of the same ID fails on the primary key
+    // (save() would merge into the other node's row)
+    @Modifying
+    @Query(value = "INSERT INTO proposal_id_reservations (proposal_id, status, reserved_by, reserved_at, lease_expires_at, updated_at) " +
+                   "VALUES (:proposalId, 'RESERVED', :reservedBy, :now, :leaseExpiresAt, :now)", nativeQuery = true)
+    int insertReservation(@Param("proposalId") Integer proposalId,
+                          @Param("reservedBy") String reservedBy,
+                          @Param("now") LocalDateTime now,
+                          @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // Take over an abandoned or expired reservation - only succeeds for one node
+    // (a reservation with a sent transaction is never taken over, whatever its lease)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProposalIdReservation r SET r.status = :reserved, r.reservedBy = :reservedBy, r.reservedAt = :now, " +
+           "r.leaseExpiresAt = :leaseExpiresAt, r.chainProposalId = null, r.txHash = null, r.lastError = null, r.updatedAt = :now " +
+           "WHERE r.proposalId = :proposalId AND (r.status = :abandoned " +
+           "OR (r.status = :reserved AND r.leaseExpiresAt < :now AND r.txHash IS NULL))")
+    int takeOver(@Param("proposalId") Integer proposalId,
+                 @Param("reservedBy") String reservedBy,
+                 @Param("reserved") ProposalIdReservationStatusType reserved,
+                 @Param("abandoned") ProposalIdReservationStatusType abandoned,
+                 @Param("now") LocalDateTime now,
+                 @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // Record the on-chain result of this node's reservation
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProposalIdReservation r SET r.status = :confirmed, r.chainProposalId = :chainProposalId, r.txHash = :txHash, " +
+           "r.lastError = null, r.updatedAt = :now " +
+           "WHERE r.proposalId = :proposalId AND r.reservedBy = :reservedBy AND r.status = :reserved")
+    int confirm(@Param("proposalId") Integer proposalId,
+                @Param("reservedBy") String reservedBy,
+                @Param("chainProposalId") Integer chainProposalId,
+                @Param("txHash") String txHash,
+                @Param("reserved") ProposalIdReservationStatusType reserved,
+                @Param("confirmed") ProposalIdReservationStatusType confirmed,
+                @Param("now") LocalDateTime now);
+
+    // Keep a reservation whose transaction was sent but not confirmed - reconcile() settles it later
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProposalIdReservation r SET r.txHash = :txHash, r.lastError = :error, r.updatedAt = :now " +
+           "WHERE r.proposalId = :proposalId AND r.reservedBy = :reservedBy AND r.status = :reserved")
+    int markPending(@Param("proposalId") Integer proposalId,
+                    @Param("reservedBy") String reservedBy,
+                    @Param("txHash") String txHash,
+                    @Param("error") String error,
+                    @Param("reserved") ProposalIdReservationStatusType reserved,
+                    @Param("now") LocalDateTime now);
+
+    // Release this node's reservation after a failed creation
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProposalIdReservation r SET r.status = :abandoned, r.lastError = :error, r.updatedAt = :now " +
+           "WHERE r.proposalId = :proposalId AND r.reservedBy = :reservedBy AND r.status = :reserved")
+    int abandon(@Param("proposalId") Integer proposalId,
+                @Param("reservedBy") String reservedBy,
+                @Param("error") String error,
+                @Param("reserved") ProposalIdReservationStatusType reserved,
+                @Param("abandoned") ProposalIdReservationStatusType abandoned,
+                @Param("now") LocalDateTime now);
+
+    // Abandon reservations whose node died (or hung) before sending the transaction
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProposalIdReservation r SET r.status = :abandoned, r.lastError = 'lease expired', r.updatedAt = :now " +
+           "WHERE r.status = :reserved AND r.leaseExpiresAt < :now AND r.txHash IS NULL")
+    int expireStale(@Param("reserved") ProposalIdReservationStatusType reserved,
+                    @Param("abandoned") ProposalIdReservationStatusType abandoned,
+                    @Param("now") LocalDateTime now);
+
+    // Reservations whose transaction was sent but not confirmed yet
+    List<ProposalIdReservation> findByStatusAndTxHashIsNotNull(ProposalIdReservationStatusType status);
+
+    // Highest proposal ID the contract assigned to a confirmed reservation (null if none)
+    @Query("SELECT MAX(r.chainProposalId) FROM ProposalIdReservation r WHERE r.status = :confirmed")
+    Integer findMaxChainProposalId(@Param("confirmed") ProposalIdReservationStatusType confirmed);
+
+    // Count reservations by status (monitoring)
+    long countByStatus(ProposalIdReservationStatusType status);
+}
@@ -1,5 +1,7 @@
 package com.blooming.blockchain.springbackend.proposal.service;
 
+import com.blooming.blockchain.springbackend.zksync.util.BlockchainExecutor;
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,13 +14,19 @@ import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.EthCall;
-import org.web3j.protocol.http.HttpService;
 import org.web3j.utils.Numeric;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -29,68 +37,164 @@ import java.util.concurrent.locks.ReentrantLock;
  * and provides thread-safe methods to generate the next sequential ID.
  * 
  * This eliminates the database auto-increment vs blockchain ID mismatch issue.
+ * 
+ * The startup query runs as an async warm-up on the BlockchainExecutor and is retried
+ * with exponential backoff until it succeeds, so application start never waits on the
+ * RPC node. Until then there is no counter at all (never a guessed 0): ID requests wait
+ * up to id-sync.wait-ms and then fail, and ProposalIdSyncHealthIndicator keeps the
+ * instance out of the readiness group.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class BlockchainProposalIdManager {
 
+    private final Web3j web3j;
+    private final BlockchainExecutor blockchainExecutor;
+
     @Value("${app.zksync.rpc-url:https://sepolia.era.zksync.dev}")
     private String zkSyncRpcUrl;
 
     @Value("${app.zksync.governance.token.address:0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e}")
     private String governanceTokenAddress;
 
-    private Web3j web3j;
+    @Value("${app.proposal.id-sync.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    @Value("${app.proposal.id-sync.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    @Value("${app.proposal.id-sync.wait-ms:10000}")
+    private long syncWaitMs;
+
     private Integer currentHighestProposalId;
     private final ReentrantLock lock = new ReentrantLock();
+    private final CountDownLatch synced = new CountDownLatch(1);
+    private final AtomicInteger syncAttempts = new AtomicInteger();
+    private volatile String lastSyncError;
+    private volatile boolean stopped;
 
     /**
-     * Initialize the manager by querying blockchain state on application startup
+     * Start the async warm-up that syncs the counter with the blockchain (does not block startup)
      */
     @PostConstruct
     public void initializeFromBlockchain() {
+        log.info("Initializing BlockchainProposalIdManager from blockchain state in the background...");
+        scheduleSync(0);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+    }
+
+    private void scheduleSync(long delayMs) {
+        Executor executor = delayMs > 0
+            ? CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, blockchainExecutor)
+            : blockchainExecutor;
+        executor.execute(() -> RpcRateLimiter.runAsCaller("BlockchainProposalIdManager", this::trySync));
+    }
+
+    private void trySync() {
+        if (stopped || isSynced()) {
+            return;
+        }
+        int attempt = syncAttempts.incrementAndGet();
+        Integer blockchainHighestId = queryBlockchainForHighestProposalId();
+        if (blockchainHighestId != null) {
+            markSynced(blockchainHighestId);
+            log.info("BlockchainProposalIdManager ready after {} attempt(s) - Next proposal ID will be: {}",
+                    attempt, blockchainHighestId + 1);
+            return;
+        }
+
+        long delayMs = backoffMillis(attempt);
+        log.warn("Could not query blockchain for proposal count (attempt {}), retrying in {} ms", attempt, delayMs);
+        scheduleSync(delayMs);
+    }
+
+    /**
+     * initial * 2^(attempt-1), capped at max, with up to 20% jitter so restarted pods do not retry in lockstep
+     */
+    long backoffMillis(int attempt) {
+        long backoff = initialBackoffMs << Math.min(attempt - 1, 20);
+        backoff = Math.min(backoff, maxBackoffMs);
+        return backoff + ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+    }
+
+    private void markSynced(Integer blockchainHighestId) {
+        lock.lock();
         try {
-            log.info("Initializing BlockchainProposalIdManager from blockchain state...");
-            
-            // Initialize Web3j client
-            this.web3j = Web3j.build(new HttpService(zkSyncRpcUrl));
-            
-            // Query blockchain for current highest proposal ID
-            Integer blockchainHighestId = queryBlockchainForHighestProposalId();
-            
-            if (blockchainHighestId != null) {
-                this.currentHighestProposalId = blockchainHighestId;
-                log.info("Successfully initialized with blockchain proposal ID: {}", currentHighestProposalId);
-            } else {
-                // If blockchain query fails, start from 0 (first proposal will be ID 1)
-                this.currentHighestProposalId = 0;
-                log.warn("Could not query blockchain for proposal count, starting from ID 0");
+            // A proposal confirmed while the query was in flight must not be counted down again
+            if (currentHighestProposalId == null || blockchainHighestId > currentHighestProposalId) {
+                currentHighestProposalId = blockchainHighestId;
             }
-            
-            log.info("BlockchainProposalIdManager ready - Next proposal ID will be: {}", 
-                    currentHighestProposalId + 1);
-            
-        } catch (Exception e) {
-            log.error("Failed to initialize BlockchainProposalIdManager from blockchain", e);
-            // Fallback: start from 0
-            this.currentHighestProposalId = 0;
-            log.warn("Using fallback initialization - starting from proposal ID 0");
+            lastSyncError = null;
+        } finally {
+            lock.unlock();
+        }
+        synced.countDown();
+    }
+
+    /**
+     * Whether the counter has been synced with the blockchain at least once
+     */
+    public boolean isSynced() {
+        return synced.getCount() == 0;
+    }
+
+    public int getSyncAttempts() {
+        return syncAttempts.get();
+    }
+
+    /**
+     * Error of the last failed sync attempt, or null
+     */
+    public String getLastSyncError() {
+        return lastSyncError;
+    }
+
+    private void awaitSynced() {
+        if (isSynced()) {
+            return;
+        }
+        try {
+            if (!synced.await(syncWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Proposal IDs are not synced with the blockchain yet (attempt "
+                        + syncAttempts.get() + "), try again shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for proposal ID sync", e);
         }
     }
 
     /**
      * Get the next proposal ID to use for a new proposal
      * This method is thread-safe and ensures sequential ID generation
+     * Waits (up to id-sync.wait-ms) for the startup sync instead of handing out an unsynced ID
+     * The ID is not reserved - concurrent callers get the same value until confirmProposalCreated;
+     * proposal creation reserves through ProposalIdAllocator instead.
      * 
      * @return The next proposal ID that should be used for blockchain and database
+     * @throws IllegalStateException if the counter is still not synced with the blockchain
      */
     public Integer getNextProposalId() {
+        Integer nextId = getSyncedHighestProposalId() + 1;
+        log.info("Generated next proposal ID: {}", nextId);
+        return nextId;
+    }
+
+    /**
+     * Highest proposal ID known to this node, waiting (up to id-sync.wait-ms) for the startup sync
+     * 
+     * @throws IllegalStateException if the counter is still not synced with the blockchain
+     */
+    public Integer getSyncedHighestProposalId() {
+        awaitSynced();
         lock.lock();
         try {
-            Integer nextId = currentHighestProposalId + 1;
-            log.info("Generated next proposal ID: {}", nextId);
-            return nextId;
+            return currentHighestProposalId;
         } finally {
             lock.unlock();
         }
@@ -105,7 +209,7 @@ public class BlockchainProposalIdManager {
     public void confirmProposalCreated(Integer confirmedProposalId) {
         lock.lock();
         try {
-            if (confirmedProposalId > currentHighestProposalId) {
+            if (currentHighestProposalId == null || confirmedProposalId > currentHighestProposalId) {
                 currentHighestProposalId = confirmedProposalId;
                 log.info("Updated highest proposal ID to: {}", currentHighestProposalId);
             } else {
@@ -120,7 +224,7 @@ public class BlockchainProposalIdManager {
     /**
      * Get the current highest proposal ID known to the system
      * 
-     * @return Current highest proposal ID
+     * @return Current highest proposal ID, or null until the first sync with the blockchain
      */
     public Integer getCurrentHighestProposalId() {
         lock.lock();
@@ -147,10 +251,11 @@ public class BlockchainProposalIdManager {
                 try {
                     this.currentHighestProposalId = blockchainHighestId;
                     log.info("Successfully refreshed proposal ID to: {}", currentHighestProposalId);
-                    return true;
                 } finally {
                     lock.unlock();
                 }
+                synced.countDown();
+                return true;
             } else {
                 log.warn("Failed to refresh proposal ID from blockchain");
                 return false;
@@ -161,6 +266,21 @@ public class BlockchainProposalIdManager {
         }
     }
 
+    /**
+     * Re-read the proposal count and move the counter forward if other nodes created proposals
+     * Unlike refreshFromBlockchain the counter never goes down (a lagging node cannot undo a confirmation).
+     * 
+     * @return true if the blockchain answered
+     */
+    public boolean catchUpFromBlockchain() {
+        Integer blockchainHighestId = queryBlockchainForHighestProposalId();
+        if (blockchainHighestId == null) {
+            return false;
+        }
+        markSynced(blockchainHighestId);
+        return true;
+    }
+
     /**
      * Query the blockchain smart contract for the current highest proposal ID
      * 
@@ -170,8 +290,7 @@ public class BlockchainProposalIdManager {
         try {
             log.debug("Querying blockchain for current proposal count...");
             
-            // Try to call a proposalCount() function if it exists
-            // Most governance contracts have this function
+            // GovernanceToken exposes proposalCount() - the highest proposal ID, since IDs start at 1
             Function proposalCountFunction = new Function(
                 "proposalCount",
                 Collections.emptyList(),
@@ -187,7 +306,8 @@ public class BlockchainProposalIdManager {
             
             if (response.hasError()) {
                 log.warn("Blockchain call failed: {}", response.getError().getMessage());
-                return tryAlternativeMethod();
+                lastSyncError = "proposalCount: " + response.getError().getMessage();
+                return null;
             }
             
             String result = response.getValue();
@@ -200,51 +320,13 @@ public class BlockchainProposalIdManager {
                 return count;
             } else {
                 log.warn("Empty response from blockchain proposal count query");
-                return tryAlternativeMethod();
+                lastSyncError = "proposalCount: empty response";
+                return null;
             }
             
         } catch (Exception e) {
-            log.error("Error querying blockchain for proposal count", e);
-            return tryAlternativeMethod();
-        }
-    }
-
-    /**
-     * Alternative method to query blockchain state
-     * Try different function names that governance contracts might use
-     */
-    private Integer tryAlternativeMethod() {
-        try {
-            log.debug("Trying alternative method to get proposal count...");
-            
-            // Try nextProposalId() function
-            Function nextProposalIdFunction = new Function(
-                "nextProposalId",
-                Collections.emptyList(),
-                Arrays.asList(new TypeReference<Uint256>() {})
-            );
-            
-            String encodedFunction = FunctionEncoder.encode(nextProposalIdFunction);
-            
-            Transaction transaction = Transaction.createEthCallTransaction(
-                null, governanceTokenAddress, encodedFunction);
-            
-            EthCall response = web3j.ethCall(transaction, DefaultBlockParameterName.LATEST).send();
-            
-            if (!response.hasError() && response.getValue() != null && !response.getValue().equals("0x")) {
-                BigInteger nextId = Numeric.toBigInt(response.getValue());
-                // If we get nextProposalId, the current highest is nextId - 1
-                Integer currentHighest = nextId.intValue() - 1;
-                log.info("Blockchain reports next proposal ID: {}, current highest: {}", 
-                        nextId.intValue(), currentHighest);
-                return Math.max(0, currentHighest); // Ensure we don't go below 0
-            }
-            
-            log.warn("Alternative method also failed to get proposal count");
-            return null;
-            
-        } catch (Exception e) {
-            log.error("Alternative method failed", e);
+            log.error("Error querying blockchain for proposal count: {}", e.getMessage());
+            lastSyncError = "proposalCount: " + e.getMessage();
             return null;
         }
     }
@@ -253,14 +335,18 @@ public class BlockchainProposalIdManager {
      * Get manager status for debugging and health checks
      */
     public String getStatus() {
+        Integer highestId = getCurrentHighestProposalId();
         return String.format(
             "BlockchainProposalIdManager Status:\n" +
-            "Current Highest ID: %d\n" +
-            "Next ID: %d\n" +
+            "Synced: %s (attempts: %d)\n" +
+            "Current Highest ID: %s\n" +
+            "Next ID: %s\n" +
             "Governance Contract: %s\n" +
             "RPC URL: %s",
-            getCurrentHighestProposalId(),
-            getCurrentHighestProposalId() + 1,
+            isSynced(),
+            getSyncAttempts(),
+            highestId,
+            highestId != null ? highestId + 1 : null,
             governanceTokenAddress,
             zkSyncRpcUrl
         );
@@ -0,0 +1,213 @@
+package com.blooming.blockchain.springbackend.proposal.service;
+
+import com.blooming.blockchain.springbackend.global.enums.ProposalIdReservationStatusType;
+import com.blooming.blockchain.springbackend.global.enums.RpcPriorityType;
+import com.blooming.blockchain.springbackend.proposal.entity.ProposalIdReservation;
+import com.blooming.blockchain.springbackend.proposal.repository.ProposalIdReservationRepository;
+import com.blooming.blockchain.springbackend.zksync.dto.CreateProposalResult;
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Cluster-safe proposal ID reservation
+ * Each proposal creation reserves an ID in proposal_id_reservations before the
+ * createProposal transaction is sent. Reservations are committed in their own
+ * transaction (visible to the other nodes at once) and carry a lease; a reservation
+ * whose node died before sending is abandoned by the reconcile job and its ID is handed
+ * out again.
+ *
+ * The GovernanceToken contract numbers proposals itself and never sees the reserved ID,
+ * which is only the prediction "chain highest + 1, skipping IDs other nodes hold" and is
+ * logged. Proposals stay unique because the backend stores them under the ID from the
+ * ProposalCreated event: confirm() records it, and the next reservations start above it.
+ * A sent transaction whose receipt did not arrive in time keeps its reservation with the
+ * txHash (markPending) until reconcile() finds the receipt or gives up on it.
+ */
+@Service
+@Slf4j
+public class ProposalIdAllocator {
+
+    private static final int MAX_CANDIDATES = 100;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ProposalIdReservationRepository reservationRepository;
+    private final BlockchainProposalIdManager blockchainProposalIdManager;
+    private final SmartContractProposalService smartContractProposalService;
+    private final TransactionTemplate requiresNew;
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Value("${app.proposal.id-reservation.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${app.proposal.id-reservation.pending-timeout-ms:3600000}")
+    private long pendingTimeoutMs;
+
+    public ProposalIdAllocator(ProposalIdReservationRepository reservationRepository,
+                               BlockchainProposalIdManager blockchainProposalIdManager,
+                               SmartContractProposalService smartContractProposalService,
+                               PlatformTransactionManager transactionManager) {
+        this.reservationRepository = reservationRepository;
+        this.blockchainProposalIdManager = blockchainProposalIdManager;
+        this.smartContractProposalService = smartContractProposalService;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserve the next free proposal ID for this node
+     *
+     * @return reserved ID, to be passed to confirm() or abandon()
+     * @throws IllegalStateException if the chain counter is not synced yet or no ID could be reserved
+     */
+    public Integer reserve() {
+        int candidate = highestKnownProposalId() + 1;
+        for (int i = 0; i < MAX_CANDIDATES; i++, candidate++) {
+            if (tryReserve(candidate)) {
+                log.info("Reserved proposal ID {} for {}", candidate, nodeId);
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("Could not reserve a proposal ID after " + MAX_CANDIDATES + " candidates");
+    }
+
+    /**
+     * Record the ID the contract assigned to the proposal created with this reservation
+     */
+    public void confirm(Integer reservedId, Integer chainProposalId, String txHash) {
+        Integer updated = requiresNew.execute(status -> reservationRepository.confirm(reservedId, nodeId,
+            chainProposalId, txHash, ProposalIdReservationStatusType.RESERVED,
+            ProposalIdReservationStatusType.CONFIRMED, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            log.warn("Proposal ID reservation {} was no longer held by {} at confirmation (lease expired?)", reservedId, nodeId);
+        }
+        if (!reservedId.equals(chainProposalId)) {
+            log.warn("Contract assigned proposal ID {} to reservation {} - another node created a proposal in between",
+                chainProposalId, reservedId);
+        }
+    }
+
+    /**
+     * Keep a reservation whose createProposal transaction was sent but not confirmed
+     * The proposal may still be mined, so the ID is neither confirmed nor handed out
+     * again until reconcile() has looked at the receipt.
+     */
+    public void markPending(Integer reservedId, String txHash, String error) {
+        String lastError = truncate(error);
+        Integer updated = requiresNew.execute(status -> reservationRepository.markPending(reservedId, nodeId, txHash,
+            lastError, ProposalIdReservationStatusType.RESERVED, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            log.warn("Proposal ID reservation {} was no longer held by {} when TX {} went unconfirmed", reservedId, nodeId, txHash);
+        } else {
+            log.warn("Proposal ID reservation {} kept pending until TX {} is reconciled: {}", reservedId, txHash, lastError);
+        }
+    }
+
+    /**
+     * Release a reservation whose proposal was not created
+     */
+    public void abandon(Integer reservedId, String error) {
+        String lastError = truncate(error);
+        requiresNew.execute(status -> reservationRepository.abandon(reservedId, nodeId, lastError,
+            ProposalIdReservationStatusType.RESERVED, ProposalIdReservationStatusType.ABANDONED, LocalDateTime.now()));
+        log.info("Abandoned proposal ID reservation {}: {}", reservedId, lastError);
+    }
+
+    /**
+     * Abandon unsent reservations with an expired lease, settle pending ones from their
+     * receipt and catch the chain counter up with proposals created by other nodes
+     */
+    @Scheduled(fixedDelayString = "${app.proposal.id-reservation.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        Integer expired = requiresNew.execute(status -> reservationRepository.expireStale(
+            ProposalIdReservationStatusType.RESERVED, ProposalIdReservationStatusType.ABANDONED, LocalDateTime.now()));
+        if (expired != null && expired > 0) {
+            log.warn("Abandoned {} proposal ID reservation(s) with an expired lease", expired);
+        }
+        RpcRateLimiter.runWithPriority(RpcPriorityType.BACKGROUND, "ProposalIdAllocator", this::settlePending);
+        if (blockchainProposalIdManager.isSynced()) {
+            RpcRateLimiter.runWithPriority(RpcPriorityType.BACKGROUND, "ProposalIdAllocator",
+                blockchainProposalIdManager::catchUpFromBlockchain);
+        }
+    }
+
+    public long getReservationCount(ProposalIdReservationStatusType status) {
+        return reservationRepository.countByStatus(status);
+    }
+
+    // Confirm or abandon reservations whose transaction outcome was unknown - on any node,
+    // since the node that sent the transaction may be gone
+    private void settlePending() {
+        LocalDateTime giveUpBefore = LocalDateTime.now().minusNanos(pendingTimeoutMs * 1_000_000);
+        for (ProposalIdReservation reservation
+                : reservationRepository.findByStatusAndTxHashIsNotNull(ProposalIdReservationStatusType.RESERVED)) {
+            Integer reservedId = reservation.getProposalId();
+            String txHash = reservation.getTxHash();
+            Optional<CreateProposalResult> outcome;
+            try {
+                outcome = smartContractProposalService.findProposalCreation(txHash).join();
+            } catch (RuntimeException e) {
+                log.debug("Could not look up TX {} of pending proposal ID reservation {}: {}", txHash, reservedId, e.getMessage());
+                continue;
+            }
+
+            if (outcome.isPresent() && outcome.get().isSuccess()) {
+                Integer chainProposalId = outcome.get().getProposalId();
+                requiresNew.execute(status -> reservationRepository.confirm(reservedId, reservation.getReservedBy(),
+                    chainProposalId, txHash, ProposalIdReservationStatusType.RESERVED,
+                    ProposalIdReservationStatusType.CONFIRMED, LocalDateTime.now()));
+                log.warn("Pending proposal ID reservation {} confirmed as on-chain proposal {} - TX: {} (no backend proposal was stored for it)",
+                    reservedId, chainProposalId, txHash);
+            } else if (outcome.isPresent() || reservation.getUpdatedAt().isBefore(giveUpBefore)) {
+                String lastError = outcome.map(CreateProposalResult::getErrorMessage)
+                    .orElse("no receipt within " + pendingTimeoutMs + " ms");
+                requiresNew.execute(status -> reservationRepository.abandon(reservedId, reservation.getReservedBy(),
+                    lastError, ProposalIdReservationStatusType.RESERVED, ProposalIdReservationStatusType.ABANDONED,
+                    LocalDateTime.now()));
+                log.info("Abandoned pending proposal ID reservation {} - TX: {}: {}", reservedId, txHash, lastError);
+            }
+        }
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    // Chain counter of this node, or a higher ID another node already confirmed
+    private int highestKnownProposalId() {
+        int chainHighest = blockchainProposalIdManager.getSyncedHighestProposalId();
+        Integer confirmedHighest = reservationRepository.findMaxChainProposalId(ProposalIdReservationStatusType.CONFIRMED);
+        return confirmedHighest != null ? Math.max(chainHighest, confirmedHighest) : chainHighest;
+    }
+
+    // One short transaction per candidate - a lost race moves on to the next ID
+    private boolean tryReserve(int candidate) {
+        try {
+            Boolean reserved = requiresNew.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime leaseExpiresAt = now.plusNanos(leaseMs * 1_000_000);
+                Optional<ProposalIdReservation> existing = reservationRepository.findById(candidate);
+                if (existing.isEmpty()) {
+                    return reservationRepository.insertReservation(candidate, nodeId, now, leaseExpiresAt) == 1;
+                }
+                return existing.get().isReusable(now)
+                    && reservationRepository.takeOver(candidate, nodeId, ProposalIdReservationStatusType.RESERVED,
+                        ProposalIdReservationStatusType.ABANDONED, now, leaseExpiresAt) == 1;
+            });
+            return Boolean.TRUE.equals(reserved);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Proposal ID {} was reserved concurrently by another node", candidate);
+            return false;
+        }
+    }
+}
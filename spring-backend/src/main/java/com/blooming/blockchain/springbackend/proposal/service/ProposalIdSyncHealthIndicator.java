@@ -0,0 +1,33 @@
+package com.blooming.blockchain.springbackend.proposal.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness of proposal creation: OUT_OF_SERVICE until BlockchainProposalIdManager
+ * has synced its counter with the blockchain (included in the readiness health group)
+ */
+@Component("proposalIdSync")
+@RequiredArgsConstructor
+public class ProposalIdSyncHealthIndicator implements HealthIndicator {
+
+    private final BlockchainProposalIdManager blockchainProposalIdManager;
+
+    @Override
+    public Health health() {
+        if (blockchainProposalIdManager.isSynced()) {
+            return Health.up()
+                .withDetail("highestProposalId", blockchainProposalIdManager.getCurrentHighestProposalId())
+                .build();
+        }
+        Health.Builder builder = Health.outOfService()
+            .withDetail("attempts", blockchainProposalIdManager.getSyncAttempts());
+        String lastError = blockchainProposalIdManager.getLastSyncError();
+        if (lastError != null) {
+            builder.withDetail("lastError", lastError);
+        }
+        return builder.build();
+    }
+}
@@ -12,7 +12,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigInteger;
 import java.time.LocalDateTime;
@@ -36,6 +38,8 @@ public class ProposalService {
     private final UserRepository userRepository;
     private final SmartContractProposalService smartContractProposalService;
     private final BlockchainProposalIdManager blockchainProposalIdManager;
+    private final ProposalIdAllocator proposalIdAllocator;
+    private final TransactionTemplate transactionTemplate;
 
     // =============== 조회 메서드 ===============
 
@@ -200,16 +204,21 @@ public class ProposalService {
 
     /**
      * 스마트 컨트랙트와 통합된 제안 생성 (새로운 블록체인 동기화 방식)
-     * 1. BlockchainProposalIdManager에서 다음 제안 ID 획득
+     * 1. ProposalIdAllocator로 다음 제안 ID 예약 (DB 기반 - 여러 인스턴스에서도 중복 없음)
      * 2. 해당 ID로 스마트 컨트랙트에 제안 생성
-     * 3. 성공 시 같은 ID로 백엔드 데이터베이스에 저장
+     * 3. 성공 시 예약을 확정하고 컨트랙트가 부여한 ID로 백엔드 데이터베이스에 저장 (실패 시 예약 반환)
+     *    트랜잭션은 전송됐지만 결과를 모르는 경우(영수증 대기 시간 초과 등) 예약을 TX 해시와 함께 유지하고
+     *    ProposalIdAllocator.reconcile()이 영수증으로 확정/반환
+     * 
+     * 컨트랙트 호출을 기다리는 동안 DB 커넥션을 잡지 않도록 트랜잭션 밖에서 실행하며,
+     * 마지막 제안 저장만 트랜잭션으로 묶습니다. (예약/확정은 ProposalIdAllocator가 각자 커밋)
      * 
      * @param description 제안 설명
      * @param proposerGoogleId 제안자 Google ID
      * @param deadline 투표 마감일
      * @return 생성된 제안 (스마트 컨트랙트와 데이터베이스 완전 동기화)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Proposal createProposalWithSmartContract(String description, String proposerGoogleId, LocalDateTime deadline) {
         log.info("Creating proposal with blockchain ID synchronization: proposer={}, description={}", 
                 proposerGoogleId, description.substring(0, Math.min(50, description.length())));
@@ -228,34 +237,47 @@ public class ProposalService {
             throw new IllegalArgumentException("Deadline cannot be in the past");
         }
 
-        // 1. 블록체인과 동기화된 다음 제안 ID 획득
-        Integer nextProposalId = blockchainProposalIdManager.getNextProposalId();
-        log.info("Using synchronized proposal ID: {}", nextProposalId);
+        // 1. 블록체인과 동기화된 다음 제안 ID 예약
+        Integer nextProposalId = proposalIdAllocator.reserve();
+        log.info("Using reserved proposal ID: {}", nextProposalId);
+        boolean sent = false;
 
         try {
             // 2. 지정된 ID로 스마트 컨트랙트에 제안 생성
             // Note: SmartContractProposalService를 업데이트해서 ID를 받도록 해야 함
             CreateProposalResult smartContractResult = smartContractProposalService
                 .createProposalWithId(nextProposalId, description, proposerWalletAddress, deadline)
-                .join(); // 블로킹 호출 - 트랜잭션 내에서 처리
+                .join(); // 블로킹 호출 - 트랜잭션 밖에서 대기
 
             if (!smartContractResult.isSuccess()) {
+                if (smartContractResult.getTxHash() != null) {
+                    // 트랜잭션이 전송됨 - 아직 채굴될 수 있으므로 예약을 반환하지 않고 reconcile()에 맡김
+                    sent = true;
+                    proposalIdAllocator.markPending(nextProposalId, smartContractResult.getTxHash(),
+                        smartContractResult.getErrorMessage());
+                    throw new RuntimeException("Smart contract proposal creation outcome unknown (TX: "
+                        + smartContractResult.getTxHash() + "): " + smartContractResult.getErrorMessage());
+                }
                 throw new RuntimeException("Smart contract proposal creation failed: " + smartContractResult.getErrorMessage());
             }
-
-            // 3. 같은 ID로 백엔드 데이터베이스에 저장
-            Proposal proposal = createProposal(
-                nextProposalId, // ID를 직접 지정
+            sent = true;
+            Integer chainProposalId = smartContractResult.getProposalId();
+            // 온체인 생성 즉시 예약 확정 - DB 저장이 실패해도 다른 노드가 이 ID를 다시 예약하지 않음
+            proposalIdAllocator.confirm(nextProposalId, chainProposalId, smartContractResult.getTxHash());
+
+            // 3. 컨트랙트가 부여한 ID로 백엔드 데이터베이스에 저장 (이 단계만 트랜잭션)
+            Proposal proposal = transactionTemplate.execute(status -> createProposal(
+                chainProposalId, // ID를 직접 지정
                 description,
                 proposerGoogleId,
                 proposerWalletAddress,
                 deadline,
                 LocalDateTime.now(), // 현재 시간을 생성 시간으로 사용
                 smartContractResult.getTxHash()
-            );
+            ));
 
             // 4. ID Manager에 성공 확인
-            blockchainProposalIdManager.confirmProposalCreated(nextProposalId);
+            blockchainProposalIdManager.confirmProposalCreated(chainProposalId);
 
             log.info("Successfully created proposal with blockchain synchronization: proposalId={}, txHash={}", 
                     proposal.getId(), smartContractResult.getTxHash());
@@ -263,6 +285,10 @@ public class ProposalService {
             return proposal;
 
         } catch (Exception e) {
+            // 트랜잭션 전송 전에 실패한 경우에만 예약 반환 (전송된 경우 확정 또는 reconcile 대기)
+            if (!sent) {
+                proposalIdAllocator.abandon(nextProposalId, e.getMessage());
+            }
             log.error("Failed to create proposal with blockchain synchronization: proposalId={}, proposer={}, error={}", 
                     nextProposalId, proposerGoogleId, e.getMessage(), e);
             throw new RuntimeException("Failed to create proposal: " + e.getMessage(), e);
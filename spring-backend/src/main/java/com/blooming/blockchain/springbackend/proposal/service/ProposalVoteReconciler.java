@@ -0,0 +1,111 @@
+package com.blooming.blockchain.springbackend.proposal.service;
+
+import com.blooming.blockchain.springbackend.global.enums.RpcPriorityType;
+import com.blooming.blockchain.springbackend.proposal.entity.Proposal;
+import com.blooming.blockchain.springbackend.proposal.entity.ProposalVoteCount;
+import com.blooming.blockchain.springbackend.proposal.repository.ProposalRepository;
+import com.blooming.blockchain.springbackend.proposal.repository.ProposalVoteCountRepository;
+import com.blooming.blockchain.springbackend.zksync.service.GovernanceMulticallReader;
+import com.blooming.blockchain.springbackend.zksync.service.GovernanceMulticallReader.ProposalState;
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Periodic check of the stored vote tallies against the GovernanceToken contract
+ * Reads getProposal for every active proposal through GovernanceMulticallReader
+ * (one aggregated eth_call per max-calls proposals instead of one eth_call each)
+ * and reports proposals whose proposal_vote_counts totals differ from the chain.
+ * Nothing is written back: a vote whose receipt is still pending shows up as drift
+ * until the next run.
+ * Disabled by default: VotingService.voteWithSmartContract still records votes with mock
+ * voting power and never calls the contract, so every voted proposal would read as drift.
+ */
+@Service
+@Slf4j
+public class ProposalVoteReconciler {
+
+    private final ProposalRepository proposalRepository;
+    private final ProposalVoteCountRepository proposalVoteCountRepository;
+    private final GovernanceMulticallReader governanceMulticallReader;
+    private final AtomicInteger driftedProposals = new AtomicInteger();
+
+    @Value("${app.proposal.vote-reconcile.enabled:false}")
+    private boolean enabled;
+
+    public ProposalVoteReconciler(ProposalRepository proposalRepository,
+                                  ProposalVoteCountRepository proposalVoteCountRepository,
+                                  GovernanceMulticallReader governanceMulticallReader,
+                                  MeterRegistry meterRegistry) {
+        this.proposalRepository = proposalRepository;
+        this.proposalVoteCountRepository = proposalVoteCountRepository;
+        this.governanceMulticallReader = governanceMulticallReader;
+        Gauge.builder("proposal.votes.drifted", driftedProposals, AtomicInteger::get)
+            .description("Active proposals whose stored vote tally differs from the contract")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.proposal.vote-reconcile.interval-ms:300000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        RpcRateLimiter.runWithPriority(RpcPriorityType.BACKGROUND, "ProposalVoteReconciler", this::reconcileActiveProposals);
+    }
+
+    public int getDriftedProposalCount() {
+        return driftedProposals.get();
+    }
+
+    private void reconcileActiveProposals() {
+        List<Integer> proposalIds = proposalRepository.findActiveProposals(LocalDateTime.now()).stream()
+            .map(Proposal::getId)
+            .toList();
+        if (proposalIds.isEmpty()) {
+            driftedProposals.set(0);
+            return;
+        }
+
+        Map<Integer, ProposalState> onChain;
+        try {
+            onChain = governanceMulticallReader.getProposals(proposalIds).join();
+        } catch (Exception e) {
+            log.warn("Could not read {} active proposals from the chain: {}", proposalIds.size(), e.getMessage());
+            return;
+        }
+        Map<Integer, ProposalVoteCount> stored = proposalVoteCountRepository.findByProposalIds(proposalIds).stream()
+            .collect(Collectors.toMap(ProposalVoteCount::getProposalId, Function.identity()));
+
+        int drifted = 0;
+        for (Integer proposalId : proposalIds) {
+            ProposalState state = onChain.get(proposalId);
+            if (state == null) {
+                log.warn("Active proposal {} was not found on the chain", proposalId);
+                drifted++;
+                continue;
+            }
+            ProposalVoteCount voteCount = stored.get(proposalId);
+            BigInteger storedFor = voteCount != null ? voteCount.getForVotes() : BigInteger.ZERO;
+            BigInteger storedAgainst = voteCount != null ? voteCount.getAgainstVotes() : BigInteger.ZERO;
+            if (!storedFor.equals(state.forVotes()) || !storedAgainst.equals(state.againstVotes())) {
+                log.warn("Vote tally of proposal {} differs from the chain: stored for={} against={}, chain for={} against={}",
+                    proposalId, storedFor, storedAgainst, state.forVotes(), state.againstVotes());
+                drifted++;
+            }
+        }
+        driftedProposals.set(drifted);
+        log.debug("Reconciled vote tallies of {} active proposals, {} differ from the chain", proposalIds.size(), drifted);
+    }
+}
@@ -1,35 +1,32 @@
 package com.blooming.blockchain.springbackend.proposal.service;
 
+import com.blooming.blockchain.springbackend.global.enums.GovernanceEventType;
 import com.blooming.blockchain.springbackend.user.repository.UserRepository;
 import com.blooming.blockchain.springbackend.user.entity.User;
 import com.blooming.blockchain.springbackend.wallet.entity.UserWallet;
 import com.blooming.blockchain.springbackend.zksync.service.ZkSyncService;
 import com.blooming.blockchain.springbackend.zksync.service.ZkSyncEraPaymasterService;
+import com.blooming.blockchain.springbackend.zksync.service.TransactionReceiptTracker;
 import com.blooming.blockchain.springbackend.zksync.dto.CreateProposalResult;
 import com.blooming.blockchain.springbackend.zksync.dto.VoteResult;
+import com.blooming.blockchain.springbackend.zksync.util.BlockchainExecutor;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceCalldataEncoder;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceEventDecoder;
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncRpcBatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.web3j.abi.FunctionEncoder;
-import org.web3j.abi.TypeReference;
-import org.web3j.abi.datatypes.Function;
-import org.web3j.abi.datatypes.Utf8String;
-import org.web3j.abi.datatypes.generated.Uint256;
-import org.web3j.abi.datatypes.Bool;
-import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.core.DefaultBlockParameterName;
-import org.web3j.protocol.http.HttpService;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZoneId;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -46,9 +43,10 @@ public class SmartContractProposalService {
     private final UserRepository userRepository;
     private final ZkSyncService zkSyncService;
     private final ZkSyncEraPaymasterService zkSyncEraPaymasterService;
-
-    @Value("${app.zksync.rpc-url:https://sepolia.era.zksync.dev}")
-    private String zkSyncRpcUrl;
+    private final Web3j web3j;
+    private final ZkSyncRpcBatcher zkSyncRpcBatcher;
+    private final TransactionReceiptTracker transactionReceiptTracker;
+    private final BlockchainExecutor blockchainExecutor;
 
     @Value("${app.zksync.governance.token.address:0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e}")
     private String governanceTokenAddress;
@@ -56,36 +54,6 @@ public class SmartContractProposalService {
     @Value("${app.zksync.chain-id:300}")
     private Integer chainId;
 
-    @Value("${app.zksync.owner.private-key:your-owner-private-key-here}")
-    private String ownerPrivateKey;
-
-    private Web3j web3j;
-    private Credentials ownerCredentials;
-
-    private Web3j getWeb3jClient() {
-        if (web3j == null) {
-            web3j = Web3j.build(new HttpService(zkSyncRpcUrl));
-        }
-        return web3j;
-    }
-
-    private Credentials getOwnerCredentials() {
-        if (ownerCredentials == null) {
-            if (ownerPrivateKey == null || ownerPrivateKey.equals("your-owner-private-key-here")) {
-                throw new RuntimeException("Owner private key not configured. Set ZKSYNC_OWNER_PRIVATE_KEY environment variable.");
-            }
-            try {
-                String cleanPrivateKey = ownerPrivateKey.startsWith("0x") ? 
-                    ownerPrivateKey.substring(2) : ownerPrivateKey;
-                ownerCredentials = Credentials.create(cleanPrivateKey);
-                log.info("Owner credentials initialized for address: {}", ownerCredentials.getAddress());
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to create owner credentials from private key", e);
-            }
-        }
-        return ownerCredentials;
-    }
-
     /**
      * 스마트 컨트랙트에 새로운 제안 생성 (블록체인 동기화 방식)
      * @param proposalId 블록체인과 동기화된 제안 ID (미리 할당된 ID)
@@ -100,55 +68,40 @@ public class SmartContractProposalService {
             String proposerWalletAddress,
             LocalDateTime deadline) {
         
-        return CompletableFuture.supplyAsync(() -> {
-            try {
+        return blockchainExecutor.supplyAsync(() -> {
                 log.info("Creating proposal on smart contract with predefined ID: id={}, proposer={}, description={}", 
                         proposalId, proposerWalletAddress, description.substring(0, Math.min(50, description.length())));
                 
-                Web3j web3j = getWeb3jClient();
-                Credentials ownerCreds = getOwnerCredentials();
-                
                 // 마감시간을 Unix 타임스탬프로 변환 (프론트엔드에서 한국 시간으로 전송됨)
                 long deadlineTimestamp = deadline.atZone(KOREA_TIMEZONE).toEpochSecond();
                 BigInteger deadlineInSeconds = BigInteger.valueOf(deadlineTimestamp);
                 
                 // 기존 createProposal 함수 호출 (스마트 컨트랙트는 내부적으로 ID를 생성)
                 // 백엔드는 미리 ID를 할당했지만, 스마트 컨트랙트는 원래 방식대로 동작
-                Function createProposalFunction = new Function(
-                    "createProposal",
-                    Arrays.asList(
-                        new Utf8String(description),
-                        new Uint256(deadlineInSeconds)
-                    ),
-                    Arrays.asList(new TypeReference<Uint256>() {}) // 제안 ID 반환
-                );
-                
                 // 함수 호출 인코딩
-                String encodedFunction = FunctionEncoder.encode(createProposalFunction);
-                
-                // 기존 동작 방식 유지 (zkSyncService 사용)
-                log.info("Creating proposal with predefined ID {} using zkSync service...", proposalId);
-                String txHash = zkSyncService.executeGaslessTransaction(
-                    ownerPrivateKey,
-                    governanceTokenAddress,
-                    encodedFunction
-                ).join();
-                
+                return GovernanceCalldataEncoder.createProposal(description, deadlineInSeconds);
+            })
+            // 오너 키 트랜잭션은 민팅과 같은 로컬 논스 관리자를 사용 (논스 충돌 방지)
+            .thenCompose(encodedFunction -> {
+                log.info("Creating proposal with predefined ID {} using the owner account...", proposalId);
+                return zkSyncService.executeOwnerTransaction(encodedFunction);
+            })
+            .thenCompose(txHash -> {
                 log.info("Successfully sent proposal creation transaction with ID {} - TX: {}", proposalId, txHash);
                 
                 // ID가 미리 정해져 있으므로 트랜잭션 확인 후 바로 반환
                 return waitForTransactionConfirmationWithId(txHash, proposalId);
-                
-            } catch (Exception e) {
-                log.error("Failed to create proposal on smart contract with ID: {}", proposalId, e);
+            })
+            .exceptionally(e -> {
+                Throwable cause = unwrapCompletionException(e);
+                log.error("Failed to create proposal on smart contract with ID: {}", proposalId, cause);
                 return CreateProposalResult.builder()
                     .txHash(null)
                     .proposalId(null)
                     .success(false)
-                    .errorMessage("Failed to create proposal: " + e.getMessage())
+                    .errorMessage("Failed to create proposal: " + cause.getMessage())
                     .build();
-            }
-        });
+            });
     }
 
     /**
@@ -165,133 +118,116 @@ public class SmartContractProposalService {
             String proposerWalletAddress,
             LocalDateTime deadline) {
         
-        return CompletableFuture.supplyAsync(() -> {
-            try {
+        return blockchainExecutor.supplyAsync(() -> {
                 log.info("Creating proposal on smart contract: proposer={}, description={}", 
                         proposerWalletAddress, description.substring(0, Math.min(50, description.length())));
                 
-                Web3j web3j = getWeb3jClient();
-                Credentials ownerCreds = getOwnerCredentials();
-                
                 // 마감시간을 Unix 타임스탬프로 변환 (프론트엔드에서 한국 시간으로 전송됨)
                 long deadlineTimestamp = deadline.atZone(KOREA_TIMEZONE).toEpochSecond();
                 BigInteger deadlineInSeconds = BigInteger.valueOf(deadlineTimestamp);
                 
                 // createProposal 함수 호출 생성
-                Function createProposalFunction = new Function(
-                    "createProposal",
-                    Arrays.asList(
-                        new Utf8String(description),
-                        new Uint256(deadlineInSeconds)
-                    ),
-                    Arrays.asList(new TypeReference<Uint256>() {}) // 제안 ID 반환
-                );
-                
                 // 함수 호출 인코딩
-                String encodedFunction = FunctionEncoder.encode(createProposalFunction);
-                
-                // Use the old working approach for proposal creation (keep it stable)
-                log.info("Creating proposal using zkSync service (keeping working approach)...");
-                String txHash = zkSyncService.executeGaslessTransaction(
-                    ownerPrivateKey,
-                    governanceTokenAddress,
-                    encodedFunction
-                ).join();
-                
+                return GovernanceCalldataEncoder.createProposal(description, deadlineInSeconds);
+            })
+            // Owner-key transactions share the local nonce manager with the owner mints
+            .thenCompose(encodedFunction -> {
+                log.info("Creating proposal using the owner account...");
+                return zkSyncService.executeOwnerTransaction(encodedFunction);
+            })
+            .thenCompose(txHash -> {
                 log.info("Successfully sent proposal creation transaction - TX: {}", txHash);
                 
                 // 트랜잭션 영수증을 기다려서 제안 ID 획득
                 return waitForTransactionConfirmation(txHash);
-                
-            } catch (Exception e) {
-                log.error("Failed to create proposal on smart contract", e);
+            })
+            .exceptionally(e -> {
+                Throwable cause = unwrapCompletionException(e);
+                log.error("Failed to create proposal on smart contract", cause);
                 return CreateProposalResult.builder()
                     .txHash(null)
                     .proposalId(null)
                     .success(false)
-                    .errorMessage("Failed to create proposal: " + e.getMessage())
+                    .errorMessage("Failed to create proposal: " + cause.getMessage())
                     .build();
-            }
-        });
+            });
     }
 
     /**
      * 트랜잭션 확인 대기 및 결과 처리 (ID가 미리 정해진 경우)
+     * 영수증은 TransactionReceiptTracker가 블록 단위로 일괄 조회
      */
-    private CreateProposalResult waitForTransactionConfirmationWithId(String txHash, Integer expectedProposalId) {
-        try {
-            Web3j web3j = getWeb3jClient();
-            TransactionReceipt receipt = null;
-            int attempts = 0;
-            int maxAttempts = 30;
-            
-            while (receipt == null && attempts < maxAttempts) {
-                Thread.sleep(1000);
-                var receiptResponse = web3j.ethGetTransactionReceipt(txHash).send();
-                if (receiptResponse.getTransactionReceipt().isPresent()) {
-                    receipt = receiptResponse.getTransactionReceipt().get();
-                    break;
+    private CompletableFuture<CreateProposalResult> waitForTransactionConfirmationWithId(String txHash, Integer expectedProposalId) {
+        return transactionReceiptTracker.track(txHash)
+            .thenApply(receipt -> {
+                if (!receipt.isStatusOK()) {
+                    log.warn("Create proposal transaction may have failed - TX: {}", txHash);
+                    return CreateProposalResult.builder()
+                        .txHash(txHash)
+                        .proposalId(null)
+                        .success(false)
+                        .errorMessage("Transaction receipt indicates failure")
+                        .build();
                 }
-                attempts++;
-            }
-            
-            if (receipt != null && receipt.isStatusOK()) {
+                
                 log.info("Create proposal transaction confirmed - TX: {}, Expected ID: {}", txHash, expectedProposalId);
                 
-                // ID가 미리 정해져 있으므로 로그에서 확인만 하고 예상된 ID를 반환
+                // 컨트랙트가 실제로 부여한 ID(ProposalCreated 이벤트)가 기준 - 다른 노드가 먼저 생성했으면 예상 ID와 다름
                 Integer extractedProposalId = extractProposalIdFromReceipt(receipt, txHash);
                 
-                if (extractedProposalId != null && !extractedProposalId.equals(expectedProposalId)) {
-                    log.warn("Extracted proposal ID {} does not match expected ID {}", extractedProposalId, expectedProposalId);
+                if (extractedProposalId == null) {
+                    // 예상 ID로 대체하면 다른 제안의 ID로 저장될 수 있으므로 생성 실패로 처리
+                    log.error("Create proposal transaction mined without a readable ProposalCreated event - TX: {}, Expected ID: {}",
+                            txHash, expectedProposalId);
+                    return CreateProposalResult.builder()
+                        .txHash(txHash)
+                        .proposalId(null)
+                        .success(false)
+                        .errorMessage("No ProposalCreated event in transaction receipt")
+                        .build();
+                }
+                
+                if (!extractedProposalId.equals(expectedProposalId)) {
+                    log.warn("Extracted proposal ID {} does not match expected ID {} - using the on-chain ID",
+                            extractedProposalId, expectedProposalId);
                 }
                 
                 return CreateProposalResult.builder()
                     .txHash(txHash)
-                    .proposalId(expectedProposalId) // 예상된 ID 사용
+                    .proposalId(extractedProposalId)
                     .success(true)
                     .build();
-            } else {
-                log.warn("Create proposal transaction may have failed - TX: {}", txHash);
+            })
+            .exceptionally(e -> {
+                log.warn("Could not get transaction receipt for create proposal - TX: {} - Error: {}", txHash, e.getMessage());
+                // 트랜잭션이 드롭되었을 수 있으므로 다음 오너 트랜잭션 전에 논스 재동기화
+                zkSyncService.markOwnerNonceStale();
+                
                 return CreateProposalResult.builder()
                     .txHash(txHash)
                     .proposalId(null)
                     .success(false)
-                    .errorMessage("Transaction receipt indicates failure")
+                    .errorMessage("Could not confirm transaction: " + e.getMessage())
                     .build();
-            }
-        } catch (Exception e) {
-            log.warn("Could not get transaction receipt for create proposal - TX: {} - Error: {}", txHash, e.getMessage());
-            
-            return CreateProposalResult.builder()
-                .txHash(txHash)
-                .proposalId(null)
-                .success(false)
-                .errorMessage("Could not confirm transaction: " + e.getMessage())
-                .build();
-        }
+            });
     }
 
     /**
      * 트랜잭션 확인 대기 및 결과 처리 (레거시)
      */
-    private CreateProposalResult waitForTransactionConfirmation(String txHash) {
-        try {
-            Web3j web3j = getWeb3jClient();
-            TransactionReceipt receipt = null;
-            int attempts = 0;
-            int maxAttempts = 30;
-            
-            while (receipt == null && attempts < maxAttempts) {
-                Thread.sleep(1000);
-                var receiptResponse = web3j.ethGetTransactionReceipt(txHash).send();
-                if (receiptResponse.getTransactionReceipt().isPresent()) {
-                    receipt = receiptResponse.getTransactionReceipt().get();
-                    break;
+    private CompletableFuture<CreateProposalResult> waitForTransactionConfirmation(String txHash) {
+        return transactionReceiptTracker.track(txHash)
+            .thenApply(receipt -> {
+                if (!receipt.isStatusOK()) {
+                    log.warn("Create proposal transaction may have failed - TX: {}", txHash);
+                    return CreateProposalResult.builder()
+                        .txHash(txHash)
+                        .proposalId(null)
+                        .success(false)
+                        .errorMessage("Transaction receipt indicates failure")
+                        .build();
                 }
-                attempts++;
-            }
-            
-            if (receipt != null && receipt.isStatusOK()) {
+                
                 log.info("Create proposal transaction confirmed - TX: {}", txHash);
                 
                 // Extract the actual blockchain proposal ID from transaction logs
@@ -309,25 +245,44 @@ public class SmartContractProposalService {
                     .proposalId(blockchainProposalId)
                     .success(true)
                     .build();
-            } else {
-                log.warn("Create proposal transaction may have failed - TX: {}", txHash);
+            })
+            .exceptionally(e -> {
+                log.warn("Could not get transaction receipt for create proposal - TX: {} - Error: {}", txHash, e.getMessage());
+                // 트랜잭션이 드롭되었을 수 있으므로 다음 오너 트랜잭션 전에 논스 재동기화
+                zkSyncService.markOwnerNonceStale();
+                
                 return CreateProposalResult.builder()
                     .txHash(txHash)
                     .proposalId(null)
                     .success(false)
-                    .errorMessage("Transaction receipt indicates failure")
+                    .errorMessage("Could not confirm transaction: " + e.getMessage())
                     .build();
-            }
-        } catch (Exception e) {
-            log.warn("Could not get transaction receipt for create proposal - TX: {} - Error: {}", txHash, e.getMessage());
-            
-            return CreateProposalResult.builder()
-                .txHash(txHash)
-                .proposalId(null)
-                .success(false)
-                .errorMessage("Could not confirm transaction: " + e.getMessage())
-                .build();
-        }
+            });
+    }
+
+    /**
+     * 이미 전송된 제안 생성 트랜잭션의 결과 재확인 (영수증 대기 시간 초과 후 ProposalIdAllocator가 사용)
+     * @param txHash 제안 생성 트랜잭션 해시
+     * @return 채굴되었으면 결과 (ProposalCreated ID가 있을 때만 성공), 아직 영수증이 없으면 empty
+     */
+    public CompletableFuture<Optional<CreateProposalResult>> findProposalCreation(String txHash) {
+        return zkSyncRpcBatcher.submit(web3j.ethGetTransactionReceipt(txHash))
+            .thenApply(response -> {
+                if (response.hasError()) {
+                    throw new IllegalStateException("Receipt lookup failed: " + response.getError().getMessage());
+                }
+                return response.getTransactionReceipt().map(receipt -> {
+                    Integer proposalId = receipt.isStatusOK() ? extractProposalIdFromReceipt(receipt, txHash) : null;
+                    return CreateProposalResult.builder()
+                        .txHash(txHash)
+                        .proposalId(proposalId)
+                        .success(proposalId != null)
+                        .errorMessage(proposalId != null ? null : receipt.isStatusOK()
+                            ? "No ProposalCreated event in transaction receipt"
+                            : "Transaction receipt indicates failure")
+                        .build();
+                });
+            });
     }
 
     /**
@@ -342,277 +297,214 @@ public class SmartContractProposalService {
             String voterGoogleId,
             boolean support) {
         
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                log.info("Voting on smart contract with user credentials: blockchainProposalId={}, user={}, support={}", 
-                        proposalId, voterGoogleId, support);
-                
-                // 1. Validate that the blockchain proposal ID exists on the smart contract
-                if (!validateBlockchainProposalExists(proposalId)) {
+        log.info("Voting on smart contract with user credentials: blockchainProposalId={}, user={}, support={}", 
+                proposalId, voterGoogleId, support);
+        
+        // 1. Validate that the blockchain proposal ID exists on the smart contract
+        // 조회 결과를 기다리며 executor 스레드를 점유하지 않도록 future로 연결
+        return validateBlockchainProposalExists(proposalId)
+            .thenCompose(exists -> {
+                if (!exists) {
                     throw new IllegalArgumentException("Blockchain proposal does not exist: " + proposalId);
                 }
-                
-                // 2. 사용자 조회
-                User user = userRepository.findByGoogleId(voterGoogleId)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + voterGoogleId));
-                
-                // 2. 사용자 지갑 조회
-                UserWallet userWallet = zkSyncService.getUserWallet(user.getId())
-                    .orElseThrow(() -> new IllegalArgumentException("User wallet not found: " + voterGoogleId));
-                
-                // 3. 개인키 복호화
-                String privateKey = zkSyncService.getDecryptedPrivateKey(userWallet);
-                
-                // 4. 사용자 자격증명 생성
-                Credentials userCredentials = Credentials.create(privateKey);
-                
-                log.info("Using user's own wallet for voting: {} -> {}", 
-                        voterGoogleId, userWallet.getShortAddress());
-                
-                Web3j web3j = getWeb3jClient();
-                
-                // vote 함수 호출 생성
-                Function voteFunction = new Function(
-                    "vote",
-                    Arrays.asList(
-                        new Uint256(BigInteger.valueOf(proposalId)),
-                        new Bool(support)
-                    ),
-                    Collections.emptyList() // 반환값 없음
-                );
-                
-                // 함수 호출 인코딩
-                String encodedFunction = FunctionEncoder.encode(voteFunction);
-                
-                // Use the old working approach for voting (keeping it stable)
-                log.info("Executing gasless vote transaction using zkSync service...");
-                String txHash = zkSyncService.executeGaslessTransaction(
-                    privateKey,
-                    governanceTokenAddress,
-                    encodedFunction
-                ).join();
-                
+                return blockchainExecutor.supplyAsync(() -> {
+                    // 2. 사용자 조회
+                    User user = userRepository.findByGoogleId(voterGoogleId)
+                        .orElseThrow(() -> new IllegalArgumentException("User not found: " + voterGoogleId));
+                    
+                    // 2. 사용자 지갑 조회
+                    UserWallet userWallet = zkSyncService.getUserWallet(user.getId())
+                        .orElseThrow(() -> new IllegalArgumentException("User wallet not found: " + voterGoogleId));
+                    
+                    // 3. 개인키 복호화
+                    String privateKey = zkSyncService.getDecryptedPrivateKey(userWallet);
+                    
+                    log.info("Using user's own wallet for voting: {} -> {}", 
+                            voterGoogleId, userWallet.getShortAddress());
+                    
+                    // vote 함수 호출 생성
+                    String encodedFunction = GovernanceCalldataEncoder.vote(proposalId, support);
+                    
+                    // Use the old working approach for voting (keeping it stable)
+                    log.info("Executing gasless vote transaction using zkSync service...");
+                    return zkSyncService.executeGaslessTransaction(
+                        privateKey,
+                        governanceTokenAddress,
+                        encodedFunction
+                    );
+                });
+            })
+            .thenCompose(txHashFuture -> txHashFuture)
+            .thenCompose(txHash -> {
                 log.info("Successfully sent gasless vote transaction - TX: {}", txHash);
                 
                 // 트랜잭션 확인 대기
                 return waitForVoteConfirmation(txHash, proposalId, support);
-                
-            } catch (Exception e) {
-                log.error("Failed to vote on smart contract", e);
+            })
+            .exceptionally(e -> {
+                Throwable cause = unwrapCompletionException(e);
+                log.error("Failed to vote on smart contract", cause);
                 return VoteResult.builder()
                     .txHash(null)
                     .proposalId(proposalId)
                     .support(support)
                     .votingPower(BigInteger.ZERO)
                     .success(false)
-                    .errorMessage("Failed to vote: " + e.getMessage())
+                    .errorMessage("Failed to vote: " + cause.getMessage())
                     .build();
-            }
-        });
+            });
     }
 
     /**
      * 투표 트랜잭션 확인 대기 및 결과 처리
      */
-    private VoteResult waitForVoteConfirmation(String txHash, Integer proposalId, boolean support) {
-        try {
-            // Real transaction receipt handling for zkSync Era
-            Web3j web3j = getWeb3jClient();
-            TransactionReceipt receipt = null;
-            int attempts = 0;
-            int maxAttempts = 30;
-            
-            log.info("Waiting for transaction confirmation - TX: {}", txHash);
-            
-            while (receipt == null && attempts < maxAttempts) {
-                Thread.sleep(1000);
-                var receiptResponse = web3j.ethGetTransactionReceipt(txHash).send();
-                if (receiptResponse.getTransactionReceipt().isPresent()) {
-                    receipt = receiptResponse.getTransactionReceipt().get();
-                    break;
+    private CompletableFuture<VoteResult> waitForVoteConfirmation(String txHash, Integer proposalId, boolean support) {
+        log.info("Waiting for transaction confirmation - TX: {}", txHash);
+        
+        // Real transaction receipt handling for zkSync Era
+        return transactionReceiptTracker.track(txHash)
+            .thenApply(receipt -> {
+                if (!receipt.isStatusOK()) {
+                    log.warn("Vote transaction may have failed - TX: {}", txHash);
+                    return VoteResult.builder()
+                        .txHash(txHash)
+                        .proposalId(proposalId)
+                        .support(support)
+                        .votingPower(BigInteger.ZERO)
+                        .success(false)
+                        .errorMessage("Transaction receipt indicates failure")
+                        .build();
                 }
-                attempts++;
-            }
-            
-            if (receipt != null && receipt.isStatusOK()) {
+                
                 log.info("Real gasless vote transaction confirmed - TX: {}", txHash);
                 
-                // 실제 구현에서는 트랜잭션 로그를 파싱하여 실제 투표 권한을 추출
-                // 현재는 테스트용 모의 투표 권한 생성
-                BigInteger mockVotingPower = generateMockVotingPower();
+                BigInteger votingPower = extractVotingPowerFromReceipt(receipt, txHash, proposalId);
                 
                 return VoteResult.builder()
                     .txHash(txHash)
                     .proposalId(proposalId)
                     .support(support)
-                    .votingPower(mockVotingPower)
+                    .votingPower(votingPower)
                     .success(true)
                     .build();
-            } else {
-                log.warn("Vote transaction may have failed - TX: {}", txHash);
+            })
+            .exceptionally(e -> {
+                log.warn("Could not get transaction receipt for vote - TX: {} - Error: {}", txHash, e.getMessage());
+                
                 return VoteResult.builder()
                     .txHash(txHash)
                     .proposalId(proposalId)
                     .support(support)
                     .votingPower(BigInteger.ZERO)
                     .success(false)
-                    .errorMessage("Transaction receipt indicates failure")
+                    .errorMessage("Could not confirm transaction: " + e.getMessage())
                     .build();
-            }
-        } catch (Exception e) {
-            log.warn("Could not get transaction receipt for vote - TX: {} - Error: {}", txHash, e.getMessage());
-            
-            return VoteResult.builder()
-                .txHash(txHash)
-                .proposalId(proposalId)
-                .support(support)
-                .votingPower(BigInteger.ZERO)
-                .success(false)
-                .errorMessage("Could not confirm transaction: " + e.getMessage())
-                .build();
+            });
+    }
+
+    /**
+     * CompletableFuture 체인에서 발생한 원래 예외 추출
+     */
+    private Throwable unwrapCompletionException(Throwable e) {
+        if (e instanceof java.util.concurrent.CompletionException && e.getCause() != null) {
+            return e.getCause();
         }
+        return e;
     }
 
     /**
      * 트랜잭션 영수증에서 실제 블록체인 제안 ID 추출
-     * ProposalCreated 이벤트 로그를 파싱하여 제안 ID를 가져옴
+     * 거버넌스 컨트랙트의 ProposalCreated 이벤트(topic0 일치)에서만 읽음
      */
     private Integer extractProposalIdFromReceipt(TransactionReceipt receipt, String txHash) {
         try {
-            log.info("Extracting proposal ID from transaction receipt: {}", txHash);
-            
-            // Check if the transaction has any logs
-            if (receipt.getLogs() == null || receipt.getLogs().isEmpty()) {
-                log.warn("No logs found in transaction receipt for proposal creation");
+            GovernanceEventDecoder.DecodedEvent created = GovernanceEventDecoder.findFirst(
+                receipt, GovernanceEventType.PROPOSAL_CREATED, governanceTokenAddress);
+            if (created == null) {
+                log.warn("No ProposalCreated event in transaction {}", txHash);
                 return null;
             }
-            
-            // ProposalCreated event signature: ProposalCreated(uint256,address,string,uint256)
-            // Event topic hash for ProposalCreated event
-            // This would normally be calculated from the ABI, but for now we'll look for any uint256 value in logs
-            
-            for (var blockchainLog : receipt.getLogs()) {
-                try {
-                    // Look for logs from the governance contract
-                    if (blockchainLog.getAddress().equalsIgnoreCase(governanceTokenAddress)) {
-                        log.info("Found log from governance contract: {}", blockchainLog.getAddress());
-                        
-                        // For ProposalCreated event, the first indexed parameter is usually the proposal ID
-                        var topics = blockchainLog.getTopics();
-                        if (topics != null && topics.size() > 1) {
-                            // The second topic (index 1) should be the proposal ID (first indexed parameter)
-                            String proposalIdHex = topics.get(1);
-                            if (proposalIdHex != null && proposalIdHex.startsWith("0x")) {
-                                try {
-                                    // Convert hex to integer
-                                    BigInteger proposalIdBig = new BigInteger(proposalIdHex.substring(2), 16);
-                                    Integer proposalId = proposalIdBig.intValue();
-                                    
-                                    log.info("Successfully extracted proposal ID from logs: {}", proposalId);
-                                    return proposalId;
-                                    
-                                } catch (NumberFormatException e) {
-                                    log.warn("Could not parse proposal ID from hex: {}", proposalIdHex);
-                                }
-                            }
-                        }
-                        
-                        // Fallback: try to parse data field for non-indexed parameters
-                        String data = blockchainLog.getData();
-                        if (data != null && data.length() > 2) {
-                            log.debug("Log data: {}", data);
-                            // The data field might contain the proposal ID as the first 32 bytes
-                            if (data.length() >= 66) { // 0x + 64 hex chars = 32 bytes
-                                try {
-                                    String proposalIdHex = data.substring(2, 66); // First 32 bytes
-                                    BigInteger proposalIdBig = new BigInteger(proposalIdHex, 16);
-                                    if (proposalIdBig.compareTo(BigInteger.ZERO) > 0 && 
-                                        proposalIdBig.compareTo(BigInteger.valueOf(Integer.MAX_VALUE)) <= 0) {
-                                        Integer proposalId = proposalIdBig.intValue();
-                                        log.info("Successfully extracted proposal ID from data field: {}", proposalId);
-                                        return proposalId;
-                                    }
-                                } catch (NumberFormatException e) {
-                                    log.debug("Could not parse proposal ID from data field");
-                                }
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    log.debug("Error processing log entry: {}", e.getMessage());
-                }
-            }
-            
-            log.warn("Could not extract proposal ID from any logs in transaction {}", txHash);
-            return null;
-            
-        } catch (Exception e) {
-            log.error("Failed to extract proposal ID from transaction receipt: {}", e.getMessage(), e);
+
+            log.info("Extracted proposal ID {} from ProposalCreated event - TX: {}", created.proposalId(), txHash);
+            return Math.toIntExact(created.proposalId());
+
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            log.error("Malformed ProposalCreated event in transaction {}: {}", txHash, e.getMessage());
             return null;
         }
     }
 
+    /**
+     * 투표 트랜잭션 영수증의 VoteCast 이벤트에서 실제 투표 권한(weight) 추출
+     */
+    private BigInteger extractVotingPowerFromReceipt(TransactionReceipt receipt, String txHash, Integer proposalId) {
+        try {
+            GovernanceEventDecoder.DecodedEvent voteCast = GovernanceEventDecoder.findFirst(
+                receipt, GovernanceEventType.VOTE_CAST, governanceTokenAddress);
+            if (voteCast == null) {
+                log.warn("No VoteCast event in transaction {}", txHash);
+                return BigInteger.ZERO;
+            }
+            if (proposalId != null && voteCast.proposalId() != proposalId) {
+                log.warn("VoteCast proposal ID {} does not match requested ID {} - TX: {}",
+                    voteCast.proposalId(), proposalId, txHash);
+            }
+            return voteCast.amount();
+
+        } catch (IllegalArgumentException e) {
+            log.error("Malformed VoteCast event in transaction {}: {}", txHash, e.getMessage());
+            return BigInteger.ZERO;
+        }
+    }
+
     /**
      * 블록체인에서 제안 ID가 실제로 존재하는지 검증
      * @param blockchainProposalId 블록체인 제안 ID
-     * @return true if proposal exists on blockchain, false otherwise
+     * @return future of true if proposal exists on blockchain, false otherwise
      */
-    private boolean validateBlockchainProposalExists(Integer blockchainProposalId) {
+    private CompletableFuture<Boolean> validateBlockchainProposalExists(Integer blockchainProposalId) {
         try {
             log.debug("Validating blockchain proposal exists: {}", blockchainProposalId);
-            
-            Web3j web3j = getWeb3jClient();
-            
-            // Create a function to get proposal state/info
-            // Most governance contracts have a function like `proposals(uint256)` or `getProposal(uint256)`
-            Function getProposalFunction = new Function(
-                "proposals", // Assuming the contract has a proposals(uint256) function
-                Arrays.asList(new Uint256(BigInteger.valueOf(blockchainProposalId))),
-                Arrays.asList(
-                    new TypeReference<Utf8String>() {}, // description
-                    new TypeReference<org.web3j.abi.datatypes.Address>() {}, // proposer
-                    new TypeReference<Uint256>() {}, // forVotes
-                    new TypeReference<Uint256>() {}, // againstVotes
-                    new TypeReference<Uint256>() {}, // deadline
-                    new TypeReference<Bool>() {}, // executed
-                    new TypeReference<Bool>() {}, // canceled
-                    new TypeReference<Uint256>() {} // createdAt
-                )
-            );
-            
-            String encodedFunction = FunctionEncoder.encode(getProposalFunction);
+
+            // getProposal(uint256) reverts for an unknown ID
+            String encodedFunction = GovernanceCalldataEncoder.getProposal(blockchainProposalId);
             
             // Call the contract to get proposal data
             org.web3j.protocol.core.methods.request.Transaction transaction = 
                 org.web3j.protocol.core.methods.request.Transaction.createEthCallTransaction(
                     null, governanceTokenAddress, encodedFunction);
             
-            var response = web3j.ethCall(transaction, DefaultBlockParameterName.LATEST).send();
-            
-            if (response.hasError()) {
-                log.warn("Failed to validate proposal existence: {}", response.getError().getMessage());
-                return false;
-            }
-            
-            String result = response.getValue();
-            
-            // If we get a valid response with data, the proposal exists
-            if (result != null && !result.equals("0x")) {
-                log.debug("Blockchain proposal {} exists, response length: {}", blockchainProposalId, result.length());
-                return true;
-            } else {
-                log.warn("Blockchain proposal {} does not exist or returned empty data", blockchainProposalId);
-                return false;
-            }
+            return zkSyncRpcBatcher.submit(web3j.ethCall(transaction, DefaultBlockParameterName.LATEST))
+                .thenApply(response -> {
+                    if (response.hasError()) {
+                        log.warn("Failed to validate proposal existence: {}", response.getError().getMessage());
+                        return false;
+                    }
+                    
+                    String result = response.getValue();
+                    
+                    // If we get a valid response with data, the proposal exists
+                    if (result != null && !result.equals("0x")) {
+                        log.debug("Blockchain proposal {} exists, response length: {}", blockchainProposalId, result.length());
+                        return true;
+                    }
+                    log.warn("Blockchain proposal {} does not exist or returned empty data", blockchainProposalId);
+                    return false;
+                })
+                .exceptionally(e -> allowOnValidationError(unwrapCompletionException(e)));
             
         } catch (Exception e) {
-            log.error("Error validating blockchain proposal existence: {}", e.getMessage(), e);
-            // In case of error, we'll allow the transaction to proceed
-            // The smart contract will provide the definitive answer
-            return true;
+            return CompletableFuture.completedFuture(allowOnValidationError(e));
         }
     }
 
+    private boolean allowOnValidationError(Throwable e) {
+        log.error("Error validating blockchain proposal existence: {}", e.getMessage(), e);
+        // In case of error, we'll allow the transaction to proceed
+        // The smart contract will provide the definitive answer
+        return true;
+    }
+
     /**
      * 테스트용 모의 제안 ID 생성 (폴백용)
      * 실제 구현에서는 트랜잭션 로그에서 추출하는 것이 우선
@@ -622,17 +514,6 @@ public class SmartContractProposalService {
         return random.nextInt(1000) + 1;
     }
 
-    /**
-     * 테스트용 모의 투표 권한 생성
-     * 실제 구현에서는 트랜잭션 로그에서 추출
-     */
-    private BigInteger generateMockVotingPower() {
-        SecureRandom random = new SecureRandom();
-        // 1-10 토큰 범위의 임의 투표 권한 (Wei 단위)
-        long tokens = random.nextInt(10) + 1;
-        return BigInteger.valueOf(tokens).multiply(BigInteger.TEN.pow(18));
-    }
-
     /**
      * 거버넌스 토큰 주소 반환 (다른 서비스에서 사용)
      */
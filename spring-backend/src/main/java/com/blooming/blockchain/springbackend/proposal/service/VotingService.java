@@ -9,11 +9,8 @@ import com.blooming.blockchain.springbackend.proposal.repository.UserVoteReposit
 import com.blooming.blockchain.springbackend.user.entity.User;
 import com.blooming.blockchain.springbackend.user.repository.UserRepository;
 import com.blooming.blockchain.springbackend.zksync.dto.VoteResult;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceCalldataEncoder;
 import com.blooming.blockchain.springbackend.proposal.dto.TransactionData;
-import org.web3j.abi.FunctionEncoder;
-import org.web3j.abi.datatypes.Function;
-import org.web3j.abi.datatypes.Bool;
-import org.web3j.abi.datatypes.generated.Uint256;
 import org.springframework.beans.factory.annotation.Value;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -70,16 +67,7 @@ public class VotingService {
         Integer blockchainProposalId = proposal.getId();
 
         // vote 함수 호출 인코딩
-        Function voteFunction = new Function(
-            "vote",
-            java.util.Arrays.asList(
-                new Uint256(java.math.BigInteger.valueOf(blockchainProposalId)),
-                new Bool(support)
-            ),
-            java.util.Collections.emptyList()
-        );
-
-        String encodedFunction = FunctionEncoder.encode(voteFunction);
+        String encodedFunction = GovernanceCalldataEncoder.vote(blockchainProposalId, support);
 
         return TransactionData.builder()
             .to(smartContractProposalService.getGovernanceTokenAddress()) // Use existing service
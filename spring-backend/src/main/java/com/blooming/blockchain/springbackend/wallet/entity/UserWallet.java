@@ -64,4 +64,8 @@ public class UserWallet {
     public void activate() {
         this.isActive = true;
     }
+
+    public void updateEncryptedPrivateKey(String encryptedPrivateKey) {
+        this.encryptedPrivateKey = encryptedPrivateKey;
+    }
 }
\ No newline at end of file
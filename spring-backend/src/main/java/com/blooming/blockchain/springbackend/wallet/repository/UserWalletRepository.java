@@ -27,6 +27,13 @@ public interface UserWalletRepository extends JpaRepository<UserWallet, UUID> {
      */
     Optional<UserWallet> findByWalletAddress(String walletAddress);
 
+    /**
+     * Find wallet by wallet address, ignoring checksum casing (event logs are lowercase)
+     * @param walletAddress the wallet address to search for
+     * @return Optional containing the wallet, or empty if none found
+     */
+    Optional<UserWallet> findFirstByWalletAddressIgnoreCase(String walletAddress);
+
     /**
      * Find active wallet by wallet address
      * @param walletAddress the wallet address to search for
@@ -1,5 +1,6 @@
 package com.blooming.blockchain.springbackend.wallet.util;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -11,14 +12,22 @@ import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 import javax.crypto.SecretKeyFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.KeySpec;
+import java.util.Arrays;
 import java.util.Base64;
 
 /**
  * Secure wallet encryption utility using AES-256-GCM
- * Encrypts private keys with user-specific salts derived from email
+ * Wallet private keys are stored with envelope encryption: each key is
+ * encrypted with its own random data key (DEK), and the DEK is wrapped with
+ * a key-encryption key (KEK) derived once at startup from the admin key.
+ * Both layers are bound to the wallet address as GCM associated data.
+ * Older ciphertexts (XOR POC format) still decrypt and are re-encrypted lazily,
+ * see needsMigration.
  */
 @Component
 @Slf4j
@@ -31,10 +40,118 @@ public class WalletEncryption {
     private static final int KEY_LENGTH = 256; // AES-256
     private static final int SALT_LENGTH = 32; // 256 bits
     private static final int PBKDF2_ITERATIONS = 100000; // Strong iteration count
+    private static final int DEK_LENGTH = KEY_LENGTH / 8;
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    /**
+     * Prefix of envelope-encrypted values; anything else is a legacy format
+     */
+    public static final String ENVELOPE_PREFIX = "v2:";
 
     @Value("${app.wallet.encryption.admin-key:bloomServiceKey}")
     private String adminKey;
 
+    @Value("${app.wallet.encryption.kek-salt:bloomWalletKek}")
+    private String kekSalt;
+
+    private SecretKey keyEncryptionKey;
+
+    /**
+     * Derive the KEK once - the only PBKDF2 run on the envelope path
+     */
+    @PostConstruct
+    public void initKeyEncryptionKey() {
+        try {
+            KeySpec spec = new PBEKeySpec(adminKey.toCharArray(), kekSalt.getBytes(StandardCharsets.UTF_8),
+                PBKDF2_ITERATIONS, KEY_LENGTH);
+            SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+            keyEncryptionKey = new SecretKeySpec(factory.generateSecret(spec).getEncoded(), ALGORITHM);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to derive wallet key-encryption key", e);
+        }
+    }
+
+    /**
+     * Envelope-encrypt a wallet private key
+     * @param privateKey the private key to encrypt (without 0x prefix)
+     * @param walletAddress wallet the key belongs to (bound as associated data)
+     * @return "v2:" + Base64(wrap IV | wrapped DEK | data IV | encrypted key)
+     */
+    public String encryptPrivateKey(String privateKey, String walletAddress) {
+        try {
+            byte[] aad = associatedData(walletAddress);
+            byte[] dek = new byte[DEK_LENGTH];
+            SECURE_RANDOM.nextBytes(dek);
+
+            byte[] wrapIv = generateIV();
+            byte[] wrappedDek = gcm(Cipher.ENCRYPT_MODE, keyEncryptionKey, wrapIv, aad, dek);
+
+            byte[] dataIv = generateIV();
+            byte[] encryptedData = gcm(Cipher.ENCRYPT_MODE, new SecretKeySpec(dek, ALGORITHM), dataIv, aad,
+                privateKey.getBytes(StandardCharsets.UTF_8));
+            Arrays.fill(dek, (byte) 0);
+
+            ByteBuffer combined = ByteBuffer.allocate(wrapIv.length + wrappedDek.length + dataIv.length + encryptedData.length);
+            combined.put(wrapIv).put(wrappedDek).put(dataIv).put(encryptedData);
+            return ENVELOPE_PREFIX + Base64.getEncoder().encodeToString(combined.array());
+
+        } catch (Exception e) {
+            log.error("Failed to encrypt private key for wallet: {}", walletAddress, e);
+            throw new RuntimeException("Private key encryption failed", e);
+        }
+    }
+
+    /**
+     * Decrypt a stored wallet private key (envelope or legacy XOR format)
+     * @param storedPrivateKey value of UserWallet.encryptedPrivateKey
+     * @param walletAddress wallet the key belongs to
+     * @return decrypted private key (without 0x prefix)
+     */
+    public String decryptPrivateKey(String storedPrivateKey, String walletAddress) {
+        if (needsMigration(storedPrivateKey)) {
+            return decryptPrivateKey(storedPrivateKey);
+        }
+        try {
+            byte[] aad = associatedData(walletAddress);
+            ByteBuffer combined = ByteBuffer.wrap(
+                Base64.getDecoder().decode(storedPrivateKey.substring(ENVELOPE_PREFIX.length())));
+
+            byte[] wrapIv = new byte[GCM_IV_LENGTH];
+            byte[] wrappedDek = new byte[DEK_LENGTH + GCM_TAG_LENGTH];
+            byte[] dataIv = new byte[GCM_IV_LENGTH];
+            combined.get(wrapIv).get(wrappedDek).get(dataIv);
+            byte[] encryptedData = new byte[combined.remaining()];
+            combined.get(encryptedData);
+
+            byte[] dek = gcm(Cipher.DECRYPT_MODE, keyEncryptionKey, wrapIv, aad, wrappedDek);
+            byte[] decryptedData = gcm(Cipher.DECRYPT_MODE, new SecretKeySpec(dek, ALGORITHM), dataIv, aad, encryptedData);
+            Arrays.fill(dek, (byte) 0);
+            return new String(decryptedData, StandardCharsets.UTF_8);
+
+        } catch (Exception e) {
+            log.error("Failed to decrypt private key for wallet: {}", walletAddress, e);
+            throw new RuntimeException("Private key decryption failed", e);
+        }
+    }
+
+    /**
+     * Whether a stored value predates envelope encryption and should be re-encrypted
+     */
+    public boolean needsMigration(String storedPrivateKey) {
+        return storedPrivateKey == null || !storedPrivateKey.startsWith(ENVELOPE_PREFIX);
+    }
+
+    private static byte[] gcm(int mode, SecretKey key, byte[] iv, byte[] aad, byte[] input) throws Exception {
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(mode, key, new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv));
+        cipher.updateAAD(aad);
+        return cipher.doFinal(input);
+    }
+
+    private static byte[] associatedData(String walletAddress) {
+        return walletAddress.toLowerCase().getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
      * Encrypt a private key using user-specific encryption
      * @param privateKey the private key to encrypt (without 0x prefix)
@@ -141,7 +258,7 @@ public class WalletEncryption {
      */
     private byte[] generateSalt() {
         byte[] salt = new byte[SALT_LENGTH];
-        new SecureRandom().nextBytes(salt);
+        SECURE_RANDOM.nextBytes(salt);
         return salt;
     }
 
@@ -150,7 +267,7 @@ public class WalletEncryption {
      */
     private byte[] generateIV() {
         byte[] iv = new byte[GCM_IV_LENGTH];
-        new SecureRandom().nextBytes(iv);
+        SECURE_RANDOM.nextBytes(iv);
         return iv;
     }
 
@@ -158,7 +275,9 @@ public class WalletEncryption {
      * Simple encryption for POC using XOR + Base64
      * @param privateKey the private key to encrypt
      * @return Base64 encoded encrypted private key
+     * @deprecated use encryptPrivateKey(privateKey, walletAddress)
      */
+    @Deprecated
     public String encryptPrivateKey(String privateKey) {
         return encryptXOR(privateKey, adminKey);
     }
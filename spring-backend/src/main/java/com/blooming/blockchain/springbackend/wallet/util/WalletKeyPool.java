@@ -0,0 +1,143 @@
+package com.blooming.blockchain.springbackend.wallet.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.crypto.Credentials;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pool of pre-generated, already encrypted wallet keypairs
+ * A background thread keeps a bounded queue filled, so signups only pay for
+ * a queue poll and the DB insert. When the pool runs dry (e.g. a launch burst)
+ * keys are generated on demand as before, and a refill is kicked off.
+ * Only the envelope-encrypted key is held in memory.
+ */
+@Component
+@Slf4j
+public class WalletKeyPool {
+
+    // secp256k1 curve order - private keys must be in [1, n)
+    private static final BigInteger CURVE_ORDER =
+        new BigInteger("fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364141", 16);
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private final WalletEncryption walletEncryption;
+    private final BlockingQueue<PooledKey> pool;
+    private final int lowWaterMark;
+    private final boolean enabled;
+    private final Counter missCounter;
+    private final AtomicBoolean refilling = new AtomicBoolean(false);
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wallet-key-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WalletKeyPool(WalletEncryption walletEncryption,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.wallet.key-pool.enabled:true}") boolean enabled,
+                         @Value("${app.wallet.key-pool.size:500}") int size,
+                         @Value("${app.wallet.key-pool.low-water-percent:50}") int lowWaterPercent) {
+        this.walletEncryption = walletEncryption;
+        this.enabled = enabled;
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, size));
+        this.lowWaterMark = Math.max(1, size * lowWaterPercent / 100);
+
+        Gauge.builder("wallet.key-pool.size", pool, BlockingQueue::size)
+            .description("Pre-generated wallet keypairs ready for signups")
+            .register(meterRegistry);
+        this.missCounter = Counter.builder("wallet.key-pool.misses")
+            .description("Wallets created with an on-demand keypair because the pool was empty")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            triggerRefill();
+        }
+    }
+
+    /**
+     * Take a keypair for a new wallet, generating one on demand when the pool is empty
+     */
+    public PooledKey take() {
+        PooledKey key = enabled ? pool.poll() : null;
+        if (key == null) {
+            if (enabled) {
+                missCounter.increment();
+                log.debug("Wallet key pool empty, generating keypair on demand");
+            }
+            key = generate();
+        }
+        if (enabled && pool.size() < lowWaterMark) {
+            triggerRefill();
+        }
+        return key;
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    /**
+     * Start a background fill unless one is already running
+     */
+    void triggerRefill() {
+        if (refilling.compareAndSet(false, true)) {
+            refillExecutor.execute(this::refill);
+        }
+    }
+
+    private void refill() {
+        try {
+            int added = 0;
+            while (pool.remainingCapacity() > 0 && pool.offer(generate())) {
+                added++;
+            }
+            log.debug("Wallet key pool refilled with {} keypairs (size {})", added, pool.size());
+        } catch (Exception e) {
+            log.warn("Wallet key pool refill failed: {}", e.getMessage());
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    /**
+     * Generate a random secp256k1 keypair and encrypt its private key for storage
+     */
+    PooledKey generate() {
+        BigInteger privateKeyBigInt = new BigInteger(256, SECURE_RANDOM);
+        while (privateKeyBigInt.signum() == 0 || privateKeyBigInt.compareTo(CURVE_ORDER) >= 0) {
+            privateKeyBigInt = new BigInteger(256, SECURE_RANDOM);
+        }
+
+        String privateKey = privateKeyBigInt.toString(16);
+        String walletAddress = Credentials.create(privateKey).getAddress();
+        return new PooledKey(walletAddress, walletEncryption.encryptPrivateKey(privateKey, walletAddress));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    /**
+     * Wallet address and its envelope-encrypted private key
+     */
+    public record PooledKey(String walletAddress, String encryptedPrivateKey) {
+    }
+}
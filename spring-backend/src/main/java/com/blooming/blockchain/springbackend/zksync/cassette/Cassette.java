@@ -0,0 +1,36 @@
+package com.blooming.blockchain.springbackend.zksync.cassette;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * On-disk layout of a JSON-RPC cassette (big-endian)
+ * <pre>
+ * header: int magic "RPCC", short version
+ * entry:  int latencyMicros, int keyLength, key (UTF-8), int bodyLength, body (UTF-8 JSON)
+ * </pre>
+ * key is "method params-json" of one JSON-RPC call (the request id is left out, web3j
+ * numbers requests per process); body is the response object without jsonrpc/id, which
+ * are spliced back in on replay. Batches are stored as one entry per call. A truncated
+ * last entry (recording killed mid-write) is ignored on load.
+ */
+final class Cassette {
+
+    static final int MAGIC = 0x52504343;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 6;
+
+    private Cassette() {
+    }
+
+    /**
+     * Lookup key of a single JSON-RPC request
+     */
+    static String key(JsonNode request) {
+        return request.path("method").asText() + ' ' + request.path("params");
+    }
+
+    static String methodOf(String key) {
+        int space = key.indexOf(' ');
+        return space < 0 ? key : key.substring(0, space);
+    }
+}
@@ -0,0 +1,261 @@
+package com.blooming.blockchain.springbackend.zksync.cassette;
+
+import com.blooming.blockchain.springbackend.global.enums.CassetteLatencyType;
+import com.blooming.blockchain.springbackend.zksync.util.ChainGateway;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offline zkSync transport that serves recorded JSON-RPC responses (app.zksync.gateway=replay)
+ * The cassette is memory-mapped read-only and indexed once at startup; a response is
+ * copied straight from the mapping into the reply with the caller's request id spliced
+ * in, so replay never parses response JSON. Repeated calls with the same method and
+ * params get the recorded responses in recording order and then keep the last one
+ * (e.g. a receipt that was null before it was mined). A call that was never recorded
+ * gets the next recorded response of the same method unless strict matching is on -
+ * freshly signed transactions differ per run, and their recorded hashes keep the
+ * follow-up receipt lookups matching exactly.
+ */
+@Slf4j
+public class CassetteReplayGateway extends Service implements ChainGateway {
+
+    private static final byte[] RESPONSE_PREFIX = "{\"jsonrpc\":\"2.0\",\"id\":".getBytes(StandardCharsets.UTF_8);
+
+    private final Path path;
+    private final Settings settings;
+    private final MappedByteBuffer cassette;
+    private final Map<String, Track> tracksByKey = new HashMap<>();
+    private final Map<String, Track> tracksByMethod = new HashMap<>();
+    private final AtomicLong fallbackCount = new AtomicLong();
+    private int entryCount;
+
+    public CassetteReplayGateway(Path path, Settings settings) throws IOException {
+        super(false);
+        this.path = path;
+        this.settings = settings;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Cassette " + path + " is larger than 2 GB");
+            }
+            this.cassette = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        index();
+        log.info("Replaying zkSync JSON-RPC from cassette {} - {} calls, {} distinct, latency {}",
+            path.toAbsolutePath(), entryCount, tracksByKey.size(), settings.latency());
+    }
+
+    private void index() throws IOException {
+        int limit = cassette.limit();
+        if (limit < Cassette.HEADER_BYTES || cassette.getInt(0) != Cassette.MAGIC) {
+            throw new IOException(path + " is not a JSON-RPC cassette");
+        }
+        short version = cassette.getShort(4);
+        if (version != Cassette.VERSION) {
+            throw new IOException("Unsupported cassette version " + version + " in " + path);
+        }
+
+        int position = Cassette.HEADER_BYTES;
+        while (position + 8 <= limit) {
+            int latencyMicros = cassette.getInt(position);
+            int keyLength = cassette.getInt(position + 4);
+            int keyOffset = position + 8;
+            if (keyLength < 0 || keyOffset + keyLength + 4 > limit) {
+                break;
+            }
+            int bodyLength = cassette.getInt(keyOffset + keyLength);
+            int bodyOffset = keyOffset + keyLength + 4;
+            if (bodyLength < 2 || bodyOffset + bodyLength > limit) {
+                break; // truncated tail of an interrupted recording
+            }
+
+            byte[] keyBytes = new byte[keyLength];
+            cassette.get(keyOffset, keyBytes);
+            String key = new String(keyBytes, StandardCharsets.UTF_8);
+            tracksByKey.computeIfAbsent(key, k -> new Track()).add(bodyOffset, bodyLength, latencyMicros);
+            tracksByMethod.computeIfAbsent(Cassette.methodOf(key), k -> new Track()).add(bodyOffset, bodyLength, latencyMicros);
+            entryCount++;
+            position = bodyOffset + bodyLength;
+        }
+        if (position < limit) {
+            log.warn("Ignoring {} trailing bytes of cassette {} (truncated recording)", limit - position, path);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "cassette-replay";
+    }
+
+    @Override
+    public boolean isSimulated() {
+        return true;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Calls answered with another recorded response of the same method
+     */
+    public long getFallbackCount() {
+        return fallbackCount.get();
+    }
+
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        JsonNode request = objectMapper.readTree(payload);
+        byte[] response;
+        int latencyMicros;
+        if (request.isArray()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256 * Math.max(1, request.size()));
+            out.write('[');
+            latencyMicros = 0;
+            for (int i = 0; i < request.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                Track track = trackFor(request.get(i));
+                int entry = track.next();
+                out.write(respond(request.get(i), track, entry));
+                latencyMicros = Math.max(latencyMicros, track.latencyMicros(entry));
+            }
+            out.write(']');
+            response = out.toByteArray();
+        } else {
+            Track track = trackFor(request);
+            int entry = track.next();
+            response = respond(request, track, entry);
+            latencyMicros = track.latencyMicros(entry);
+        }
+
+        simulateLatency(latencyMicros);
+        return new ByteArrayInputStream(response);
+    }
+
+    private Track trackFor(JsonNode request) throws IOException {
+        String key = Cassette.key(request);
+        Track track = tracksByKey.get(key);
+        if (track != null) {
+            return track;
+        }
+        String method = Cassette.methodOf(key);
+        track = settings.strict() ? null : tracksByMethod.get(method);
+        if (track == null) {
+            throw new IOException("Cassette " + path.getFileName() + " has no recorded response for " + key);
+        }
+        fallbackCount.incrementAndGet();
+        log.debug("Replaying unrecorded {} call with another recorded {} response", method, method);
+        return track;
+    }
+
+    // {"jsonrpc":"2.0","id":<id>, + recorded body without its opening brace
+    private byte[] respond(JsonNode request, Track track, int entry) {
+        JsonNode id = request.get("id");
+        byte[] idBytes = (id == null ? "null" : id.toString()).getBytes(StandardCharsets.UTF_8);
+        int bodyOffset = track.offset(entry);
+        int bodyLength = track.length(entry);
+
+        byte[] response = new byte[RESPONSE_PREFIX.length + idBytes.length + bodyLength];
+        System.arraycopy(RESPONSE_PREFIX, 0, response, 0, RESPONSE_PREFIX.length);
+        System.arraycopy(idBytes, 0, response, RESPONSE_PREFIX.length, idBytes.length);
+        int position = RESPONSE_PREFIX.length + idBytes.length;
+        response[position] = ',';
+        cassette.get(bodyOffset + 1, response, position + 1, bodyLength - 1);
+        return response;
+    }
+
+    private void simulateLatency(int recordedMicros) throws IOException {
+        long micros = switch (settings.latency()) {
+            case NONE -> 0;
+            case RECORDED -> recordedMicros;
+            case FIXED -> settings.latencyMillis() * 1_000 + (settings.latencyJitterMillis() > 0
+                ? ThreadLocalRandom.current().nextLong(settings.latencyJitterMillis() * 1_000 + 1) : 0);
+        };
+        if (micros <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MICROSECONDS.sleep(micros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while simulating latency", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // The mapping is released with the buffer; nothing else is held open
+    }
+
+    /**
+     * Replay settings
+     * @param latency Synthetic latency profile
+     * @param latencyMillis FIXED: latency added to every request
+     * @param latencyJitterMillis FIXED: uniform random extra latency [0, jitter]
+     * @param strict Fail calls whose method and params were never recorded instead of falling back by method
+     */
+    public record Settings(CassetteLatencyType latency,
+                           long latencyMillis,
+                           long latencyJitterMillis,
+                           boolean strict) {
+    }
+
+    /**
+     * Recorded responses of one key (or method) in recording order: offset, length, latency per entry
+     * Built while indexing, read-only afterwards except for the cursor.
+     */
+    private static final class Track {
+
+        private int[] entries = new int[3];
+        private int size;
+        private final AtomicInteger cursor = new AtomicInteger(-1);
+
+        void add(int offset, int length, int latencyMicros) {
+            if (size * 3 == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[size * 3] = offset;
+            entries[size * 3 + 1] = length;
+            entries[size * 3 + 2] = latencyMicros;
+            size++;
+        }
+
+        /**
+         * Next entry in recording order, staying on the last one once the recording is used up
+         */
+        int next() {
+            return cursor.updateAndGet(current -> current < size - 1 ? current + 1 : current);
+        }
+
+        int offset(int entry) {
+            return entries[entry * 3];
+        }
+
+        int length(int entry) {
+            return entries[entry * 3 + 1];
+        }
+
+        int latencyMicros(int entry) {
+            return entries[entry * 3 + 2];
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.blooming.blockchain.springbackend.zksync.cassette;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Appends recorded JSON-RPC calls to a cassette file (see Cassette for the layout)
+ * Buffered; the file is complete once the writer is closed.
+ */
+final class CassetteWriter implements Closeable {
+
+    private final Path path;
+    private final DataOutputStream out;
+    private long entryCount;
+
+    CassetteWriter(Path path) throws IOException {
+        this.path = path;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024));
+        out.writeInt(Cassette.MAGIC);
+        out.writeShort(Cassette.VERSION);
+    }
+
+    synchronized void append(String key, byte[] body, int latencyMicros) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(latencyMicros);
+        out.writeInt(keyBytes.length);
+        out.write(keyBytes);
+        out.writeInt(body.length);
+        out.write(body);
+        entryCount++;
+    }
+
+    synchronized long getEntryCount() {
+        return entryCount;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
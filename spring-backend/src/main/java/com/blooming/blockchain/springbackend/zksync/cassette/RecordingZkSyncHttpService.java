@@ -0,0 +1,103 @@
+package com.blooming.blockchain.springbackend.zksync.cassette;
+
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncHttpService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Live zkSync transport that also records every JSON-RPC call into a cassette
+ * (app.zksync.gateway=record). Requests go through the normal ZkSyncHttpService
+ * path - rate limiter, hedging, breakers, metrics - and the observed latency is
+ * stored with each response so replay can reproduce it. A call that cannot be
+ * recorded is logged and still returned to the caller.
+ */
+@Slf4j
+public class RecordingZkSyncHttpService extends ZkSyncHttpService {
+
+    private final CassetteWriter writer;
+
+    public RecordingZkSyncHttpService(Path cassette,
+                                      List<String> urls,
+                                      OkHttpClient httpClient,
+                                      Routing routing,
+                                      RpcRateLimiter rateLimiter,
+                                      int maxInFlight,
+                                      long acquireTimeoutMillis,
+                                      MeterRegistry meterRegistry) throws IOException {
+        super(urls, httpClient, routing, rateLimiter, maxInFlight, acquireTimeoutMillis, meterRegistry);
+        this.writer = new CassetteWriter(cassette);
+        log.info("Recording zkSync JSON-RPC traffic to cassette {}", cassette.toAbsolutePath());
+    }
+
+    @Override
+    public String getName() {
+        return "zksync-http-recording";
+    }
+
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        long startedAt = System.nanoTime();
+        byte[] response;
+        try (InputStream in = super.performIO(payload)) {
+            response = in.readAllBytes();
+        }
+        int latencyMicros = (int) Math.min(Integer.MAX_VALUE, (System.nanoTime() - startedAt) / 1_000);
+
+        try {
+            record(payload, response, latencyMicros);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to record zkSync RPC call to cassette: {}", e.getMessage());
+        }
+        return new ByteArrayInputStream(response);
+    }
+
+    private void record(String payload, byte[] response, int latencyMicros) throws IOException {
+        JsonNode request = objectMapper.readTree(payload);
+        JsonNode reply = objectMapper.readTree(response);
+        if (!request.isArray()) {
+            append(request, reply, latencyMicros);
+            return;
+        }
+
+        // Batch: pair calls with responses by id (a node may answer out of order)
+        Map<JsonNode, JsonNode> repliesById = new HashMap<>();
+        reply.forEach(single -> repliesById.put(single.get("id"), single));
+        for (JsonNode single : request) {
+            JsonNode singleReply = repliesById.get(single.get("id"));
+            if (singleReply != null) {
+                append(single, singleReply, latencyMicros);
+            }
+        }
+    }
+
+    private void append(JsonNode request, JsonNode reply, int latencyMicros) throws IOException {
+        if (!(reply instanceof ObjectNode body)) {
+            return; // not a single JSON-RPC response object
+        }
+        body.remove("jsonrpc");
+        body.remove("id");
+        if (body.isEmpty()) {
+            return;
+        }
+        writer.append(Cassette.key(request), objectMapper.writeValueAsBytes(body), latencyMicros);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+        log.info("Closed cassette {} with {} recorded calls", writer.getPath().toAbsolutePath(), writer.getEntryCount());
+        super.close();
+    }
+}
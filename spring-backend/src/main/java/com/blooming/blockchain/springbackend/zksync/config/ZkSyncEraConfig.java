@@ -1,15 +1,33 @@
 package com.blooming.blockchain.springbackend.zksync.config;
 
+import com.blooming.blockchain.springbackend.global.enums.CassetteLatencyType;
+import com.blooming.blockchain.springbackend.zksync.cassette.CassetteReplayGateway;
+import com.blooming.blockchain.springbackend.zksync.cassette.RecordingZkSyncHttpService;
+import com.blooming.blockchain.springbackend.zksync.simulator.SimulatedChainGateway;
+import com.blooming.blockchain.springbackend.zksync.util.BlockchainExecutor;
+import com.blooming.blockchain.springbackend.zksync.util.ChainGateway;
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncHttpService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.web3j.protocol.Web3j;
-import org.web3j.protocol.http.HttpService;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration class for zkSync Era integration
- * Sets up Web3j client and prepares for zkSync Era SDK integration
+ * Sets up the single shared, connection-pooled Web3j client used by every zkSync service
  */
 @Configuration
 @Slf4j
@@ -20,16 +38,206 @@ public class ZkSyncEraConfig {
     
     @Value("${app.zksync.paymaster.address}")
     private String paymasterAddress;
-    
+
+    @Value("${app.zksync.rpc.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.zksync.rpc.read-timeout-ms:15000}")
+    private long readTimeoutMs;
+
+    @Value("${app.zksync.rpc.max-idle-connections:20}")
+    private int maxIdleConnections;
+
+    @Value("${app.zksync.rpc.keep-alive-seconds:300}")
+    private long keepAliveSeconds;
+
+    @Value("${app.zksync.rpc.max-in-flight:64}")
+    private int maxInFlight;
+
+    @Value("${app.zksync.rpc.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMs;
+
+    @Value("${app.zksync.rpc.fallback-urls:}")
+    private String fallbackRpcUrls;
+
+    @Value("${app.zksync.rpc.hedge.enabled:true}")
+    private boolean hedgeEnabled;
+
+    @Value("${app.zksync.rpc.hedge.min-delay-ms:50}")
+    private long hedgeMinDelayMs;
+
+    @Value("${app.zksync.rpc.hedge.max-delay-ms:1000}")
+    private long hedgeMaxDelayMs;
+
+    @Value("${app.zksync.rpc.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${app.zksync.rpc.breaker.open-ms:30000}")
+    private long breakerOpenMs;
+
+    @Value("${app.zksync.rpc.rate-limit.permits-per-second:40}")
+    private double rateLimitPermitsPerSecond;
+
+    @Value("${app.zksync.rpc.rate-limit.burst:80}")
+    private int rateLimitBurst;
+
+    @Value("${app.zksync.rpc.rate-limit.queue-depth:500}")
+    private int rateLimitQueueDepth;
+
+    @Value("${app.zksync.rpc.rate-limit.queue-timeout-ms:5000}")
+    private long rateLimitQueueTimeoutMs;
+
+    @Value("${app.zksync.executor.virtual-threads:true}")
+    private boolean executorVirtualThreads;
+
+    @Value("${app.zksync.executor.max-concurrency:256}")
+    private int executorMaxConcurrency;
+
+    @Value("${app.zksync.gateway:live}")
+    private String gateway;
+
+    @Value("${app.zksync.chain-id:300}")
+    private long chainId;
+
+    @Value("${app.zksync.governance.token.address}")
+    private String governanceTokenAddress;
+
+    @Value("${app.zksync.simulator.block-time-ms:1000}")
+    private long simulatorBlockTimeMs;
+
+    @Value("${app.zksync.simulator.max-transactions-per-block:1000}")
+    private int simulatorMaxTransactionsPerBlock;
+
+    @Value("${app.zksync.simulator.latency-ms:0}")
+    private long simulatorLatencyMs;
+
+    @Value("${app.zksync.simulator.latency-jitter-ms:0}")
+    private long simulatorLatencyJitterMs;
+
+    @Value("${app.zksync.simulator.failure-rate:0.0}")
+    private double simulatorFailureRate;
+
+    @Value("${app.zksync.simulator.retained-blocks:10000}")
+    private int simulatorRetainedBlocks;
+
+    @Value("${app.zksync.simulator.gas-price-wei:25000000}")
+    private BigInteger simulatorGasPriceWei;
+
+    @Value("${app.zksync.simulator.write-gas:300000}")
+    private long simulatorWriteGas;
+
+    @Value("${app.zksync.simulator.eth-balance-wei:1000000000000000000}")
+    private BigInteger simulatorEthBalanceWei;
+
+    @Value("${app.zksync.simulator.owner-address:}")
+    private String simulatorOwnerAddress;
+
+    @Value("${app.zksync.cassette.path:cassettes/zksync.cassette}")
+    private String cassettePath;
+
+    @Value("${app.zksync.cassette.latency:NONE}")
+    private CassetteLatencyType cassetteLatency;
+
+    @Value("${app.zksync.cassette.latency-ms:0}")
+    private long cassetteLatencyMs;
+
+    @Value("${app.zksync.cassette.latency-jitter-ms:0}")
+    private long cassetteLatencyJitterMs;
+
+    @Value("${app.zksync.cassette.strict:false}")
+    private boolean cassetteStrict;
+
+    /**
+     * Pooled HTTP client shared by all zkSync RPC traffic
+     */
+    @Bean
+    public OkHttpClient zkSyncRpcHttpClient() {
+        return new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+            .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+            .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+            .writeTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+            .retryOnConnectionFailure(true)
+            .build();
+    }
+
+    /**
+     * Token bucket with priority lanes (user writes, user reads, background jobs)
+     */
+    @Bean
+    public RpcRateLimiter rpcRateLimiter(MeterRegistry meterRegistry) {
+        return new RpcRateLimiter(rateLimitPermitsPerSecond, rateLimitBurst,
+            rateLimitQueueDepth, rateLimitQueueTimeoutMs, meterRegistry);
+    }
+
+    /**
+     * JSON-RPC transport behind the shared Web3j client
+     * live: ZkSyncHttpService with in-flight limit, per-method metrics and multi-endpoint routing
+     * (rpc-url is the primary for writes; fallback-urls are added for reads and failover)
+     * simulated: in-process GovernanceToken chain for load tests, no network traffic
+     * record: live transport that also writes every call to the cassette file
+     * replay: recorded responses from the cassette file, no network traffic
+     */
+    @Bean
+    public ChainGateway chainGateway(OkHttpClient zkSyncRpcHttpClient,
+                                     RpcRateLimiter rpcRateLimiter,
+                                     MeterRegistry meterRegistry) {
+        ZkSyncHttpService.Routing routing = new ZkSyncHttpService.Routing(hedgeEnabled, hedgeMinDelayMs,
+            hedgeMaxDelayMs, breakerFailureThreshold, breakerOpenMs);
+        try {
+            return switch (gateway.toLowerCase()) {
+                case "simulated" -> {
+                    log.warn("app.zksync.gateway=simulated - zkSync RPC is served by the in-process chain simulator");
+                    yield new SimulatedChainGateway(
+                        new SimulatedChainGateway.Settings(chainId, simulatorBlockTimeMs, simulatorMaxTransactionsPerBlock,
+                            simulatorLatencyMs, simulatorLatencyJitterMs, simulatorFailureRate, simulatorRetainedBlocks,
+                            simulatorGasPriceWei, simulatorWriteGas, simulatorEthBalanceWei),
+                        governanceTokenAddress,
+                        simulatorOwnerAddress);
+                }
+                case "record" -> new RecordingZkSyncHttpService(Path.of(cassettePath), rpcUrls(), zkSyncRpcHttpClient,
+                    routing, rpcRateLimiter, maxInFlight, acquireTimeoutMs, meterRegistry);
+                case "replay" -> {
+                    log.warn("app.zksync.gateway=replay - zkSync RPC is served from cassette {}", cassettePath);
+                    yield new CassetteReplayGateway(Path.of(cassettePath), new CassetteReplayGateway.Settings(
+                        cassetteLatency, cassetteLatencyMs, cassetteLatencyJitterMs, cassetteStrict));
+                }
+                default -> new ZkSyncHttpService(
+                    rpcUrls(),
+                    zkSyncRpcHttpClient,
+                    routing,
+                    rpcRateLimiter,
+                    maxInFlight,
+                    acquireTimeoutMs,
+                    meterRegistry
+                );
+            };
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open zkSync RPC cassette " + cassettePath, e);
+        }
+    }
+
+    /**
+     * Executor for every async chain operation (instead of ForkJoinPool.commonPool())
+     */
+    @Bean
+    public BlockchainExecutor blockchainExecutor(MeterRegistry meterRegistry) {
+        return new BlockchainExecutor(executorVirtualThreads, executorMaxConcurrency, meterRegistry);
+    }
+
     /**
      * Configure Web3j client for zkSync Era
      */
     @Bean
-    public Web3j zkSyncEraWeb3j() {
-        log.info("Initializing zkSync Era Web3j client with RPC: {}", rpcUrl);
-        
-        HttpService httpService = new HttpService(rpcUrl);
-        Web3j web3j = Web3j.build(httpService);
+    public Web3j zkSyncEraWeb3j(ChainGateway chainGateway) {
+        if (chainGateway instanceof ZkSyncHttpService httpService) {
+            log.info("Initializing zkSync Era Web3j client with RPC: {} (endpoints: {}, max in-flight: {}, idle pool: {})",
+                rpcUrl, httpService.getEndpoints().size(), maxInFlight, maxIdleConnections);
+        } else {
+            log.info("Initializing zkSync Era Web3j client with gateway: {}", chainGateway.getName());
+        }
+
+        Web3j web3j = Web3j.build(chainGateway);
         
         // Test connection
         try {
@@ -46,6 +254,16 @@ public class ZkSyncEraConfig {
         return web3j;
     }
     
+    private List<String> rpcUrls() {
+        List<String> urls = new ArrayList<>();
+        urls.add(rpcUrl);
+        Arrays.stream(fallbackRpcUrls.split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty() && !urls.contains(url))
+            .forEach(urls::add);
+        return urls;
+    }
+
     /**
      * Get zkSync Era configuration info
      */
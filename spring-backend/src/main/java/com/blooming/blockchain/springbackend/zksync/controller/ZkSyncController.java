@@ -2,28 +2,29 @@ package com.blooming.blockchain.springbackend.zksync.controller;
 
 import com.blooming.blockchain.springbackend.auth.jwt.JwtService;
 import com.blooming.blockchain.springbackend.exception.BlockchainTransactionException;
-import com.blooming.blockchain.springbackend.exception.DatabaseUpdateException;
 import com.blooming.blockchain.springbackend.exception.InsufficientPointsException;
+import com.blooming.blockchain.springbackend.global.enums.TransactionStatusType;
 import com.blooming.blockchain.springbackend.pointtransaction.entity.TokenTransaction;
-import com.blooming.blockchain.springbackend.pointtransaction.repository.PointTransactionRepository;
 import com.blooming.blockchain.springbackend.pointtransaction.service.PointTransactionService;
-import com.blooming.blockchain.springbackend.pointtransaction.service.TokenTransactionService;
 import com.blooming.blockchain.springbackend.userdetail.service.UserPointTokenService;
 import com.blooming.blockchain.springbackend.zksync.dto.PaymasterStatusResponse;
 import com.blooming.blockchain.springbackend.zksync.dto.TokenExchangeResponse;
 import com.blooming.blockchain.springbackend.zksync.dto.WalletBalanceResponse;
+import com.blooming.blockchain.springbackend.zksync.service.TokenExchangeService;
 import com.blooming.blockchain.springbackend.zksync.service.ZkSyncService;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigInteger;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/zksync")
@@ -32,16 +33,14 @@ import java.util.Map;
 public class ZkSyncController {
 
     // Constants for token exchange
-    private static final BigInteger TOKEN_DECIMALS = BigInteger.valueOf(10).pow(18);
     private static final Integer EXCHANGE_RATE_POINTS = 10;
     private static final Integer EXCHANGE_RATE_TOKENS = 1;
 
     private final ZkSyncService zkSyncService;
+    private final TokenExchangeService tokenExchangeService;
     private final JwtService jwtService;
     private final UserPointTokenService userPointTokenService;
-    private final TokenTransactionService tokenTransactionService;
     private final PointTransactionService pointTransactionService;
-    private final PointTransactionRepository pointTransactionRepository;
 
 
     /**
@@ -59,6 +58,12 @@ public class ZkSyncController {
                 .balanceInEth(formatEthBalance(stats.getBalance()))
                 .isActive(stats.isActive())
                 .governanceTokenAddress(stats.getGovernanceTokenAddress())
+                .blockNumber(stats.getBlockNumber() != null ? stats.getBlockNumber().toString() : null)
+                .updatedAt(stats.getUpdatedAt())
+                .burnRateWeiPerHour(stats.getBurnRateWeiPerHour() != null ? stats.getBurnRateWeiPerHour().toString() : null)
+                .burnRateEthPerHour(stats.getBurnRateWeiPerHour() != null ? formatEthBalance(stats.getBurnRateWeiPerHour()) : null)
+                .secondsToEmpty(stats.getTimeToEmpty() != null ? stats.getTimeToEmpty().toSeconds() : null)
+                .stale(stats.isStale())
                 .build());
         } catch (Exception e) {
             log.error("Failed to get paymaster status", e);
@@ -85,8 +90,11 @@ public class ZkSyncController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Smart wallet address not found in token"));
             }
 
-            BigInteger ethBalance = zkSyncService.getWalletBalance(smartWalletAddress).join();
-            BigInteger tokenBalance = zkSyncService.getGovernanceTokenBalance(smartWalletAddress).join();
+            // Issue both reads before joining so they share one JSON-RPC batch
+            CompletableFuture<BigInteger> ethBalanceFuture = zkSyncService.getWalletBalance(smartWalletAddress);
+            CompletableFuture<BigInteger> tokenBalanceFuture = zkSyncService.getGovernanceTokenBalance(smartWalletAddress);
+            BigInteger ethBalance = ethBalanceFuture.join();
+            BigInteger tokenBalance = tokenBalanceFuture.join();
 
             return ResponseEntity.ok(WalletBalanceResponse.builder()
                 .address(smartWalletAddress)
@@ -106,11 +114,14 @@ public class ZkSyncController {
 
     /**
      * Exchange exactly 10 main points for 1 governance token
+     * Takes the same path as the async endpoint: the debit, the PENDING token transaction and
+     * the outbox mint message commit together, so a crash can never lose the points. The request
+     * then waits a bounded time for the outbox to confirm or fail the exchange.
      * @param request HTTP request to extract JWT token  
-     * @return Transaction result with database and blockchain updates
+     * @return Transaction result with database and blockchain updates,
+     *         or 202 Accepted when the mint outcome is not known yet
      */
     @PostMapping("/exchange/points-to-tokens")
-    @Transactional
     public ResponseEntity<?> exchangePointsToTokens(HttpServletRequest request) {
         try {
             String token = extractJwtFromRequest(request);
@@ -127,77 +138,26 @@ public class ZkSyncController {
             // Fixed exchange: 10 main points → 1 token
             final Integer MAIN_POINTS_TO_EXCHANGE = EXCHANGE_RATE_POINTS;
             final Integer TOKENS_TO_RECEIVE = EXCHANGE_RATE_TOKENS;
-            final BigInteger TOKEN_AMOUNT_WEI = BigInteger.valueOf(TOKENS_TO_RECEIVE).multiply(TOKEN_DECIMALS);
 
             log.info("Exchange request - User: {}, Wallet: {}, {} main points → {} token", 
                 googleId, smartWalletAddress, MAIN_POINTS_TO_EXCHANGE, TOKENS_TO_RECEIVE);
 
-            // Check user's current main point balance
-            Integer currentMainPoints = userPointTokenService.getMainPointBalance(googleId);
-            if (currentMainPoints < MAIN_POINTS_TO_EXCHANGE) {
-                throw new InsufficientPointsException(currentMainPoints, MAIN_POINTS_TO_EXCHANGE);
-            }
-
-            // Step 1: Create token transaction record (store tokens as integers in backend)
-            TokenTransaction tokenTransaction = tokenTransactionService.createTokenTransaction(
-                googleId, 
-                MAIN_POINTS_TO_EXCHANGE, 
-                TOKENS_TO_RECEIVE.longValue(),
-                "Exchange: " + MAIN_POINTS_TO_EXCHANGE + " main points -> " + TOKENS_TO_RECEIVE + " BLOOM token"
-            );
-
-            // Step 2: Update database (deduct 10 main points, add 1 token as integer)
-            boolean dbUpdateSuccess = userPointTokenService.exchangeMainPointsToTokens(
-                googleId, MAIN_POINTS_TO_EXCHANGE, TOKENS_TO_RECEIVE.longValue());
-            
-            if (!dbUpdateSuccess) {
-                // Mark transaction as failed
-                tokenTransactionService.failTokenTransaction(tokenTransaction.getId());
-                throw new DatabaseUpdateException("Failed to update database balances");
-            }
+            // Step 1-2: Deduct 10 main points, add 1 token, create the PENDING token transaction and queue the mint (one commit)
+            Integer tokenTransactionId = tokenExchangeService.requestExchange(googleId, smartWalletAddress).getId();
 
-            log.info("Database updated successfully - deducted {} main points, added {} token balance for user: {}", 
-                MAIN_POINTS_TO_EXCHANGE, TOKENS_TO_RECEIVE, googleId);
-
-            // Step 2.5: Record point spending transaction (SOURCE_ID = 5 = MAIN_EXCHANGE)
-            try {
-                com.blooming.blockchain.springbackend.pointtransaction.entity.PointTransaction pointTx = 
-                    com.blooming.blockchain.springbackend.pointtransaction.entity.PointTransaction.createMainToTokenExchange(
-                        googleId, MAIN_POINTS_TO_EXCHANGE, "Exchange: " + MAIN_POINTS_TO_EXCHANGE + " main points -> " + TOKENS_TO_RECEIVE + " BLOOM token");
-                pointTx.confirmTransaction(); // Mark as confirmed since balance update succeeded
-                pointTransactionRepository.save(pointTx);
-                log.info("Recorded point spending transaction for user: {} - {} main points spent", googleId, MAIN_POINTS_TO_EXCHANGE);
-            } catch (Exception e) {
-                log.warn("Failed to record point spending transaction, but continuing with token minting: {}", e.getMessage());
-                // Don't fail the entire exchange if logging fails
+            // Step 3: Wait for the outbox to mint 1 actual token on blockchain (sent with other exchanges in one batchMint)
+            TokenTransaction outcome = tokenExchangeService.awaitOutcome(tokenTransactionId);
+            if (outcome.isPending()) {
+                // Receipt not there yet - the outbox keeps going, the client follows the status URL
+                log.warn("Mint outcome not known yet for user: {}, token transaction: {}", googleId, tokenTransactionId);
+                return exchangePending(tokenTransactionId, smartWalletAddress);
             }
-
-            // Step 3: Mint 1 actual token on blockchain
-            String txHash;
-            try {
-                txHash = zkSyncService.mintGovernanceTokens(
-                    smartWalletAddress, 
-                    TOKEN_AMOUNT_WEI, 
-                    "Exchange: " + MAIN_POINTS_TO_EXCHANGE + " main points -> " + TOKENS_TO_RECEIVE + " BLOOM token"
-                ).join();
-                
-                // Confirm the token transaction with blockchain hash
-                tokenTransactionService.confirmTokenTransaction(tokenTransaction.getId(), txHash);
-                log.info("Successfully completed full exchange - User: {}, TX: {}", googleId, txHash);
-                
-            } catch (Exception e) {
-                // If blockchain minting fails, rollback database changes
-                log.error("Blockchain minting failed, rolling back database changes for user: {}", googleId, e);
-                
-                // Mark transaction as failed
-                tokenTransactionService.failTokenTransaction(tokenTransaction.getId());
-                
-                // Rollback DB balances: add back 10 main points and remove 1 token worth in wei
-                userPointTokenService.revertExchangeMainPointsToTokens(
-                    googleId, MAIN_POINTS_TO_EXCHANGE, TOKENS_TO_RECEIVE.longValue());
-                
-                throw new BlockchainTransactionException("Blockchain transaction failed, changes rolled back: " + e.getMessage(), e);
+            if (!outcome.isConfirmed()) {
+                log.error("Blockchain minting failed, points are restored by the outbox for user: {}, token transaction: {}", googleId, tokenTransactionId);
+                throw new BlockchainTransactionException("Blockchain transaction failed, changes rolled back: token transaction " + tokenTransactionId);
             }
+            String txHash = outcome.getTxHash();
+            log.info("Successfully completed full exchange - User: {}, TX: {}", googleId, txHash);
 
             // Get updated balances for response
             Integer newMainPointBalance = userPointTokenService.getMainPointBalance(googleId);
@@ -211,7 +171,7 @@ public class ZkSyncController {
                 .walletAddress(smartWalletAddress)
                 .transactionHash(txHash)
                 .explorerUrl("https://sepolia.era.zksync.dev/tx/" + txHash)
-                .tokenTransactionId(tokenTransaction.getId())
+                .tokenTransactionId(tokenTransactionId)
                 .newMainPointBalance(newMainPointBalance)
                 .newTokenBalance(newTokenBalance)
                 .newTokenBalanceFormatted(formatTokenBalance(BigInteger.valueOf(newTokenBalance)))
@@ -227,8 +187,99 @@ public class ZkSyncController {
         }
     }
 
+    /**
+     * Exchange 10 main points for 1 governance token without waiting for the blockchain
+     * Points are debited and a PENDING token transaction is stored; the mint runs in the background
+     * @param request HTTP request to extract JWT token
+     * @return 202 Accepted with the token transaction id and status URLs
+     */
+    @PostMapping("/exchange/points-to-tokens/async")
+    public ResponseEntity<?> exchangePointsToTokensAsync(HttpServletRequest request) {
+        try {
+            String token = extractJwtFromRequest(request);
+            if (token == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "JWT token required"));
+            }
+
+            String googleId = jwtService.extractGoogleId(token);
+            String smartWalletAddress = jwtService.extractSmartWalletAddress(token);
+            if (smartWalletAddress == null || smartWalletAddress.trim().isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Smart wallet address not found in token"));
+            }
+
+            TokenTransaction tokenTransaction = tokenExchangeService.requestExchange(googleId, smartWalletAddress);
+            return exchangePending(tokenTransaction.getId(), smartWalletAddress);
+        } catch (ExpiredJwtException e) {
+            return ResponseEntity.status(401).body(Map.of("error", "Token expired"));
+        } catch (InsufficientPointsException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to accept points to tokens exchange", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("error", "Failed to exchange points to tokens: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the status of a points-to-token exchange
+     * @param tokenTransactionId Token transaction id returned by the async exchange
+     * @return Exchange status
+     */
+    @GetMapping("/exchange/{tokenTransactionId}")
+    public ResponseEntity<?> getExchangeStatus(@PathVariable Integer tokenTransactionId, HttpServletRequest request) {
+        try {
+            String token = extractJwtFromRequest(request);
+            if (token == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "JWT token required"));
+            }
+
+            String googleId = jwtService.extractGoogleId(token);
+            return tokenExchangeService.getStatus(tokenTransactionId, googleId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(Map.of("error", "Exchange not found")));
+        } catch (ExpiredJwtException e) {
+            return ResponseEntity.status(401).body(Map.of("error", "Token expired"));
+        }
+    }
+
+    /**
+     * Stream status updates of a points-to-token exchange (Server-Sent Events)
+     * @param tokenTransactionId Token transaction id returned by the async exchange
+     * @return SSE stream that completes once the exchange is CONFIRMED or FAILED
+     */
+    @GetMapping(value = "/exchange/{tokenTransactionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamExchangeStatus(@PathVariable Integer tokenTransactionId, HttpServletRequest request) {
+        try {
+            String token = extractJwtFromRequest(request);
+            if (token == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "JWT token required"));
+            }
+
+            String googleId = jwtService.extractGoogleId(token);
+            return tokenExchangeService.subscribe(tokenTransactionId, googleId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(Map.of("error", "Exchange not found")));
+        } catch (ExpiredJwtException e) {
+            return ResponseEntity.status(401).body(Map.of("error", "Token expired"));
+        }
+    }
+
     // Helper methods
 
+    private ResponseEntity<?> exchangePending(Integer tokenTransactionId, String smartWalletAddress) {
+        String statusUrl = "/api/zksync/exchange/" + tokenTransactionId;
+        return ResponseEntity.accepted()
+            .location(URI.create(statusUrl))
+            .body(Map.of(
+                "tokenTransactionId", tokenTransactionId,
+                "status", TransactionStatusType.PENDING.getName(),
+                "statusUrl", statusUrl,
+                "eventsUrl", statusUrl + "/events",
+                "walletAddress", smartWalletAddress,
+                "message", "Exchange accepted - tokens will be minted shortly"
+            ));
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -3,6 +3,8 @@ package com.blooming.blockchain.springbackend.zksync.dto;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 public class PaymasterStatusResponse {
@@ -11,4 +13,10 @@ public class PaymasterStatusResponse {
     private String balanceInEth;
     private boolean isActive;
     private String governanceTokenAddress;
+    private String blockNumber;
+    private LocalDateTime updatedAt;
+    private String burnRateWeiPerHour;
+    private String burnRateEthPerHour;
+    private Long secondsToEmpty;
+    private boolean stale;
 }
\ No newline at end of file
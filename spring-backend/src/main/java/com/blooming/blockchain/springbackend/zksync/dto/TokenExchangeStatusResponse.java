@@ -0,0 +1,19 @@
+package com.blooming.blockchain.springbackend.zksync.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class TokenExchangeStatusResponse {
+    private Integer tokenTransactionId;
+    private String status; // PENDING, CONFIRMED, FAILED
+    private Integer mainPointsSpent;
+    private Long tokensReceived;
+    private String transactionHash;
+    private String explorerUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime confirmedAt;
+}
@@ -0,0 +1,114 @@
+package com.blooming.blockchain.springbackend.zksync.entity;
+
+import com.blooming.blockchain.springbackend.global.enums.OutboxOperationType;
+import com.blooming.blockchain.springbackend.global.enums.OutboxStatusType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox row for an on-chain operation
+ * Written in the same DB transaction as the ledger change it belongs to, then
+ * drained by BlockchainOutboxDispatcher. The outbox id is the idempotency key:
+ * a message is only ever resubmitted after checking what its aggregate already
+ * recorded on-chain.
+ */
+@Entity
+@Table(name = "blockchain_outbox", indexes = {
+    @Index(name = "idx_outbox_status_next", columnList = "status, nextAttemptAt"),
+    @Index(name = "idx_outbox_aggregate", columnList = "operationType, aggregateId")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class BlockchainOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation_type", nullable = false, length = 32)
+    private OutboxOperationType operationType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Integer aggregateId; // e.g. TokenTransaction id
+
+    @Column(name = "user_google_id")
+    private String userGoogleId;
+
+    @Column(name = "target_address", length = 42)
+    private String targetAddress;
+
+    @Column(name = "amount_wei", length = 78)
+    private String amountWei;
+
+    @Column(columnDefinition = "TEXT")
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private OutboxStatusType status = OutboxStatusType.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "tx_hash", length = 66)
+    private String txHash;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+    // Constructor for enqueuing an operation
+    public BlockchainOutboxMessage(OutboxOperationType operationType, Integer aggregateId, String userGoogleId,
+                                   String targetAddress, String amountWei, String reason) {
+        this.operationType = operationType;
+        this.aggregateId = aggregateId;
+        this.userGoogleId = userGoogleId;
+        this.targetAddress = targetAddress;
+        this.amountWei = amountWei;
+        this.reason = reason;
+        this.status = OutboxStatusType.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Helper method to complete the message
+    public void complete(String txHash) {
+        this.txHash = txHash;
+        this.status = OutboxStatusType.COMPLETED;
+        this.lastError = null;
+        this.completedAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Helper method to schedule another attempt
+    public void retryAt(LocalDateTime nextAttemptAt, String error) {
+        this.status = OutboxStatusType.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Helper method to park the message for manual handling
+    public void deadLetter(String error) {
+        this.status = OutboxStatusType.DEAD_LETTER;
+        this.lastError = error;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
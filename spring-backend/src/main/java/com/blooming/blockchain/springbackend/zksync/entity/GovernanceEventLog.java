@@ -0,0 +1,78 @@
+package com.blooming.blockchain.springbackend.zksync.entity;
+
+import com.blooming.blockchain.springbackend.global.enums.GovernanceEventType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Decoded GovernanceToken event, as read by GovernanceEventIndexer
+ * (tx_hash, log_index) identifies a log on-chain, so re-indexing a block range
+ * never stores an event twice.
+ */
+@Entity
+@Table(name = "governance_event_logs",
+    uniqueConstraints = @UniqueConstraint(name = "uk_governance_event_logs_tx_log", columnNames = {"tx_hash", "log_index"}),
+    indexes = {
+        @Index(name = "idx_governance_event_logs_type_proposal", columnList = "event_type, proposal_id"),
+        @Index(name = "idx_governance_event_logs_account", columnList = "account"),
+        @Index(name = "idx_governance_event_logs_block", columnList = "block_number")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class GovernanceEventLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private GovernanceEventType eventType;
+
+    @Column(name = "block_number", nullable = false)
+    private Long blockNumber;
+
+    @Column(name = "tx_hash", nullable = false, length = 66)
+    private String txHash;
+
+    @Column(name = "log_index", nullable = false)
+    private Integer logIndex;
+
+    @Column(name = "proposal_id")
+    private Integer proposalId; // ProposalCreated, VoteCast, ProposalExecuted
+
+    @Column(name = "account", length = 42)
+    private String account; // proposer, voter or mint recipient (lowercase)
+
+    @Column(name = "support")
+    private Boolean support; // VoteCast
+
+    @Column(name = "amount_wei", length = 78)
+    private String amountWei; // VoteCast weight or TokensMinted amount
+
+    @Column(name = "deadline_epoch")
+    private Long deadlineEpoch; // ProposalCreated deadline (unix seconds)
+
+    @Column(columnDefinition = "TEXT")
+    private String data; // ProposalCreated description or TokensMinted reason
+
+    @CreationTimestamp
+    private LocalDateTime indexedAt;
+
+    public GovernanceEventLog(GovernanceEventType eventType, Long blockNumber, String txHash, Integer logIndex) {
+        this.eventType = eventType;
+        this.blockNumber = blockNumber;
+        this.txHash = txHash;
+        this.logIndex = logIndex;
+    }
+
+    public String getLogKey() {
+        return txHash + ":" + logIndex;
+    }
+}
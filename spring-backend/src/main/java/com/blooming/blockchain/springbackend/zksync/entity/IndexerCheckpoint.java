@@ -0,0 +1,39 @@
+package com.blooming.blockchain.springbackend.zksync.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last block fully processed by a chain indexer
+ * Updated in the same DB transaction as the rows produced from that block range,
+ * so an indexer restarted at lastBlock + 1 neither skips nor duplicates work.
+ */
+@Entity
+@Table(name = "indexer_checkpoints")
+@Getter
+@NoArgsConstructor
+public class IndexerCheckpoint {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "last_block", nullable = false)
+    private Long lastBlock;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public IndexerCheckpoint(String name, Long lastBlock) {
+        this.name = name;
+        advanceTo(lastBlock);
+    }
+
+    public void advanceTo(Long block) {
+        this.lastBlock = block;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
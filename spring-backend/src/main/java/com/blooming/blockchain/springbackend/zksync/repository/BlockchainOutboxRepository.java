@@ -0,0 +1,42 @@
+package com.blooming.blockchain.springbackend.zksync.repository;
+
+import com.blooming.blockchain.springbackend.global.enums.OutboxStatusType;
+import com.blooming.blockchain.springbackend.zksync.entity.BlockchainOutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BlockchainOutboxRepository extends JpaRepository<BlockchainOutboxMessage, Long> {
+
+    // Find messages that are due for dispatch (oldest first)
+    @Query("SELECT m.id FROM BlockchainOutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.id ASC")
+    List<Long> findDueIds(@Param("status") OutboxStatusType status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Claim a message for dispatch - only succeeds for one dispatcher
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BlockchainOutboxMessage m SET m.status = :inFlight, m.attempts = m.attempts + 1, m.updatedAt = :now " +
+           "WHERE m.id = :id AND m.status = :pending")
+    int claim(@Param("id") Long id,
+              @Param("pending") OutboxStatusType pending,
+              @Param("inFlight") OutboxStatusType inFlight,
+              @Param("now") LocalDateTime now);
+
+    // Return messages whose dispatcher died mid-flight to the queue
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BlockchainOutboxMessage m SET m.status = :pending, m.nextAttemptAt = :now, m.updatedAt = :now " +
+           "WHERE m.status = :inFlight AND m.updatedAt < :cutoff")
+    int releaseStale(@Param("pending") OutboxStatusType pending,
+                     @Param("inFlight") OutboxStatusType inFlight,
+                     @Param("cutoff") LocalDateTime cutoff,
+                     @Param("now") LocalDateTime now);
+
+    // Count messages by status (monitoring)
+    long countByStatus(OutboxStatusType status);
+}
@@ -0,0 +1,24 @@
+package com.blooming.blockchain.springbackend.zksync.repository;
+
+import com.blooming.blockchain.springbackend.global.enums.GovernanceEventType;
+import com.blooming.blockchain.springbackend.zksync.entity.GovernanceEventLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GovernanceEventLogRepository extends JpaRepository<GovernanceEventLog, Long> {
+
+    // Already indexed events of the given transactions (idempotency check per page)
+    List<GovernanceEventLog> findByTxHashIn(Collection<String> txHashes);
+
+    // Events of one proposal in chain order
+    List<GovernanceEventLog> findByProposalIdOrderByBlockNumberAscLogIndexAsc(Integer proposalId);
+
+    // Events of one type (e.g. all VoteCast) in chain order
+    List<GovernanceEventLog> findByEventTypeOrderByBlockNumberAscLogIndexAsc(GovernanceEventType eventType);
+
+    long countByEventType(GovernanceEventType eventType);
+}
@@ -0,0 +1,9 @@
+package com.blooming.blockchain.springbackend.zksync.repository;
+
+import com.blooming.blockchain.springbackend.zksync.entity.IndexerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IndexerCheckpointRepository extends JpaRepository<IndexerCheckpoint, String> {
+}
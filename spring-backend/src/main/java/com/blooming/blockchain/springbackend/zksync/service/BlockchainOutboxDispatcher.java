@@ -0,0 +1,170 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.exception.BlockchainTransactionException;
+import com.blooming.blockchain.springbackend.global.enums.OutboxOperationType;
+import com.blooming.blockchain.springbackend.zksync.entity.BlockchainOutboxMessage;
+import com.blooming.blockchain.springbackend.zksync.util.ChainMetrics;
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the blockchain outbox
+ * Claims due messages in batches, hands them to the handler for their operation
+ * type and records the outcome: COMPLETED, a retry with exponential backoff,
+ * or DEAD_LETTER once retries are exhausted or the failure is definitive.
+ */
+@Component
+@Slf4j
+public class BlockchainOutboxDispatcher {
+
+    private final BlockchainOutboxService blockchainOutboxService;
+    private final ChainMetrics chainMetrics;
+    private final Map<OutboxOperationType, OutboxHandler> handlers = new EnumMap<>(OutboxOperationType.class);
+    private final ExecutorService outboxWorkers;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${app.zksync.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.zksync.outbox.max-in-flight:200}")
+    private int maxInFlight;
+
+    @Value("${app.zksync.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.zksync.outbox.backoff-base-ms:2000}")
+    private long backoffBaseMs;
+
+    @Value("${app.zksync.outbox.backoff-max-ms:300000}")
+    private long backoffMaxMs;
+
+    @Value("${app.zksync.outbox.in-flight-lease-ms:600000}")
+    private long inFlightLeaseMs;
+
+    public BlockchainOutboxDispatcher(BlockchainOutboxService blockchainOutboxService,
+                                      List<OutboxHandler> outboxHandlers,
+                                      ChainMetrics chainMetrics,
+                                      @Value("${app.zksync.outbox.worker-threads:4}") int workerThreads) {
+        this.blockchainOutboxService = blockchainOutboxService;
+        this.chainMetrics = chainMetrics;
+        outboxHandlers.forEach(handler -> handlers.put(handler.getOperationType(), handler));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.outboxWorkers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Claim and dispatch the next batch of due messages
+     */
+    @Scheduled(fixedDelayString = "${app.zksync.outbox.poll-interval-ms:1000}")
+    public void dispatchBatch() {
+        try {
+            blockchainOutboxService.releaseStale(LocalDateTime.now().minusNanos(inFlightLeaseMs * 1_000_000));
+
+            int capacity = Math.min(batchSize, maxInFlight - inFlight.get());
+            if (capacity <= 0) {
+                return;
+            }
+
+            List<BlockchainOutboxMessage> claimed = blockchainOutboxService.claimBatch(capacity);
+            if (!claimed.isEmpty()) {
+                log.debug("Dispatching {} outbox messages ({} already in flight)", claimed.size(), inFlight.get());
+            }
+            RpcRateLimiter.runAsCaller("BlockchainOutboxDispatcher", () -> claimed.forEach(this::dispatch));
+        } catch (Exception e) {
+            // DB unavailable etc. - try again on the next tick
+            log.warn("Outbox dispatch cycle failed: {}", e.getMessage());
+        }
+    }
+
+    private void dispatch(BlockchainOutboxMessage message) {
+        OutboxHandler handler = handlers.get(message.getOperationType());
+        if (handler == null) {
+            blockchainOutboxService.markDeadLetter(message.getId(), "No handler for " + message.getOperationType());
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        CompletableFuture<String> result;
+        try {
+            result = handler.dispatch(message);
+        } catch (Exception e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        result.whenCompleteAsync((txHash, error) -> {
+            try {
+                complete(handler, message, txHash, error);
+            } catch (Exception e) {
+                // Left IN_FLIGHT - the lease expiry will return it to the queue
+                log.error("Failed to record outcome of outbox message {}", message.getId(), e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }, outboxWorkers);
+    }
+
+    private void complete(OutboxHandler handler, BlockchainOutboxMessage message, String txHash, Throwable error) {
+        if (error == null) {
+            blockchainOutboxService.markCompleted(message.getId(), txHash);
+            log.info("Outbox message {} completed - TX: {}", message.getId(), txHash);
+            handler.onCompleted(message);
+            return;
+        }
+
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        String errorMessage = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+
+        if (cause instanceof BlockchainTransactionException || message.getAttempts() >= maxAttempts) {
+            log.error("Outbox message {} dead-lettered after {} attempts: {}", message.getId(), message.getAttempts(), errorMessage);
+            blockchainOutboxService.markDeadLetter(message.getId(), errorMessage);
+            handler.onDeadLetter(message, cause);
+            return;
+        }
+
+        long backoffMs = backoffMillis(message.getAttempts());
+        log.warn("Outbox message {} attempt {} failed, retrying in {} ms: {}",
+            message.getId(), message.getAttempts(), backoffMs, errorMessage);
+        chainMetrics.recordRetry("outbox", message.getOperationType().name().toLowerCase());
+        blockchainOutboxService.scheduleRetry(message.getId(),
+            LocalDateTime.now().plusNanos(backoffMs * 1_000_000), errorMessage);
+    }
+
+    /**
+     * Exponential backoff: base * 2^(attempt - 1), capped at backoffMaxMs
+     */
+    long backoffMillis(int attempts) {
+        int exponent = Math.max(0, Math.min(attempts - 1, 20));
+        return Math.min(backoffMaxMs, backoffBaseMs << exponent);
+    }
+
+    /**
+     * Number of outbox messages currently being dispatched by this instance
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        outboxWorkers.shutdown();
+    }
+}
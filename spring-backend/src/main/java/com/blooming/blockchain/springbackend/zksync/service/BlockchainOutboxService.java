@@ -0,0 +1,91 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.global.enums.OutboxOperationType;
+import com.blooming.blockchain.springbackend.global.enums.OutboxStatusType;
+import com.blooming.blockchain.springbackend.zksync.entity.BlockchainOutboxMessage;
+import com.blooming.blockchain.springbackend.zksync.repository.BlockchainOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Blockchain outbox persistence
+ * enqueue joins the caller's transaction so the outbox row commits (or rolls back)
+ * together with the ledger change; every dispatcher state change is its own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BlockchainOutboxService {
+
+    private final BlockchainOutboxRepository blockchainOutboxRepository;
+
+    /**
+     * Enqueue an on-chain operation in the current transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BlockchainOutboxMessage enqueue(OutboxOperationType operationType, Integer aggregateId, String userGoogleId,
+                                           String targetAddress, BigInteger amountWei, String reason) {
+        BlockchainOutboxMessage message = blockchainOutboxRepository.save(new BlockchainOutboxMessage(
+            operationType, aggregateId, userGoogleId, targetAddress, amountWei.toString(), reason));
+
+        log.info("Enqueued outbox message - ID: {}, Type: {}, Aggregate: {}", message.getId(), operationType, aggregateId);
+        return message;
+    }
+
+    /**
+     * Claim up to batchSize due messages for this dispatcher
+     * @return claimed messages, already IN_FLIGHT with their attempt counted
+     */
+    public List<BlockchainOutboxMessage> claimBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = blockchainOutboxRepository.findDueIds(
+            OutboxStatusType.PENDING, now, PageRequest.of(0, batchSize));
+
+        List<Long> claimedIds = new ArrayList<>(dueIds.size());
+        for (Long id : dueIds) {
+            if (blockchainOutboxRepository.claim(id, OutboxStatusType.PENDING, OutboxStatusType.IN_FLIGHT, now) == 1) {
+                claimedIds.add(id);
+            }
+        }
+        return claimedIds.isEmpty() ? List.of() : blockchainOutboxRepository.findAllById(claimedIds);
+    }
+
+    /**
+     * Return IN_FLIGHT messages untouched since the cutoff (dispatcher crashed) to PENDING
+     */
+    public int releaseStale(LocalDateTime cutoff) {
+        int released = blockchainOutboxRepository.releaseStale(
+            OutboxStatusType.PENDING, OutboxStatusType.IN_FLIGHT, cutoff, LocalDateTime.now());
+        if (released > 0) {
+            log.warn("Released {} stale in-flight outbox messages", released);
+        }
+        return released;
+    }
+
+    public void markCompleted(Long messageId, String txHash) {
+        blockchainOutboxRepository.findById(messageId).ifPresent(message -> message.complete(txHash));
+    }
+
+    public void scheduleRetry(Long messageId, LocalDateTime nextAttemptAt, String error) {
+        blockchainOutboxRepository.findById(messageId).ifPresent(message -> message.retryAt(nextAttemptAt, error));
+    }
+
+    public void markDeadLetter(Long messageId, String error) {
+        blockchainOutboxRepository.findById(messageId).ifPresent(message -> message.deadLetter(error));
+    }
+
+    @Transactional(readOnly = true)
+    public long countByStatus(OutboxStatusType status) {
+        return blockchainOutboxRepository.countByStatus(status);
+    }
+}
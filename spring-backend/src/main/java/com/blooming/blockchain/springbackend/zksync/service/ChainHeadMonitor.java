@@ -0,0 +1,136 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.global.enums.RpcPriorityType;
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Shared view of the zkSync chain head
+ * Polls eth_blockNumber on a fixed interval while something is using it, so
+ * block-scoped caches (gas, balances) can tell whether a newer block arrived
+ * without each making their own call. Callers never queue behind a poll in
+ * progress, and after a failed poll nobody refreshes synchronously until the
+ * failure backoff has passed, so an unreachable node costs one timeout per
+ * backoff window instead of one per request.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChainHeadMonitor {
+
+    private final Web3j web3j;
+
+    @Value("${app.zksync.head.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.zksync.head.idle-after-ms:60000}")
+    private long idleAfterMs;
+
+    @Value("${app.zksync.head.failure-backoff-ms:5000}")
+    private long failureBackoffMs;
+
+    private final List<Consumer<BigInteger>> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    private volatile BigInteger latestBlock = BigInteger.valueOf(-1);
+    private volatile long lastPolledMillis;
+    private volatile long lastFailedMillis;
+    private volatile long lastAccessMillis;
+
+    /**
+     * Latest known block number
+     * Fetched synchronously only if the poller has been idle or has not run yet, no other
+     * caller is already fetching it, and the last poll did not fail within the backoff
+     * @return block number (possibly the cached one), or -1 if it is not known yet
+     */
+    public BigInteger getLatestBlock() {
+        long now = System.currentTimeMillis();
+        lastAccessMillis = now;
+        boolean stale = latestBlock.signum() < 0 || now - lastPolledMillis > pollIntervalMs * 3;
+        if (stale && now - lastFailedMillis >= failureBackoffMs) {
+            tryPoll();
+        }
+        return latestBlock;
+    }
+
+    /**
+     * Latest block number as last polled, for background samplers
+     * Never calls the node and does not count as a use, so a sampler alone cannot keep the poller from going idle
+     * @return block number, or -1 if the poller is idle and the cached head may be outdated
+     */
+    public BigInteger peekLatestBlock() {
+        return System.currentTimeMillis() - lastPolledMillis <= pollIntervalMs * 3 ? latestBlock : BigInteger.valueOf(-1);
+    }
+
+    /**
+     * Register a callback invoked with the new block number whenever the head advances
+     */
+    public void addListener(Consumer<BigInteger> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${app.zksync.head.poll-interval-ms:1000}")
+    public void pollHead() {
+        if (System.currentTimeMillis() - lastAccessMillis > idleAfterMs) {
+            return;
+        }
+        // On-demand refreshes from user requests (getLatestBlock) keep their own priority
+        RpcRateLimiter.runWithPriority(RpcPriorityType.BACKGROUND, "ChainHeadMonitor", this::tryPoll);
+    }
+
+    // Skipped when another thread is already polling - its result is shared through latestBlock
+    private void tryPoll() {
+        if (!pollLock.tryLock()) {
+            return;
+        }
+        try {
+            // Another caller may have refreshed just before this one took the lock
+            if (latestBlock.signum() >= 0 && System.currentTimeMillis() - lastPolledMillis < pollIntervalMs / 2) {
+                return;
+            }
+            poll();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void poll() {
+        try {
+            EthBlockNumber response = web3j.ethBlockNumber().send();
+            if (response.hasError()) {
+                lastFailedMillis = System.currentTimeMillis();
+                log.debug("Chain head poll failed: {}", response.getError().getMessage());
+                return;
+            }
+            lastPolledMillis = System.currentTimeMillis();
+            BigInteger blockNumber = response.getBlockNumber();
+            if (blockNumber.compareTo(latestBlock) > 0) {
+                latestBlock = blockNumber;
+                listeners.forEach(listener -> notifyListener(listener, blockNumber));
+            }
+        } catch (Exception e) {
+            lastFailedMillis = System.currentTimeMillis();
+            log.debug("Chain head poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void notifyListener(Consumer<BigInteger> listener, BigInteger blockNumber) {
+        try {
+            listener.accept(blockNumber);
+        } catch (Exception e) {
+            log.warn("Chain head listener failed for block {}: {}", blockNumber, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.zksync.util.ChainMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthEstimateGas;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Block-scoped gas oracle
+ * The gas price is fetched at most once per block (as seen by ChainHeadMonitor),
+ * and gas estimates are cached per target contract + function selector until
+ * they are estimateTtlBlocks old.
+ * When the node cannot answer, recent observations are used (a high percentile)
+ * before falling back to the fixed defaults.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GasOracle {
+
+    private static final BigInteger DEFAULT_GAS_PRICE = BigInteger.valueOf(2_000_000_000L); // 2 Gwei
+    private static final BigInteger DEFAULT_GAS_LIMIT = BigInteger.valueOf(300_000L); // Governance functions
+    private static final int HISTORY_SIZE = 20;
+    private static final int CALLDATA_BUCKET_BYTES = 256;
+
+    private final Web3j web3j;
+    private final ChainHeadMonitor chainHeadMonitor;
+    private final ChainMetrics chainMetrics;
+
+    @Value("${app.zksync.gas.estimate-buffer-percent:20}")
+    private int estimateBufferPercent;
+
+    @Value("${app.zksync.gas.estimate-ttl-blocks:100}")
+    private long estimateTtlBlocks;
+
+    @Value("${app.zksync.gas.fallback-percentile:90}")
+    private int fallbackPercentile;
+
+    private final Deque<BigInteger> recentGasPrices = new ArrayDeque<>();
+    private final Map<String, CachedEstimate> estimates = new ConcurrentHashMap<>();
+
+    private volatile BigInteger cachedGasPrice;
+    private volatile BigInteger cachedGasPriceBlock = BigInteger.valueOf(-1);
+
+    /**
+     * Gas price for the current block
+     */
+    public BigInteger getGasPrice() {
+        BigInteger currentBlock = chainHeadMonitor.getLatestBlock();
+        BigInteger price = cachedGasPrice;
+        if (price != null && currentBlock.signum() >= 0 && cachedGasPriceBlock.equals(currentBlock)) {
+            return price;
+        }
+        return refreshGasPrice(currentBlock);
+    }
+
+    /**
+     * Gas limit (estimate plus buffer) for a contract call
+     * Cached per contract + selector (+ calldata size class, since batch calls grow with their arrays)
+     */
+    public BigInteger estimateGasLimit(String from, String to, String data) {
+        BigInteger currentBlock = chainHeadMonitor.getLatestBlock();
+        String key = estimateKey(to, data);
+        CachedEstimate cached = estimates.get(key);
+        if (cached != null && cached.isFresh(currentBlock, estimateTtlBlocks)) {
+            return cached.gasLimit;
+        }
+
+        try {
+            Transaction transaction = Transaction.createFunctionCallTransaction(
+                from, null, null, null, to, BigInteger.ZERO, data);
+            EthEstimateGas ethEstimateGas = web3j.ethEstimateGas(transaction).send();
+
+            if (ethEstimateGas.hasError()) {
+                String errorMsg = ethEstimateGas.getError().getMessage();
+                log.warn("Gas estimation failed for {}: {}, using fallback", key, errorMsg);
+                if (errorMsg.contains("Invalid proposal ID") || errorMsg.contains("invalid proposal")) {
+                    log.error("Gas estimation failed due to invalid proposal ID. " +
+                             "Make sure the function data contains the blockchain proposal ID, not the local database ID.");
+                }
+                return fallbackGasLimit(cached);
+            }
+
+            BigInteger gasLimit = ethEstimateGas.getAmountUsed()
+                .multiply(BigInteger.valueOf(100 + estimateBufferPercent))
+                .divide(BigInteger.valueOf(100));
+            CachedEstimate updated = cached != null ? cached : new CachedEstimate();
+            updated.record(gasLimit, currentBlock);
+            estimates.put(key, updated);
+
+            log.debug("Estimated gas limit for {}: {}", key, gasLimit);
+            return gasLimit;
+
+        } catch (Exception e) {
+            log.warn("Gas estimation failed for {}: {}, using fallback", key, e.getMessage());
+            return fallbackGasLimit(cached);
+        }
+    }
+
+    private synchronized BigInteger refreshGasPrice(BigInteger block) {
+        if (cachedGasPrice != null && block.signum() >= 0 && cachedGasPriceBlock.equals(block)) {
+            return cachedGasPrice;
+        }
+        try {
+            EthGasPrice ethGasPrice = web3j.ethGasPrice().send();
+            if (ethGasPrice.hasError()) {
+                log.warn("Gas price fetch failed: {}, using fallback", ethGasPrice.getError().getMessage());
+                return fallbackGasPrice();
+            }
+            BigInteger gasPrice = ethGasPrice.getGasPrice();
+            cachedGasPrice = gasPrice;
+            cachedGasPriceBlock = block;
+            recentGasPrices.addLast(gasPrice);
+            if (recentGasPrices.size() > HISTORY_SIZE) {
+                recentGasPrices.removeFirst();
+            }
+            log.debug("Gas price for block {}: {} Wei", block, gasPrice);
+            return gasPrice;
+        } catch (Exception e) {
+            log.warn("Gas price fetch failed: {}, using fallback", e.getMessage());
+            return fallbackGasPrice();
+        }
+    }
+
+    private BigInteger fallbackGasPrice() {
+        BigInteger price = percentile(new ArrayList<>(recentGasPrices), fallbackPercentile);
+        if (price != null) {
+            chainMetrics.recordFallback("gas_oracle", "gas_price_percentile");
+            return price;
+        }
+        chainMetrics.recordFallback("gas_oracle", "gas_price_default");
+        return DEFAULT_GAS_PRICE;
+    }
+
+    private BigInteger fallbackGasLimit(CachedEstimate cached) {
+        BigInteger limit = cached != null ? cached.percentile(fallbackPercentile) : null;
+        if (limit != null) {
+            chainMetrics.recordFallback("gas_oracle", "gas_limit_percentile");
+            return limit;
+        }
+        chainMetrics.recordFallback("gas_oracle", "gas_limit_default");
+        return DEFAULT_GAS_LIMIT;
+    }
+
+    private String estimateKey(String to, String data) {
+        String hex = data != null && data.startsWith("0x") ? data.substring(2) : (data != null ? data : "");
+        String selector = hex.length() >= 8 ? hex.substring(0, 8) : hex;
+        int sizeClass = (hex.length() / 2) / CALLDATA_BUCKET_BYTES;
+        return to.toLowerCase() + ":" + selector + ":" + sizeClass;
+    }
+
+    /**
+     * Nearest-rank percentile of the given values
+     */
+    static BigInteger percentile(List<BigInteger> values, int percentile) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        Collections.sort(values);
+        int rank = (int) Math.ceil(percentile / 100.0 * values.size());
+        return values.get(Math.max(0, Math.min(values.size() - 1, rank - 1)));
+    }
+
+    private static class CachedEstimate {
+        private final Deque<BigInteger> history = new ArrayDeque<>();
+        private volatile BigInteger gasLimit;
+        private volatile BigInteger block;
+
+        private synchronized void record(BigInteger gasLimit, BigInteger block) {
+            this.gasLimit = gasLimit;
+            this.block = block;
+            history.addLast(gasLimit);
+            if (history.size() > HISTORY_SIZE) {
+                history.removeFirst();
+            }
+        }
+
+        private boolean isFresh(BigInteger currentBlock, long ttlBlocks) {
+            return gasLimit != null && block != null && block.signum() >= 0
+                && currentBlock.subtract(block).longValue() < ttlBlocks;
+        }
+
+        private synchronized BigInteger percentile(int percentile) {
+            return GasOracle.percentile(new ArrayList<>(history), percentile);
+        }
+    }
+}
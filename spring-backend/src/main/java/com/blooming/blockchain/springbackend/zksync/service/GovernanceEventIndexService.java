@@ -0,0 +1,168 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.proposal.entity.Proposal;
+import com.blooming.blockchain.springbackend.proposal.entity.UserVote;
+import com.blooming.blockchain.springbackend.proposal.repository.ProposalRepository;
+import com.blooming.blockchain.springbackend.proposal.repository.UserVoteRepository;
+import com.blooming.blockchain.springbackend.proposal.service.VotingService;
+import com.blooming.blockchain.springbackend.user.entity.User;
+import com.blooming.blockchain.springbackend.user.repository.UserRepository;
+import com.blooming.blockchain.springbackend.wallet.repository.UserWalletRepository;
+import com.blooming.blockchain.springbackend.zksync.entity.GovernanceEventLog;
+import com.blooming.blockchain.springbackend.zksync.entity.IndexerCheckpoint;
+import com.blooming.blockchain.springbackend.zksync.repository.GovernanceEventLogRepository;
+import com.blooming.blockchain.springbackend.zksync.repository.IndexerCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Persists indexed GovernanceToken events and projects them onto the voting tables
+ * Each block range is stored in one DB transaction together with its checkpoint.
+ * Events already stored (same tx hash + log index) are skipped, so a range can be
+ * replayed after a crash without double counting votes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GovernanceEventIndexService {
+
+    private final GovernanceEventLogRepository governanceEventLogRepository;
+    private final IndexerCheckpointRepository indexerCheckpointRepository;
+    private final ProposalRepository proposalRepository;
+    private final UserVoteRepository userVoteRepository;
+    private final VotingService votingService;
+    private final UserWalletRepository userWalletRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Last block fully indexed under the given checkpoint name
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> getLastIndexedBlock(String checkpointName) {
+        return indexerCheckpointRepository.findById(checkpointName).map(IndexerCheckpoint::getLastBlock);
+    }
+
+    /**
+     * Store the events of one block range and advance the checkpoint to toBlock
+     * @return number of newly stored events
+     */
+    @Transactional
+    public int applyPage(String checkpointName, List<GovernanceEventLog> events, long toBlock) {
+        int stored = 0;
+        if (!events.isEmpty()) {
+            Set<String> txHashes = events.stream().map(GovernanceEventLog::getTxHash).collect(Collectors.toSet());
+            Set<String> known = governanceEventLogRepository.findByTxHashIn(txHashes).stream()
+                .map(GovernanceEventLog::getLogKey)
+                .collect(Collectors.toSet());
+
+            List<GovernanceEventLog> fresh = events.stream()
+                .filter(event -> !known.contains(event.getLogKey()))
+                .toList();
+            governanceEventLogRepository.saveAll(fresh);
+
+            Map<String, Optional<String>> googleIdsByWallet = new HashMap<>();
+            for (GovernanceEventLog event : fresh) {
+                project(event, googleIdsByWallet);
+            }
+            stored = fresh.size();
+        }
+
+        IndexerCheckpoint checkpoint = indexerCheckpointRepository.findById(checkpointName)
+            .orElseGet(() -> new IndexerCheckpoint(checkpointName, toBlock));
+        checkpoint.advanceTo(toBlock);
+        indexerCheckpointRepository.save(checkpoint);
+        return stored;
+    }
+
+    private void project(GovernanceEventLog event, Map<String, Optional<String>> googleIdsByWallet) {
+        switch (event.getEventType()) {
+            case PROPOSAL_CREATED -> onProposalCreated(event);
+            case VOTE_CAST -> onVoteCast(event, googleIdsByWallet);
+            case PROPOSAL_EXECUTED -> onProposalExecuted(event);
+            case TOKENS_MINTED -> {
+                // Stored for the audit trail only - balances are read from the chain
+            }
+        }
+    }
+
+    private void onProposalCreated(GovernanceEventLog event) {
+        Optional<Proposal> proposalOpt = proposalRepository.findById(event.getProposalId());
+        if (proposalOpt.isEmpty()) {
+            log.debug("ProposalCreated for unknown proposal {} - TX: {}", event.getProposalId(), event.getTxHash());
+            return;
+        }
+        Proposal proposal = proposalOpt.get();
+        if (proposal.getTxHash() == null) {
+            proposal.setTxHash(event.getTxHash());
+            // Flushed now: vote count updates below clear the persistence context
+            proposalRepository.saveAndFlush(proposal);
+        }
+        votingService.createVoteCountIfNotExists(proposal.getId());
+    }
+
+    private void onProposalExecuted(GovernanceEventLog event) {
+        proposalRepository.findById(event.getProposalId()).ifPresent(proposal -> {
+            proposal.setExecuted(true);
+            proposalRepository.saveAndFlush(proposal);
+        });
+    }
+
+    /**
+     * Record the on-chain vote unless the backend already recorded it;
+     * an existing vote only gets the on-chain TX hash attached
+     */
+    private void onVoteCast(GovernanceEventLog event, Map<String, Optional<String>> googleIdsByWallet) {
+        Integer proposalId = event.getProposalId();
+        if (!proposalRepository.existsById(proposalId)) {
+            log.debug("VoteCast for unknown proposal {} - TX: {}", proposalId, event.getTxHash());
+            return;
+        }
+
+        Optional<String> googleId = googleIdsByWallet.computeIfAbsent(event.getAccount(), this::findGoogleId);
+        if (googleId.isEmpty()) {
+            log.debug("VoteCast from unregistered wallet {} - TX: {}", event.getAccount(), event.getTxHash());
+            return;
+        }
+
+        Optional<UserVote> existing = userVoteRepository.findByProposalIdAndUserGoogleId(proposalId, googleId.get());
+        if (existing.isPresent()) {
+            UserVote vote = existing.get();
+            if (!event.getTxHash().equals(vote.getTxHash())) {
+                vote.setTxHash(event.getTxHash());
+                userVoteRepository.saveAndFlush(vote);
+            }
+            return;
+        }
+
+        BigInteger weight = new BigInteger(event.getAmountWei());
+        UserVote vote = UserVote.builder()
+            .proposalId(proposalId)
+            .userGoogleId(googleId.get())
+            .voterWalletAddress(event.getAccount())
+            .support(event.getSupport())
+            .votingPower(weight)
+            .votedAt(LocalDateTime.now())
+            .txHash(event.getTxHash())
+            .build();
+        userVoteRepository.save(vote);
+        votingService.updateVoteCount(proposalId, event.getSupport(), weight);
+        log.info("Indexed on-chain vote: proposalId={}, user={}, support={}", proposalId, googleId.get(), event.getSupport());
+    }
+
+    private Optional<String> findGoogleId(String walletAddress) {
+        return userWalletRepository.findFirstByWalletAddressIgnoreCase(walletAddress)
+            .flatMap(wallet -> userRepository.findById(wallet.getUserId()))
+            .map(User::getGoogleId);
+    }
+}
@@ -0,0 +1,195 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.global.enums.GovernanceEventType;
+import com.blooming.blockchain.springbackend.global.enums.RpcPriorityType;
+import com.blooming.blockchain.springbackend.zksync.entity.GovernanceEventLog;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceEventDecoder;
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checkpointed GovernanceToken event indexer
+ * Pulls eth_getLogs for the governance token in block-range pages up to the
+ * chain head minus a confirmation depth, decodes ProposalCreated, VoteCast,
+ * ProposalExecuted and TokensMinted, and hands each page to
+ * GovernanceEventIndexService, which stores it together with the checkpoint.
+ * After a restart indexing resumes from the stored checkpoint.
+ */
+@Component
+@Slf4j
+public class GovernanceEventIndexer {
+
+    static final String CHECKPOINT_NAME = "governance-token-events";
+
+    private final Web3j web3j;
+    private final ChainHeadMonitor chainHeadMonitor;
+    private final GovernanceEventIndexService governanceEventIndexService;
+    private final String governanceTokenAddress;
+
+    @Value("${app.zksync.indexer.enabled:false}")
+    private boolean enabled;
+
+    // No default: 0 would backfill eth_getLogs from genesis
+    @Value("${app.zksync.indexer.start-block:}")
+    private Long startBlock;
+
+    @Value("${app.zksync.indexer.confirmations:10}")
+    private long confirmations;
+
+    @Value("${app.zksync.indexer.max-pages-per-run:20}")
+    private int maxPagesPerRun;
+
+    private final long maxPageSize;
+    private volatile long pageSize;
+
+    public GovernanceEventIndexer(Web3j web3j,
+                                  ChainHeadMonitor chainHeadMonitor,
+                                  GovernanceEventIndexService governanceEventIndexService,
+                                  @Value("${app.zksync.governance.token.address:0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e}") String governanceTokenAddress,
+                                  @Value("${app.zksync.indexer.page-size:5000}") long pageSize) {
+        this.web3j = web3j;
+        this.chainHeadMonitor = chainHeadMonitor;
+        this.governanceEventIndexService = governanceEventIndexService;
+        this.governanceTokenAddress = governanceTokenAddress;
+        this.maxPageSize = pageSize;
+        this.pageSize = pageSize;
+    }
+
+    @PostConstruct
+    public void validateStartBlock() {
+        if (enabled && startBlock == null) {
+            throw new IllegalStateException("app.zksync.indexer.start-block (ZKSYNC_INDEXER_START_BLOCK) must be set "
+                + "to the GovernanceToken deployment block while the indexer is enabled");
+        }
+    }
+
+    /**
+     * Index the next pages of confirmed blocks
+     */
+    @Scheduled(fixedDelayString = "${app.zksync.indexer.poll-interval-ms:5000}")
+    public void indexNewBlocks() {
+        RpcRateLimiter.runWithPriority(RpcPriorityType.BACKGROUND, "GovernanceEventIndexer", this::indexPages);
+    }
+
+    private void indexPages() {
+        if (!enabled) {
+            return;
+        }
+        BigInteger head = chainHeadMonitor.getLatestBlock();
+        if (head.signum() < 0) {
+            return;
+        }
+
+        long safeHead = head.longValue() - confirmations;
+        long from;
+        try {
+            from = governanceEventIndexService.getLastIndexedBlock(CHECKPOINT_NAME)
+                .map(block -> block + 1)
+                .orElse(startBlock);
+        } catch (Exception e) {
+            log.warn("Could not read governance indexer checkpoint: {}", e.getMessage());
+            return;
+        }
+
+        for (int page = 0; page < maxPagesPerRun && from <= safeHead; page++) {
+            long to = Math.min(from + pageSize - 1, safeHead);
+            List<GovernanceEventLog> events;
+            try {
+                events = fetchEvents(from, to);
+            } catch (Exception e) {
+                // Typically a "too many results" / range limit error - retry the range smaller
+                pageSize = Math.max(1, pageSize / 2);
+                log.warn("eth_getLogs failed for blocks {}-{}, page size now {}: {}", from, to, pageSize, e.getMessage());
+                return;
+            }
+
+            try {
+                int stored = governanceEventIndexService.applyPage(CHECKPOINT_NAME, events, to);
+                if (stored > 0) {
+                    log.info("Indexed {} governance events in blocks {}-{}", stored, from, to);
+                }
+            } catch (Exception e) {
+                log.error("Failed to store governance events for blocks {}-{}", from, to, e);
+                return;
+            }
+
+            from = to + 1;
+            pageSize = Math.min(maxPageSize, pageSize * 2);
+        }
+    }
+
+    /**
+     * Last block stored by the indexer, or -1 if it has not run yet
+     */
+    public long getLastIndexedBlock() {
+        return governanceEventIndexService.getLastIndexedBlock(CHECKPOINT_NAME).orElse(-1L);
+    }
+
+    private List<GovernanceEventLog> fetchEvents(long from, long to) throws Exception {
+        EthFilter filter = new EthFilter(
+            DefaultBlockParameter.valueOf(BigInteger.valueOf(from)),
+            DefaultBlockParameter.valueOf(BigInteger.valueOf(to)),
+            governanceTokenAddress
+        );
+        filter.addOptionalTopics(GovernanceEventDecoder.topics());
+
+        EthLog response = web3j.ethGetLogs(filter).send();
+        if (response.hasError()) {
+            throw new IllegalStateException(response.getError().getMessage());
+        }
+
+        List<GovernanceEventLog> events = new ArrayList<>();
+        for (EthLog.LogResult<?> result : response.getLogs()) {
+            if (result.get() instanceof Log logEntry && !logEntry.isRemoved()) {
+                GovernanceEventLog event = decode(logEntry);
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Decode a GovernanceToken log, or null if it is not one of the indexed events
+     */
+    static GovernanceEventLog decode(Log logEntry) {
+        GovernanceEventDecoder.DecodedEvent decoded = GovernanceEventDecoder.decode(logEntry);
+        if (decoded == null) {
+            return null;
+        }
+
+        GovernanceEventLog event = new GovernanceEventLog(
+            decoded.type(),
+            logEntry.getBlockNumber().longValue(),
+            logEntry.getTransactionHash(),
+            logEntry.getLogIndex().intValue()
+        );
+        if (decoded.proposalId() != GovernanceEventDecoder.NO_PROPOSAL_ID) {
+            event.setProposalId(Math.toIntExact(decoded.proposalId()));
+        }
+        event.setAccount(decoded.account());
+        event.setData(decoded.text());
+        event.setSupport(decoded.support());
+        if (decoded.amount() != null) {
+            event.setAmountWei(decoded.amount().toString());
+        }
+        if (decoded.type() == GovernanceEventType.PROPOSAL_CREATED) {
+            event.setDeadlineEpoch(decoded.deadline());
+        }
+        return event;
+    }
+}
@@ -0,0 +1,319 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.zksync.util.ChainMetrics;
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncRpcBatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.DynamicStruct;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bulk reader for GovernanceToken view functions
+ * Packs many view calls into Multicall3.aggregate3 eth_calls (allowFailure = true,
+ * so one reverting call does not fail the others) and decodes the results in bulk.
+ * If the multicall contract is unavailable, the calls are sent one by one through
+ * the JSON-RPC batcher instead, and multicall is skipped for a cool-down period.
+ */
+@Service
+@Slf4j
+public class GovernanceMulticallReader {
+
+    private final Web3j web3j;
+    private final ZkSyncRpcBatcher zkSyncRpcBatcher;
+    private final ChainMetrics chainMetrics;
+    private final String governanceTokenAddress;
+
+    @Value("${app.zksync.multicall.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.zksync.multicall.address:0xF9cda624FBC7e059355ce98a31693d299FACd963}") // Multicall3 on zkSync Era
+    private String multicallAddress;
+
+    @Value("${app.zksync.multicall.max-calls:200}")
+    private int maxCallsPerMulticall;
+
+    @Value("${app.zksync.multicall.fallback-cooldown-ms:300000}")
+    private long fallbackCooldownMs;
+
+    private volatile long multicallDisabledUntil;
+
+    public GovernanceMulticallReader(Web3j web3j,
+                                     ZkSyncRpcBatcher zkSyncRpcBatcher,
+                                     ChainMetrics chainMetrics,
+                                     @Value("${app.zksync.governance.token.address:0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e}") String governanceTokenAddress) {
+        this.web3j = web3j;
+        this.zkSyncRpcBatcher = zkSyncRpcBatcher;
+        this.chainMetrics = chainMetrics;
+        this.governanceTokenAddress = governanceTokenAddress;
+    }
+
+    /**
+     * Governance token balances (balanceOf) of many wallets
+     * @return balance per wallet address, in input order; wallets whose call failed are omitted
+     */
+    public CompletableFuture<Map<String, BigInteger>> getTokenBalances(Collection<String> walletAddresses) {
+        return readPerWallet(walletAddresses, wallet -> new Function(
+            "balanceOf",
+            List.of(new Address(wallet)),
+            List.of(new TypeReference<Uint256>() {})
+        ), values -> (BigInteger) values.get(0).getValue());
+    }
+
+    /**
+     * Voting power (getVotingPower) of many wallets
+     */
+    public CompletableFuture<Map<String, BigInteger>> getVotingPowers(Collection<String> walletAddresses) {
+        return readPerWallet(walletAddresses, wallet -> new Function(
+            "getVotingPower",
+            List.of(new Address(wallet)),
+            List.of(new TypeReference<Uint256>() {})
+        ), values -> (BigInteger) values.get(0).getValue());
+    }
+
+    /**
+     * Whether each wallet has voted on the proposal (hasVoted mapping getter)
+     */
+    public CompletableFuture<Map<String, Boolean>> getHasVoted(Integer proposalId, Collection<String> walletAddresses) {
+        return readPerWallet(walletAddresses, wallet -> new Function(
+            "hasVoted",
+            List.of(new Uint256(BigInteger.valueOf(proposalId)), new Address(wallet)),
+            List.of(new TypeReference<Bool>() {})
+        ), values -> (Boolean) values.get(0).getValue());
+    }
+
+    /**
+     * On-chain state (getProposal) of many proposals
+     * @return state per proposal ID; IDs the contract rejects (nonexistent) are omitted
+     */
+    public CompletableFuture<Map<Integer, ProposalState>> getProposals(Collection<Integer> proposalIds) {
+        List<Integer> ids = new ArrayList<>(proposalIds);
+        List<Function> functions = ids.stream()
+            .map(id -> new Function(
+                "getProposal",
+                List.of(new Uint256(BigInteger.valueOf(id))),
+                List.of(
+                    new TypeReference<Utf8String>() {}, // description
+                    new TypeReference<Address>() {}, // proposer
+                    new TypeReference<Uint256>() {}, // forVotes
+                    new TypeReference<Uint256>() {}, // againstVotes
+                    new TypeReference<Uint256>() {}, // deadline
+                    new TypeReference<Bool>() {}, // executed
+                    new TypeReference<Bool>() {}, // canceled
+                    new TypeReference<Uint256>() {} // createdAt
+                )))
+            .toList();
+
+        return aggregate(functions).thenApply(results -> {
+            Map<Integer, ProposalState> states = new LinkedHashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                List<Type> values = results.get(i);
+                if (values == null || values.size() < 8) {
+                    continue;
+                }
+                states.put(ids.get(i), new ProposalState(
+                    (String) values.get(0).getValue(),
+                    (String) values.get(1).getValue(),
+                    (BigInteger) values.get(2).getValue(),
+                    (BigInteger) values.get(3).getValue(),
+                    (BigInteger) values.get(4).getValue(),
+                    (Boolean) values.get(5).getValue(),
+                    (Boolean) values.get(6).getValue(),
+                    (BigInteger) values.get(7).getValue()
+                ));
+            }
+            return states;
+        });
+    }
+
+    /**
+     * Run view calls against the governance token
+     * @return decoded outputs per call, in call order (null where the call failed)
+     */
+    public CompletableFuture<List<List<Type>>> aggregate(List<Function> functions) {
+        if (functions.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        List<CompletableFuture<List<List<Type>>>> chunks = new ArrayList<>();
+        for (int from = 0; from < functions.size(); from += maxCallsPerMulticall) {
+            List<Function> chunk = functions.subList(from, Math.min(from + maxCallsPerMulticall, functions.size()));
+            chunks.add(useMulticall() ? multicall(chunk) : sequential(chunk));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<List<Type>> results = new ArrayList<>(functions.size());
+            chunks.forEach(chunk -> results.addAll(chunk.join()));
+            return results;
+        });
+    }
+
+    private <V> CompletableFuture<Map<String, V>> readPerWallet(Collection<String> walletAddresses,
+                                                                java.util.function.Function<String, Function> call,
+                                                                java.util.function.Function<List<Type>, V> extract) {
+        List<String> wallets = new ArrayList<>(walletAddresses);
+        List<Function> functions = wallets.stream().map(call).toList();
+
+        return aggregate(functions).thenApply(results -> {
+            Map<String, V> values = new LinkedHashMap<>();
+            for (int i = 0; i < wallets.size(); i++) {
+                List<Type> decoded = results.get(i);
+                if (decoded != null && !decoded.isEmpty()) {
+                    values.put(wallets.get(i), extract.apply(decoded));
+                }
+            }
+            return values;
+        });
+    }
+
+    private boolean useMulticall() {
+        return enabled && System.currentTimeMillis() >= multicallDisabledUntil;
+    }
+
+    private CompletableFuture<List<List<Type>>> multicall(List<Function> functions) {
+        List<Call3> calls = functions.stream()
+            .map(function -> new Call3(
+                new Address(governanceTokenAddress),
+                new Bool(true),
+                new DynamicBytes(Numeric.hexStringToByteArray(FunctionEncoder.encode(function)))))
+            .toList();
+        Function aggregate3 = new Function(
+            "aggregate3",
+            List.of(new DynamicArray<>(Call3.class, calls)),
+            List.of(new TypeReference<DynamicArray<Result>>() {})
+        );
+        Transaction transaction = Transaction.createEthCallTransaction(
+            null, multicallAddress, FunctionEncoder.encode(aggregate3));
+
+        return zkSyncRpcBatcher.submit(web3j.ethCall(transaction, DefaultBlockParameterName.LATEST))
+            .thenApply(response -> {
+                if (response.hasError()) {
+                    throw new IllegalStateException(response.getError().getMessage());
+                }
+                List<Type> decoded = FunctionReturnDecoder.decode(response.getValue(), aggregate3.getOutputParameters());
+                if (decoded.isEmpty()) {
+                    throw new IllegalStateException("Empty aggregate3 response");
+                }
+                @SuppressWarnings("unchecked")
+                List<Result> results = ((DynamicArray<Result>) decoded.get(0)).getValue();
+                if (results.size() != functions.size()) {
+                    throw new IllegalStateException("aggregate3 returned " + results.size() + " results for " + functions.size() + " calls");
+                }
+
+                List<List<Type>> outputs = new ArrayList<>(functions.size());
+                for (int i = 0; i < functions.size(); i++) {
+                    Result result = results.get(i);
+                    outputs.add(result.success.getValue()
+                        ? decodeQuietly(Numeric.toHexString(result.returnData.getValue()), functions.get(i))
+                        : null);
+                }
+                return outputs;
+            })
+            .handle((outputs, error) -> {
+                if (error == null) {
+                    return CompletableFuture.completedFuture(outputs);
+                }
+                log.warn("Multicall of {} calls failed, falling back to sequential reads for {} ms: {}",
+                    functions.size(), fallbackCooldownMs, error.getMessage());
+                multicallDisabledUntil = System.currentTimeMillis() + fallbackCooldownMs;
+                chainMetrics.recordFallback("multicall", "sequential_reads");
+                return sequential(functions);
+            })
+            .thenCompose(future -> future);
+    }
+
+    /**
+     * One eth_call per function - the RPC batcher still sends them as JSON-RPC batches
+     */
+    private CompletableFuture<List<List<Type>>> sequential(List<Function> functions) {
+        List<CompletableFuture<List<Type>>> calls = functions.stream()
+            .map(function -> {
+                Transaction transaction = Transaction.createEthCallTransaction(
+                    null, governanceTokenAddress, FunctionEncoder.encode(function));
+                return zkSyncRpcBatcher.submit(web3j.ethCall(transaction, DefaultBlockParameterName.LATEST))
+                    .thenApply(response -> response.hasError() || response.isReverted()
+                        ? null
+                        : decodeQuietly(response.getValue(), function))
+                    .exceptionally(error -> {
+                        log.debug("eth_call {} failed: {}", function.getName(), error.getMessage());
+                        return null;
+                    });
+            })
+            .toList();
+
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> calls.stream().map(CompletableFuture::join).toList());
+    }
+
+    private List<Type> decodeQuietly(String value, Function function) {
+        if (value == null || value.equals("0x")) {
+            return null;
+        }
+        try {
+            List<Type> decoded = FunctionReturnDecoder.decode(value, function.getOutputParameters());
+            return decoded.isEmpty() ? null : decoded;
+        } catch (Exception e) {
+            log.debug("Could not decode {} result: {}", function.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * On-chain proposal fields as returned by GovernanceToken.getProposal
+     */
+    public record ProposalState(String description,
+                                String proposer,
+                                BigInteger forVotes,
+                                BigInteger againstVotes,
+                                BigInteger deadline,
+                                boolean executed,
+                                boolean canceled,
+                                BigInteger createdAt) {
+    }
+
+    /**
+     * Multicall3.Call3(address target, bool allowFailure, bytes callData)
+     */
+    public static class Call3 extends DynamicStruct {
+        public Call3(Address target, Bool allowFailure, DynamicBytes callData) {
+            super(target, allowFailure, callData);
+        }
+    }
+
+    /**
+     * Multicall3.Result(bool success, bytes returnData)
+     */
+    public static class Result extends DynamicStruct {
+        private final Bool success;
+        private final DynamicBytes returnData;
+
+        public Result(Bool success, DynamicBytes returnData) {
+            super(success, returnData);
+            this.success = success;
+            this.returnData = returnData;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local nonce allocator for backend-signed accounts (primarily the token owner)
+ *
+ * Starts from the node's pending nonce and then hands out nonces from memory,
+ * so concurrent mints never ask the node and never receive the same nonce.
+ * Nonces of transactions that were rejected before reaching the mempool are
+ * returned to a gap set and reused first. A "nonce too low"/gap error or a
+ * dropped transaction triggers a resync from the node.
+ *
+ * Allocated nonces stay outstanding until their caller settles (sent) or releases
+ * (never sent) them. The node's pending nonce cannot see those yet, so a resync
+ * never moves the counter below the highest outstanding nonce + 1.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NonceManager {
+
+    private final Web3j web3j;
+
+    private final Map<String, AccountNonces> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * Allocate the next nonce for an account
+     * @param address Sending account address
+     * @return Nonce that no other caller will receive until it is released
+     */
+    public BigInteger acquireNonce(String address) throws IOException {
+        AccountNonces nonces = accountNonces(address);
+        nonces.lock.lock();
+        try {
+            if (nonces.next == null) {
+                syncFrom(nonces, fetchPendingNonce(address));
+                log.info("Nonce manager synced for {} - next nonce: {}, outstanding: {}",
+                    address, nonces.next, nonces.outstanding.size());
+            }
+
+            if (!nonces.gaps.isEmpty()) {
+                BigInteger reused = nonces.gaps.pollFirst();
+                nonces.outstanding.add(reused);
+                log.debug("Reusing gap nonce {} for {}", reused, address);
+                return reused;
+            }
+
+            BigInteger allocated = nonces.next;
+            nonces.next = allocated.add(BigInteger.ONE);
+            nonces.outstanding.add(allocated);
+            return allocated;
+        } finally {
+            nonces.lock.unlock();
+        }
+    }
+
+    /**
+     * Mark an allocated nonce as sent (accepted, or outcome unknown)
+     * From now on the node's pending nonce accounts for it, so a resync may rely on the node
+     */
+    public void settleNonce(String address, BigInteger nonce) {
+        AccountNonces nonces = accountNonces(address);
+        nonces.lock.lock();
+        try {
+            nonces.outstanding.remove(nonce);
+        } finally {
+            nonces.lock.unlock();
+        }
+    }
+
+    /**
+     * Return a nonce whose transaction never reached the mempool
+     * so the next allocation fills the gap instead of leaving it open
+     */
+    public void releaseNonce(String address, BigInteger nonce) {
+        AccountNonces nonces = accountNonces(address);
+        nonces.lock.lock();
+        try {
+            nonces.outstanding.remove(nonce);
+            if (nonces.next == null || nonce.compareTo(nonces.next) >= 0) {
+                return;
+            }
+            if (nonce.equals(nonces.next.subtract(BigInteger.ONE))) {
+                // Highest nonce handed out - just roll the counter back
+                nonces.next = nonce;
+                while (!nonces.gaps.isEmpty() && nonces.gaps.last().equals(nonces.next.subtract(BigInteger.ONE))) {
+                    nonces.next = nonces.gaps.pollLast();
+                }
+            } else {
+                nonces.gaps.add(nonce);
+            }
+            log.debug("Released nonce {} for {} (next: {}, gaps: {})", nonce, address, nonces.next, nonces.gaps.size());
+        } finally {
+            nonces.lock.unlock();
+        }
+    }
+
+    /**
+     * Resync the account from the node's pending nonce immediately
+     * Nonces between the pending nonce and our counter that no caller still holds are
+     * treated as gaps left by dropped transactions and will be reissued
+     */
+    public void resync(String address) throws IOException {
+        AccountNonces nonces = accountNonces(address);
+        nonces.lock.lock();
+        try {
+            BigInteger pending = fetchPendingNonce(address);
+            log.info("Nonce manager resync for {} - local next: {}, node pending: {}, outstanding: {}",
+                address, nonces.next, pending, nonces.outstanding.size());
+            syncFrom(nonces, pending);
+        } finally {
+            nonces.lock.unlock();
+        }
+    }
+
+    /**
+     * Mark an account as stale so the next allocation resyncs from the node
+     * Used when a sent transaction disappears (e.g. receipt never appears);
+     * outstanding nonces are kept and respected by that resync
+     */
+    public void markStale(String address) {
+        AccountNonces nonces = accountNonces(address);
+        nonces.lock.lock();
+        try {
+            nonces.next = null;
+            nonces.gaps.clear();
+        } finally {
+            nonces.lock.unlock();
+        }
+    }
+
+    /**
+     * Check whether a node error message indicates a nonce mismatch
+     */
+    public static boolean isNonceError(String errorMessage) {
+        if (errorMessage == null) {
+            return false;
+        }
+        String message = errorMessage.toLowerCase();
+        return message.contains("nonce too low")
+            || message.contains("nonce too high")
+            || message.contains("invalid nonce")
+            || message.contains("nonce gap");
+    }
+
+    /**
+     * Check whether a node error message means the nonce was already used by a mined transaction
+     */
+    public static boolean isNonceTooLow(String errorMessage) {
+        if (errorMessage == null) {
+            return false;
+        }
+        String message = errorMessage.toLowerCase();
+        return message.contains("nonce too low") || message.contains("nonce is too low");
+    }
+
+    /**
+     * Check whether a node error message means the same signed transaction is already in its mempool
+     * That is not a nonce conflict: the transaction was accepted earlier and must not be re-sent
+     */
+    public static boolean isAlreadyKnown(String errorMessage) {
+        if (errorMessage == null) {
+            return false;
+        }
+        String message = errorMessage.toLowerCase();
+        return message.contains("already known") || message.contains("known transaction");
+    }
+
+    private AccountNonces accountNonces(String address) {
+        return accounts.computeIfAbsent(address.toLowerCase(), key -> new AccountNonces());
+    }
+
+    // Continue after the node's pending nonce, or after the highest nonce a caller has not sent yet
+    private static void syncFrom(AccountNonces nonces, BigInteger pending) {
+        BigInteger next = pending;
+        if (!nonces.outstanding.isEmpty() && nonces.outstanding.last().compareTo(next) >= 0) {
+            next = nonces.outstanding.last().add(BigInteger.ONE);
+        }
+        nonces.gaps.clear();
+        for (BigInteger nonce = pending; nonce.compareTo(next) < 0; nonce = nonce.add(BigInteger.ONE)) {
+            if (!nonces.outstanding.contains(nonce)) {
+                nonces.gaps.add(nonce);
+            }
+        }
+        nonces.next = next;
+    }
+
+    private BigInteger fetchPendingNonce(String address) throws IOException {
+        EthGetTransactionCount response = web3j
+            .ethGetTransactionCount(address, DefaultBlockParameterName.PENDING)
+            .send();
+        if (response.hasError()) {
+            throw new IOException("Failed to get pending nonce for " + address + ": " + response.getError().getMessage());
+        }
+        return response.getTransactionCount();
+    }
+
+    private static class AccountNonces {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TreeSet<BigInteger> gaps = new TreeSet<>();
+        private final TreeSet<BigInteger> outstanding = new TreeSet<>();
+        private BigInteger next;
+    }
+}
@@ -0,0 +1,34 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.global.enums.OutboxOperationType;
+import com.blooming.blockchain.springbackend.zksync.entity.BlockchainOutboxMessage;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Executes one type of outbox message on-chain
+ * Implementations must be idempotent per outbox message: a message can be
+ * dispatched again after a crash or timeout, so they check what the aggregate
+ * already recorded before sending anything new.
+ */
+public interface OutboxHandler {
+
+    OutboxOperationType getOperationType();
+
+    /**
+     * Execute the operation
+     * @return future completed with the confirmed TX hash. A BlockchainTransactionException
+     *         marks a definitive failure (no retry); any other error is retried with backoff
+     */
+    CompletableFuture<String> dispatch(BlockchainOutboxMessage message);
+
+    /**
+     * Called once the message is COMPLETED
+     */
+    void onCompleted(BlockchainOutboxMessage message);
+
+    /**
+     * Called once the message is moved to DEAD_LETTER (compensation hook)
+     */
+    void onDeadLetter(BlockchainOutboxMessage message, Throwable error);
+}
@@ -0,0 +1,199 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.global.enums.RpcPriorityType;
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Paymaster balance monitor
+ * Samples the paymaster balance in the background (at most once per block) and
+ * keeps an immutable snapshot with the burn rate and estimated time-to-empty.
+ * Status endpoints, health checks and the pre-send balance validation read the
+ * snapshot, so none of them has to call the RPC node.
+ */
+@Service
+@Slf4j
+public class PaymasterMonitor {
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    private final Web3j web3j;
+    private final ChainHeadMonitor chainHeadMonitor;
+    private final String paymasterAddress;
+    private final Deque<Sample> samples = new ArrayDeque<>();
+
+    @Value("${app.zksync.paymaster.minimum-balance-wei:1000000000000000}") // 0.001 ETH
+    private BigInteger minimumBalance;
+
+    @Value("${app.zksync.paymaster.burn-window-ms:3600000}")
+    private long burnWindowMs;
+
+    @Value("${app.zksync.paymaster.stale-after-ms:60000}")
+    private long staleAfterMs;
+
+    private volatile Snapshot snapshot;
+
+    public PaymasterMonitor(Web3j web3j,
+                            ChainHeadMonitor chainHeadMonitor,
+                            @Value("${app.zksync.paymaster.address:0x10219E515c3955916d79A1aC614B86187f0872BC}") String paymasterAddress) {
+        this.web3j = web3j;
+        this.chainHeadMonitor = chainHeadMonitor;
+        this.paymasterAddress = paymasterAddress;
+    }
+
+    /**
+     * Latest snapshot; balance is null until the first sample succeeds
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return new Snapshot(paymasterAddress, null, null, null, null, null, false, true);
+        }
+        boolean stale = System.currentTimeMillis() - current.sampledAtMillis() > staleAfterMs;
+        return stale == current.stale() ? current : current.withStale(stale);
+    }
+
+    /**
+     * Whether the last known balance is above the minimum operating balance
+     */
+    public boolean isFunded() {
+        return getSnapshot().funded();
+    }
+
+    /**
+     * Whether the last known balance covers gasLimit * gasPrice
+     */
+    public boolean hasBalanceFor(BigInteger gasLimit, BigInteger gasPrice) {
+        Snapshot current = getSnapshot();
+        return current.balance() != null && current.balance().compareTo(gasLimit.multiply(gasPrice)) >= 0;
+    }
+
+    public String getPaymasterAddress() {
+        return paymasterAddress;
+    }
+
+    /**
+     * Take a new sample unless the chain head has not moved since the last one
+     */
+    @Scheduled(fixedDelayString = "${app.zksync.paymaster.monitor-interval-ms:15000}")
+    public void refresh() {
+        RpcRateLimiter.runWithPriority(RpcPriorityType.BACKGROUND, "PaymasterMonitor", this::sample);
+    }
+
+    private void sample() {
+        // peek: reading the head here must not keep ChainHeadMonitor polling on its own
+        BigInteger block = chainHeadMonitor.peekLatestBlock();
+        Snapshot current = snapshot;
+        if (current != null && block.signum() >= 0 && block.equals(current.blockNumber())
+                && System.currentTimeMillis() - current.sampledAtMillis() < staleAfterMs) {
+            return;
+        }
+
+        try {
+            DefaultBlockParameter at = block.signum() >= 0
+                ? DefaultBlockParameter.valueOf(block)
+                : DefaultBlockParameterName.LATEST;
+            EthGetBalance response = web3j.ethGetBalance(paymasterAddress, at).send();
+            if (response.hasError()) {
+                log.warn("Paymaster balance poll failed: {}", response.getError().getMessage());
+                return;
+            }
+            record(response.getBalance(), block.signum() >= 0 ? block : null, System.currentTimeMillis());
+        } catch (Exception e) {
+            log.warn("Paymaster balance poll failed: {}", e.getMessage());
+        }
+    }
+
+    synchronized void record(BigInteger balance, BigInteger blockNumber, long nowMillis) {
+        Sample last = samples.peekLast();
+        if (last != null && balance.compareTo(last.balance()) > 0) {
+            // Top-up: spending before it says nothing about the new balance
+            samples.clear();
+        }
+        samples.addLast(new Sample(nowMillis, balance));
+        while (samples.size() > 2 && nowMillis - samples.peekFirst().timestampMillis() > burnWindowMs) {
+            samples.removeFirst();
+        }
+
+        BigInteger burnRate = burnRatePerHour(samples.peekFirst(), samples.peekLast());
+        Duration timeToEmpty = burnRate.signum() > 0
+            ? Duration.ofMillis(balance.multiply(BigInteger.valueOf(MILLIS_PER_HOUR)).divide(burnRate).min(BigInteger.valueOf(Long.MAX_VALUE)).longValue())
+            : null;
+        boolean funded = balance.compareTo(minimumBalance) >= 0;
+
+        Snapshot previous = snapshot;
+        if (previous != null && previous.funded() && !funded) {
+            log.warn("Paymaster balance fell below minimum - Balance: {} Wei, Minimum: {} Wei", balance, minimumBalance);
+        }
+
+        snapshot = new Snapshot(paymasterAddress, balance, blockNumber,
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), ZoneId.systemDefault()),
+            burnRate, timeToEmpty, funded, false);
+        log.debug("Paymaster balance sampled - Balance: {} Wei, Block: {}, Burn: {} Wei/h", balance, blockNumber, burnRate);
+    }
+
+    /**
+     * Average spend in Wei per hour between two samples (zero if not spending)
+     */
+    static BigInteger burnRatePerHour(Sample first, Sample last) {
+        if (first == null || last == null) {
+            return BigInteger.ZERO;
+        }
+        long elapsedMs = last.timestampMillis() - first.timestampMillis();
+        BigInteger spent = first.balance().subtract(last.balance());
+        if (elapsedMs <= 0 || spent.signum() <= 0) {
+            return BigInteger.ZERO;
+        }
+        return spent.multiply(BigInteger.valueOf(MILLIS_PER_HOUR)).divide(BigInteger.valueOf(elapsedMs));
+    }
+
+    record Sample(long timestampMillis, BigInteger balance) {
+    }
+
+    /**
+     * Point-in-time paymaster state
+     * @param balance Balance in Wei (null before the first sample)
+     * @param blockNumber Block the balance was read at (null if unknown)
+     * @param updatedAt When the balance was sampled
+     * @param burnRateWeiPerHour Average spend over the burn window
+     * @param timeToEmpty Estimated time until the balance runs out (null if not spending)
+     * @param funded Balance is at or above the minimum operating balance
+     * @param stale No successful sample within the stale threshold
+     */
+    public record Snapshot(String address,
+                           BigInteger balance,
+                           BigInteger blockNumber,
+                           LocalDateTime updatedAt,
+                           BigInteger burnRateWeiPerHour,
+                           Duration timeToEmpty,
+                           boolean funded,
+                           boolean stale) {
+
+        public boolean isAvailable() {
+            return balance != null;
+        }
+
+        private long sampledAtMillis() {
+            return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+
+        private Snapshot withStale(boolean stale) {
+            return new Snapshot(address, balance, blockNumber, updatedAt, burnRateWeiPerHour, timeToEmpty, funded, stale);
+        }
+    }
+}
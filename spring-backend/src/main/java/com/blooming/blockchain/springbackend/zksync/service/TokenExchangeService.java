@@ -0,0 +1,448 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.exception.BlockchainTransactionException;
+import com.blooming.blockchain.springbackend.exception.DatabaseUpdateException;
+import com.blooming.blockchain.springbackend.exception.InsufficientPointsException;
+import com.blooming.blockchain.springbackend.global.enums.OutboxOperationType;
+import com.blooming.blockchain.springbackend.global.enums.TransactionStatusType;
+import com.blooming.blockchain.springbackend.pointtransaction.entity.PointTransaction;
+import com.blooming.blockchain.springbackend.pointtransaction.entity.TokenTransaction;
+import com.blooming.blockchain.springbackend.pointtransaction.repository.PointTransactionRepository;
+import com.blooming.blockchain.springbackend.pointtransaction.service.TokenTransactionService;
+import com.blooming.blockchain.springbackend.userdetail.service.UserPointTokenService;
+import com.blooming.blockchain.springbackend.zksync.dto.TokenExchangeStatusResponse;
+import com.blooming.blockchain.springbackend.zksync.entity.BlockchainOutboxMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Asynchronous points-to-token exchange pipeline
+ * The HTTP request only debits points and persists a PENDING TokenTransaction
+ * together with an EXCHANGE_MINT outbox message in the same DB transaction.
+ * The outbox dispatcher later runs the mint through this handler, which
+ * confirms or compensates the exchange once the on-chain result is known.
+ * Clients follow progress through the status endpoint or an SSE stream. The stream
+ * is driven by the persisted exchange row, so it reaches the client whichever
+ * backend replica dispatched the mint. The synchronous endpoint takes the same path
+ * and only waits a bounded time for the outcome.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenExchangeService implements OutboxHandler {
+
+    // Fixed exchange: 10 main points → 1 token
+    public static final Integer EXCHANGE_RATE_POINTS = 10;
+    public static final Integer EXCHANGE_RATE_TOKENS = 1;
+    private static final BigInteger TOKEN_DECIMALS = BigInteger.valueOf(10).pow(18);
+    private static final String EXCHANGE_DESCRIPTION =
+        "Exchange: " + EXCHANGE_RATE_POINTS + " main points -> " + EXCHANGE_RATE_TOKENS + " BLOOM token";
+
+    private final TokenMintAggregator tokenMintAggregator;
+    private final ZkSyncService zkSyncService;
+    private final TransactionReceiptTracker transactionReceiptTracker;
+    private final TokenTransactionService tokenTransactionService;
+    private final UserPointTokenService userPointTokenService;
+    private final PointTransactionRepository pointTransactionRepository;
+    private final BlockchainOutboxService blockchainOutboxService;
+    private final TransactionTemplate transactionTemplate;
+    // SSE connections held by this node, and the last state each exchange was published in
+    private final Map<Integer, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<Integer, String> publishedStates = new ConcurrentHashMap<>();
+    // Synchronous requests on this node waiting for their exchange to leave PENDING
+    private final Map<Integer, CompletableFuture<Void>> outcomeWaiters = new ConcurrentHashMap<>();
+
+    @Value("${app.zksync.exchange.sse-timeout-ms:120000}")
+    private long sseTimeoutMs;
+
+    @Value("${app.zksync.exchange.sse-poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.zksync.exchange.sync-wait-ms:30000}")
+    private long syncWaitMs;
+
+    /**
+     * Debit points and persist a PENDING exchange plus its outbox message
+     * @param googleId User's Google ID
+     * @param smartWalletAddress Wallet receiving the minted token
+     * @return PENDING token transaction
+     */
+    @Transactional
+    public TokenTransaction requestExchange(String googleId, String smartWalletAddress) {
+        TokenTransaction tokenTransaction = debitExchange(googleId);
+        Integer tokenTransactionId = tokenTransaction.getId();
+        enqueueMint(tokenTransactionId, googleId, smartWalletAddress);
+
+        log.info("Accepted async exchange - User: {}, Wallet: {}, Token transaction: {}",
+            googleId, smartWalletAddress, tokenTransactionId);
+        return tokenTransaction;
+    }
+
+    /**
+     * Wait up to sync-wait-ms for an exchange to be CONFIRMED or FAILED
+     * Wakes up early when the outbox completes it on this node, and re-reads the row every
+     * sse-poll-interval-ms in case another replica dispatched it
+     * @return latest state of the exchange, still PENDING if the wait ran out
+     */
+    public TokenTransaction awaitOutcome(Integer tokenTransactionId) {
+        CompletableFuture<Void> changed = outcomeWaiters.computeIfAbsent(tokenTransactionId, id -> new CompletableFuture<>());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(syncWaitMs);
+        try {
+            while (true) {
+                TokenTransaction transaction = tokenTransactionService.getTokenTransaction(tokenTransactionId)
+                    .orElseThrow(() -> new IllegalStateException("Token transaction not found: " + tokenTransactionId));
+                long remainingNanos = deadline - System.nanoTime();
+                if (!transaction.isPending() || remainingNanos <= 0) {
+                    return transaction;
+                }
+                try {
+                    changed.get(Math.min(remainingNanos, TimeUnit.MILLISECONDS.toNanos(pollIntervalMs)), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // Not completed on this node yet - re-read the row
+                } catch (ExecutionException e) {
+                    // Never completed exceptionally
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return transaction;
+                }
+            }
+        } finally {
+            outcomeWaiters.remove(tokenTransactionId, changed);
+        }
+    }
+
+    /**
+     * Get the current status of an exchange owned by the user
+     */
+    public Optional<TokenExchangeStatusResponse> getStatus(Integer tokenTransactionId, String googleId) {
+        return tokenTransactionService.getTokenTransaction(tokenTransactionId)
+            .filter(transaction -> transaction.getUserGoogleId().equals(googleId))
+            .map(this::toStatusResponse);
+    }
+
+    /**
+     * Open an SSE stream that emits a "status" event whenever the exchange changes
+     * and completes once it is CONFIRMED or FAILED
+     * @return emitter, or empty if the exchange does not belong to the user
+     */
+    public Optional<SseEmitter> subscribe(Integer tokenTransactionId, String googleId) {
+        if (getStatus(tokenTransactionId, googleId).isEmpty()) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        List<SseEmitter> subscribers = emitters.computeIfAbsent(tokenTransactionId, id -> new CopyOnWriteArrayList<>());
+        subscribers.add(emitter);
+        Runnable unsubscribe = () -> removeEmitter(tokenTransactionId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        // Registered first, so a completion racing with this call is never missed
+        getStatus(tokenTransactionId, googleId).ifPresent(status -> {
+            publishedStates.putIfAbsent(tokenTransactionId, stateOf(status));
+            send(emitter, status);
+        });
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Push status changes of every exchange with an open SSE stream on this node
+     * Reads the persisted rows, so completions handled by another replica's outbox
+     * dispatcher reach the client as well
+     */
+    @Scheduled(fixedDelayString = "${app.zksync.exchange.sse-poll-interval-ms:1000}")
+    public void pollSubscribedStatuses() {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        try {
+            tokenTransactionService.getTokenTransactions(List.copyOf(emitters.keySet()))
+                .forEach(transaction -> publishIfChanged(toStatusResponse(transaction)));
+        } catch (Exception e) {
+            log.warn("Failed to poll exchange statuses for SSE subscribers: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public OutboxOperationType getOperationType() {
+        return OutboxOperationType.EXCHANGE_MINT;
+    }
+
+    /**
+     * Mint for an exchange - idempotent per outbox message
+     * An already confirmed exchange is not minted again, and one with a recorded transaction
+     * (written before the batch is sent, cleared only if the node rejected it) re-broadcasts
+     * that transaction and waits for its receipt. Only once its nonce went to another
+     * transaction without it ever being mined is the exchange minted again.
+     */
+    @Override
+    public CompletableFuture<String> dispatch(BlockchainOutboxMessage message) {
+        Integer tokenTransactionId = message.getAggregateId();
+        Optional<TokenTransaction> transactionOpt = tokenTransactionService.getTokenTransaction(tokenTransactionId);
+        if (transactionOpt.isEmpty()) {
+            return CompletableFuture.failedFuture(
+                new BlockchainTransactionException("Token transaction not found: " + tokenTransactionId));
+        }
+
+        TokenTransaction transaction = transactionOpt.get();
+        if (transaction.isConfirmed()) {
+            return CompletableFuture.completedFuture(transaction.getTxHash());
+        }
+        if (!transaction.isPending()) {
+            // Already resolved as FAILED elsewhere - nothing left to send
+            log.warn("Skipping mint for already failed token transaction: {}", tokenTransactionId);
+            return CompletableFuture.completedFuture(transaction.getTxHash());
+        }
+
+        if (transaction.getTxHash() != null) {
+            return resumeRecordedMint(message, transaction);
+        }
+        return submitMint(message);
+    }
+
+    @Override
+    public void onCompleted(BlockchainOutboxMessage message) {
+        log.info("Async exchange completed - Token transaction: {}", message.getAggregateId());
+        publishStatus(message.getAggregateId());
+        signalOutcome(message.getAggregateId());
+    }
+
+    /**
+     * Compensate a dead-lettered mint by restoring the user's points
+     * Only when the mint is known not to have happened: it reverted, or it never reached the chain.
+     * A dropped or never sent batch is re-broadcast or minted again by dispatch, so one that still
+     * has an unknown outcome here is held by the node without being mined; it stays PENDING for
+     * manual reconciliation, since it could still be mined. Compensation happens at most once per
+     * exchange, so a message that is dead-lettered again does not refund twice.
+     */
+    @Override
+    public void onDeadLetter(BlockchainOutboxMessage message, Throwable error) {
+        Integer tokenTransactionId = message.getAggregateId();
+        try {
+            Optional<TokenTransaction> transactionOpt = tokenTransactionService.getTokenTransaction(tokenTransactionId);
+            if (transactionOpt.isEmpty() || transactionOpt.get().isConfirmed()) {
+                return;
+            }
+
+            TokenTransaction transaction = transactionOpt.get();
+            boolean reverted = error instanceof BlockchainTransactionException;
+            boolean neverSent = transaction.getTxHash() == null;
+            if (!reverted && !neverSent) {
+                log.error("Exchange mint outcome unknown, left PENDING for reconciliation - Token transaction: {}, Outbox: {}",
+                    tokenTransactionId, message.getId());
+                return;
+            }
+
+            log.error("Exchange mint failed, compensating - Token transaction: {}, User: {}",
+                tokenTransactionId, message.getUserGoogleId(), error);
+            compensateExchange(tokenTransactionId, message.getUserGoogleId());
+        } finally {
+            publishStatus(tokenTransactionId);
+            signalOutcome(tokenTransactionId);
+        }
+    }
+
+    /**
+     * Fail the exchange and restore the user's points in one transaction
+     * The conditional compensated marker makes this a no-op for a confirmed or already
+     * compensated exchange; a failed refund rolls the marker back as well.
+     */
+    private void compensateExchange(Integer tokenTransactionId, String googleId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!tokenTransactionService.markCompensated(tokenTransactionId)) {
+                    log.info("Exchange already confirmed or compensated - Token transaction: {}", tokenTransactionId);
+                    return;
+                }
+                boolean restored = userPointTokenService.revertExchangeMainPointsToTokens(
+                    googleId, EXCHANGE_RATE_POINTS, EXCHANGE_RATE_TOKENS.longValue());
+                if (!restored) {
+                    throw new DatabaseUpdateException("Failed to revert balances");
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to compensate token transaction: {} - manual correction required", tokenTransactionId, e);
+        }
+    }
+
+    /**
+     * Re-broadcast the recorded transaction (the process may have crashed before sending it, or the
+     * node dropped it) and wait for its receipt. Rows recorded before signed transactions were kept
+     * only wait for the receipt.
+     */
+    private CompletableFuture<String> resumeRecordedMint(BlockchainOutboxMessage message, TokenTransaction transaction) {
+        Integer tokenTransactionId = transaction.getId();
+        String sentTxHash = transaction.getTxHash();
+        log.info("Resuming exchange mint from recorded TX - Token transaction: {}, TX: {}", tokenTransactionId, sentTxHash);
+
+        CompletableFuture<Boolean> heldByNode = transaction.getSignedTx() != null
+            ? zkSyncService.rebroadcastOwnerTransaction(transaction.getSignedTx())
+            : CompletableFuture.completedFuture(true);
+
+        return heldByNode.thenCompose(held -> transactionReceiptTracker.track(sentTxHash)
+            .handle((receipt, error) -> {
+                if (error == null) {
+                    return CompletableFuture.completedFuture(applyReceipt(tokenTransactionId, sentTxHash, receipt));
+                }
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (!held && cause instanceof TimeoutException) {
+                    // Its nonce was mined by another transaction and it has no receipt - it can never be mined
+                    log.warn("Recorded mint TX was replaced, minting again - Token transaction: {}, TX: {}",
+                        tokenTransactionId, sentTxHash);
+                    tokenTransactionService.detachTxHash(List.of(tokenTransactionId), sentTxHash);
+                    return submitMint(message);
+                }
+                return CompletableFuture.<String>failedFuture(cause);
+            })
+            .thenCompose(Function.identity()));
+    }
+
+    private String applyReceipt(Integer tokenTransactionId, String txHash, TransactionReceipt receipt) {
+        if (!receipt.isStatusOK()) {
+            tokenTransactionService.failTokenTransaction(tokenTransactionId);
+            throw new BlockchainTransactionException("Mint transaction reverted: " + txHash);
+        }
+        tokenTransactionService.confirmTokenTransaction(tokenTransactionId, txHash);
+        return txHash;
+    }
+
+    private CompletableFuture<String> submitMint(BlockchainOutboxMessage message) {
+        return tokenMintAggregator.submitMint(
+            message.getAggregateId(),
+            message.getTargetAddress(),
+            new BigInteger(message.getAmountWei()),
+            message.getReason()
+        );
+    }
+
+    private TokenTransaction debitExchange(String googleId) {
+        Integer currentMainPoints = userPointTokenService.getMainPointBalance(googleId);
+        if (currentMainPoints < EXCHANGE_RATE_POINTS) {
+            throw new InsufficientPointsException(currentMainPoints, EXCHANGE_RATE_POINTS);
+        }
+
+        TokenTransaction tokenTransaction = tokenTransactionService.createTokenTransaction(
+            googleId, EXCHANGE_RATE_POINTS, EXCHANGE_RATE_TOKENS.longValue(), EXCHANGE_DESCRIPTION);
+
+        boolean dbUpdateSuccess = userPointTokenService.exchangeMainPointsToTokens(
+            googleId, EXCHANGE_RATE_POINTS, EXCHANGE_RATE_TOKENS.longValue());
+        if (!dbUpdateSuccess) {
+            throw new DatabaseUpdateException("Failed to update database balances");
+        }
+
+        PointTransaction pointTx = PointTransaction.createMainToTokenExchange(
+            googleId, EXCHANGE_RATE_POINTS, EXCHANGE_DESCRIPTION);
+        pointTx.confirmTransaction();
+        pointTransactionRepository.save(pointTx);
+        return tokenTransaction;
+    }
+
+    private void enqueueMint(Integer tokenTransactionId, String googleId, String smartWalletAddress) {
+        blockchainOutboxService.enqueue(
+            OutboxOperationType.EXCHANGE_MINT,
+            tokenTransactionId,
+            googleId,
+            smartWalletAddress,
+            BigInteger.valueOf(EXCHANGE_RATE_TOKENS).multiply(TOKEN_DECIMALS),
+            EXCHANGE_DESCRIPTION
+        );
+    }
+
+    private void signalOutcome(Integer tokenTransactionId) {
+        CompletableFuture<Void> changed = outcomeWaiters.get(tokenTransactionId);
+        if (changed != null) {
+            changed.complete(null);
+        }
+    }
+
+    // Fast path for an outbox completion handled on this node; other nodes see it on their next poll
+    private void publishStatus(Integer tokenTransactionId) {
+        if (!emitters.containsKey(tokenTransactionId)) {
+            return;
+        }
+        tokenTransactionService.getTokenTransaction(tokenTransactionId)
+            .map(this::toStatusResponse)
+            .ifPresent(this::publishIfChanged);
+    }
+
+    private void publishIfChanged(TokenExchangeStatusResponse status) {
+        Integer tokenTransactionId = status.getTokenTransactionId();
+        List<SseEmitter> subscribers = emitters.get(tokenTransactionId);
+        if (subscribers == null) {
+            return;
+        }
+        String state = stateOf(status);
+        if (state.equals(publishedStates.put(tokenTransactionId, state))) {
+            return;
+        }
+        subscribers.forEach(emitter -> send(emitter, status));
+        if (!TransactionStatusType.PENDING.getName().equals(status.getStatus())) {
+            // Every stream was completed by send - stop polling this exchange
+            emitters.remove(tokenTransactionId);
+            publishedStates.remove(tokenTransactionId);
+        }
+    }
+
+    private static String stateOf(TokenExchangeStatusResponse status) {
+        return status.getStatus() + ":" + status.getTransactionHash();
+    }
+
+    private void send(SseEmitter emitter, TokenExchangeStatusResponse status) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(status));
+            if (!TransactionStatusType.PENDING.getName().equals(status.getStatus())) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE client for token transaction {} disconnected: {}", status.getTokenTransactionId(), e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void removeEmitter(Integer tokenTransactionId, SseEmitter emitter) {
+        emitters.computeIfPresent(tokenTransactionId, (id, subscribers) -> {
+            subscribers.remove(emitter);
+            if (subscribers.isEmpty()) {
+                publishedStates.remove(id);
+                return null;
+            }
+            return subscribers;
+        });
+    }
+
+    private TokenExchangeStatusResponse toStatusResponse(TokenTransaction transaction) {
+        String txHash = transaction.getTxHash();
+        return TokenExchangeStatusResponse.builder()
+            .tokenTransactionId(transaction.getId())
+            .status(TransactionStatusType.fromId(transaction.getTransactionStatusId()).getName())
+            .mainPointsSpent(transaction.getMainPointsSpent())
+            .tokensReceived(transaction.getTokensReceived())
+            .transactionHash(txHash)
+            .explorerUrl(txHash != null ? "https://sepolia.era.zksync.dev/tx/" + txHash : null)
+            .createdAt(transaction.getCreatedAt())
+            .confirmedAt(transaction.getConfirmedAt())
+            .build();
+    }
+}
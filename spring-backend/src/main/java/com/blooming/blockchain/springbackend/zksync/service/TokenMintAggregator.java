@@ -0,0 +1,234 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.exception.BlockchainTransactionException;
+import com.blooming.blockchain.springbackend.exception.TransactionOutcomeUnknownException;
+import com.blooming.blockchain.springbackend.pointtransaction.service.TokenTransactionService;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceCalldataEncoder;
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Governance token mint aggregator
+ * Mint requests submitted within a time window (or until the count threshold)
+ * are sent as a single GovernanceToken.batchMint transaction. The TX hash and the
+ * signed transaction are written to every TokenTransaction in the batch before it
+ * is sent, so a retry always finds them and re-broadcasts that transaction or waits
+ * for its receipt instead of minting again.
+ * The rows are then confirmed, or failed if the batch reverts.
+ */
+@Service
+@Slf4j
+public class TokenMintAggregator {
+
+    private final ZkSyncService zkSyncService;
+    private final TransactionReceiptTracker transactionReceiptTracker;
+    private final TokenTransactionService tokenTransactionService;
+    private final ConcurrentLinkedQueue<PendingMint> pendingMints = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService flushScheduler;
+
+    @Value("${app.zksync.mint.batch.window-ms:2000}")
+    private long windowMs;
+
+    @Value("${app.zksync.mint.batch.max-size:50}")
+    private int maxBatchSize;
+
+    public TokenMintAggregator(ZkSyncService zkSyncService,
+                               TransactionReceiptTracker transactionReceiptTracker,
+                               TokenTransactionService tokenTransactionService) {
+        this.zkSyncService = zkSyncService;
+        this.transactionReceiptTracker = transactionReceiptTracker;
+        this.tokenTransactionService = tokenTransactionService;
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "zksync-mint-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue a mint to be sent with the next batch
+     * @param tokenTransactionId TokenTransaction to report the result to
+     * @param walletAddress Recipient wallet address
+     * @param amount Amount of tokens to mint (in wei, 18 decimals)
+     * @param reason Reason for minting (audit trail)
+     * @return future completed with the batch TX hash once the batch is confirmed on-chain,
+     *         or exceptionally if it is rejected, reverted (BlockchainTransactionException) or not mined in time
+     */
+    public CompletableFuture<String> submitMint(Integer tokenTransactionId,
+                                                String walletAddress,
+                                                BigInteger amount,
+                                                String reason) {
+        PendingMint mint = new PendingMint(tokenTransactionId, walletAddress, amount, reason, new CompletableFuture<>());
+        pendingMints.add(mint);
+
+        if (pendingCount.incrementAndGet() >= maxBatchSize) {
+            flushScheduler.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            flushScheduler.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+        }
+
+        return mint.future();
+    }
+
+    /**
+     * Number of mints waiting for the next batch
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Drain queued mints into batches of at most maxBatchSize and send them
+     */
+    private void flush() {
+        flushScheduled.set(false);
+
+        while (!pendingMints.isEmpty()) {
+            List<PendingMint> drained = new ArrayList<>(Math.min(pendingCount.get(), maxBatchSize));
+            PendingMint mint;
+            while (drained.size() < maxBatchSize && (mint = pendingMints.poll()) != null) {
+                drained.add(mint);
+            }
+            if (drained.isEmpty()) {
+                return;
+            }
+            pendingCount.addAndGet(-drained.size());
+            RpcRateLimiter.runAsCaller("TokenMintAggregator", () -> dispatch(drained));
+        }
+    }
+
+    private void dispatch(List<PendingMint> mints) {
+        List<Integer> transactionIds = mints.stream()
+            .map(PendingMint::tokenTransactionId)
+            .filter(Objects::nonNull)
+            .toList();
+
+        AtomicReference<String> signedTxHash = new AtomicReference<>();
+        String txHash;
+        try {
+            // Recorded before sending - if this update fails, nothing is sent
+            txHash = zkSyncService.sendGovernanceTokenOwnerCall(encode(mints), signed -> {
+                signedTxHash.set(signed.txHash());
+                int attached = tokenTransactionService.attachTxHash(transactionIds, signed.txHash(), signed.rawTransaction());
+                if (attached != transactionIds.size()) {
+                    throw new IllegalStateException("Recorded TX hash on " + attached + " of "
+                        + transactionIds.size() + " token transactions");
+                }
+            });
+        } catch (TransactionOutcomeUnknownException e) {
+            // The node may have accepted it - wait for the recorded hash instead of failing the mints
+            log.warn("Mint batch send outcome unknown, checking receipt - TX: {} - Error: {}", e.getTxHash(), e.getMessage());
+            txHash = e.getTxHash();
+        } catch (Exception e) {
+            // Never reached the chain - clear the recorded hash so the caller can retry or fail the rows
+            log.error("Failed to send mint batch of {} transfers", mints.size(), e);
+            String rejectedHash = signedTxHash.get();
+            if (rejectedHash != null) {
+                updateQuietly(() -> tokenTransactionService.detachTxHash(transactionIds, rejectedHash));
+            }
+            mints.forEach(mint -> mint.future().completeExceptionally(e));
+            return;
+        }
+
+        log.info("Sent mint batch of {} transfers - TX: {}", mints.size(), txHash);
+        String sentTxHash = txHash;
+
+        transactionReceiptTracker.track(sentTxHash).whenComplete((receipt, error) -> {
+            if (error != null) {
+                // Status stays PENDING with the hash attached - the batch may still be mined later
+                log.warn("Mint batch receipt not found - TX: {} - Error: {}", sentTxHash, error.getMessage());
+                if (error instanceof TimeoutException) {
+                    zkSyncService.markOwnerNonceStale();
+                }
+                mints.forEach(mint -> mint.future().completeExceptionally(error));
+                return;
+            }
+
+            if (!receipt.isStatusOK()) {
+                log.error("Mint batch reverted - TX: {}, Status: {}", sentTxHash, receipt.getStatus());
+                updateQuietly(() -> tokenTransactionService.failTokenTransactions(transactionIds));
+                BlockchainTransactionException reverted =
+                    new BlockchainTransactionException("Mint batch transaction reverted: " + sentTxHash);
+                mints.forEach(mint -> mint.future().completeExceptionally(reverted));
+                return;
+            }
+
+            log.info("Mint batch confirmed - TX: {}, Transfers: {}", sentTxHash, mints.size());
+            updateQuietly(() -> tokenTransactionService.confirmTokenTransactions(transactionIds, sentTxHash));
+            mints.forEach(mint -> zkSyncService.invalidateBalances(mint.walletAddress()));
+            mints.forEach(mint -> mint.future().complete(sentTxHash));
+        });
+    }
+
+    /**
+     * A single mint keeps its own TokensMinted event and reason via mintForExchange;
+     * anything larger goes through batchMint
+     */
+    private String encode(List<PendingMint> mints) {
+        if (mints.size() == 1) {
+            PendingMint mint = mints.get(0);
+            return GovernanceCalldataEncoder.mintForExchange(mint.walletAddress(), mint.amount(), mint.reason());
+        }
+
+        List<String> recipients = new ArrayList<>(mints.size());
+        List<BigInteger> amounts = new ArrayList<>(mints.size());
+        for (PendingMint mint : mints) {
+            recipients.add(mint.walletAddress());
+            amounts.add(mint.amount());
+        }
+
+        return GovernanceCalldataEncoder.batchMint(recipients, amounts, batchReason(mints));
+    }
+
+    private String batchReason(List<PendingMint> mints) {
+        String first = mints.get(0).reason();
+        boolean sameReason = mints.stream().allMatch(mint -> Objects.equals(first, mint.reason()));
+        return sameReason
+            ? "Batch (" + mints.size() + "): " + first
+            : "Batch exchange: " + mints.size() + " mints";
+    }
+
+    /**
+     * DB status reporting must never prevent the callers' futures from completing
+     */
+    private void updateQuietly(Runnable update) {
+        try {
+            update.run();
+        } catch (Exception e) {
+            log.error("Failed to update token transactions for mint batch", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Send whatever is still queued before the scheduler stops
+        flushScheduler.execute(this::flush);
+        flushScheduler.shutdown();
+    }
+
+    private record PendingMint(Integer tokenTransactionId,
+                               String walletAddress,
+                               BigInteger amount,
+                               String reason,
+                               CompletableFuture<String> future) {
+    }
+}
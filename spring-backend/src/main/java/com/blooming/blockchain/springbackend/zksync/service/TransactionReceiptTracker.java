@@ -0,0 +1,158 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.zksync.util.RpcRateLimiter;
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncRpcBatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Central, block-driven transaction receipt tracker
+ * Callers register a pending transaction hash and receive a future. A single
+ * scheduled poller reads the chain head from ChainHeadMonitor and, whenever a new
+ * block appears, fetches the receipts of every outstanding hash in one JSON-RPC batch.
+ * RPC load therefore stays flat regardless of how many transactions are in flight.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TransactionReceiptTracker {
+
+    private final Web3j web3j;
+    private final ZkSyncRpcBatcher zkSyncRpcBatcher;
+    private final ChainHeadMonitor chainHeadMonitor;
+
+    @Value("${app.zksync.receipt.timeout-ms:30000}")
+    private long timeoutMs;
+
+    private final Map<String, PendingReceipt> pendingReceipts = new ConcurrentHashMap<>();
+    private final AtomicBoolean fetchInProgress = new AtomicBoolean(false);
+
+    /**
+     * Register a transaction hash to be watched
+     * @param txHash Transaction hash returned by eth_sendRawTransaction
+     * @return future completed with the receipt once mined, or exceptionally with
+     *         a TimeoutException if no receipt appears within the configured timeout
+     */
+    public CompletableFuture<TransactionReceipt> track(String txHash) {
+        PendingReceipt pending = pendingReceipts.computeIfAbsent(txHash.toLowerCase(),
+            key -> new PendingReceipt(txHash, System.currentTimeMillis() + timeoutMs));
+        log.debug("Tracking receipt for TX: {} ({} pending)", txHash, pendingReceipts.size());
+        return pending.future;
+    }
+
+    /**
+     * Number of transactions currently waiting for a receipt
+     */
+    public int getPendingCount() {
+        return pendingReceipts.size();
+    }
+
+    /**
+     * Check for a new block and fetch outstanding receipts in one batch
+     */
+    @Scheduled(fixedDelayString = "${app.zksync.receipt.poll-interval-ms:1000}")
+    public void pollNewBlock() {
+        RpcRateLimiter.runAsCaller("TransactionReceiptTracker", this::pollPendingReceipts);
+    }
+
+    private void pollPendingReceipts() {
+        if (pendingReceipts.isEmpty()) {
+            return;
+        }
+
+        expireTimedOut();
+
+        if (!fetchInProgress.compareAndSet(false, true)) {
+            return;
+        }
+
+        BigInteger blockNumber = chainHeadMonitor.getLatestBlock();
+        if (blockNumber.signum() < 0) {
+            log.warn("Chain head unavailable for receipt tracking");
+            fetchInProgress.set(false);
+            return;
+        }
+
+        // lastCheckedBlock only advances once a lookup succeeds, so a failed poll is retried
+        List<PendingReceipt> toCheck = new ArrayList<>();
+        for (PendingReceipt pending : pendingReceipts.values()) {
+            if (pending.lastCheckedBlock.compareTo(blockNumber) < 0) {
+                toCheck.add(pending);
+            }
+        }
+
+        if (toCheck.isEmpty()) {
+            fetchInProgress.set(false);
+            return;
+        }
+
+        log.debug("Block {}: fetching {} outstanding receipts", blockNumber, toCheck.size());
+        fetchReceipts(toCheck, blockNumber).whenComplete((ignored, error) -> fetchInProgress.set(false));
+    }
+
+    private CompletableFuture<Void> fetchReceipts(List<PendingReceipt> toCheck, BigInteger blockNumber) {
+        CompletableFuture<?>[] lookups = new CompletableFuture<?>[toCheck.size()];
+        for (int i = 0; i < toCheck.size(); i++) {
+            PendingReceipt pending = toCheck.get(i);
+            lookups[i] = zkSyncRpcBatcher.submit(web3j.ethGetTransactionReceipt(pending.txHash))
+                .thenAccept(response -> {
+                    if (response.hasError()) {
+                        log.debug("Receipt lookup error for TX {}: {}", pending.txHash, response.getError().getMessage());
+                        return;
+                    }
+                    pending.lastCheckedBlock = blockNumber;
+                    response.getTransactionReceipt().ifPresent(receipt -> complete(pending, receipt));
+                })
+                .exceptionally(e -> {
+                    log.debug("Receipt lookup failed for TX {}: {}", pending.txHash, e.getMessage());
+                    return null;
+                });
+        }
+        return CompletableFuture.allOf(lookups);
+    }
+
+    private void complete(PendingReceipt pending, TransactionReceipt receipt) {
+        pendingReceipts.remove(pending.txHash.toLowerCase());
+        log.debug("Receipt found for TX: {} in block {}", pending.txHash, receipt.getBlockNumber());
+        pending.future.complete(receipt);
+    }
+
+    private void expireTimedOut() {
+        long now = System.currentTimeMillis();
+        pendingReceipts.values().removeIf(pending -> {
+            if (now < pending.deadlineMillis) {
+                return false;
+            }
+            log.warn("Transaction receipt not found within {} ms - TX: {}", timeoutMs, pending.txHash);
+            pending.future.completeExceptionally(
+                new TimeoutException("Transaction receipt not found within " + timeoutMs + " ms: " + pending.txHash));
+            return true;
+        });
+    }
+
+    private static class PendingReceipt {
+        private final String txHash;
+        private final long deadlineMillis;
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        private volatile BigInteger lastCheckedBlock = BigInteger.valueOf(-1);
+
+        private PendingReceipt(String txHash, long deadlineMillis) {
+            this.txHash = txHash;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.blooming.blockchain.springbackend.zksync.service;
 
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncEip712Signer;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,11 +10,7 @@ import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
-import org.web3j.protocol.core.methods.response.EthGasPrice;
 import org.web3j.protocol.core.DefaultBlockParameterName;
-import org.web3j.crypto.RawTransaction;
-import org.web3j.crypto.TransactionEncoder;
-import org.web3j.utils.Numeric;
 
 import java.math.BigInteger;
 
@@ -33,6 +31,22 @@ public class ZkSyncEraPaymasterService {
     @Autowired
     private Web3j web3j;
     
+    @Autowired
+    private GasOracle gasOracle;
+
+    @Value("${app.zksync.chain-id:300}")
+    private long chainId;
+
+    @Value("${app.zksync.gas-per-pubdata:50000}")
+    private long gasPerPubdata;
+
+    private ZkSyncEip712Signer eip712Signer;
+
+    @PostConstruct
+    public void initSigner() {
+        eip712Signer = new ZkSyncEip712Signer(chainId);
+    }
+    
     /**
      * Send a gasless transaction using zkSync Era paymaster
      * 
@@ -50,6 +64,39 @@ public class ZkSyncEraPaymasterService {
             String paymasterAddress,
             BigInteger gasLimit) throws Exception {
         
+        // Get current nonce
+        EthGetTransactionCount nonceResponse = web3j.ethGetTransactionCount(
+            userCredentials.getAddress(), DefaultBlockParameterName.LATEST).send();
+        BigInteger nonce = nonceResponse.getTransactionCount();
+        
+        // Get current gas price (cached per block)
+        BigInteger gasPrice = gasOracle.getGasPrice();
+        
+        return sendGaslessTransaction(userCredentials, contractAddress, functionData, paymasterAddress, gasLimit, gasPrice, nonce);
+    }
+    
+    /**
+     * Send a gasless transaction using zkSync Era paymaster with a nonce and gas price
+     * the caller already resolved (avoids fetching them a second time)
+     * 
+     * @param userCredentials User's wallet credentials
+     * @param contractAddress Target contract address
+     * @param functionData Function call data (encoded ABI)
+     * @param paymasterAddress Paymaster contract address (optional, uses default if null)
+     * @param gasLimit Gas limit for the transaction
+     * @param gasPrice Gas price for the transaction
+     * @param nonce Sender nonce
+     * @return Transaction hash
+     */
+    public String sendGaslessTransaction(
+            Credentials userCredentials,
+            String contractAddress,
+            String functionData,
+            String paymasterAddress,
+            BigInteger gasLimit,
+            BigInteger gasPrice,
+            BigInteger nonce) throws Exception {
+        
         log.info("Sending gasless transaction using zkSync Era paymaster");
         log.info("User: {}", userCredentials.getAddress());
         log.info("Contract: {}", contractAddress);
@@ -59,15 +106,6 @@ public class ZkSyncEraPaymasterService {
             // Use the default paymaster if none specified
             String targetPaymaster = paymasterAddress != null ? paymasterAddress : defaultPaymasterAddress;
             
-            // Get current nonce
-            EthGetTransactionCount nonceResponse = web3j.ethGetTransactionCount(
-                userCredentials.getAddress(), DefaultBlockParameterName.LATEST).send();
-            BigInteger nonce = nonceResponse.getTransactionCount();
-            
-            // Get current gas price
-            EthGasPrice gasPriceResponse = web3j.ethGasPrice().send();
-            BigInteger gasPrice = gasPriceResponse.getGasPrice();
-            
             log.info("Transaction details - Nonce: {}, Gas Price: {}, Gas Limit: {}", nonce, gasPrice, gasLimit);
             
             // For zkSync Era paymaster, we need to create a transaction that includes paymaster data
@@ -104,35 +142,26 @@ public class ZkSyncEraPaymasterService {
             log.info("Creating zkSync Era Type 113 paymaster transaction");
             log.debug("Paymaster address: {}", paymasterAddress);
             
-            // Create paymaster input using IPaymasterFlow.general selector (0x8c5a3445)
-            String paymasterInput = "0x8c5a3445"; // IPaymasterFlow.general selector
-            
-            // For zkSync Era paymaster transactions, we need to create a Type 113 transaction
-            // This is different from regular Ethereum transactions
-            // zkSync Era expects specific paymaster fields to be included
-            
-            // Create regular transaction for now and let zkSync Era paymaster handle gas sponsorship
-            // The key is that we're sending to the governance contract with user credentials
-            // and zkSync Era paymaster will detect and sponsor the transaction if properly configured
-            
-            RawTransaction rawTransaction = RawTransaction.createTransaction(
+            // Type 113 transaction: the paymaster fields are part of the signed EIP-712 payload,
+            // so the Paymaster contract is charged instead of the user's wallet
+            ZkSyncEip712Signer.Transaction transaction = new ZkSyncEip712Signer.Transaction(
+                userCredentials.getAddress(),
+                contractAddress,
                 nonce,
-                gasPrice,
                 gasLimit,
-                contractAddress,
+                gasPrice,
                 BigInteger.ZERO,
-                functionData
+                BigInteger.ZERO,
+                functionData,
+                gasPerPubdata,
+                paymasterAddress,
+                ZkSyncEip712Signer.GENERAL_FLOW_INPUT
             );
-            
-            // Sign with zkSync Era chain ID (300 for Sepolia)
-            long zkSyncChainId = 300L;
-            byte[] signedMessage = TransactionEncoder.signMessage(rawTransaction, zkSyncChainId, userCredentials);
-            String hexValue = Numeric.toHexString(signedMessage);
+            String hexValue = eip712Signer.sign(userCredentials, transaction);
             
             log.debug("Signed zkSync Era transaction hex: {}", hexValue.substring(0, Math.min(20, hexValue.length())) + "...");
             
             // Send the signed transaction
-            // zkSync Era should automatically detect if this transaction can be sponsored by paymaster
             EthSendTransaction response = web3j.ethSendRawTransaction(hexValue).send();
             
             if (response.hasError()) {
@@ -1,8 +1,14 @@
 package com.blooming.blockchain.springbackend.zksync.service;
 
+import com.blooming.blockchain.springbackend.exception.TransactionOutcomeUnknownException;
 import com.blooming.blockchain.springbackend.wallet.entity.UserWallet;
 import com.blooming.blockchain.springbackend.wallet.repository.UserWalletRepository;
 import com.blooming.blockchain.springbackend.wallet.util.WalletEncryption;
+import com.blooming.blockchain.springbackend.wallet.util.WalletKeyPool;
+import com.blooming.blockchain.springbackend.zksync.util.BlockchainExecutor;
+import com.blooming.blockchain.springbackend.zksync.util.ChainMetrics;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceCalldataEncoder;
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncRpcBatcher;
 import com.blooming.blockchain.springbackend.zksync.util.ZkSyncTransactionHelper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,26 +16,27 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameterName;
-import org.web3j.protocol.core.methods.response.TransactionReceipt;
-import org.web3j.protocol.http.HttpService;
-import org.web3j.abi.FunctionEncoder;
-import org.web3j.abi.TypeReference;
-import org.web3j.abi.datatypes.Address;
-import org.web3j.abi.datatypes.Function;
-import org.web3j.abi.datatypes.Type;
-import org.web3j.abi.datatypes.Utf8String;
-import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import com.blooming.blockchain.springbackend.zksync.dto.CreateProposalResult;
-import org.web3j.tx.RawTransactionManager;
-import org.web3j.tx.gas.DefaultGasProvider;
+import org.web3j.utils.Numeric;
 
+import java.io.IOException;
 import java.math.BigInteger;
 import java.security.SecureRandom;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.CompletableFuture;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 
@@ -40,10 +47,17 @@ public class ZkSyncService {
 
     private final UserWalletRepository userWalletRepository;
     private final WalletEncryption walletEncryption;
+    private final WalletKeyPool walletKeyPool;
     private final ZkSyncTransactionHelper zkSyncTransactionHelper;
-
-    @Value("${app.zksync.rpc-url:https://sepolia.era.zksync.dev}")
-    private String zkSyncRpcUrl;
+    private final Web3j web3j;
+    private final ZkSyncRpcBatcher zkSyncRpcBatcher;
+    private final TransactionReceiptTracker transactionReceiptTracker;
+    private final NonceManager nonceManager;
+    private final GasOracle gasOracle;
+    private final ChainHeadMonitor chainHeadMonitor;
+    private final PaymasterMonitor paymasterMonitor;
+    private final BlockchainExecutor blockchainExecutor;
+    private final ChainMetrics chainMetrics;
 
     @Value("${app.zksync.governance.token.address:0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e}")
     private String governanceTokenAddress;
@@ -54,21 +68,28 @@ public class ZkSyncService {
     @Value("${app.zksync.chain-id:300}")
     private Integer chainId;
 
+    @Value("${app.zksync.balance-cache.max-entries:10000}")
+    private int balanceCacheMaxEntries;
+
+    private static final String ASSET_ETH = "ETH";
+
+    // Bounded LRU of on-chain balances keyed by (address, asset), tagged with the block they were read at
+    private final Map<BalanceKey, CachedBalance> balanceCache = Collections.synchronizedMap(
+        new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BalanceKey, CachedBalance> eldest) {
+                return size() > balanceCacheMaxEntries;
+            }
+        });
+    private final AtomicLong balanceInvalidations = new AtomicLong();
+
     @Value("${app.zksync.owner.private-key:your-owner-private-key-here}")
     private String ownerPrivateKey;
 
-    private Web3j web3j;
     private Credentials ownerCredentials;
 
     // Remove the custom constructor - @RequiredArgsConstructor will handle dependency injection
 
-    private Web3j getWeb3jClient() {
-        if (web3j == null) {
-            web3j = Web3j.build(new HttpService(zkSyncRpcUrl));
-        }
-        return web3j;
-    }
-
     private Credentials getOwnerCredentials() {
         if (ownerCredentials == null) {
             if (ownerPrivateKey == null || ownerPrivateKey.equals("your-owner-private-key-here")) {
@@ -103,30 +124,14 @@ public class ZkSyncService {
                 throw new IllegalStateException("User already has a wallet: " + userId);
             }
             
-            // Generate new private key securely
-            SecureRandom secureRandom = new SecureRandom();
-            BigInteger privateKeyBigInt = new BigInteger(256, secureRandom);
-            
-            // Ensure private key is valid (not zero, within curve order)
-            while (privateKeyBigInt.equals(BigInteger.ZERO) || 
-                   privateKeyBigInt.compareTo(new BigInteger("fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364141", 16)) >= 0) {
-                privateKeyBigInt = new BigInteger(256, secureRandom);
-            }
-            
-            String privateKey = privateKeyBigInt.toString(16);
-            
-            // Generate credentials and address
-            Credentials credentials = Credentials.create(privateKey);
-            String walletAddress = credentials.getAddress();
-            
-            // Encrypt private key for secure storage
-            String encryptedPrivateKey = walletEncryption.encryptPrivateKey(privateKey);
+            // Pre-generated, already encrypted keypair (generated on demand if the pool is empty)
+            WalletKeyPool.PooledKey key = walletKeyPool.take();
             
             // Create and save UserWallet entity
             UserWallet userWallet = UserWallet.builder()
                 .userId(userId)
-                .walletAddress(walletAddress)
-                .encryptedPrivateKey(encryptedPrivateKey)
+                .walletAddress(key.walletAddress())
+                .encryptedPrivateKey(key.encryptedPrivateKey())
                 .isActive(true)
                 .build();
             
@@ -167,7 +172,15 @@ public class ZkSyncService {
                 throw new IllegalArgumentException("Invalid or inactive wallet");
             }
             
-            String privateKey = walletEncryption.decryptPrivateKey(userWallet.getEncryptedPrivateKey());
+            String storedPrivateKey = userWallet.getEncryptedPrivateKey();
+            String privateKey = walletEncryption.decryptPrivateKey(storedPrivateKey, userWallet.getWalletAddress());
+
+            // Lazy migration of wallets created before envelope encryption
+            if (walletEncryption.needsMigration(storedPrivateKey)) {
+                userWallet.updateEncryptedPrivateKey(
+                    walletEncryption.encryptPrivateKey(privateKey, userWallet.getWalletAddress()));
+                log.info("Migrated private key of wallet {} to envelope encryption", userWallet.getShortAddress());
+            }
             
             userWalletRepository.save(userWallet);
             
@@ -216,42 +229,101 @@ public class ZkSyncService {
 
     /**
      * Get wallet balance in ETH
+     * Served from the balance cache while no newer block has arrived; otherwise
+     * read live, coalesced with concurrent RPC reads into a single JSON-RPC batch
      * @param walletAddress Wallet address
      * @return Balance in Wei as BigInteger
      */
     public CompletableFuture<BigInteger> getWalletBalance(String walletAddress) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                Web3j client = getWeb3jClient();
-                return client.ethGetBalance(walletAddress, DefaultBlockParameterName.LATEST)
-                    .send()
-                    .getBalance();
-            } catch (Exception e) {
-                log.error("Failed to get wallet balance for address: {}", walletAddress, e);
-                return BigInteger.ZERO;
-            }
-        });
+        return getCachedBalance(walletAddress, ASSET_ETH, () ->
+            zkSyncRpcBatcher.submit(web3j.ethGetBalance(walletAddress, DefaultBlockParameterName.LATEST))
+                .thenApply(response -> {
+                    if (response.hasError()) {
+                        log.error("Failed to get wallet balance for address: {} - {}", walletAddress, response.getError().getMessage());
+                        return null;
+                    }
+                    return response.getBalance();
+                }));
     }
 
     /**
      * Get governance token balance for a wallet
+     * Calls ERC20 balanceOf on the governance token; cached per block like the ETH balance
      * @param walletAddress Wallet address
      * @return Token balance as BigInteger
      */
     public CompletableFuture<BigInteger> getGovernanceTokenBalance(String walletAddress) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // This would require implementing ERC20 contract interaction
-                // For now, return zero - will implement in next phase
-                log.debug("Getting governance token balance for: {}", walletAddress);
-                return BigInteger.ZERO;
-            } catch (Exception e) {
-                log.error("Failed to get governance token balance for address: {}", walletAddress, e);
-                return BigInteger.ZERO;
-            }
+        log.debug("Getting governance token balance for: {}", walletAddress);
+
+        return getCachedBalance(walletAddress, governanceTokenAddress, () -> {
+            Transaction callTransaction = Transaction.createEthCallTransaction(
+                null, governanceTokenAddress, GovernanceCalldataEncoder.balanceOf(walletAddress));
+
+            return zkSyncRpcBatcher.submit(web3j.ethCall(callTransaction, DefaultBlockParameterName.LATEST))
+                .thenApply(response -> {
+                    if (response.hasError()) {
+                        log.error("Failed to get governance token balance for address: {} - {}", walletAddress, response.getError().getMessage());
+                        return null;
+                    }
+                    String value = response.getValue();
+                    if (value == null || value.equals("0x")) {
+                        return BigInteger.ZERO;
+                    }
+                    return Numeric.toBigInt(value);
+                });
         });
     }
 
+    /**
+     * Drop cached balances of an address after our own transaction touched it (mint, vote)
+     * @param walletAddress Wallet address
+     */
+    public void invalidateBalances(String walletAddress) {
+        if (walletAddress == null) {
+            return;
+        }
+        String address = walletAddress.toLowerCase();
+        balanceInvalidations.incrementAndGet();
+        synchronized (balanceCache) {
+            balanceCache.keySet().removeIf(key -> key.address().equals(address));
+        }
+        log.debug("Invalidated cached balances for {}", walletAddress);
+    }
+
+    /**
+     * Serve a balance from the cache if it was read at the current head block, otherwise load it
+     * Failed reads (loader returns null) are reported as zero and never cached
+     */
+    private CompletableFuture<BigInteger> getCachedBalance(
+            String walletAddress,
+            String asset,
+            Supplier<CompletableFuture<BigInteger>> loader) {
+
+        BalanceKey key = new BalanceKey(walletAddress.toLowerCase(), asset.toLowerCase());
+        BigInteger headBlock = chainHeadMonitor.getLatestBlock();
+        CachedBalance cached = balanceCache.get(key);
+        if (cached != null && headBlock.signum() >= 0 && cached.block().compareTo(headBlock) >= 0) {
+            return CompletableFuture.completedFuture(cached.value());
+        }
+
+        long invalidationsBefore = balanceInvalidations.get();
+        return loader.get()
+            .thenApply(value -> {
+                if (value == null) {
+                    return BigInteger.ZERO;
+                }
+                // Skip caching if one of our transactions touched balances while this read was in flight
+                if (headBlock.signum() >= 0 && balanceInvalidations.get() == invalidationsBefore) {
+                    balanceCache.put(key, new CachedBalance(value, headBlock));
+                }
+                return value;
+            })
+            .exceptionally(e -> {
+                log.error("Failed to get balance for address: {} ({})", walletAddress, asset, e);
+                return BigInteger.ZERO;
+            });
+    }
+
     /**
      * Execute gasless transaction using zkSync Era paymaster
      * @param userPrivateKey User's private key
@@ -264,12 +336,10 @@ public class ZkSyncService {
             String contractAddress, 
             String functionData) {
         
-        return CompletableFuture.supplyAsync(() -> {
+        return blockchainExecutor.supplyAsync(() -> {
             try {
                 log.info("Executing zkSync Era paymaster transaction to contract: {}", contractAddress);
                 
-                Web3j web3j = getWeb3jClient();
-                
                 // Clean and create user credentials
                 String cleanPrivateKey = userPrivateKey.startsWith("0x") ? 
                     userPrivateKey.substring(2) : userPrivateKey;
@@ -279,9 +349,9 @@ public class ZkSyncService {
                 
                 // Validate paymaster can sponsor this transaction
                 if (!zkSyncTransactionHelper.validatePaymasterBalance(
-                        web3j, paymasterAddress, 
+                        paymasterAddress,
                         BigInteger.valueOf(300_000L), // Default gas limit
-                        BigInteger.valueOf(2_000_000_000L))) { // 2 Gwei
+                        gasOracle.getGasPrice())) {
                     
                     log.warn("Paymaster balance insufficient, but continuing with transaction attempt");
                 }
@@ -297,6 +367,8 @@ public class ZkSyncService {
                 );
                 
                 log.info("Successfully sent zkSync Era paymaster transaction - TX: {}", txHash);
+                // Votes and proposals are sent from the user's wallet
+                invalidateBalances(userCredentials.getAddress());
                 return txHash;
                 
             } catch (Exception e) {
@@ -318,85 +390,46 @@ public class ZkSyncService {
             BigInteger amount,
             String reason) {
         
-        return CompletableFuture.supplyAsync(() -> {
+        return blockchainExecutor.supplyAsync(() -> {
             try {
                 log.info("Minting {} governance tokens for wallet: {} - Reason: {}", amount, userWalletAddress, reason);
                 
-                Web3j web3j = getWeb3jClient();
                 Credentials ownerCreds = getOwnerCredentials();
                 
-                // Create the mintForExchange function call
-                Function mintFunction = new Function(
-                    "mintForExchange",
-                    Arrays.asList(
-                        new Address(userWalletAddress),
-                        new Uint256(amount),
-                        new Utf8String(reason)
-                    ),
-                    Collections.emptyList()
-                );
-                
-                // Encode the function call
-                String encodedFunction = FunctionEncoder.encode(mintFunction);
-                
-                // Create transaction manager
-                RawTransactionManager transactionManager = new RawTransactionManager(
-                    web3j, ownerCreds, chainId.longValue());
-                
-                // Send transaction
-                org.web3j.protocol.core.methods.response.EthSendTransaction ethSendTransaction = 
-                    transactionManager.sendTransaction(
-                        DefaultGasProvider.GAS_PRICE,
-                        DefaultGasProvider.GAS_LIMIT,
-                        governanceTokenAddress,
-                        encodedFunction,
-                        BigInteger.ZERO
-                    );
-                
-                if (ethSendTransaction.hasError()) {
-                    throw new RuntimeException("Transaction failed: " + ethSendTransaction.getError().getMessage());
-                }
+                // Encode the mintForExchange function call
+                String encodedFunction = GovernanceCalldataEncoder.mintForExchange(userWalletAddress, amount, reason);
                 
-                String txHash = ethSendTransaction.getTransactionHash();
+                // Send with a locally allocated owner nonce
+                String txHash = sendOwnerTransaction(
+                    ownerCreds,
+                    governanceTokenAddress,
+                    encodedFunction,
+                    null
+                );
                 log.info("Successfully sent mint transaction for {} tokens to {} - TX: {}", amount, userWalletAddress, txHash);
                 
-                // Wait for transaction receipt (optional - for confirmation)
-                try {
-                    // Poll for transaction receipt
-                    TransactionReceipt receipt = null;
-                    int attempts = 0;
-                    int maxAttempts = 30; // Wait up to 30 seconds
-                    
-                    while (receipt == null && attempts < maxAttempts) {
-                        Thread.sleep(1000); // Wait 1 second
-                        var receiptResponse = web3j.ethGetTransactionReceipt(txHash).send();
-                        if (receiptResponse.getTransactionReceipt().isPresent()) {
-                            receipt = receiptResponse.getTransactionReceipt().get();
-                            break;
-                        }
-                        attempts++;
-                    }
-                    
-                    if (receipt != null) {
-                        if (receipt.isStatusOK()) {
-                            log.info("Transaction confirmed successfully - TX: {}", txHash);
-                        } else {
-                            log.warn("Transaction completed but may have failed - TX: {}, Status: {}", txHash, receipt.getStatus());
-                        }
-                    } else {
-                        log.warn("Transaction receipt not found after {} attempts - TX: {}", maxAttempts, txHash);
-                    }
-                } catch (Exception e) {
-                    log.warn("Could not get transaction receipt, but transaction was sent - TX: {} - Error: {}", txHash, e.getMessage());
-                }
-                
                 return txHash;
                 
             } catch (Exception e) {
                 log.error("Failed to mint governance tokens for wallet: {}", userWalletAddress, e);
                 throw new RuntimeException("Token minting failed: " + e.getMessage(), e);
             }
-        });
+        }).thenCompose(txHash -> transactionReceiptTracker.track(txHash)
+            // Wait for transaction receipt (optional - for confirmation)
+            .handle((receipt, error) -> {
+                if (error != null) {
+                    log.warn("Could not get transaction receipt, but transaction was sent - TX: {} - Error: {}", txHash, error.getMessage());
+                    chainMetrics.recordFallback("mint", "receipt_timeout");
+                    // The transaction may have been dropped - resync owner nonce on next mint
+                    nonceManager.markStale(getOwnerCredentials().getAddress());
+                } else if (receipt.isStatusOK()) {
+                    log.info("Transaction confirmed successfully - TX: {}", txHash);
+                    invalidateBalances(userWalletAddress);
+                } else {
+                    log.warn("Transaction completed but may have failed - TX: {}, Status: {}", txHash, receipt.getStatus());
+                }
+                return txHash;
+            }));
     }
 
     /**
@@ -417,73 +450,188 @@ public class ZkSyncService {
     }
 
     /**
-     * Check if paymaster has sufficient balance
-     * @return true if paymaster can sponsor transactions
+     * Send an owner-only call (e.g. batchMint) to the governance token contract
+     * Blocks until the node accepts the transaction; confirmation is up to the caller
+     * @param encodedFunction ABI encoded function call
+     * @param beforeSend Receives the signed transaction before it is sent, so the caller can
+     *                   record it first (and re-broadcast it later); if it throws, nothing is sent
+     * @return Transaction hash
+     * @throws TransactionOutcomeUnknownException if the send failed after the transaction may have
+     *         reached the node - check the receipt of its hash instead of sending again
      */
-    public boolean isPaymasterFunded() {
-        try {
-            BigInteger paymasterBalance = getWalletBalance(paymasterAddress).join();
-            BigInteger minimumBalance = new BigInteger("1000000000000000"); // 0.001 ETH in Wei
-            
-            boolean isFunded = paymasterBalance.compareTo(minimumBalance) >= 0;
-            log.info("Paymaster balance check - Balance: {} Wei, Funded: {}", paymasterBalance, isFunded);
-            
-            return isFunded;
-        } catch (Exception e) {
-            log.error("Failed to check paymaster balance", e);
-            return false;
-        }
+    public String sendGovernanceTokenOwnerCall(String encodedFunction, Consumer<SignedTransaction> beforeSend) throws IOException {
+        return sendOwnerTransaction(
+            getOwnerCredentials(),
+            governanceTokenAddress,
+            encodedFunction,
+            beforeSend
+        );
     }
 
     /**
-     * Get paymaster statistics
-     * @return PaymasterStats object with current information
+     * Send an owner-only call (e.g. createProposal) to the governance token contract asynchronously
+     * Goes through the same local nonce allocation as the owner mints, so the two never collide
+     * @param encodedFunction ABI encoded function call
+     * @return Transaction hash; if the send outcome is unknown, the hash of the signed transaction
+     *         so the caller can still wait for its receipt
      */
-    public PaymasterStats getPaymasterStats() {
-        try {
-            BigInteger balance = getWalletBalance(paymasterAddress).join();
-            boolean isActive = isPaymasterFunded();
+    public CompletableFuture<String> executeOwnerTransaction(String encodedFunction) {
+        return blockchainExecutor.supplyAsync(() -> {
+            try {
+                String txHash = sendGovernanceTokenOwnerCall(encodedFunction, null);
+                log.info("Successfully sent owner transaction - TX: {}", txHash);
+                return txHash;
+            } catch (TransactionOutcomeUnknownException e) {
+                log.warn("Owner transaction send outcome unknown, checking receipt - TX: {} - Error: {}", e.getTxHash(), e.getMessage());
+                return e.getTxHash();
+            } catch (IOException e) {
+                log.error("Failed to send owner transaction", e);
+                throw new RuntimeException("Owner transaction failed: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Re-send a recorded owner transaction whose outcome is unknown
+     * Covers a crash between recording the transaction and sending it, and a transaction the node dropped
+     * @param signedTx Raw signed transaction recorded before the original send
+     * @return future of true if the node holds the transaction (accepted again or already known),
+     *         false if its nonce is already used by a mined transaction - this one or another
+     */
+    public CompletableFuture<Boolean> rebroadcastOwnerTransaction(String signedTx) {
+        return blockchainExecutor.supplyAsync(() -> {
+            String txHash = Hash.sha3(signedTx);
+            try {
+                EthSendTransaction response = web3j.ethSendRawTransaction(signedTx).send();
+                if (!response.hasError()) {
+                    log.info("Re-broadcast owner transaction - TX: {}", txHash);
+                    return true;
+                }
+
+                String errorMessage = response.getError().getMessage();
+                if (NonceManager.isAlreadyKnown(errorMessage)) {
+                    return true;
+                }
+                if (NonceManager.isNonceTooLow(errorMessage)) {
+                    log.info("Nonce of owner transaction {} already used - mined or replaced", txHash);
+                    return false;
+                }
+                throw new RuntimeException("Re-broadcast of " + txHash + " failed: " + errorMessage);
+            } catch (IOException e) {
+                throw new RuntimeException("Re-broadcast of " + txHash + " failed: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Force the owner nonce to resync on the next send (e.g. after a dropped transaction)
+     */
+    public void markOwnerNonceStale() {
+        nonceManager.markStale(getOwnerCredentials().getAddress());
+    }
+
+    /**
+     * Sign and send a transaction from the owner account using the local nonce manager
+     * Retries once with a freshly synced nonce if the node reports a nonce mismatch
+     * @return Transaction hash
+     */
+    private String sendOwnerTransaction(
+            Credentials ownerCreds,
+            String to,
+            String data,
+            Consumer<SignedTransaction> beforeSend) throws IOException {
+        
+        String ownerAddress = ownerCreds.getAddress();
+        BigInteger gasPrice = gasOracle.getGasPrice();
+        BigInteger gasLimit = gasOracle.estimateGasLimit(ownerAddress, to, data);
+        
+        for (int attempt = 1; ; attempt++) {
+            BigInteger nonce = nonceManager.acquireNonce(ownerAddress);
             
-            return PaymasterStats.builder()
-                .address(paymasterAddress)
-                .balance(balance)
-                .isActive(isActive)
-                .governanceTokenAddress(governanceTokenAddress)
-                .build();
-                
-        } catch (Exception e) {
-            log.error("Failed to get paymaster stats", e);
-            return PaymasterStats.builder()
-                .address(paymasterAddress)
-                .balance(BigInteger.ZERO)
-                .isActive(false)
-                .governanceTokenAddress(governanceTokenAddress)
-                .build();
+            RawTransaction rawTransaction = RawTransaction.createTransaction(
+                nonce, gasPrice, gasLimit, to, BigInteger.ZERO, data);
+            String signedTx = Numeric.toHexString(
+                TransactionEncoder.signMessage(rawTransaction, chainId.longValue(), ownerCreds));
+            String txHash = Hash.sha3(signedTx);
+            
+            if (beforeSend != null) {
+                try {
+                    beforeSend.accept(new SignedTransaction(txHash, signedTx));
+                } catch (RuntimeException e) {
+                    nonceManager.releaseNonce(ownerAddress, nonce);
+                    throw e;
+                }
+            }
+            
+            EthSendTransaction ethSendTransaction;
+            try {
+                ethSendTransaction = web3j.ethSendRawTransaction(signedTx).send();
+            } catch (IOException e) {
+                // Unknown whether the node accepted it - resync before the next allocation
+                nonceManager.settleNonce(ownerAddress, nonce);
+                nonceManager.markStale(ownerAddress);
+                throw new TransactionOutcomeUnknownException(txHash, e);
+            }
+            
+            if (!ethSendTransaction.hasError()) {
+                nonceManager.settleNonce(ownerAddress, nonce);
+                return ethSendTransaction.getTransactionHash();
+            }
+            
+            String errorMessage = ethSendTransaction.getError().getMessage();
+            if (NonceManager.isAlreadyKnown(errorMessage)) {
+                // Our own signed transaction is already pending - its hash is the result
+                nonceManager.settleNonce(ownerAddress, nonce);
+                log.info("Owner transaction with nonce {} already known to the node - TX: {}", nonce, txHash);
+                return txHash;
+            }
+            if (NonceManager.isNonceError(errorMessage)) {
+                log.warn("Nonce {} rejected for owner {} ({}), resyncing", nonce, ownerAddress, errorMessage);
+                // No longer held - the resync decides from the node whether it is reissued
+                nonceManager.settleNonce(ownerAddress, nonce);
+                nonceManager.resync(ownerAddress);
+                if (attempt < 2) {
+                    chainMetrics.recordRetry("owner_tx", "nonce_resync");
+                    continue;
+                }
+            } else {
+                nonceManager.releaseNonce(ownerAddress, nonce);
+            }
+            throw new RuntimeException("Transaction failed: " + errorMessage);
         }
     }
 
-    // Helper methods
-    
-    private String encodeMintFunction(String recipient, BigInteger amount) {
-        // This would use Web3j's contract wrapper to encode the mint function call
-        // For now, return a placeholder
-        return "0xa0712d68" + // mint(address,uint256) function selector
-               padAddress(recipient) + 
-               padUint256(amount);
+    /**
+     * Check if paymaster has sufficient balance
+     * Served from the PaymasterMonitor snapshot - no RPC call
+     * @return true if paymaster can sponsor transactions
+     */
+    public boolean isPaymasterFunded() {
+        return paymasterMonitor.isFunded();
     }
 
-    private String padAddress(String address) {
-        // Remove 0x prefix if present and pad to 64 characters
-        String cleanAddress = address.startsWith("0x") ? address.substring(2) : address;
-        return String.format("%064s", cleanAddress).replace(' ', '0');
-    }
+    /**
+     * Get paymaster statistics from the latest monitor snapshot
+     * @return PaymasterStats object with current information
+     */
+    public PaymasterStats getPaymasterStats() {
+        PaymasterMonitor.Snapshot snapshot = paymasterMonitor.getSnapshot();
 
-    private String padUint256(BigInteger value) {
-        // Convert to hex and pad to 64 characters
-        String hex = value.toString(16);
-        return String.format("%064s", hex).replace(' ', '0');
+        return PaymasterStats.builder()
+            .address(paymasterAddress)
+            .balance(snapshot.isAvailable() ? snapshot.balance() : BigInteger.ZERO)
+            .isActive(snapshot.funded())
+            .governanceTokenAddress(governanceTokenAddress)
+            .blockNumber(snapshot.blockNumber())
+            .updatedAt(snapshot.updatedAt())
+            .burnRateWeiPerHour(snapshot.burnRateWeiPerHour())
+            .timeToEmpty(snapshot.timeToEmpty())
+            .stale(snapshot.stale())
+            .build();
     }
 
+    // Helper methods
+    
     private String generateMockTxHash() {
         // Generate a realistic-looking transaction hash for testing
         SecureRandom random = new SecureRandom();
@@ -514,5 +662,24 @@ public class ZkSyncService {
         private BigInteger balance;
         private boolean isActive;
         private String governanceTokenAddress;
+        private BigInteger blockNumber;
+        private LocalDateTime updatedAt;
+        private BigInteger burnRateWeiPerHour;
+        private Duration timeToEmpty;
+        private boolean stale;
+    }
+
+    /**
+     * Owner transaction as signed, handed to the caller before it is sent
+     * @param txHash Hash of the signed transaction
+     * @param rawTransaction Hex encoded signed transaction, as passed to eth_sendRawTransaction
+     */
+    public record SignedTransaction(String txHash, String rawTransaction) {
+    }
+
+    private record BalanceKey(String address, String asset) {
+    }
+
+    private record CachedBalance(BigInteger value, BigInteger block) {
     }
-}
\ No newline at end of file
+}
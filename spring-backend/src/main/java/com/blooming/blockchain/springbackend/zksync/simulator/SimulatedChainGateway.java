@@ -0,0 +1,516 @@
+package com.blooming.blockchain.springbackend.zksync.simulator;
+
+import com.blooming.blockchain.springbackend.zksync.util.ChainGateway;
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncEip712Signer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.Sign;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Service;
+import org.web3j.rlp.RlpDecoder;
+import org.web3j.rlp.RlpList;
+import org.web3j.rlp.RlpString;
+import org.web3j.rlp.RlpType;
+import org.web3j.utils.Numeric;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process zkSync chain that answers the backend's JSON-RPC calls for load tests
+ * Accepts legacy (owner) and EIP-712 type 113 (paymaster) raw transactions after
+ * checking chain ID, signature and nonce, and seals the mempool into a block every
+ * block-time-ms on a single producer thread. GovernanceToken calls are executed
+ * against SimulatedGovernanceToken; receipts and logs have the same shape as
+ * a real node's, so receipt tracking, event decoding and the indexer work unchanged.
+ * Every request can be delayed (latency + jitter) and failed with an IOException
+ * at a configured rate. Paymaster-sponsored fees are charged to the paymaster's
+ * ETH balance; other ETH balances are not debited.
+ */
+@Slf4j
+public class SimulatedChainGateway extends Service implements ChainGateway {
+
+    private final Settings settings;
+    private final String tokenAddress;
+    private final SimulatedGovernanceToken token;
+    private final ZkSyncEip712Signer eip712Signer;
+    private final ScheduledExecutorService blockProducer;
+
+    private final Queue<PendingTransaction> mempool = new ConcurrentLinkedQueue<>();
+    private final Map<String, Long> pendingNonces = new ConcurrentHashMap<>();
+    private final Map<String, Long> minedNonces = new ConcurrentHashMap<>();
+    private final Map<String, BigInteger> ethBalances = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Block> blocks = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<String, Object>> receipts = new ConcurrentHashMap<>();
+    private final AtomicLong blockNumber = new AtomicLong();
+
+    public SimulatedChainGateway(Settings settings, String tokenAddress, String ownerAddress) {
+        super(false);
+        this.settings = settings;
+        this.tokenAddress = tokenAddress.toLowerCase();
+        this.token = new SimulatedGovernanceToken(ownerAddress);
+        this.eip712Signer = new ZkSyncEip712Signer(settings.chainId());
+        this.blockProducer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chain-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        blockProducer.scheduleAtFixedRate(this::sealBlock,
+            settings.blockTimeMillis(), settings.blockTimeMillis(), TimeUnit.MILLISECONDS);
+        log.info("Chain simulator started - chain ID {}, block time {} ms, latency {}±{} ms, failure rate {}",
+            settings.chainId(), settings.blockTimeMillis(), settings.latencyMillis(),
+            settings.latencyJitterMillis(), settings.failureRate());
+    }
+
+    @Override
+    public String getName() {
+        return "simulator";
+    }
+
+    @Override
+    public boolean isSimulated() {
+        return true;
+    }
+
+    public long getBlockNumber() {
+        return blockNumber.get();
+    }
+
+    public int getMempoolSize() {
+        return mempool.size();
+    }
+
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        simulateNetwork();
+
+        JsonNode request = objectMapper.readTree(payload);
+        JsonNode response;
+        if (request.isArray()) {
+            ArrayNode responses = objectMapper.createArrayNode();
+            for (JsonNode single : request) {
+                responses.add(handle(single));
+            }
+            response = responses;
+        } else {
+            response = handle(request);
+        }
+        return new ByteArrayInputStream(objectMapper.writeValueAsBytes(response));
+    }
+
+    private void simulateNetwork() throws IOException {
+        long delay = settings.latencyMillis();
+        if (settings.latencyJitterMillis() > 0) {
+            delay += ThreadLocalRandom.current().nextLong(settings.latencyJitterMillis() + 1);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while simulating latency", e);
+            }
+        }
+        if (settings.failureRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.failureRate()) {
+            throw new IOException("Simulated RPC transport failure");
+        }
+    }
+
+    private ObjectNode handle(JsonNode request) {
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", request.get("id"));
+        JsonNode params = request.path("params");
+        try {
+            Object result = dispatch(request.path("method").asText(), params);
+            response.set("result", objectMapper.valueToTree(result));
+        } catch (RpcError e) {
+            ObjectNode error = response.putObject("error");
+            error.put("code", e.code);
+            error.put("message", e.getMessage());
+        }
+        return response;
+    }
+
+    private Object dispatch(String method, JsonNode params) {
+        return switch (method) {
+            case "eth_chainId" -> quantity(settings.chainId());
+            case "net_version" -> String.valueOf(settings.chainId());
+            case "eth_blockNumber" -> quantity(blockNumber.get());
+            case "eth_gasPrice" -> quantity(settings.gasPriceWei());
+            case "eth_getBalance" -> quantity(ethBalance(params.path(0).asText()));
+            case "eth_getTransactionCount" -> quantity(nonceOf(params.path(0).asText(), params.path(1).asText()));
+            case "eth_estimateGas" -> quantity(gasFor(params.path(0).path("data").asText("0x")));
+            case "eth_call" -> call(params.path(0));
+            case "eth_sendRawTransaction" -> sendRawTransaction(params.path(0).asText());
+            case "eth_getTransactionReceipt" -> receipts.get(params.path(0).asText().toLowerCase());
+            case "eth_getLogs" -> getLogs(params.path(0));
+            default -> throw new RpcError(-32601, "Method " + method + " not supported by the chain simulator");
+        };
+    }
+
+    private String call(JsonNode transaction) {
+        String to = transaction.path("to").asText("").toLowerCase();
+        if (!tokenAddress.equals(to)) {
+            return "0x"; // no code at the address (e.g. Multicall3 is not simulated)
+        }
+        String data = transaction.has("data") ? transaction.path("data").asText() : transaction.path("input").asText("0x");
+        try {
+            return token.call(data);
+        } catch (SimulatedGovernanceToken.Revert e) {
+            throw new RpcError(3, "execution reverted: " + e.getMessage());
+        }
+    }
+
+    private String sendRawTransaction(String rawHex) {
+        PendingTransaction transaction;
+        try {
+            transaction = decode(rawHex);
+        } catch (RpcError e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RpcError(-32000, "failed to decode transaction: " + e.getMessage());
+        }
+
+        long[] rejectedExpected = {-1};
+        pendingNonces.compute(transaction.from(), (address, next) -> {
+            long expected = next != null ? next : 0L;
+            if (transaction.nonce() != expected) {
+                rejectedExpected[0] = expected;
+                return next;
+            }
+            return expected + 1;
+        });
+        if (rejectedExpected[0] >= 0) {
+            throw new RpcError(-32000, (transaction.nonce() < rejectedExpected[0] ? "nonce too low" : "nonce too high")
+                + ": expected " + rejectedExpected[0] + ", got " + transaction.nonce());
+        }
+
+        mempool.add(transaction);
+        return transaction.hash();
+    }
+
+    private PendingTransaction decode(String rawHex) throws Exception {
+        byte[] raw = Numeric.hexStringToByteArray(rawHex);
+        String hash = Numeric.toHexString(Hash.sha3(raw));
+        if (raw.length > 0 && (raw[0] & 0xff) == ZkSyncEip712Signer.EIP712_TX_TYPE) {
+            return decodeEip712(raw, hash);
+        }
+
+        RawTransaction decoded = TransactionDecoder.decode(rawHex);
+        if (!(decoded instanceof SignedRawTransaction signed)) {
+            throw new RpcError(-32000, "transaction is not signed");
+        }
+        Long chainId = signed.getChainId();
+        if (chainId == null || chainId != settings.chainId()) {
+            throw new RpcError(-32000, "invalid chain id: " + chainId);
+        }
+        return new PendingTransaction(hash, signed.getFrom().toLowerCase(), lower(decoded.getTo()),
+            decoded.getNonce().longValueExact(), decoded.getData() == null ? "0x" : Numeric.prependHexPrefix(decoded.getData()),
+            decoded.getGasLimit(), decoded.getGasPrice() != null ? decoded.getGasPrice() : settings.gasPriceWei(), null);
+    }
+
+    // 0x71 || rlp([nonce, maxPriorityFeePerGas, maxFeePerGas, gasLimit, to, value, data, chainId, 0x, 0x,
+    //              chainId, from, gasPerPubdata, factoryDeps, customSignature, paymasterParams])
+    private PendingTransaction decodeEip712(byte[] raw, String hash) {
+        RlpList outer = RlpDecoder.decode(Arrays.copyOfRange(raw, 1, raw.length));
+        List<RlpType> fields = ((RlpList) outer.getValues().get(0)).getValues();
+        if (fields.size() != 16) {
+            throw new RpcError(-32000, "invalid EIP-712 transaction: " + fields.size() + " fields");
+        }
+        long chainId = integer(fields, 10).longValueExact();
+        if (chainId != settings.chainId()) {
+            throw new RpcError(-32000, "invalid chain id: " + chainId);
+        }
+
+        String from = hex(fields, 11);
+        List<RlpType> paymasterParams = ((RlpList) fields.get(15)).getValues();
+        String paymaster = paymasterParams.isEmpty() ? null : Numeric.toHexString(bytes(paymasterParams, 0));
+        ZkSyncEip712Signer.Transaction transaction = new ZkSyncEip712Signer.Transaction(
+            from,
+            hex(fields, 4),
+            integer(fields, 0),
+            integer(fields, 3),
+            integer(fields, 2),
+            integer(fields, 1),
+            integer(fields, 5),
+            hex(fields, 6),
+            integer(fields, 12).longValueExact(),
+            paymaster,
+            paymaster == null ? null : Numeric.toHexString(bytes(paymasterParams, 1)));
+
+        byte[] signature = bytes(fields, 14);
+        if (signature.length != 65) {
+            throw new RpcError(-32000, "invalid customSignature length: " + signature.length);
+        }
+        Sign.SignatureData signatureData = new Sign.SignatureData(signature[64],
+            Arrays.copyOfRange(signature, 0, 32), Arrays.copyOfRange(signature, 32, 64));
+        String signer;
+        try {
+            signer = "0x" + Keys.getAddress(Sign.signedMessageHashToKey(eip712Signer.signingHash(transaction), signatureData));
+        } catch (Exception e) {
+            throw new RpcError(-32000, "invalid signature: " + e.getMessage());
+        }
+        if (!signer.equalsIgnoreCase(from)) {
+            throw new RpcError(-32000, "invalid signature: recovered " + signer + ", expected " + from);
+        }
+
+        return new PendingTransaction(hash, from.toLowerCase(), lower(transaction.to()),
+            transaction.nonce().longValueExact(), transaction.data(), transaction.gasLimit(),
+            transaction.maxFeePerGas(), lower(paymaster));
+    }
+
+    /**
+     * Execute the mempool into a new block (block producer thread; called directly by tests)
+     */
+    void sealBlock() {
+        try {
+            long number = blockNumber.get() + 1;
+            long timestamp = System.currentTimeMillis() / 1000;
+            String blockHash = Numeric.toHexString(Hash.sha3(Numeric.toBytesPadded(BigInteger.valueOf(number), 32)));
+            List<Map<String, Object>> blockLogs = new ArrayList<>();
+            List<String> transactionHashes = new ArrayList<>();
+
+            PendingTransaction transaction;
+            while (transactionHashes.size() < settings.maxTransactionsPerBlock() && (transaction = mempool.poll()) != null) {
+                int transactionIndex = transactionHashes.size();
+                transactionHashes.add(transaction.hash());
+                receipts.put(transaction.hash(), execute(transaction, number, blockHash, timestamp, transactionIndex, blockLogs));
+                minedNonces.merge(transaction.from(), 1L, Long::sum);
+            }
+
+            blocks.put(number, new Block(number, blockHash, timestamp, transactionHashes, blockLogs));
+            blockNumber.set(number);
+            prune(number);
+        } catch (Exception e) {
+            log.error("Chain simulator failed to seal a block", e);
+        }
+    }
+
+    private Map<String, Object> execute(PendingTransaction transaction, long number, String blockHash,
+                                        long timestamp, int transactionIndex, List<Map<String, Object>> blockLogs) {
+        boolean success = true;
+        List<SimulatedGovernanceToken.LogEntry> logs = List.of();
+        if (tokenAddress.equals(transaction.to())) {
+            try {
+                logs = token.execute(transaction.from(), transaction.data(), timestamp);
+            } catch (SimulatedGovernanceToken.Revert e) {
+                success = false;
+                log.debug("Simulated transaction {} reverted: {}", transaction.hash(), e.getMessage());
+            }
+        }
+
+        BigInteger gasUsed = BigInteger.valueOf(gasFor(transaction.data())).min(transaction.gasLimit());
+        if (transaction.paymaster() != null) {
+            BigInteger fee = gasUsed.multiply(transaction.gasPrice());
+            ethBalances.compute(transaction.paymaster(),
+                (address, balance) -> (balance != null ? balance : settings.ethBalanceWei()).subtract(fee));
+        }
+
+        List<Map<String, Object>> receiptLogs = new ArrayList<>(logs.size());
+        for (SimulatedGovernanceToken.LogEntry entry : logs) {
+            Map<String, Object> logObject = new LinkedHashMap<>();
+            logObject.put("removed", false);
+            logObject.put("logIndex", quantity(blockLogs.size()));
+            logObject.put("transactionIndex", quantity(transactionIndex));
+            logObject.put("transactionHash", transaction.hash());
+            logObject.put("blockHash", blockHash);
+            logObject.put("blockNumber", quantity(number));
+            logObject.put("address", tokenAddress);
+            logObject.put("data", entry.data());
+            logObject.put("topics", entry.topics());
+            receiptLogs.add(logObject);
+            blockLogs.add(logObject);
+        }
+
+        Map<String, Object> receipt = new LinkedHashMap<>();
+        receipt.put("transactionHash", transaction.hash());
+        receipt.put("transactionIndex", quantity(transactionIndex));
+        receipt.put("blockHash", blockHash);
+        receipt.put("blockNumber", quantity(number));
+        receipt.put("from", transaction.from());
+        receipt.put("to", transaction.to());
+        receipt.put("cumulativeGasUsed", Numeric.encodeQuantity(gasUsed));
+        receipt.put("gasUsed", Numeric.encodeQuantity(gasUsed));
+        receipt.put("effectiveGasPrice", Numeric.encodeQuantity(transaction.gasPrice()));
+        receipt.put("contractAddress", null);
+        receipt.put("logs", receiptLogs);
+        receipt.put("logsBloom", "0x" + "0".repeat(512));
+        receipt.put("status", success ? "0x1" : "0x0");
+        receipt.put("type", transaction.paymaster() != null ? "0x71" : "0x0");
+        return receipt;
+    }
+
+    private void prune(long latest) {
+        long oldestKept = latest - settings.retainedBlocks();
+        while (!blocks.isEmpty() && blocks.firstKey() <= oldestKept) {
+            Block block = blocks.pollFirstEntry().getValue();
+            block.transactionHashes().forEach(receipts::remove);
+        }
+    }
+
+    private List<Map<String, Object>> getLogs(JsonNode filter) {
+        long latest = blockNumber.get();
+        long from = blockParameter(filter.path("fromBlock").asText("latest"), latest);
+        long to = blockParameter(filter.path("toBlock").asText("latest"), latest);
+        Set<String> addresses = lowerSet(filter.get("address"));
+        Set<String> topic0 = lowerSet(filter.path("topics").get(0));
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        if (from > to) {
+            return result;
+        }
+        for (Block block : blocks.subMap(from, true, to, true).values()) {
+            for (Map<String, Object> logObject : block.logs()) {
+                if (addresses != null && !addresses.contains((String) logObject.get("address"))) {
+                    continue;
+                }
+                if (topic0 != null && !topic0.contains(((List<?>) logObject.get("topics")).get(0))) {
+                    continue;
+                }
+                result.add(logObject);
+            }
+        }
+        return result;
+    }
+
+    private long nonceOf(String address, String blockTag) {
+        Map<String, Long> nonces = "pending".equals(blockTag) ? pendingNonces : minedNonces;
+        return nonces.getOrDefault(address.toLowerCase(), 0L);
+    }
+
+    private BigInteger ethBalance(String address) {
+        return ethBalances.computeIfAbsent(address.toLowerCase(), key -> settings.ethBalanceWei());
+    }
+
+    private long gasFor(String data) {
+        return token.isWrite(data) ? settings.writeGas() : 21_000L;
+    }
+
+    private static long blockParameter(String value, long latest) {
+        return switch (value) {
+            case "latest", "pending", "safe", "finalized" -> latest;
+            case "earliest" -> 0;
+            default -> Numeric.toBigInt(value).longValueExact();
+        };
+    }
+
+    private static Set<String> lowerSet(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        Set<String> values = new HashSet<>();
+        if (node.isArray()) {
+            node.forEach(value -> values.add(value.asText().toLowerCase()));
+        } else {
+            values.add(node.asText().toLowerCase());
+        }
+        return values;
+    }
+
+    private static String quantity(long value) {
+        return Numeric.encodeQuantity(BigInteger.valueOf(value));
+    }
+
+    private static String quantity(BigInteger value) {
+        return Numeric.encodeQuantity(value);
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase();
+    }
+
+    private static byte[] bytes(List<RlpType> fields, int index) {
+        return ((RlpString) fields.get(index)).getBytes();
+    }
+
+    private static String hex(List<RlpType> fields, int index) {
+        return Numeric.toHexString(bytes(fields, index));
+    }
+
+    private static BigInteger integer(List<RlpType> fields, int index) {
+        return ((RlpString) fields.get(index)).asPositiveBigInteger();
+    }
+
+    @Override
+    public void close() {
+        blockProducer.shutdownNow();
+    }
+
+    /**
+     * Simulator settings
+     * @param chainId Chain ID reported and required in signed transactions
+     * @param blockTimeMillis Interval between sealed blocks
+     * @param maxTransactionsPerBlock Transactions sealed per block (the rest wait for the next one)
+     * @param latencyMillis Fixed delay added to every JSON-RPC request
+     * @param latencyJitterMillis Uniform random extra delay [0, jitter]
+     * @param failureRate Share of requests failed with an IOException (0.0 - 1.0)
+     * @param retainedBlocks Blocks whose receipts and logs are kept in memory
+     * @param gasPriceWei eth_gasPrice result
+     * @param writeGas Gas estimate and gas used for GovernanceToken writes
+     * @param ethBalanceWei Starting ETH balance of every address (including the paymaster)
+     */
+    public record Settings(long chainId,
+                           long blockTimeMillis,
+                           int maxTransactionsPerBlock,
+                           long latencyMillis,
+                           long latencyJitterMillis,
+                           double failureRate,
+                           int retainedBlocks,
+                           BigInteger gasPriceWei,
+                           long writeGas,
+                           BigInteger ethBalanceWei) {
+    }
+
+    private record PendingTransaction(String hash,
+                                      String from,
+                                      String to,
+                                      long nonce,
+                                      String data,
+                                      BigInteger gasLimit,
+                                      BigInteger gasPrice,
+                                      String paymaster) {
+    }
+
+    private record Block(long number,
+                         String hash,
+                         long timestamp,
+                         List<String> transactionHashes,
+                         List<Map<String, Object>> logs) {
+    }
+
+    private static class RpcError extends RuntimeException {
+
+        private final int code;
+
+        RpcError(int code, String message) {
+            super(message, null, false, false);
+            this.code = code;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.blooming.blockchain.springbackend.zksync.simulator;
+
+import com.blooming.blockchain.springbackend.global.enums.GovernanceEventType;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceEventDecoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.Utils;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory model of the GovernanceToken contract for the chain simulator
+ * Mirrors the contract's balances, proposals, votes, mintForExchange/batchMint,
+ * require() checks and events. Simplifications: every holder is treated as
+ * self-delegated (voting power = balance), pausing is not modelled, and onlyOwner
+ * is only enforced when an owner address is configured.
+ * Writes run on the block producer thread under the write lock; eth_call reads
+ * share the read lock.
+ */
+class SimulatedGovernanceToken {
+
+    static final BigInteger MIN_VOTING_POWER = BigInteger.TEN.pow(18);
+
+    private static final String ZERO_ADDRESS = "0x0000000000000000000000000000000000000000";
+
+    private final String ownerAddress;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, WriteFunction> writes = new HashMap<>();
+    private final Map<String, ReadFunction> reads = new HashMap<>();
+
+    private final Map<String, BigInteger> balances = new HashMap<>();
+    private final List<Proposal> proposals = new ArrayList<>();
+    private final Map<Long, Map<String, BigInteger>> votePower = new HashMap<>();
+    private BigInteger totalSupply = BigInteger.ZERO;
+
+    SimulatedGovernanceToken(String ownerAddress) {
+        this.ownerAddress = ownerAddress == null || ownerAddress.isBlank() ? null : ownerAddress.toLowerCase();
+
+        write("mintForExchange(address,uint256,string)", (sender, args, timestamp, logs) -> {
+            requireOwner(sender);
+            String to = address(args.get(0));
+            BigInteger amount = uint(args.get(1));
+            require(!ZERO_ADDRESS.equals(to), "Cannot mint to zero address");
+            require(amount.signum() > 0, "Amount must be greater than 0");
+            mint(to, amount);
+            logs.add(tokensMinted(to, amount, (String) args.get(2).getValue()));
+        }, new TypeReference<Address>() {}, new TypeReference<Uint256>() {}, new TypeReference<Utf8String>() {});
+
+        write("batchMint(address[],uint256[],string)", (sender, args, timestamp, logs) -> {
+            requireOwner(sender);
+            List<?> recipients = ((DynamicArray<?>) args.get(0)).getValue();
+            List<?> amounts = ((DynamicArray<?>) args.get(1)).getValue();
+            require(recipients.size() == amounts.size(), "Arrays length mismatch");
+            require(!recipients.isEmpty(), "Empty arrays");
+            for (int i = 0; i < recipients.size(); i++) {
+                String to = address((Type<?>) recipients.get(i));
+                BigInteger amount = uint((Type<?>) amounts.get(i));
+                require(!ZERO_ADDRESS.equals(to), "Cannot mint to zero address");
+                require(amount.signum() > 0, "Amount must be greater than 0");
+            }
+            for (int i = 0; i < recipients.size(); i++) {
+                mint(address((Type<?>) recipients.get(i)), uint((Type<?>) amounts.get(i)));
+            }
+            logs.add(tokensMinted(ZERO_ADDRESS, BigInteger.ZERO, (String) args.get(2).getValue()));
+        }, new TypeReference<DynamicArray<Address>>() {}, new TypeReference<DynamicArray<Uint256>>() {},
+            new TypeReference<Utf8String>() {});
+
+        write("createProposal(string,uint256)", (sender, args, timestamp, logs) -> {
+            String description = (String) args.get(0).getValue();
+            BigInteger deadline = uint(args.get(1));
+            require(balanceOf(sender).compareTo(MIN_VOTING_POWER) >= 0, "Insufficient voting power");
+            require(!description.isEmpty(), "Description cannot be empty");
+            require(deadline.compareTo(BigInteger.valueOf(timestamp)) > 0, "Deadline must be in the future");
+
+            proposals.add(new Proposal(description, sender, deadline, timestamp));
+            long proposalId = proposals.size();
+            logs.add(new LogEntry(
+                List.of(GovernanceEventDecoder.topic(GovernanceEventType.PROPOSAL_CREATED), word(proposalId), word(sender)),
+                encode(new Utf8String(description), new Uint256(deadline))));
+        }, new TypeReference<Utf8String>() {}, new TypeReference<Uint256>() {});
+
+        write("vote(uint256,bool)", (sender, args, timestamp, logs) -> {
+            long proposalId = validProposalId(args.get(0));
+            Map<String, BigInteger> voters = votePower.computeIfAbsent(proposalId, id -> new HashMap<>());
+            require(!voters.containsKey(sender), "Already voted");
+            Proposal proposal = proposals.get((int) proposalId - 1);
+            require(!proposal.executed, "Proposal already executed");
+            require(!proposal.canceled, "Proposal canceled");
+            require(BigInteger.valueOf(timestamp).compareTo(proposal.deadline) < 0, "Voting period ended");
+            BigInteger weight = balanceOf(sender);
+            require(weight.signum() > 0, "No voting power");
+
+            boolean support = (Boolean) args.get(1).getValue();
+            voters.put(sender, weight);
+            if (support) {
+                proposal.forVotes = proposal.forVotes.add(weight);
+            } else {
+                proposal.againstVotes = proposal.againstVotes.add(weight);
+            }
+            logs.add(new LogEntry(
+                List.of(GovernanceEventDecoder.topic(GovernanceEventType.VOTE_CAST), word(proposalId), word(sender)),
+                encode(new Bool(support), new Uint256(weight))));
+        }, new TypeReference<Uint256>() {}, new TypeReference<Bool>() {});
+
+        write("executeProposal(uint256)", (sender, args, timestamp, logs) -> {
+            long proposalId = validProposalId(args.get(0));
+            Proposal proposal = proposals.get((int) proposalId - 1);
+            require(!proposal.executed, "Proposal already executed");
+            require(!proposal.canceled, "Proposal canceled");
+            require(BigInteger.valueOf(timestamp).compareTo(proposal.deadline) >= 0, "Voting period not ended");
+            require(proposal.forVotes.compareTo(proposal.againstVotes) > 0, "Proposal not passed");
+            proposal.executed = true;
+            logs.add(new LogEntry(
+                List.of(GovernanceEventDecoder.topic(GovernanceEventType.PROPOSAL_EXECUTED), word(proposalId)),
+                "0x"));
+        }, new TypeReference<Uint256>() {});
+
+        write("cancelProposal(uint256)", (sender, args, timestamp, logs) -> {
+            requireOwner(sender);
+            Proposal proposal = proposals.get((int) validProposalId(args.get(0)) - 1);
+            require(!proposal.executed, "Cannot cancel executed proposal");
+            proposal.canceled = true;
+        }, new TypeReference<Uint256>() {});
+
+        // Voting power is always the holder's own balance here
+        write("delegateVoting(address)", (sender, args, timestamp, logs) -> {
+        }, new TypeReference<Address>() {});
+
+        read("balanceOf(address)", args -> List.of(new Uint256(balanceOf(address(args.get(0))))),
+            new TypeReference<Address>() {});
+        read("getVotingPower(address)", args -> List.of(new Uint256(balanceOf(address(args.get(0))))),
+            new TypeReference<Address>() {});
+        read("getVotes(address)", args -> List.of(new Uint256(balanceOf(address(args.get(0))))),
+            new TypeReference<Address>() {});
+        read("totalSupply()", args -> List.of(new Uint256(totalSupply)));
+        read("proposalCount()", args -> List.of(new Uint256(proposals.size())));
+        read("proposals(uint256)", args -> {
+            long proposalId = uint(args.get(0)).longValue();
+            return proposalId > 0 && proposalId <= proposals.size()
+                ? proposals.get((int) proposalId - 1).toAbi()
+                : Proposal.EMPTY.toAbi();
+        }, new TypeReference<Uint256>() {});
+        read("getProposal(uint256)", args -> proposals.get((int) validProposalId(args.get(0)) - 1).toAbi(),
+            new TypeReference<Uint256>() {});
+        read("hasVoted(uint256,address)", args -> List.of(new Bool(voteWeight(args) != null)),
+            new TypeReference<Uint256>() {}, new TypeReference<Address>() {});
+        read("votePower(uint256,address)", args -> {
+            BigInteger weight = voteWeight(args);
+            return List.of(new Uint256(weight != null ? weight : BigInteger.ZERO));
+        }, new TypeReference<Uint256>() {}, new TypeReference<Address>() {});
+        read("getVoteInfo(uint256,address)", args -> {
+            BigInteger weight = voteWeight(args);
+            return List.of(new Bool(weight != null), new Uint256(weight != null ? weight : BigInteger.ZERO));
+        }, new TypeReference<Uint256>() {}, new TypeReference<Address>() {});
+    }
+
+    /**
+     * Execute a transaction against the token state
+     *
+     * @return emitted logs
+     * @throws Revert if a require() fails or the function is unknown
+     */
+    List<LogEntry> execute(String sender, String data, long timestamp) {
+        WriteFunction function = writes.get(selector(data));
+        if (function == null) {
+            if (reads.containsKey(selector(data))) {
+                return List.of(); // view function sent as a transaction
+            }
+            throw new Revert("function selector not recognized");
+        }
+        List<Type> args = decode(data, function.inputs());
+        List<LogEntry> logs = new ArrayList<>(1);
+        lock.writeLock().lock();
+        try {
+            function.handler().apply(sender.toLowerCase(), args, timestamp, logs);
+            return logs;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * eth_call against the latest state
+     *
+     * @return ABI-encoded return data (0x-prefixed)
+     * @throws Revert if a require() fails or the function is unknown
+     */
+    String call(String data) {
+        ReadFunction function = reads.get(selector(data));
+        if (function == null) {
+            throw new Revert("function selector not recognized");
+        }
+        List<Type> args = decode(data, function.inputs());
+        lock.readLock().lock();
+        try {
+            return encode(function.handler().apply(args).toArray(new Type[0]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the calldata targets a state-changing function
+     */
+    boolean isWrite(String data) {
+        return writes.containsKey(selector(data));
+    }
+
+    private void write(String signature, WriteHandler handler, TypeReference<?>... inputs) {
+        writes.put(FunctionEncoder.buildMethodId(signature), new WriteFunction(handler, Utils.convert(List.of(inputs))));
+    }
+
+    private void read(String signature, ReadHandler handler, TypeReference<?>... inputs) {
+        reads.put(FunctionEncoder.buildMethodId(signature), new ReadFunction(handler, Utils.convert(List.of(inputs))));
+    }
+
+    private void requireOwner(String sender) {
+        if (ownerAddress != null && !ownerAddress.equals(sender)) {
+            throw new Revert("OwnableUnauthorizedAccount(" + sender + ")");
+        }
+    }
+
+    private void mint(String to, BigInteger amount) {
+        balances.merge(to, amount, BigInteger::add);
+        totalSupply = totalSupply.add(amount);
+    }
+
+    private BigInteger balanceOf(String account) {
+        return balances.getOrDefault(account, BigInteger.ZERO);
+    }
+
+    private long validProposalId(Type<?> value) {
+        BigInteger proposalId = uint(value);
+        require(proposalId.signum() > 0 && proposalId.compareTo(BigInteger.valueOf(proposals.size())) <= 0,
+            "Invalid proposal ID");
+        return proposalId.longValue();
+    }
+
+    private BigInteger voteWeight(List<Type> args) {
+        Map<String, BigInteger> voters = votePower.get(uint(args.get(0)).longValue());
+        return voters != null ? voters.get(address(args.get(1))) : null;
+    }
+
+    private static LogEntry tokensMinted(String to, BigInteger amount, String reason) {
+        return new LogEntry(
+            List.of(GovernanceEventDecoder.topic(GovernanceEventType.TOKENS_MINTED), word(to)),
+            encode(new Uint256(amount), new Utf8String(reason)));
+    }
+
+    private static void require(boolean condition, String reason) {
+        if (!condition) {
+            throw new Revert(reason);
+        }
+    }
+
+    private static String selector(String data) {
+        if (data == null || data.length() < 10) {
+            return "";
+        }
+        return data.substring(0, 10).toLowerCase();
+    }
+
+    private static List<Type> decode(String data, List<TypeReference<Type>> inputs) {
+        if (inputs.isEmpty()) {
+            return List.of();
+        }
+        try {
+            List<Type> args = FunctionReturnDecoder.decode(data.substring(10), inputs);
+            if (args.size() == inputs.size()) {
+                return args;
+            }
+        } catch (RuntimeException e) {
+            // Malformed calldata reverts without a reason, as on chain
+        }
+        throw new Revert("");
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static String encode(Type... values) {
+        return "0x" + FunctionEncoder.encodeConstructor(List.of(values));
+    }
+
+    private static String address(Type<?> value) {
+        return value.getValue().toString().toLowerCase();
+    }
+
+    private static BigInteger uint(Type<?> value) {
+        return (BigInteger) value.getValue();
+    }
+
+    private static String word(long value) {
+        return Numeric.toHexStringWithPrefixZeroPadded(BigInteger.valueOf(value), 64);
+    }
+
+    private static String word(String address) {
+        return Numeric.toHexStringWithPrefixZeroPadded(Numeric.toBigInt(address), 64);
+    }
+
+    /**
+     * Event emitted by a simulated transaction
+     */
+    record LogEntry(List<String> topics, String data) {
+    }
+
+    /**
+     * require() failure - the transaction is mined with status 0 / the call returns an execution error
+     */
+    static class Revert extends RuntimeException {
+        Revert(String reason) {
+            super(reason, null, false, false);
+        }
+    }
+
+    @FunctionalInterface
+    private interface WriteHandler {
+        void apply(String sender, List<Type> args, long timestamp, List<LogEntry> logs);
+    }
+
+    @FunctionalInterface
+    private interface ReadHandler {
+        List<Type> apply(List<Type> args);
+    }
+
+    private record WriteFunction(WriteHandler handler, List<TypeReference<Type>> inputs) {
+    }
+
+    private record ReadFunction(ReadHandler handler, List<TypeReference<Type>> inputs) {
+    }
+
+    private static final class Proposal {
+
+        static final Proposal EMPTY = new Proposal("", ZERO_ADDRESS, BigInteger.ZERO, 0);
+
+        final String description;
+        final String proposer;
+        final BigInteger deadline;
+        final long createdAt;
+        BigInteger forVotes = BigInteger.ZERO;
+        BigInteger againstVotes = BigInteger.ZERO;
+        boolean executed;
+        boolean canceled;
+
+        Proposal(String description, String proposer, BigInteger deadline, long createdAt) {
+            this.description = description;
+            this.proposer = proposer;
+            this.deadline = deadline;
+            this.createdAt = createdAt;
+        }
+
+        List<Type> toAbi() {
+            return List.of(
+                new Utf8String(description),
+                new Address(proposer),
+                new Uint256(forVotes),
+                new Uint256(againstVotes),
+                new Uint256(deadline),
+                new Bool(executed),
+                new Bool(canceled),
+                new Uint256(createdAt));
+        }
+    }
+}
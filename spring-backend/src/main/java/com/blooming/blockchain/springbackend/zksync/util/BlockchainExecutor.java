@@ -0,0 +1,172 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Executor for blocking blockchain work (RPC round trips, signing, receipt waits)
+ * Runs one virtual thread per task, so thousands of pending chain calls do not
+ * tie up platform threads or the shared ForkJoinPool.commonPool(). A semaphore
+ * bounds how many tasks run at once; the rest park cheaply until a permit frees up.
+ * With virtual threads disabled it falls back to a fixed platform thread pool.
+ * The submitter's RPC priority (see RpcRateLimiter) carries over to the task.
+ */
+@Slf4j
+public class BlockchainExecutor implements Executor, AutoCloseable {
+
+    private static final String METRIC_PREFIX = "zksync.blockchain.executor";
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter submittedCounter;
+    private final Counter failedCounter;
+    private final Timer waitTimer;
+    private final Timer taskTimer;
+
+    public BlockchainExecutor(boolean virtualThreads, int maxConcurrency, MeterRegistry meterRegistry) {
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+        this.delegate = virtualThreads
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("chain-vt-", 0).factory())
+            : Executors.newFixedThreadPool(maxConcurrency, platformThreadFactory());
+
+        Gauge.builder(METRIC_PREFIX + ".active", permits, p -> maxConcurrency - p.availablePermits())
+            .description("Blockchain tasks currently running")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".waiting", waiting, AtomicInteger::get)
+            .description("Blockchain tasks waiting for a concurrency permit")
+            .register(meterRegistry);
+        this.submittedCounter = Counter.builder(METRIC_PREFIX + ".submitted")
+            .description("Blockchain tasks submitted")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder(METRIC_PREFIX + ".failed")
+            .description("Blockchain tasks that failed or were dropped before running")
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+            .description("Time blockchain tasks spent waiting for a permit")
+            .register(meterRegistry);
+        this.taskTimer = Timer.builder(METRIC_PREFIX + ".duration")
+            .description("Blockchain task run time")
+            .register(meterRegistry);
+
+        log.info("Blockchain executor started - Virtual threads: {}, Max concurrency: {}", virtualThreads, maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submit(task, e -> {
+            failedCounter.increment();
+            log.warn("Blockchain task dropped: {}", e.getMessage());
+        });
+    }
+
+    /**
+     * CompletableFuture.supplyAsync on this executor
+     * The future also completes (exceptionally) if the task is interrupted while
+     * waiting for a permit or rejected because the executor is shut down.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                failedCounter.increment();
+            }
+        });
+        try {
+            submit(() -> {
+                try {
+                    future.complete(supplier.get());
+                } catch (Throwable e) {
+                    fail(future, e);
+                }
+            }, e -> fail(future, e));
+        } catch (RejectedExecutionException e) {
+            fail(future, e);
+        }
+        return future;
+    }
+
+    /**
+     * Number of tasks currently holding a permit
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    // Same shape as CompletableFuture.supplyAsync failures, so callers unwrapping getCause() keep working
+    private static void fail(CompletableFuture<?> future, Throwable error) {
+        future.completeExceptionally(error instanceof CompletionException ? error : new CompletionException(error));
+    }
+
+    private void submit(Runnable task, Consumer<Throwable> onAbort) {
+        submittedCounter.increment();
+        long submittedAt = System.nanoTime();
+        Runnable withPriority = RpcRateLimiter.wrap(task);
+        delegate.execute(() -> runWithPermit(withPriority, submittedAt, onAbort));
+    }
+
+    private void runWithPermit(Runnable task, long submittedAt, Consumer<Throwable> onAbort) {
+        waiting.incrementAndGet();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            waiting.decrementAndGet();
+            onAbort.accept(new RejectedExecutionException("Interrupted while waiting for a blockchain executor permit", e));
+            return;
+        }
+        waiting.decrementAndGet();
+        waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+
+        long startedAt = System.nanoTime();
+        try {
+            task.run();
+        } catch (RuntimeException | Error e) {
+            failedCounter.increment();
+            throw e;
+        } finally {
+            permits.release();
+            taskTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "chain-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void close() {
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(10, TimeUnit.SECONDS)) {
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            delegate.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import org.web3j.protocol.Web3jService;
+
+/**
+ * JSON-RPC transport behind the shared Web3j client
+ * ZkSyncHttpService talks to the configured zkSync Era endpoints; SimulatedChainGateway
+ * answers the same calls from an in-process GovernanceToken chain, selected with
+ * app.zksync.gateway=simulated for load tests. Everything above the transport
+ * (batcher, executor, nonce manager, receipt tracker, indexer) is the same for both.
+ */
+public interface ChainGateway extends Web3jService {
+
+    /**
+     * Short name for logs
+     */
+    String getName();
+
+    default boolean isSimulated() {
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import com.blooming.blockchain.springbackend.global.enums.RpcPriorityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters for the degraded paths of blockchain calls
+ * Fallbacks (a default or estimated value used instead of a node answer) and
+ * retries are tagged by component and reason, so dashboards can tell e.g. how
+ * often gas estimation fell back to the fixed 300000 limit.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChainMetrics {
+
+    private static final String METRIC_FALLBACKS = "zksync.fallbacks";
+    private static final String METRIC_RETRIES = "zksync.retries";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param component Calling component, e.g. "gas_oracle"
+     * @param reason What was used instead, e.g. "gas_limit_default"
+     */
+    public void recordFallback(String component, String reason) {
+        counter(METRIC_FALLBACKS, "Blockchain values served from a fallback", component, reason).increment();
+    }
+
+    /**
+     * @param component Calling component, e.g. "owner_tx"
+     * @param reason Why the operation is retried, e.g. "nonce_resync"
+     */
+    public void recordRetry(String component, String reason) {
+        counter(METRIC_RETRIES, "Blockchain operations retried", component, reason).increment();
+    }
+
+    /**
+     * Priority lane tag for RPC metrics, taken from the request context the caller set
+     * (RpcRateLimiter.runWithPriority / BlockchainExecutor); "unset" outside any lane
+     */
+    public static String priorityTag(RpcPriorityType priority) {
+        return priority != null ? priority.name().toLowerCase() : "unset";
+    }
+
+    /**
+     * Caller tag for RPC metrics: the component named with RpcRateLimiter.runWithPriority /
+     * runAsCaller (carried through BlockchainExecutor and the batcher); "unset" if none was named
+     */
+    public static String callerTag(String caller) {
+        return caller != null ? caller : "unset";
+    }
+
+    private Counter counter(String name, String description, String component, String reason) {
+        return Counter.builder(name)
+            .description(description)
+            .tag("component", component)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,274 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import org.web3j.crypto.Hash;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Calldata encoder for the fixed GovernanceToken functions on hot paths
+ * Produces exactly what FunctionEncoder.encode returns (0x-prefixed lowercase hex)
+ * without building web3j Function/Type objects: selectors are precomputed and
+ * every call writes straight into a single char array of the exact encoded size.
+ * Strings are UTF-8 encoded in place (Korean proposal descriptions included).
+ * uint256 values above 63 bits take one small byte[] from BigInteger.toByteArray.
+ */
+public final class GovernanceCalldataEncoder {
+
+    private static final int WORD_HEX = 64;
+    private static final int SELECTOR_HEX = 8;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final BigInteger UINT256_MAX = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+
+    private static final String VOTE = selector("vote(uint256,bool)");
+    private static final String MINT_FOR_EXCHANGE = selector("mintForExchange(address,uint256,string)");
+    private static final String BATCH_MINT = selector("batchMint(address[],uint256[],string)");
+    private static final String CREATE_PROPOSAL = selector("createProposal(string,uint256)");
+    private static final String GET_PROPOSAL = selector("getProposal(uint256)");
+    private static final String BALANCE_OF = selector("balanceOf(address)");
+
+    private GovernanceCalldataEncoder() {
+    }
+
+    /**
+     * vote(uint256 proposalId, bool support)
+     */
+    public static String vote(long proposalId, boolean support) {
+        Writer writer = new Writer(2);
+        writer.selector(VOTE);
+        writer.uint(proposalId);
+        writer.uint(support ? 1 : 0);
+        return writer.finish();
+    }
+
+    /**
+     * mintForExchange(address to, uint256 amount, string reason)
+     */
+    public static String mintForExchange(String to, BigInteger amount, String reason) {
+        int reasonBytes = utf8Length(reason);
+        Writer writer = new Writer(3 + stringWords(reasonBytes));
+        writer.selector(MINT_FOR_EXCHANGE);
+        writer.address(to);
+        writer.uint(amount);
+        writer.uint(3 * 32);
+        writer.string(reason, reasonBytes);
+        return writer.finish();
+    }
+
+    /**
+     * batchMint(address[] recipients, uint256[] amounts, string reason)
+     */
+    public static String batchMint(List<String> recipients, List<BigInteger> amounts, String reason) {
+        if (recipients.size() != amounts.size()) {
+            throw new IllegalArgumentException("Recipients and amounts length mismatch");
+        }
+        int count = recipients.size();
+        int reasonBytes = utf8Length(reason);
+        Writer writer = new Writer(3 + 2 * (1 + count) + stringWords(reasonBytes));
+        writer.selector(BATCH_MINT);
+
+        long recipientsOffset = 3 * 32;
+        long amountsOffset = recipientsOffset + 32L * (1 + count);
+        writer.uint(recipientsOffset);
+        writer.uint(amountsOffset);
+        writer.uint(amountsOffset + 32L * (1 + count));
+
+        writer.uint(count);
+        for (int i = 0; i < count; i++) {
+            writer.address(recipients.get(i));
+        }
+        writer.uint(count);
+        for (int i = 0; i < count; i++) {
+            writer.uint(amounts.get(i));
+        }
+        writer.string(reason, reasonBytes);
+        return writer.finish();
+    }
+
+    /**
+     * createProposal(string description, uint256 deadline)
+     */
+    public static String createProposal(String description, BigInteger deadline) {
+        int descriptionBytes = utf8Length(description);
+        Writer writer = new Writer(2 + stringWords(descriptionBytes));
+        writer.selector(CREATE_PROPOSAL);
+        writer.uint(2 * 32);
+        writer.uint(deadline);
+        writer.string(description, descriptionBytes);
+        return writer.finish();
+    }
+
+    /**
+     * getProposal(uint256 proposalId)
+     */
+    public static String getProposal(long proposalId) {
+        Writer writer = new Writer(1);
+        writer.selector(GET_PROPOSAL);
+        writer.uint(proposalId);
+        return writer.finish();
+    }
+
+    /**
+     * balanceOf(address account)
+     */
+    public static String balanceOf(String account) {
+        Writer writer = new Writer(1);
+        writer.selector(BALANCE_OF);
+        writer.address(account);
+        return writer.finish();
+    }
+
+    private static String selector(String signature) {
+        return Hash.sha3String(signature).substring(2, 2 + SELECTOR_HEX);
+    }
+
+    // Length word plus the data padded to whole words
+    private static int stringWords(int byteLength) {
+        return 1 + (byteLength + 31) / 32;
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // Lone surrogate - replaced with '?' like String.getBytes(UTF_8)
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes hex words left to right into a pre-sized buffer
+     */
+    private static final class Writer {
+
+        private final char[] buffer;
+        private int position;
+
+        Writer(int words) {
+            buffer = new char[2 + SELECTOR_HEX + words * WORD_HEX];
+            buffer[0] = '0';
+            buffer[1] = 'x';
+            position = 2;
+        }
+
+        void selector(String selector) {
+            selector.getChars(0, SELECTOR_HEX, buffer, position);
+            position += SELECTOR_HEX;
+        }
+
+        void uint(long value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("uint256 cannot be negative: " + value);
+            }
+            int end = position + WORD_HEX;
+            for (int i = end - 1; i >= position; i--) {
+                buffer[i] = HEX[(int) (value & 0xf)];
+                value >>>= 4;
+            }
+            position = end;
+        }
+
+        void uint(BigInteger value) {
+            if (value.signum() < 0 || value.compareTo(UINT256_MAX) > 0) {
+                throw new IllegalArgumentException("Value out of uint256 range: " + value);
+            }
+            if (value.bitLength() < 64) {
+                uint(value.longValue());
+                return;
+            }
+            byte[] bytes = value.toByteArray();
+            // toByteArray may carry a leading sign byte
+            int start = bytes.length > 32 ? bytes.length - 32 : 0;
+            int padding = WORD_HEX - 2 * (bytes.length - start);
+            fillZeros(padding);
+            for (int i = start; i < bytes.length; i++) {
+                writeByte(bytes[i]);
+            }
+        }
+
+        void address(String address) {
+            int offset = address.startsWith("0x") || address.startsWith("0X") ? 2 : 0;
+            if (address.length() - offset != 40) {
+                throw new IllegalArgumentException("Invalid address: " + address);
+            }
+            fillZeros(WORD_HEX - 40);
+            for (int i = offset; i < address.length(); i++) {
+                buffer[position++] = hexDigit(address.charAt(i), address);
+            }
+        }
+
+        void string(String value, int byteLength) {
+            uint(byteLength);
+            int dataStart = position;
+            for (int i = 0; i < value.length(); i++) {
+                int codePoint = value.charAt(i);
+                if (Character.isHighSurrogate((char) codePoint) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    codePoint = Character.toCodePoint((char) codePoint, value.charAt(++i));
+                }
+                writeUtf8(codePoint);
+            }
+            int written = position - dataStart;
+            int padded = (written + WORD_HEX - 1) / WORD_HEX * WORD_HEX;
+            fillZeros(padded - written);
+        }
+
+        String finish() {
+            return new String(buffer);
+        }
+
+        private void writeUtf8(int codePoint) {
+            if (codePoint < 0x80) {
+                writeByte(codePoint);
+            } else if (codePoint < 0x800) {
+                writeByte(0xc0 | (codePoint >> 6));
+                writeByte(0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate((char) codePoint) && codePoint < 0x10000) {
+                writeByte('?');
+            } else if (codePoint < 0x10000) {
+                writeByte(0xe0 | (codePoint >> 12));
+                writeByte(0x80 | ((codePoint >> 6) & 0x3f));
+                writeByte(0x80 | (codePoint & 0x3f));
+            } else {
+                writeByte(0xf0 | (codePoint >> 18));
+                writeByte(0x80 | ((codePoint >> 12) & 0x3f));
+                writeByte(0x80 | ((codePoint >> 6) & 0x3f));
+                writeByte(0x80 | (codePoint & 0x3f));
+            }
+        }
+
+        private void writeByte(int value) {
+            buffer[position++] = HEX[(value >> 4) & 0xf];
+            buffer[position++] = HEX[value & 0xf];
+        }
+
+        private void fillZeros(int count) {
+            for (int i = 0; i < count; i++) {
+                buffer[position++] = '0';
+            }
+        }
+
+        private static char hexDigit(char c, String address) {
+            if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f')) {
+                return c;
+            }
+            if (c >= 'A' && c <= 'F') {
+                return (char) (c + ('a' - 'A'));
+            }
+            throw new IllegalArgumentException("Invalid address: " + address);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import com.blooming.blockchain.springbackend.global.enums.GovernanceEventType;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Topic-indexed decoder for GovernanceToken event logs
+ * topic0 is looked up in a fixed registry that knows each event's exact layout,
+ * and indexed/data fields are read straight from the hex strings: ids and
+ * deadlines are parsed from the low nibbles of their word, addresses are copied
+ * from the last 40 hex chars and bools from the last char. Only uint256 amounts
+ * above 63 bits and string payloads allocate a byte[] for their final value.
+ * Shared by receipt parsing (proposal creation, votes) and the event indexer.
+ */
+public final class GovernanceEventDecoder {
+
+    /**
+     * proposalId for events that do not carry one
+     */
+    public static final long NO_PROPOSAL_ID = -1;
+
+    private static final int WORD_HEX = 64;
+
+    private static final Map<GovernanceEventType, String> TOPICS_BY_TYPE = new EnumMap<>(GovernanceEventType.class);
+    private static final Map<String, Layout> LAYOUTS_BY_TOPIC = new HashMap<>();
+
+    static {
+        register(GovernanceEventType.PROPOSAL_CREATED, "ProposalCreated(uint256,address,string,uint256)", 3,
+            (topics, data) -> new DecodedEvent(
+                GovernanceEventType.PROPOSAL_CREATED,
+                longWord(topics.get(1), 2),
+                addressWord(topics.get(2), 2),
+                null,
+                null,
+                longWord(data, dataWord(1)),
+                stringAt(data, dataWord(0))));
+
+        register(GovernanceEventType.VOTE_CAST, "VoteCast(uint256,address,bool,uint256)", 3,
+            (topics, data) -> new DecodedEvent(
+                GovernanceEventType.VOTE_CAST,
+                longWord(topics.get(1), 2),
+                addressWord(topics.get(2), 2),
+                boolWord(data, dataWord(0)),
+                uintWord(data, dataWord(1)),
+                0,
+                null));
+
+        register(GovernanceEventType.PROPOSAL_EXECUTED, "ProposalExecuted(uint256)", 2,
+            (topics, data) -> new DecodedEvent(
+                GovernanceEventType.PROPOSAL_EXECUTED,
+                longWord(topics.get(1), 2),
+                null,
+                null,
+                null,
+                0,
+                null));
+
+        register(GovernanceEventType.TOKENS_MINTED, "TokensMinted(address,uint256,string)", 2,
+            (topics, data) -> new DecodedEvent(
+                GovernanceEventType.TOKENS_MINTED,
+                NO_PROPOSAL_ID,
+                addressWord(topics.get(1), 2),
+                null,
+                uintWord(data, dataWord(0)),
+                0,
+                stringAt(data, dataWord(1))));
+    }
+
+    private GovernanceEventDecoder() {
+    }
+
+    /**
+     * topic0 (event signature hash) for the given event type
+     */
+    public static String topic(GovernanceEventType type) {
+        return TOPICS_BY_TYPE.get(type);
+    }
+
+    /**
+     * All registered topic0 values, for eth_getLogs topic filters
+     */
+    public static String[] topics() {
+        return TOPICS_BY_TYPE.values().toArray(new String[0]);
+    }
+
+    /**
+     * Event type of a log by its topic0, or null if it is not a GovernanceToken event
+     */
+    public static GovernanceEventType typeOf(Log logEntry) {
+        Layout layout = layoutOf(logEntry);
+        return layout != null ? layout.type() : null;
+    }
+
+    /**
+     * Decode a GovernanceToken log, or null if its topic0 is not registered
+     *
+     * @throws IllegalArgumentException if a registered event has a malformed payload
+     */
+    public static DecodedEvent decode(Log logEntry) {
+        Layout layout = layoutOf(logEntry);
+        if (layout == null) {
+            return null;
+        }
+        List<String> topics = logEntry.getTopics();
+        if (topics.size() != layout.topicCount()) {
+            throw new IllegalArgumentException(
+                layout.type() + " expects " + layout.topicCount() + " topics, got " + topics.size());
+        }
+        String data = logEntry.getData() != null ? logEntry.getData() : "0x";
+        if (!data.startsWith("0x")) {
+            throw new IllegalArgumentException("Log data is not 0x-prefixed");
+        }
+        return layout.decoder().decode(topics, data);
+    }
+
+    /**
+     * First event of the given type emitted by contractAddress in a receipt, or null if there is none
+     * topic0 is matched before the address so unrelated logs are skipped with a single map lookup.
+     */
+    public static DecodedEvent findFirst(TransactionReceipt receipt, GovernanceEventType type, String contractAddress) {
+        if (receipt.getLogs() == null) {
+            return null;
+        }
+        for (Log logEntry : receipt.getLogs()) {
+            Layout layout = layoutOf(logEntry);
+            if (layout != null && layout.type() == type
+                    && (contractAddress == null || contractAddress.equalsIgnoreCase(logEntry.getAddress()))) {
+                return decode(logEntry);
+            }
+        }
+        return null;
+    }
+
+    private static void register(GovernanceEventType type, String signature, int topicCount, Decoder decoder) {
+        String topic = Hash.sha3String(signature);
+        TOPICS_BY_TYPE.put(type, topic);
+        LAYOUTS_BY_TOPIC.put(topic, new Layout(type, topicCount, decoder));
+    }
+
+    private static Layout layoutOf(Log logEntry) {
+        List<String> topics = logEntry.getTopics();
+        if (topics == null || topics.isEmpty() || topics.get(0) == null) {
+            return null;
+        }
+        return LAYOUTS_BY_TOPIC.get(topics.get(0));
+    }
+
+    // Hex index of the n-th head word in 0x-prefixed log data
+    private static int dataWord(int index) {
+        return 2 + index * WORD_HEX;
+    }
+
+    private static void checkWord(String hex, int start) {
+        if (hex == null || hex.length() < start + WORD_HEX) {
+            throw new IllegalArgumentException("Log field truncated at hex offset " + start);
+        }
+    }
+
+    /**
+     * uint256 word that must fit in a non-negative long (ids, deadlines, offsets)
+     */
+    static long longWord(String hex, int start) {
+        checkWord(hex, start);
+        int lowStart = start + WORD_HEX - 16;
+        for (int i = start; i < lowStart; i++) {
+            if (hex.charAt(i) != '0') {
+                throw new IllegalArgumentException("uint256 value does not fit in a long");
+            }
+        }
+        long value = 0;
+        for (int i = lowStart; i < start + WORD_HEX; i++) {
+            value = (value << 4) | nibble(hex.charAt(i));
+        }
+        if (value < 0) {
+            throw new IllegalArgumentException("uint256 value does not fit in a long");
+        }
+        return value;
+    }
+
+    /**
+     * Full uint256 word - BigInteger.valueOf for values up to 63 bits, one byte[32] above that
+     */
+    static BigInteger uintWord(String hex, int start) {
+        checkWord(hex, start);
+        int lowStart = start + WORD_HEX - 16;
+        boolean fitsLong = nibble(hex.charAt(lowStart)) < 8;
+        for (int i = start; fitsLong && i < lowStart; i++) {
+            fitsLong = hex.charAt(i) == '0';
+        }
+        if (fitsLong) {
+            return BigInteger.valueOf(longWord(hex, start));
+        }
+        byte[] bytes = new byte[32];
+        for (int i = 0; i < 32; i++) {
+            int position = start + 2 * i;
+            bytes[i] = (byte) ((nibble(hex.charAt(position)) << 4) | nibble(hex.charAt(position + 1)));
+        }
+        return new BigInteger(1, bytes);
+    }
+
+    /**
+     * Address in the low 20 bytes of a word, returned lowercase and 0x-prefixed
+     */
+    static String addressWord(String hex, int start) {
+        checkWord(hex, start);
+        char[] address = new char[42];
+        address[0] = '0';
+        address[1] = 'x';
+        int from = start + WORD_HEX - 40;
+        for (int i = 0; i < 40; i++) {
+            char c = hex.charAt(from + i);
+            nibble(c);
+            address[2 + i] = Character.toLowerCase(c);
+        }
+        return new String(address);
+    }
+
+    static boolean boolWord(String hex, int start) {
+        checkWord(hex, start);
+        return hex.charAt(start + WORD_HEX - 1) != '0';
+    }
+
+    /**
+     * Dynamic string whose head word (offset into the data) starts at the given hex index
+     */
+    static String stringAt(String data, int headStart) {
+        long offset = longWord(data, headStart);
+        if (offset > (data.length() - 2 - WORD_HEX) / 2) {
+            throw new IllegalArgumentException("String offset out of range: " + offset);
+        }
+        int lengthStart = 2 + (int) offset * 2;
+        long length = longWord(data, lengthStart);
+        int bytesStart = lengthStart + WORD_HEX;
+        if (length > (data.length() - bytesStart) / 2) {
+            throw new IllegalArgumentException("String length out of range: " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        for (int i = 0; i < bytes.length; i++) {
+            int position = bytesStart + 2 * i;
+            bytes[i] = (byte) ((nibble(data.charAt(position)) << 4) | nibble(data.charAt(position + 1)));
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int nibble(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        throw new IllegalArgumentException("Invalid hex character: " + c);
+    }
+
+    @FunctionalInterface
+    private interface Decoder {
+        DecodedEvent decode(List<String> topics, String data);
+    }
+
+    private record Layout(GovernanceEventType type, int topicCount, Decoder decoder) {
+    }
+
+    /**
+     * Decoded GovernanceToken event - fields an event does not carry are null (0 for deadline)
+     *
+     * @param proposalId proposal id, or NO_PROPOSAL_ID for TokensMinted
+     * @param account    proposer, voter or mint recipient (lowercase)
+     * @param support    VoteCast support flag
+     * @param amount     VoteCast weight or TokensMinted amount in wei
+     * @param deadline   ProposalCreated deadline (epoch seconds)
+     * @param text       ProposalCreated description or TokensMinted reason
+     */
+    public record DecodedEvent(GovernanceEventType type,
+                               long proposalId,
+                               String account,
+                               Boolean support,
+                               BigInteger amount,
+                               long deadline,
+                               String text) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.Arrays;
+
+/**
+ * One zkSync JSON-RPC provider with its observed latency and circuit breaker
+ * CLOSED: normal traffic. OPEN: ejected after consecutive transport failures.
+ * HALF_OPEN: once the open period has passed, a single live request is let
+ * through as a probe; success closes the breaker, failure opens it again.
+ */
+@Slf4j
+public class RpcEndpoint {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final double EWMA_ALPHA = 0.2;
+    private static final int LATENCY_WINDOW = 128;
+    private static final int MIN_PERCENTILE_SAMPLES = 20;
+
+    private final String url;
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private final long[] latencyWindow = new long[LATENCY_WINDOW];
+    private int latencyCount;
+    private int latencyPosition;
+    private volatile double ewmaMillis = -1;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private long ejections;
+
+    public RpcEndpoint(String url, int failureThreshold, long openMillis) {
+        this.url = url;
+        this.name = hostOf(url);
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Whether a request may be routed here right now, without claiming the half-open probe
+     */
+    public synchronized boolean isAvailable() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.currentTimeMillis() - openedAt >= openMillis;
+            case HALF_OPEN -> !probeInFlight;
+        };
+    }
+
+    /**
+     * Claim permission to send a request; in HALF_OPEN only one probe is allowed at a time
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+            log.info("Probing zkSync RPC endpoint {}", name);
+        }
+        return true;
+    }
+
+    public synchronized void recordSuccess(long latencyMillis) {
+        ewmaMillis = ewmaMillis < 0 ? latencyMillis : EWMA_ALPHA * latencyMillis + (1 - EWMA_ALPHA) * ewmaMillis;
+        latencyWindow[latencyPosition] = latencyMillis;
+        latencyPosition = (latencyPosition + 1) % LATENCY_WINDOW;
+        latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            log.info("zkSync RPC endpoint {} recovered, closing circuit", name);
+            state = State.CLOSED;
+        }
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            if (state == State.CLOSED) {
+                ejections++;
+                log.warn("zkSync RPC endpoint {} failed {} times in a row, opening circuit for {} ms",
+                    name, consecutiveFailures, openMillis);
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Release a claimed half-open probe whose request was cancelled before completing
+     */
+    public synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+
+    /**
+     * Latency percentile over the recent window, or -1 without enough samples
+     */
+    public synchronized long latencyPercentileMillis(int percentile) {
+        if (latencyCount < MIN_PERCENTILE_SAMPLES) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencyWindow, latencyCount);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    /**
+     * Smoothed latency used for ranking; unmeasured endpoints rank first so they get sampled
+     */
+    public double getLatencyScore() {
+        return Math.max(0, ewmaMillis);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getEjections() {
+        return ejections;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
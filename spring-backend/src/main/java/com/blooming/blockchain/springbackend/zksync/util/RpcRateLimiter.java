@@ -0,0 +1,284 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import com.blooming.blockchain.springbackend.global.enums.RpcPriorityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side token bucket in front of the zkSync RPC providers
+ * Tokens refill at permitsPerSecond up to burst. A caller that finds no token
+ * (or someone of equal or higher priority already waiting) queues in its
+ * priority lane; the head of the highest non-empty lane gets the next token.
+ * Each lane holds at most maxQueueDepth callers - beyond that, and after
+ * queueTimeoutMillis in the queue, requests are rejected instead of piling up.
+ *
+ * The priority of the current thread is set with runWithPriority/callWithPriority
+ * and carried across thread hand-offs with wrap(), together with the name of the
+ * component that started the work (the caller tag of the RPC metrics).
+ */
+@Slf4j
+public class RpcRateLimiter {
+
+    private static final String METRIC_PREFIX = "zksync.rpc.ratelimit";
+    private static final ThreadLocal<RpcPriorityType> CURRENT_PRIORITY = new ThreadLocal<>();
+    private static final ThreadLocal<String> CURRENT_CALLER = new ThreadLocal<>();
+
+    private final double permitsPerSecond;
+    private final double burst;
+    private final int maxQueueDepth;
+    private final long queueTimeoutMillis;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queueChanged = lock.newCondition();
+    private final Map<RpcPriorityType, Deque<Object>> lanes = new EnumMap<>(RpcPriorityType.class);
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param permitsPerSecond Sustained request rate; 0 or less disables limiting
+     * @param burst Bucket capacity (requests allowed back to back after an idle period)
+     */
+    public RpcRateLimiter(double permitsPerSecond, int burst, int maxQueueDepth, long queueTimeoutMillis,
+                          MeterRegistry meterRegistry) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.maxQueueDepth = maxQueueDepth;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.meterRegistry = meterRegistry;
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+
+        for (RpcPriorityType priority : RpcPriorityType.values()) {
+            lanes.put(priority, new ArrayDeque<>());
+            Gauge.builder(METRIC_PREFIX + ".queued", this, limiter -> limiter.getQueuedCount(priority))
+                .description("Requests waiting for a rate limit token")
+                .tag("priority", priority.name())
+                .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return permitsPerSecond > 0;
+    }
+
+    /**
+     * Take permits tokens (e.g. one per call in a JSON-RPC batch), waiting in the priority lane if needed
+     * @throws IOException when the lane is full, the wait times out or the thread is interrupted
+     */
+    public void acquire(RpcPriorityType priority, int permits) throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        double needed = Math.min(Math.max(1, permits), burst);
+        long startedAt = System.nanoTime();
+
+        lock.lock();
+        try {
+            refill(startedAt);
+            if (!hasWaitersAtOrAbove(priority) && tokens >= needed) {
+                tokens -= needed;
+                return;
+            }
+
+            Deque<Object> lane = lanes.get(priority);
+            if (lane.size() >= maxQueueDepth) {
+                reject(priority, "queue_full");
+                throw new IOException("zkSync RPC rate limit queue full for " + priority);
+            }
+
+            Object ticket = new Object();
+            lane.addLast(ticket);
+            long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    boolean next = isNext(priority, ticket);
+                    if (next && tokens >= needed) {
+                        tokens -= needed;
+                        lane.removeFirst();
+                        queueChanged.signalAll();
+                        waitTimer(priority).record(now - startedAt, TimeUnit.NANOSECONDS);
+                        return;
+                    }
+
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        lane.remove(ticket);
+                        queueChanged.signalAll();
+                        reject(priority, "timeout");
+                        throw new IOException("Timed out waiting for zkSync RPC rate limit token (" + priority + ")");
+                    }
+                    // The head sleeps until its tokens have refilled; everyone else until the queue moves
+                    long sleep = next ? nanosUntilAvailable(needed) : remaining;
+                    queueChanged.awaitNanos(Math.max(1, Math.min(remaining, sleep)));
+                }
+            } catch (InterruptedException e) {
+                lane.remove(ticket);
+                queueChanged.signalAll();
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for zkSync RPC rate limit token", e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedCount(RpcPriorityType priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Priority set on the current thread, or null to derive it from the request
+     */
+    public static RpcPriorityType currentPriority() {
+        return CURRENT_PRIORITY.get();
+    }
+
+    /**
+     * Component that started the RPC work on the current thread (e.g. "ChainHeadMonitor"), or null
+     */
+    public static String currentCaller() {
+        return CURRENT_CALLER.get();
+    }
+
+    public static void runWithPriority(RpcPriorityType priority, Runnable task) {
+        runWithContext(priority, CURRENT_CALLER.get(), task);
+    }
+
+    /**
+     * Run in a priority lane on behalf of the named component
+     */
+    public static void runWithPriority(RpcPriorityType priority, String caller, Runnable task) {
+        runWithContext(priority, caller, task);
+    }
+
+    public static <T> T callWithPriority(RpcPriorityType priority, Callable<T> task) throws Exception {
+        RpcPriorityType previous = CURRENT_PRIORITY.get();
+        CURRENT_PRIORITY.set(priority);
+        try {
+            return task.call();
+        } finally {
+            set(CURRENT_PRIORITY, previous);
+        }
+    }
+
+    /**
+     * Run on behalf of the named component, keeping the current priority
+     */
+    public static void runAsCaller(String caller, Runnable task) {
+        runWithContext(CURRENT_PRIORITY.get(), caller, task);
+    }
+
+    /**
+     * Name the calling component until clearCaller(), for callers that cannot wrap
+     * their work in a Runnable (e.g. a web request spanning interceptor callbacks)
+     */
+    public static void setCaller(String caller) {
+        set(CURRENT_CALLER, caller);
+    }
+
+    public static void clearCaller() {
+        CURRENT_CALLER.remove();
+    }
+
+    /**
+     * Carry the current thread's priority and caller over to the thread that will run the task
+     */
+    public static Runnable wrap(Runnable task) {
+        RpcPriorityType priority = CURRENT_PRIORITY.get();
+        String caller = CURRENT_CALLER.get();
+        return priority == null && caller == null ? task : () -> runWithContext(priority, caller, task);
+    }
+
+    private static void runWithContext(RpcPriorityType priority, String caller, Runnable task) {
+        RpcPriorityType previousPriority = CURRENT_PRIORITY.get();
+        String previousCaller = CURRENT_CALLER.get();
+        set(CURRENT_PRIORITY, priority);
+        set(CURRENT_CALLER, caller);
+        try {
+            task.run();
+        } finally {
+            set(CURRENT_PRIORITY, previousPriority);
+            set(CURRENT_CALLER, previousCaller);
+        }
+    }
+
+    private static <T> void set(ThreadLocal<T> local, T value) {
+        if (value == null) {
+            local.remove();
+        } else {
+            local.set(value);
+        }
+    }
+
+    private void refill(long now) {
+        double refilled = (now - refilledAt) * permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        tokens = Math.min(burst, tokens + refilled);
+        refilledAt = now;
+    }
+
+    private long nanosUntilAvailable(double needed) {
+        return (long) Math.ceil((needed - tokens) * TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+
+    private boolean hasWaitersAtOrAbove(RpcPriorityType priority) {
+        for (RpcPriorityType lane : RpcPriorityType.values()) {
+            if (lane.ordinal() > priority.ordinal()) {
+                break;
+            }
+            if (!lanes.get(lane).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isNext(RpcPriorityType priority, Object ticket) {
+        for (RpcPriorityType lane : RpcPriorityType.values()) {
+            if (lane == priority) {
+                return lanes.get(lane).peekFirst() == ticket;
+            }
+            if (!lanes.get(lane).isEmpty()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void reject(RpcPriorityType priority, String reason) {
+        log.warn("zkSync RPC rate limit rejected a {} request ({})", priority, reason);
+        Counter.builder(METRIC_PREFIX + ".rejected")
+            .description("Requests rejected by the client-side rate limiter")
+            .tag("priority", priority.name())
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private Timer waitTimer(RpcPriorityType priority) {
+        return Timer.builder(METRIC_PREFIX + ".wait")
+            .description("Time queued requests waited for a rate limit token")
+            .tag("priority", priority.name())
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,362 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.Sign;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * zkSync Era EIP-712 (type 113 / 0x71) transaction signer and serializer
+ * The domain separator for the chain, the Transaction type hash and the hashes of
+ * empty bytes and the general-flow paymaster input are computed once; each
+ * transaction is hashed word by word into a single Keccak state and RLP-encoded
+ * into one byte array sized exactly up front (no intermediate RlpType lists).
+ * The signature goes into the customSignature field, as zksync-ethers does for EOAs.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class ZkSyncEip712Signer {
+
+    public static final int EIP712_TX_TYPE = 0x71;
+
+    /**
+     * DEFAULT_GAS_PER_PUBDATA_LIMIT used by the zkSync SDKs
+     */
+    public static final long DEFAULT_GAS_PER_PUBDATA = 50_000L;
+
+    /**
+     * IPaymasterFlow.general("") - selector 0x8c5a3445 followed by an empty bytes argument
+     */
+    public static final String GENERAL_FLOW_INPUT = "0x8c5a3445"
+        + "0000000000000000000000000000000000000000000000000000000000000020"
+        + "0000000000000000000000000000000000000000000000000000000000000000";
+
+    private static final byte[] TRANSACTION_TYPE_HASH = keccak(("Transaction(uint256 txType,uint256 from,uint256 to,"
+        + "uint256 gasLimit,uint256 gasPerPubdataByteLimit,uint256 maxFeePerGas,uint256 maxPriorityFeePerGas,"
+        + "uint256 paymaster,uint256 nonce,uint256 value,bytes data,bytes32[] factoryDeps,bytes paymasterInput)")
+        .getBytes(StandardCharsets.UTF_8));
+    private static final byte[] DOMAIN_TYPE_HASH =
+        keccak("EIP712Domain(string name,string version,uint256 chainId)".getBytes(StandardCharsets.UTF_8));
+    private static final byte[] DOMAIN_NAME_HASH = keccak("zkSync".getBytes(StandardCharsets.UTF_8));
+    private static final byte[] DOMAIN_VERSION_HASH = keccak("2".getBytes(StandardCharsets.UTF_8));
+    private static final byte[] EMPTY_HASH = keccak(new byte[0]);
+    private static final byte[] GENERAL_FLOW_INPUT_BYTES = Numeric.hexStringToByteArray(GENERAL_FLOW_INPUT);
+    private static final byte[] GENERAL_FLOW_INPUT_HASH = keccak(GENERAL_FLOW_INPUT_BYTES);
+    private static final byte[] EIP712_PREFIX = {0x19, 0x01};
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final long chainId;
+    private final byte[] chainIdBytes;
+    private final byte[] domainSeparator;
+
+    public ZkSyncEip712Signer(long chainId) {
+        if (chainId <= 0) {
+            throw new IllegalArgumentException("Invalid chain id: " + chainId);
+        }
+        this.chainId = chainId;
+        this.chainIdBytes = minimal(chainId);
+
+        Keccak.Digest256 digest = new Keccak.Digest256();
+        byte[] word = new byte[32];
+        digest.update(DOMAIN_TYPE_HASH);
+        digest.update(DOMAIN_NAME_HASH);
+        digest.update(DOMAIN_VERSION_HASH);
+        updateWord(digest, word, chainIdBytes);
+        this.domainSeparator = digest.digest();
+    }
+
+    public long getChainId() {
+        return chainId;
+    }
+
+    /**
+     * Sign and serialize a transaction
+     *
+     * @return 0x71-prefixed raw transaction hex for eth_sendRawTransaction
+     */
+    public String sign(Credentials credentials, Transaction transaction) {
+        Fields fields = new Fields(transaction);
+        if (!credentials.getAddress().equalsIgnoreCase(transaction.from())) {
+            throw new IllegalArgumentException("Transaction from " + transaction.from()
+                + " does not match signer " + credentials.getAddress());
+        }
+
+        Sign.SignatureData signature = Sign.signMessage(signingHash(fields), credentials.getEcKeyPair(), false);
+        byte[] customSignature = new byte[65];
+        System.arraycopy(signature.getR(), 0, customSignature, 0, 32);
+        System.arraycopy(signature.getS(), 0, customSignature, 32, 32);
+        customSignature[64] = signature.getV()[0];
+
+        return Numeric.toHexString(serialize(fields, customSignature));
+    }
+
+    /**
+     * EIP-712 digest the sender signs: keccak256(0x1901 || domainSeparator || hashStruct(tx))
+     */
+    public byte[] signingHash(Transaction transaction) {
+        return signingHash(new Fields(transaction));
+    }
+
+    private byte[] signingHash(Fields fields) {
+        Keccak.Digest256 digest = new Keccak.Digest256();
+        byte[] word = new byte[32];
+
+        digest.update(TRANSACTION_TYPE_HASH);
+        updateWord(digest, word, minimal(EIP712_TX_TYPE));
+        updateWord(digest, word, fields.from);
+        updateWord(digest, word, fields.to);
+        updateWord(digest, word, fields.gasLimit);
+        updateWord(digest, word, fields.gasPerPubdata);
+        updateWord(digest, word, fields.maxFeePerGas);
+        updateWord(digest, word, fields.maxPriorityFeePerGas);
+        updateWord(digest, word, fields.paymaster);
+        updateWord(digest, word, fields.nonce);
+        updateWord(digest, word, fields.value);
+        digest.update(fields.data.length == 0 ? EMPTY_HASH : keccak(fields.data));
+        digest.update(EMPTY_HASH); // factoryDeps
+        digest.update(fields.paymasterInputHash());
+        byte[] structHash = digest.digest();
+
+        digest.update(EIP712_PREFIX);
+        digest.update(domainSeparator);
+        digest.update(structHash);
+        return digest.digest();
+    }
+
+    /**
+     * 0x71 || rlp([nonce, maxPriorityFeePerGas, maxFeePerGas, gasLimit, to, value, data,
+     * chainId, 0x, 0x, chainId, from, gasPerPubdata, factoryDeps[], customSignature,
+     * [paymaster, paymasterInput] | []])
+     */
+    private byte[] serialize(Fields fields, byte[] customSignature) {
+        int paymasterPayload = fields.paymaster.length == 0 ? 0
+            : bytesLength(fields.paymaster) + bytesLength(fields.paymasterInput);
+        int payload = bytesLength(fields.nonce)
+            + bytesLength(fields.maxPriorityFeePerGas)
+            + bytesLength(fields.maxFeePerGas)
+            + bytesLength(fields.gasLimit)
+            + bytesLength(fields.to)
+            + bytesLength(fields.value)
+            + bytesLength(fields.data)
+            + bytesLength(chainIdBytes)
+            + bytesLength(NO_BYTES)
+            + bytesLength(NO_BYTES)
+            + bytesLength(chainIdBytes)
+            + bytesLength(fields.from)
+            + bytesLength(fields.gasPerPubdata)
+            + listLength(0)
+            + bytesLength(customSignature)
+            + listLength(paymasterPayload);
+
+        RlpWriter writer = new RlpWriter(1 + listLength(payload));
+        writer.raw(EIP712_TX_TYPE);
+        writer.listHeader(payload);
+        writer.bytes(fields.nonce);
+        writer.bytes(fields.maxPriorityFeePerGas);
+        writer.bytes(fields.maxFeePerGas);
+        writer.bytes(fields.gasLimit);
+        writer.bytes(fields.to);
+        writer.bytes(fields.value);
+        writer.bytes(fields.data);
+        writer.bytes(chainIdBytes);
+        writer.bytes(NO_BYTES);
+        writer.bytes(NO_BYTES);
+        writer.bytes(chainIdBytes);
+        writer.bytes(fields.from);
+        writer.bytes(fields.gasPerPubdata);
+        writer.listHeader(0);
+        writer.bytes(customSignature);
+        writer.listHeader(paymasterPayload);
+        if (paymasterPayload > 0) {
+            writer.bytes(fields.paymaster);
+            writer.bytes(fields.paymasterInput);
+        }
+        return writer.finish();
+    }
+
+    // Right-align a big-endian value of at most 32 bytes into a uint256 word
+    private static void updateWord(Keccak.Digest256 digest, byte[] word, byte[] value) {
+        Arrays.fill(word, 0, 32 - value.length, (byte) 0);
+        System.arraycopy(value, 0, word, 32 - value.length, value.length);
+        digest.update(word);
+    }
+
+    private static byte[] keccak(byte[] input) {
+        return Hash.sha3(input);
+    }
+
+    private static byte[] minimal(long value) {
+        int length = (64 - Long.numberOfLeadingZeros(value) + 7) / 8;
+        byte[] bytes = new byte[length];
+        for (int i = length - 1; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+
+    private static byte[] minimal(BigInteger value) {
+        if (value == null || value.signum() == 0) {
+            return NO_BYTES;
+        }
+        if (value.signum() < 0 || value.bitLength() > 256) {
+            throw new IllegalArgumentException("Value out of uint256 range: " + value);
+        }
+        if (value.bitLength() < 64) {
+            return minimal(value.longValue());
+        }
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] != 0) {
+            return bytes;
+        }
+        byte[] trimmed = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
+        return trimmed;
+    }
+
+    private static byte[] address(String address, boolean optional) {
+        if (address == null || address.isEmpty()) {
+            if (optional) {
+                return NO_BYTES;
+            }
+            throw new IllegalArgumentException("Address is required");
+        }
+        byte[] bytes = Numeric.hexStringToByteArray(address);
+        if (bytes.length != 20) {
+            throw new IllegalArgumentException("Invalid address: " + address);
+        }
+        return bytes;
+    }
+
+    private static int bytesLength(byte[] value) {
+        if (value.length == 1 && (value[0] & 0xff) < 0x80) {
+            return 1;
+        }
+        return headerLength(value.length) + value.length;
+    }
+
+    private static int listLength(int payload) {
+        return headerLength(payload) + payload;
+    }
+
+    private static int headerLength(int length) {
+        return length <= 55 ? 1 : 1 + (32 - Integer.numberOfLeadingZeros(length) + 7) / 8;
+    }
+
+    /**
+     * Unsigned EIP-712 transaction fields
+     *
+     * @param paymaster      paymaster contract, or null for a self-paid transaction
+     * @param paymasterInput paymaster input hex (e.g. GENERAL_FLOW_INPUT), ignored without a paymaster
+     */
+    public record Transaction(String from,
+                              String to,
+                              BigInteger nonce,
+                              BigInteger gasLimit,
+                              BigInteger maxFeePerGas,
+                              BigInteger maxPriorityFeePerGas,
+                              BigInteger value,
+                              String data,
+                              long gasPerPubdata,
+                              String paymaster,
+                              String paymasterInput) {
+    }
+
+    /**
+     * Transaction fields decoded once into the byte form shared by hashing and RLP
+     */
+    private static final class Fields {
+
+        final byte[] from;
+        final byte[] to;
+        final byte[] nonce;
+        final byte[] gasLimit;
+        final byte[] maxFeePerGas;
+        final byte[] maxPriorityFeePerGas;
+        final byte[] value;
+        final byte[] data;
+        final byte[] gasPerPubdata;
+        final byte[] paymaster;
+        final byte[] paymasterInput;
+        final boolean generalFlowInput;
+
+        Fields(Transaction transaction) {
+            from = address(transaction.from(), false);
+            to = address(transaction.to(), false);
+            nonce = minimal(transaction.nonce());
+            gasLimit = minimal(transaction.gasLimit());
+            maxFeePerGas = minimal(transaction.maxFeePerGas());
+            maxPriorityFeePerGas = minimal(transaction.maxPriorityFeePerGas());
+            value = minimal(transaction.value());
+            data = transaction.data() == null ? NO_BYTES : Numeric.hexStringToByteArray(transaction.data());
+            gasPerPubdata = minimal(transaction.gasPerPubdata());
+            paymaster = address(transaction.paymaster(), true);
+
+            String input = paymaster.length == 0 ? null : transaction.paymasterInput();
+            generalFlowInput = GENERAL_FLOW_INPUT.equalsIgnoreCase(input);
+            paymasterInput = generalFlowInput ? GENERAL_FLOW_INPUT_BYTES
+                : input == null ? NO_BYTES : Numeric.hexStringToByteArray(input);
+        }
+
+        byte[] paymasterInputHash() {
+            if (generalFlowInput) {
+                return GENERAL_FLOW_INPUT_HASH;
+            }
+            return paymasterInput.length == 0 ? EMPTY_HASH : keccak(paymasterInput);
+        }
+    }
+
+    /**
+     * Writes RLP items left to right into a pre-sized buffer
+     */
+    private static final class RlpWriter {
+
+        private final byte[] buffer;
+        private int position;
+
+        RlpWriter(int length) {
+            buffer = new byte[length];
+        }
+
+        void raw(int value) {
+            buffer[position++] = (byte) value;
+        }
+
+        void bytes(byte[] value) {
+            if (value.length == 1 && (value[0] & 0xff) < 0x80) {
+                buffer[position++] = value[0];
+                return;
+            }
+            header(0x80, value.length);
+            System.arraycopy(value, 0, buffer, position, value.length);
+            position += value.length;
+        }
+
+        void listHeader(int payload) {
+            header(0xc0, payload);
+        }
+
+        byte[] finish() {
+            if (position != buffer.length) {
+                throw new IllegalStateException("RLP length mismatch: " + position + " != " + buffer.length);
+            }
+            return buffer;
+        }
+
+        private void header(int offset, int length) {
+            if (length <= 55) {
+                buffer[position++] = (byte) (offset + length);
+                return;
+            }
+            int lengthBytes = (32 - Integer.numberOfLeadingZeros(length) + 7) / 8;
+            buffer[position++] = (byte) (offset + 55 + lengthBytes);
+            for (int i = lengthBytes - 1; i >= 0; i--) {
+                buffer[position++] = (byte) (length >>> (8 * i));
+            }
+        }
+    }
+}
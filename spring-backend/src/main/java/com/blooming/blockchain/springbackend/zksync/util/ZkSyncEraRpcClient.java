@@ -24,9 +24,9 @@ public class ZkSyncEraRpcClient {
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final Web3j web3j;
     
-    public ZkSyncEraRpcClient() {
-        // Initialize with zkSync Era Sepolia testnet RPC URL
-        this.web3j = Web3j.build(new org.web3j.protocol.http.HttpService("https://sepolia.era.zksync.dev"));
+    public ZkSyncEraRpcClient(Web3j web3j) {
+        // Shared zkSync Era client configured in ZkSyncEraConfig
+        this.web3j = web3j;
     }
     
     /**
@@ -0,0 +1,455 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import com.blooming.blockchain.springbackend.global.enums.RpcPriorityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import org.web3j.protocol.Service;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Shared zkSync Era JSON-RPC transport
+ * Wraps a pooled OkHttp client, caps the number of in-flight requests
+ * and records latency timers per JSON-RPC method, calling component, priority
+ * lane and endpoint.
+ * With several endpoints configured, reads go to the fastest available one
+ * (by observed latency) and get a hedged request to the next one when they
+ * run past that endpoint's p95. Writes and nonce reads stay on the primary
+ * (first healthy endpoint in configured order). Each endpoint has a circuit
+ * breaker, see RpcEndpoint. All traffic first passes the client-side
+ * RpcRateLimiter so provider throttling hits background jobs before users.
+ */
+@Slf4j
+public class ZkSyncHttpService extends Service implements ChainGateway {
+
+    private static final String METRIC_REQUESTS = "zksync.rpc.requests";
+    private static final String METRIC_IN_FLIGHT = "zksync.rpc.in-flight";
+    private static final String METRIC_ENDPOINT = "zksync.rpc.endpoint";
+    private static final String METRIC_ATTEMPTS = "zksync.rpc.attempts";
+    private static final String BATCH_METHOD = "batch";
+    private static final MediaType JSON_MEDIA_TYPE = MediaType.parse("application/json; charset=utf-8");
+
+    // Must see the same mempool/nonce view as the transaction they belong to
+    private static final Set<String> PRIMARY_METHODS = Set.of(
+        "eth_sendRawTransaction",
+        "eth_sendTransaction",
+        "eth_getTransactionCount"
+    );
+
+    private final List<RpcEndpoint> endpoints;
+    private final OkHttpClient httpClient;
+    private final Routing routing;
+    private final RpcRateLimiter rateLimiter;
+    private final Semaphore inFlightPermits;
+    private final int maxInFlight;
+    private final long acquireTimeoutMillis;
+    private final MeterRegistry meterRegistry;
+    private final Counter hedgedCounter;
+    private final Counter failoverCounter;
+    private final ThreadLocal<RequestContext> currentRequest = new ThreadLocal<>();
+
+    public ZkSyncHttpService(List<String> urls,
+                             OkHttpClient httpClient,
+                             Routing routing,
+                             RpcRateLimiter rateLimiter,
+                             int maxInFlight,
+                             long acquireTimeoutMillis,
+                             MeterRegistry meterRegistry) {
+        super(false);
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("At least one zkSync RPC URL is required");
+        }
+        this.endpoints = urls.stream()
+            .map(url -> new RpcEndpoint(url, routing.failureThreshold(), routing.openMillis()))
+            .toList();
+        this.httpClient = httpClient;
+        this.routing = routing;
+        this.rateLimiter = rateLimiter;
+        this.maxInFlight = maxInFlight;
+        this.inFlightPermits = new Semaphore(maxInFlight, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder(METRIC_IN_FLIGHT, inFlightPermits, permits -> maxInFlight - permits.availablePermits())
+            .description("zkSync JSON-RPC requests currently in flight")
+            .register(meterRegistry);
+        this.hedgedCounter = Counter.builder(METRIC_REQUESTS + ".hedged")
+            .description("Reads that got a hedged request to a second endpoint")
+            .register(meterRegistry);
+        this.failoverCounter = Counter.builder(METRIC_REQUESTS + ".failover")
+            .description("Reads retried on another endpoint after a transport failure")
+            .register(meterRegistry);
+        for (RpcEndpoint endpoint : endpoints) {
+            Gauge.builder(METRIC_ENDPOINT + ".state", endpoint, e -> e.getState().ordinal())
+                .description("Circuit state (0 closed, 1 open, 2 half-open)")
+                .tag("endpoint", endpoint.getName())
+                .register(meterRegistry);
+            FunctionCounter.builder(METRIC_ENDPOINT + ".ejections", endpoint, RpcEndpoint::getEjections)
+                .description("Times the endpoint was ejected by its circuit breaker")
+                .tag("endpoint", endpoint.getName())
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        String method = request.getMethod();
+        String caller = RpcRateLimiter.currentCaller();
+        RpcPriorityType priority = priorityOf(PRIMARY_METHODS.contains(method));
+        rateLimiter.acquire(priority, 1);
+        acquirePermit(method);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        currentRequest.set(new RequestContext(method, PRIMARY_METHODS.contains(method)));
+        try {
+            T response = super.send(request, responseType);
+            if (response != null && response.hasError()) {
+                outcome = "rpc_error";
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            outcome = "io_error";
+            throw e;
+        } finally {
+            currentRequest.remove();
+            inFlightPermits.release();
+            sample.stop(requestTimer(method, outcome, priority, caller));
+        }
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        String caller = RpcRateLimiter.currentCaller();
+        boolean primaryOnly = batchRequest.getRequests().stream()
+            .anyMatch(request -> PRIMARY_METHODS.contains(request.getMethod()));
+        RpcPriorityType priority = priorityOf(primaryOnly);
+        rateLimiter.acquire(priority, batchRequest.getRequests().size());
+        acquirePermit(BATCH_METHOD);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        currentRequest.set(new RequestContext(BATCH_METHOD, primaryOnly));
+        try {
+            return super.sendBatch(batchRequest);
+        } catch (IOException | RuntimeException e) {
+            outcome = "io_error";
+            throw e;
+        } finally {
+            currentRequest.remove();
+            inFlightPermits.release();
+            sample.stop(requestTimer(BATCH_METHOD, outcome, priority, caller));
+        }
+    }
+
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        RequestContext context = currentRequest.get();
+        if (context == null) {
+            context = new RequestContext("unknown", false);
+        }
+        byte[] body = context.primaryOnly() ? sendToPrimary(context, payload) : sendRead(context, payload);
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public String getName() {
+        return "zksync-http";
+    }
+
+    /**
+     * Number of requests currently holding an in-flight permit
+     */
+    public int getInFlightCount() {
+        return maxInFlight - inFlightPermits.availablePermits();
+    }
+
+    public List<RpcEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Writes: first endpoint in configured order that its breaker lets through.
+     * Never retried elsewhere - the transaction may already have been accepted.
+     */
+    private byte[] sendToPrimary(RequestContext context, String payload) throws IOException {
+        for (RpcEndpoint endpoint : endpoints) {
+            if (endpoint.tryAcquire()) {
+                return await(post(endpoint, context, payload));
+            }
+        }
+        // Everything is ejected - keep trying the configured primary rather than failing outright
+        return await(post(endpoints.get(0), context, payload));
+    }
+
+    /**
+     * Reads: fastest endpoint, hedged to the next one after its p95, or failed over on a transport error
+     */
+    private byte[] sendRead(RequestContext context, String payload) throws IOException {
+        List<RpcEndpoint> ranked = rankedForRead();
+        if (ranked.isEmpty()) {
+            return await(post(endpoints.get(0), context, payload));
+        }
+
+        RpcEndpoint first = ranked.get(0);
+        CompletableFuture<byte[]> firstAttempt = post(first, context, payload);
+        try {
+            return firstAttempt.get(hedgeDelayMillis(first), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            RpcEndpoint second = acquireNext(ranked, 1);
+            if (second == null) {
+                return await(firstAttempt);
+            }
+            hedgedCounter.increment();
+            log.debug("Hedging zkSync read from {} to {}", first.getName(), second.getName());
+            CompletableFuture<byte[]> secondAttempt = post(second, context, payload);
+            try {
+                return await(firstSuccessful(firstAttempt, secondAttempt));
+            } finally {
+                firstAttempt.cancel(true);
+                secondAttempt.cancel(true);
+            }
+        } catch (ExecutionException e) {
+            RpcEndpoint second = acquireNext(ranked, 1);
+            if (second == null) {
+                throw asIOException(e.getCause());
+            }
+            failoverCounter.increment();
+            log.debug("zkSync read failed on {}, retrying on {}: {}", first.getName(), second.getName(), e.getCause().getMessage());
+            return await(post(second, context, payload));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            firstAttempt.cancel(true);
+            throw new IOException("Interrupted while waiting for zkSync RPC response", e);
+        }
+    }
+
+    /**
+     * Available endpoints by smoothed latency; the first one is already acquired
+     */
+    private List<RpcEndpoint> rankedForRead() {
+        List<RpcEndpoint> ranked = new ArrayList<>(endpoints.stream()
+            .filter(RpcEndpoint::isAvailable)
+            .sorted(Comparator.comparingDouble(RpcEndpoint::getLatencyScore))
+            .toList());
+        while (!ranked.isEmpty() && !ranked.get(0).tryAcquire()) {
+            ranked.remove(0);
+        }
+        return ranked;
+    }
+
+    private RpcEndpoint acquireNext(List<RpcEndpoint> ranked, int from) {
+        for (int i = from; i < ranked.size(); i++) {
+            if (ranked.get(i).tryAcquire()) {
+                return ranked.get(i);
+            }
+        }
+        return null;
+    }
+
+    private long hedgeDelayMillis(RpcEndpoint endpoint) {
+        if (!routing.hedgeEnabled() || endpoints.size() < 2) {
+            return Long.MAX_VALUE;
+        }
+        long p95 = endpoint.latencyPercentileMillis(95);
+        if (p95 < 0) {
+            return routing.hedgeMaxDelayMillis();
+        }
+        return Math.max(routing.hedgeMinDelayMillis(), Math.min(routing.hedgeMaxDelayMillis(), p95));
+    }
+
+    private CompletableFuture<byte[]> post(RpcEndpoint endpoint, RequestContext context, String payload) {
+        okhttp3.Request httpRequest = new okhttp3.Request.Builder()
+            .url(endpoint.getUrl())
+            .post(RequestBody.create(payload, JSON_MEDIA_TYPE))
+            .build();
+        Call call = httpClient.newCall(httpRequest);
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        long startedAt = System.nanoTime();
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException e) {
+                boolean cancelled = failedCall.isCanceled();
+                if (cancelled) {
+                    endpoint.releaseProbe();
+                } else {
+                    endpoint.recordFailure();
+                }
+                recordAttempt(endpoint, context, cancelled ? "cancelled" : "io_error", startedAt);
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call completedCall, okhttp3.Response response) {
+                try (response) {
+                    ResponseBody body = response.body();
+                    if (!response.isSuccessful() || body == null) {
+                        endpoint.recordFailure();
+                        recordAttempt(endpoint, context, "http_" + response.code(), startedAt);
+                        result.completeExceptionally(new IOException(
+                            "Invalid response from " + endpoint.getName() + ": HTTP " + response.code()));
+                        return;
+                    }
+                    byte[] bytes = body.bytes();
+                    endpoint.recordSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                    recordAttempt(endpoint, context, "success", startedAt);
+                    result.complete(bytes);
+                } catch (IOException e) {
+                    boolean cancelled = completedCall.isCanceled();
+                    if (cancelled) {
+                        endpoint.releaseProbe();
+                    } else {
+                        endpoint.recordFailure();
+                    }
+                    recordAttempt(endpoint, context, cancelled ? "cancelled" : "io_error", startedAt);
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+
+        result.whenComplete((bytes, error) -> {
+            if (result.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Completes with the first successful attempt, or exceptionally once both have failed
+     */
+    private static CompletableFuture<byte[]> firstSuccessful(CompletableFuture<byte[]> a, CompletableFuture<byte[]> b) {
+        CompletableFuture<byte[]> winner = new CompletableFuture<>();
+        a.whenComplete((bytes, error) -> {
+            if (error == null) {
+                winner.complete(bytes);
+            } else if (b.isCompletedExceptionally()) {
+                winner.completeExceptionally(error);
+            }
+        });
+        b.whenComplete((bytes, error) -> {
+            if (error == null) {
+                winner.complete(bytes);
+            } else if (a.isCompletedExceptionally()) {
+                winner.completeExceptionally(error);
+            }
+        });
+        return winner;
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw asIOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IOException("Interrupted while waiting for zkSync RPC response", e);
+        }
+    }
+
+    private static IOException asIOException(Throwable cause) {
+        return cause instanceof IOException io ? io : new IOException(cause);
+    }
+
+    /**
+     * Explicit priority of the calling thread (e.g. BACKGROUND for scheduled jobs),
+     * otherwise user-facing write or read by method
+     */
+    private static RpcPriorityType priorityOf(boolean write) {
+        RpcPriorityType priority = RpcRateLimiter.currentPriority();
+        if (priority != null) {
+            return priority;
+        }
+        return write ? RpcPriorityType.USER_WRITE : RpcPriorityType.USER_READ;
+    }
+
+    private void acquirePermit(String method) throws IOException {
+        try {
+            if (!inFlightPermits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                meterRegistry.counter(METRIC_REQUESTS + ".rejected", "method", method).increment();
+                log.warn("zkSync RPC in-flight limit ({}) reached, rejecting {}", maxInFlight, method);
+                throw new IOException("zkSync RPC in-flight limit reached for " + method);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for zkSync RPC permit", e);
+        }
+    }
+
+    /**
+     * End-to-end latency of a JSON-RPC call as seen by the calling service (including hedging/failover)
+     */
+    private Timer requestTimer(String method, String outcome, RpcPriorityType priority, String caller) {
+        return Timer.builder(METRIC_REQUESTS)
+            .description("zkSync JSON-RPC request latency")
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .tag("priority", ChainMetrics.priorityTag(priority))
+            .tag("caller", ChainMetrics.callerTag(caller))
+            .register(meterRegistry);
+    }
+
+    /**
+     * One HTTP round trip to one endpoint
+     */
+    private void recordAttempt(RpcEndpoint endpoint, RequestContext context, String outcome, long startedAt) {
+        Timer.builder(METRIC_ATTEMPTS)
+            .description("zkSync JSON-RPC HTTP attempts per endpoint")
+            .tag("method", context.method())
+            .tag("endpoint", endpoint.getName())
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The OkHttp client is a shared bean; Spring owns its lifecycle
+    }
+
+    private record RequestContext(String method, boolean primaryOnly) {
+    }
+
+    /**
+     * Endpoint routing settings
+     * @param hedgeEnabled Send a second read to another endpoint when the first is slow
+     * @param hedgeMinDelayMillis Lower bound of the p95-based hedge delay
+     * @param hedgeMaxDelayMillis Upper bound (also used until enough latency samples exist)
+     * @param failureThreshold Consecutive transport failures that open an endpoint's circuit
+     * @param openMillis How long an opened circuit stays open before a probe is allowed
+     */
+    public record Routing(boolean hedgeEnabled,
+                          long hedgeMinDelayMillis,
+                          long hedgeMaxDelayMillis,
+                          int failureThreshold,
+                          long openMillis) {
+    }
+}
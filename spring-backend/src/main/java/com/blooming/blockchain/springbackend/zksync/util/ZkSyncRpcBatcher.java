@@ -0,0 +1,272 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import com.blooming.blockchain.springbackend.global.enums.RpcPriorityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JSON-RPC batch coalescer for zkSync read calls
+ * Read requests submitted within a short window are sent together as one
+ * JSON-RPC batch array and each response is routed back to its own future.
+ * Methods that are not safe to batch are passed straight through.
+ * Sends run on the batcher's own virtual threads, never on BlockchainExecutor:
+ * executor tasks wait on these futures, so sharing its permits could deadlock.
+ * Concurrency is still bounded by RpcRateLimiter and the transport's in-flight limit.
+ */
+@Component
+@Slf4j
+public class ZkSyncRpcBatcher {
+
+    private static final Set<String> BATCHABLE_METHODS = Set.of(
+        "eth_getBalance",
+        "eth_call",
+        "eth_getTransactionReceipt",
+        "eth_getTransactionCount"
+    );
+
+    private static final String MIXED_CALLER = "mixed";
+
+    private final Web3j web3j;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSizeSummary;
+    private final ConcurrentLinkedQueue<PendingCall<?>> pendingCalls = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService flushScheduler;
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("zksync-rpc-send-", 0).factory());
+
+    @Value("${app.zksync.rpc.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.zksync.rpc.batch.window-ms:5}")
+    private long windowMs;
+
+    @Value("${app.zksync.rpc.batch.max-size:50}")
+    private int maxBatchSize;
+
+    public ZkSyncRpcBatcher(Web3j web3j, MeterRegistry meterRegistry) {
+        this.web3j = web3j;
+        this.meterRegistry = meterRegistry;
+        this.batchSizeSummary = DistributionSummary.builder("zksync.rpc.batch.size")
+            .description("Number of JSON-RPC calls coalesced into one batch")
+            .register(meterRegistry);
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "zksync-rpc-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submit a JSON-RPC request, coalescing it with other reads when possible
+     * @param request Web3j request (e.g. web3j.ethGetBalance(...))
+     * @return future completed with the typed response of this request
+     */
+    public <T extends Response<?>> CompletableFuture<T> submit(Request<?, T> request) {
+        // Counted per submitter here - the HTTP timer only sees the batch as a whole
+        RpcPriorityType priority = RpcRateLimiter.currentPriority();
+        String caller = RpcRateLimiter.currentCaller();
+        Counter.builder("zksync.rpc.submitted")
+            .description("JSON-RPC calls submitted through the batcher")
+            .tag("method", request.getMethod())
+            .tag("priority", ChainMetrics.priorityTag(priority))
+            .tag("caller", ChainMetrics.callerTag(caller))
+            .register(meterRegistry)
+            .increment();
+
+        if (!enabled || !BATCHABLE_METHODS.contains(request.getMethod())) {
+            return sendAsync(priority, caller, request::send);
+        }
+
+        PendingCall<T> call = new PendingCall<>(request, new CompletableFuture<>(), priority, caller);
+        pendingCalls.add(call);
+
+        if (pendingCount.incrementAndGet() >= maxBatchSize) {
+            flushScheduler.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            flushScheduler.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+        }
+
+        return call.future();
+    }
+
+    /**
+     * Drain queued calls into batches of at most maxBatchSize and send them
+     */
+    private void flush() {
+        flushScheduled.set(false);
+
+        while (!pendingCalls.isEmpty()) {
+            List<PendingCall<?>> drained = new ArrayList<>(Math.min(pendingCount.get(), maxBatchSize));
+            PendingCall<?> call;
+            while (drained.size() < maxBatchSize && (call = pendingCalls.poll()) != null) {
+                drained.add(call);
+            }
+            if (drained.isEmpty()) {
+                return;
+            }
+            pendingCount.addAndGet(-drained.size());
+            dispatch(drained);
+        }
+    }
+
+    private void dispatch(List<PendingCall<?>> calls) {
+        batchSizeSummary.record(calls.size());
+
+        if (calls.size() == 1) {
+            PendingCall<?> call = calls.get(0);
+            sendAsync(call.priority(), call.caller(), () -> call.request().send())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        call.future().completeExceptionally(error);
+                    } else {
+                        call.complete(response);
+                    }
+                });
+            return;
+        }
+
+        BatchRequest batch = web3j.newBatch();
+        for (PendingCall<?> call : calls) {
+            batch.add(call.request());
+        }
+
+        log.debug("Sending zkSync JSON-RPC batch of {} calls", calls.size());
+        sendAsync(highestPriority(calls), commonCaller(calls), batch::send).whenComplete((batchResponse, error) -> {
+            if (error != null || batchResponse == null) {
+                log.warn("zkSync JSON-RPC batch of {} calls failed: {}", calls.size(),
+                    error != null ? error.getMessage() : "empty response");
+                calls.forEach(c -> c.future().completeExceptionally(
+                    error != null ? error : new IllegalStateException("Empty JSON-RPC batch response")));
+                return;
+            }
+            routeResponses(calls, batchResponse);
+        });
+    }
+
+    /**
+     * Match batch responses to their requests by JSON-RPC id, since servers
+     * are not required to preserve array order
+     * Array position is only trusted for responses whose id matches no request,
+     * so a missing response never receives another call's result
+     */
+    private void routeResponses(List<PendingCall<?>> calls, BatchResponse batchResponse) {
+        List<? extends Response<?>> responses = batchResponse.getResponses();
+        Map<Long, Response<?>> responsesById = new HashMap<>(responses.size() * 2);
+        for (Response<?> response : responses) {
+            if (response != null) {
+                responsesById.put(response.getId(), response);
+            }
+        }
+        Set<Long> requestIds = new HashSet<>(calls.size() * 2);
+        for (PendingCall<?> call : calls) {
+            requestIds.add(call.request().getId());
+        }
+
+        for (int i = 0; i < calls.size(); i++) {
+            PendingCall<?> call = calls.get(i);
+            Response<?> response = responsesById.get(call.request().getId());
+            Response<?> positional = i < responses.size() ? responses.get(i) : null;
+            if (response == null && positional != null && !requestIds.contains(positional.getId())) {
+                response = positional;
+            }
+            call.complete(response);
+        }
+    }
+
+    /**
+     * A batch is rate limited in the lane of its most urgent call; null leaves it to the transport
+     */
+    private static RpcPriorityType highestPriority(List<PendingCall<?>> calls) {
+        RpcPriorityType highest = null;
+        for (PendingCall<?> call : calls) {
+            RpcPriorityType priority = call.priority();
+            if (priority != null && (highest == null || priority.ordinal() < highest.ordinal())) {
+                highest = priority;
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * Caller tag of a batch: the submitters' caller if they all share one, otherwise "mixed"
+     */
+    private static String commonCaller(List<PendingCall<?>> calls) {
+        String caller = calls.get(0).caller();
+        for (PendingCall<?> call : calls) {
+            if (!Objects.equals(caller, call.caller())) {
+                return MIXED_CALLER;
+            }
+        }
+        return caller;
+    }
+
+    /**
+     * Send on the batcher's own threads under the submitter's RPC priority and caller
+     * (the flush thread itself has neither)
+     */
+    private <R> CompletableFuture<R> sendAsync(RpcPriorityType priority, String caller, Callable<R> send) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        sender.execute(() -> RpcRateLimiter.runWithPriority(priority, caller, () -> {
+            try {
+                result.complete(send.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }));
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+        sender.shutdown();
+    }
+
+    private record PendingCall<T extends Response<?>>(Request<?, T> request,
+                                                      CompletableFuture<T> future,
+                                                      RpcPriorityType priority,
+                                                      String caller) {
+
+        void complete(Response<?> response) {
+            if (response == null) {
+                future.completeExceptionally(
+                    new IllegalStateException("No response in batch for " + request.getMethod()));
+                return;
+            }
+            try {
+                future.complete(request.getResponseType().cast(response));
+            } catch (ClassCastException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
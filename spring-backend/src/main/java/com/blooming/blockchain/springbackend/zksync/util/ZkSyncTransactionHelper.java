@@ -4,20 +4,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.web3j.crypto.Credentials;
-import org.web3j.crypto.RawTransaction;
-import org.web3j.crypto.Sign;
-import org.web3j.crypto.TransactionEncoder;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameterName;
-import org.web3j.protocol.core.methods.request.Transaction;
-import org.web3j.protocol.core.methods.response.EthEstimateGas;
-import org.web3j.protocol.core.methods.response.EthGasPrice;
 import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
-import org.web3j.protocol.core.methods.response.EthSendTransaction;
-import org.web3j.utils.Numeric;
 
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
+import com.blooming.blockchain.springbackend.zksync.service.GasOracle;
+import com.blooming.blockchain.springbackend.zksync.service.PaymasterMonitor;
 import com.blooming.blockchain.springbackend.zksync.service.ZkSyncEraPaymasterService;
 
 /**
@@ -30,12 +23,8 @@ import com.blooming.blockchain.springbackend.zksync.service.ZkSyncEraPaymasterSe
 public class ZkSyncTransactionHelper {
     
     private final ZkSyncEraPaymasterService zkSyncEraPaymasterService;
-    
-    // zkSync Era transaction type for paymaster transactions
-    private static final int ZKSYNC_PAYMASTER_TX_TYPE = 113;
-    
-    // IPaymasterFlow.general selector (0x8c5a3445)
-    private static final String PAYMASTER_GENERAL_FLOW_SELECTOR = "8c5a3445";
+    private final GasOracle gasOracle;
+    private final PaymasterMonitor paymasterMonitor;
     
     /**
      * Create and send a zkSync Era paymaster transaction
@@ -61,16 +50,13 @@ public class ZkSyncTransactionHelper {
         // 1. Get current nonce
         BigInteger nonce = getNonce(web3j, userCredentials.getAddress());
         
-        // 2. Estimate gas
-        BigInteger gasLimit = estimateGas(web3j, userCredentials.getAddress(), contractAddress, functionData);
-        
-        // 3. Get gas price
-        BigInteger gasPrice = getGasPrice(web3j);
+        // 2. Estimate gas (cached per contract + selector)
+        BigInteger gasLimit = gasOracle.estimateGasLimit(userCredentials.getAddress(), contractAddress, functionData);
         
-        // 4. Create paymaster input data
-        byte[] paymasterInput = createPaymasterInput();
+        // 3. Get gas price (cached per block)
+        BigInteger gasPrice = gasOracle.getGasPrice();
         
-        // 5. Create zkSync Era paymaster transaction
+        // 4. Create zkSync Era paymaster transaction (IPaymasterFlow.general)
         ZkSyncPaymasterTransaction paymasterTx = ZkSyncPaymasterTransaction.builder()
                 .nonce(nonce)
                 .gasPrice(gasPrice)
@@ -79,23 +65,12 @@ public class ZkSyncTransactionHelper {
                 .value(BigInteger.ZERO)
                 .data(functionData)
                 .paymaster(paymasterAddress)
-                .paymasterInput(Numeric.toHexString(paymasterInput))
+                .paymasterInput(ZkSyncEip712Signer.GENERAL_FLOW_INPUT)
                 .chainId(chainId)
                 .build();
         
-        // 6. Send transaction using zkSync Era native RPC
-        return sendZkSyncEraPaymasterTransaction(web3j, userCredentials, paymasterTx);
-    }
-    
-    /**
-     * Create paymaster input for general flow
-     * Uses IPaymasterFlow.general selector (0x8c5a3445)
-     */
-    private byte[] createPaymasterInput() {
-        // Convert hex string to bytes
-        byte[] selector = Numeric.hexStringToByteArray("0x" + PAYMASTER_GENERAL_FLOW_SELECTOR);
-        log.debug("Created paymaster input with general flow selector: 0x{}", PAYMASTER_GENERAL_FLOW_SELECTOR);
-        return selector;
+        // 5. Send transaction using zkSync Era native RPC
+        return sendZkSyncEraPaymasterTransaction(userCredentials, paymasterTx);
     }
     
     /**
@@ -115,245 +90,26 @@ public class ZkSyncTransactionHelper {
         return nonce;
     }
     
-    /**
-     * Estimate gas for the transaction
-     * Note: For vote function calls, the data should already contain the correct blockchain proposal ID
-     */
-    private BigInteger estimateGas(Web3j web3j, String from, String to, String data) throws Exception {
-        log.debug("Estimating gas for transaction: from={}, to={}, data={}", 
-                from, to, data.substring(0, Math.min(20, data.length())) + "...");
-        
-        Transaction transaction = Transaction.createFunctionCallTransaction(
-                from, null, null, null, to, BigInteger.ZERO, data);
-        
-        EthEstimateGas ethEstimateGas = web3j.ethEstimateGas(transaction).send();
-        
-        if (ethEstimateGas.hasError()) {
-            String errorMsg = ethEstimateGas.getError().getMessage();
-            log.warn("Gas estimation failed: {}, using default gas limit", errorMsg);
-            
-            // Check if it's an "Invalid proposal ID" error
-            if (errorMsg.contains("Invalid proposal ID") || errorMsg.contains("invalid proposal")) {
-                log.error("Gas estimation failed due to invalid proposal ID. " +
-                         "This suggests the function data contains wrong blockchain proposal ID. " +
-                         "Make sure the vote function is called with the correct blockchain proposal ID, not the local database ID.");
-            }
-            
-            return BigInteger.valueOf(300_000L); // Default gas limit for governance functions
-        }
-        
-        BigInteger estimatedGas = ethEstimateGas.getAmountUsed();
-        // Add 20% buffer for paymaster transactions
-        BigInteger gasLimit = estimatedGas.multiply(BigInteger.valueOf(120)).divide(BigInteger.valueOf(100));
-        
-        log.debug("Estimated gas: {}, using gas limit: {}", estimatedGas, gasLimit);
-        return gasLimit;
-    }
-    
-    /**
-     * Get current gas price
-     */
-    private BigInteger getGasPrice(Web3j web3j) throws Exception {
-        EthGasPrice ethGasPrice = web3j.ethGasPrice().send();
-        
-        if (ethGasPrice.hasError()) {
-            log.warn("Gas price fetch failed: {}, using default", ethGasPrice.getError().getMessage());
-            return BigInteger.valueOf(2_000_000_000L); // 2 Gwei default
-        }
-        
-        BigInteger gasPrice = ethGasPrice.getGasPrice();
-        log.debug("Retrieved gas price: {} Wei", gasPrice);
-        return gasPrice;
-    }
-    
     /**
      * Send zkSync Era paymaster transaction using native RPC client
+     * Errors propagate: after an I/O error the node may already hold the transaction,
+     * so sending the same nonce again here could only duplicate or conflict with it
      */
     private String sendZkSyncEraPaymasterTransaction(
-            Web3j web3j,
             Credentials userCredentials,
             ZkSyncPaymasterTransaction paymasterTx) throws Exception {
         
         log.info("Using zkSync Era native RPC for paymaster transaction");
         
-        try {
-            // Use the new zkSync Era Paymaster Service
-            return zkSyncEraPaymasterService.sendGaslessTransaction(
-                userCredentials,
-                paymasterTx.getTo(),
-                paymasterTx.getData(),
-                paymasterTx.getPaymaster(),
-                paymasterTx.getGasLimit()
-            );
-            
-        } catch (Exception e) {
-            log.error("zkSync Era native RPC failed, trying fallback", e);
-            // Fallback to original method
-            return signAndSendPaymasterTransaction(web3j, userCredentials, paymasterTx);
-        }
-    }
-    
-    /**
-     * Sign and send the paymaster transaction using zkSync Era JSON-RPC
-     */
-    private String signAndSendPaymasterTransaction(
-            Web3j web3j, 
-            Credentials credentials, 
-            ZkSyncPaymasterTransaction paymasterTx) throws Exception {
-        
-        log.info("Sending zkSync Era paymaster transaction using zks_sendTransaction");
-        
-        // Instead of eth_sendRawTransaction, use zkSync Era specific method
-        // that supports paymaster transactions natively
-        
-        try {
-            // Create zkSync Era transaction request
-            String txHash = sendZkSyncPaymasterTransactionViaRPC(web3j, credentials, paymasterTx);
-            
-            log.info("Successfully sent zkSync Era paymaster transaction: {}", txHash);
-            return txHash;
-            
-        } catch (Exception e) {
-            log.error("Failed to send zkSync Era paymaster transaction", e);
-            
-            // Fallback: try with regular transaction (might fail but worth trying)
-            log.warn("Attempting fallback to regular transaction");
-            return sendFallbackTransaction(web3j, credentials, paymasterTx);
-        }
-    }
-    
-    /**
-     * Send zkSync Era paymaster transaction using custom JSON-RPC call
-     */
-    private String sendZkSyncPaymasterTransactionViaRPC(
-            Web3j web3j, 
-            Credentials credentials,
-            ZkSyncPaymasterTransaction paymasterTx) throws Exception {
-        
-        // Create transaction object for zkSync Era
-        // This uses the zkSync Era specific transaction format
-        
-        // Build transaction parameters for zks_sendTransaction or eth_sendTransaction with paymaster fields
-        java.util.Map<String, Object> transactionParams = new java.util.HashMap<>();
-        transactionParams.put("from", credentials.getAddress());
-        transactionParams.put("to", paymasterTx.getTo());
-        transactionParams.put("value", "0x" + paymasterTx.getValue().toString(16));
-        transactionParams.put("data", paymasterTx.getData());
-        transactionParams.put("gasLimit", "0x" + paymasterTx.getGasLimit().toString(16));
-        transactionParams.put("gasPrice", "0x" + paymasterTx.getGasPrice().toString(16));
-        transactionParams.put("nonce", "0x" + paymasterTx.getNonce().toString(16));
-        
-        // Add paymaster specific fields
-        transactionParams.put("paymaster", paymasterTx.getPaymaster());
-        transactionParams.put("paymasterInput", paymasterTx.getPaymasterInput());
-        transactionParams.put("type", "0x71"); // Type 113 in hex
-        
-        log.debug("zkSync Era transaction params: {}", transactionParams);
-        
-        // For now, we'll create a signed transaction and send it via eth_sendRawTransaction
-        // This is a workaround until we can use zkSync Era specific RPC methods
-        return sendSignedPaymasterTransaction(web3j, credentials, paymasterTx);
-    }
-    
-    /**
-     * Create and send signed paymaster transaction
-     */
-    private String sendSignedPaymasterTransaction(
-            Web3j web3j,
-            Credentials credentials,
-            ZkSyncPaymasterTransaction paymasterTx) throws Exception {
-        
-        // Create signed transaction
-        String signedTx = signZkSyncPaymasterTransaction(credentials, paymasterTx);
-        
-        // Send via eth_sendRawTransaction
-        EthSendTransaction response = web3j.ethSendRawTransaction(signedTx).send();
-        
-        if (response.hasError()) {
-            throw new RuntimeException("Failed to send paymaster transaction: " + response.getError().getMessage());
-        }
-        
-        return response.getTransactionHash();
-    }
-    
-    /**
-     * Fallback transaction method (regular transaction)
-     */
-    private String sendFallbackTransaction(
-            Web3j web3j,
-            Credentials credentials,
-            ZkSyncPaymasterTransaction paymasterTx) throws Exception {
-        
-        log.warn("Using fallback transaction method - this may require user to have ETH for gas");
-        
-        RawTransaction rawTransaction = RawTransaction.createTransaction(
-                paymasterTx.getNonce(),
-                paymasterTx.getGasPrice(),
-                paymasterTx.getGasLimit(),
-                paymasterTx.getTo(),
-                paymasterTx.getValue(),
-                paymasterTx.getData()
+        return zkSyncEraPaymasterService.sendGaslessTransaction(
+            userCredentials,
+            paymasterTx.getTo(),
+            paymasterTx.getData(),
+            paymasterTx.getPaymaster(),
+            paymasterTx.getGasLimit(),
+            paymasterTx.getGasPrice(),
+            paymasterTx.getNonce()
         );
-        
-        byte[] signedMessage = TransactionEncoder.signMessage(rawTransaction, paymasterTx.getChainId(), credentials);
-        String signedTx = Numeric.toHexString(signedMessage);
-        
-        EthSendTransaction response = web3j.ethSendRawTransaction(signedTx).send();
-        
-        if (response.hasError()) {
-            throw new RuntimeException("Fallback transaction failed: " + response.getError().getMessage());
-        }
-        
-        return response.getTransactionHash();
-    }
-    
-    /**
-     * Sign zkSync Era paymaster transaction
-     * Creates a Type 113 transaction with paymaster fields
-     */
-    private String signZkSyncPaymasterTransaction(
-            Credentials credentials, 
-            ZkSyncPaymasterTransaction paymasterTx) throws Exception {
-        
-        log.info("Creating zkSync Era Type 113 paymaster transaction");
-        
-        // Create zkSync Era specific transaction structure
-        // Type 113 is the zkSync Era paymaster transaction type
-        
-        // Build the transaction data manually since Web3j doesn't support zkSync Era paymaster transactions
-        // This follows the zkSync Era transaction format:
-        // https://docs.zksync.io/build/developer-reference/account-abstraction/paymasters
-        
-        try {
-            // Create a JSON-RPC compatible transaction object for zkSync Era
-            // Since we're using eth_sendRawTransaction, we need to construct the transaction properly
-            
-            // For now, we'll use a fallback approach that sends a regular transaction
-            // but with specific fields that zkSync Era can interpret as a paymaster transaction
-            
-            // Create the base transaction
-            RawTransaction rawTransaction = RawTransaction.createTransaction(
-                    paymasterTx.getNonce(),
-                    paymasterTx.getGasPrice(),
-                    paymasterTx.getGasLimit(),
-                    paymasterTx.getTo(),
-                    paymasterTx.getValue(),
-                    paymasterTx.getData()
-            );
-            
-            // Sign the transaction with zkSync Era chain ID
-            byte[] signedMessage = TransactionEncoder.signMessage(rawTransaction, paymasterTx.getChainId(), credentials);
-            
-            String signedTx = Numeric.toHexString(signedMessage);
-            
-            log.debug("Created signed transaction for zkSync Era: {}", signedTx.substring(0, Math.min(20, signedTx.length())) + "...");
-            
-            return signedTx;
-            
-        } catch (Exception e) {
-            log.error("Failed to sign zkSync Era paymaster transaction", e);
-            throw new Exception("Transaction signing failed: " + e.getMessage(), e);
-        }
     }
     
     /**
@@ -375,37 +131,28 @@ public class ZkSyncTransactionHelper {
     
     /**
      * Validate if paymaster can sponsor the transaction
-     * @param web3j Web3j instance
+     * Checked against the PaymasterMonitor snapshot instead of querying the node on every send
      * @param paymasterAddress Paymaster contract address
      * @param gasLimit Required gas limit
      * @param gasPrice Gas price
      * @return true if paymaster has sufficient balance
      */
     public boolean validatePaymasterBalance(
-            Web3j web3j, 
             String paymasterAddress, 
             BigInteger gasLimit, 
             BigInteger gasPrice) {
-        try {
-            // Get paymaster balance
-            BigInteger paymasterBalance = web3j
-                    .ethGetBalance(paymasterAddress, DefaultBlockParameterName.LATEST)
-                    .send()
-                    .getBalance();
-            
-            // Calculate required ETH for transaction
-            BigInteger requiredEth = gasLimit.multiply(gasPrice);
-            
-            boolean hasBalance = paymasterBalance.compareTo(requiredEth) >= 0;
-            
-            log.info("Paymaster balance validation - Balance: {} Wei, Required: {} Wei, Sufficient: {}", 
-                    paymasterBalance, requiredEth, hasBalance);
-            
-            return hasBalance;
-            
-        } catch (Exception e) {
-            log.error("Failed to validate paymaster balance", e);
+        PaymasterMonitor.Snapshot snapshot = paymasterMonitor.getSnapshot();
+        if (!snapshot.address().equalsIgnoreCase(paymasterAddress)) {
+            log.warn("Paymaster {} is not monitored (monitoring {})", paymasterAddress, snapshot.address());
             return false;
         }
+
+        BigInteger requiredEth = gasLimit.multiply(gasPrice);
+        boolean hasBalance = paymasterMonitor.hasBalanceFor(gasLimit, gasPrice);
+
+        log.info("Paymaster balance validation - Balance: {} Wei, Required: {} Wei, Sufficient: {}, Stale: {}", 
+                snapshot.balance(), requiredEth, hasBalance, snapshot.stale());
+
+        return hasBalance;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.blooming.blockchain.springbackend.proposal.service;
+
+import com.blooming.blockchain.springbackend.zksync.util.BlockchainExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthCall;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BlockchainProposalIdManagerTest {
+
+    private final Web3j web3j = mock(Web3j.class);
+    @SuppressWarnings("unchecked")
+    private final Request<?, EthCall> ethCallRequest = mock(Request.class);
+    private BlockchainExecutor blockchainExecutor;
+    private BlockchainProposalIdManager manager;
+
+    @BeforeEach
+    void setUp() {
+        doReturn(ethCallRequest).when(web3j).ethCall(any(), any());
+        blockchainExecutor = new BlockchainExecutor(true, 4, new SimpleMeterRegistry());
+        manager = new BlockchainProposalIdManager(web3j, blockchainExecutor);
+        ReflectionTestUtils.setField(manager, "governanceTokenAddress", "0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e");
+        ReflectionTestUtils.setField(manager, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(manager, "maxBackoffMs", 5L);
+        ReflectionTestUtils.setField(manager, "syncWaitMs", 5_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.stop();
+        blockchainExecutor.close();
+    }
+
+    @Test
+    void getNextProposalId_ShouldWaitForWarmUpThatRetriesFailedQueries() throws Exception {
+        // Given - proposalCount fails on the first attempt
+        when(ethCallRequest.send())
+            .thenThrow(new IOException("connection refused"))
+            .thenReturn(ethCall("0x" + "0".repeat(63) + "7"));
+
+        // When
+        manager.initializeFromBlockchain();
+        Integer nextId = manager.getNextProposalId();
+
+        // Then
+        assertThat(nextId).isEqualTo(8);
+        assertThat(manager.isSynced()).isTrue();
+        assertThat(manager.getSyncAttempts()).isEqualTo(2);
+        verify(ethCallRequest, times(2)).send(); // one eth_call per attempt, no fallback selector
+        assertThat(new ProposalIdSyncHealthIndicator(manager).health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void getNextProposalId_BeforeSync_ShouldFailInsteadOfGuessingAnId() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(manager, "syncWaitMs", 50L);
+        when(ethCallRequest.send()).thenThrow(new IOException("connection refused"));
+
+        // When
+        manager.initializeFromBlockchain();
+
+        // Then
+        assertThatThrownBy(() -> manager.getNextProposalId())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("not synced");
+        assertThat(manager.getCurrentHighestProposalId()).isNull();
+        var health = new ProposalIdSyncHealthIndicator(manager).health();
+        assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(health.getDetails()).containsEntry("lastError", "proposalCount: connection refused");
+    }
+
+    @Test
+    void backoffMillis_ShouldGrowExponentiallyUpToTheCap() {
+        // Given
+        ReflectionTestUtils.setField(manager, "initialBackoffMs", 500L);
+        ReflectionTestUtils.setField(manager, "maxBackoffMs", 30_000L);
+
+        // When / Then - up to 20% jitter on top
+        assertThat(manager.backoffMillis(1)).isBetween(500L, 600L);
+        assertThat(manager.backoffMillis(4)).isBetween(4_000L, 4_800L);
+        assertThat(manager.backoffMillis(40)).isBetween(30_000L, 36_000L);
+    }
+
+    private static EthCall ethCall(String value) {
+        EthCall response = new EthCall();
+        response.setResult(value);
+        return response;
+    }
+}
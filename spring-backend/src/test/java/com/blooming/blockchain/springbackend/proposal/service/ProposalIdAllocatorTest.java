@@ -0,0 +1,181 @@
+package com.blooming.blockchain.springbackend.proposal.service;
+
+import com.blooming.blockchain.springbackend.global.enums.ProposalIdReservationStatusType;
+import com.blooming.blockchain.springbackend.proposal.entity.ProposalIdReservation;
+import com.blooming.blockchain.springbackend.proposal.repository.ProposalIdReservationRepository;
+import com.blooming.blockchain.springbackend.zksync.dto.CreateProposalResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProposalIdAllocatorTest {
+
+    @Mock
+    private ProposalIdReservationRepository reservationRepository;
+
+    @Mock
+    private BlockchainProposalIdManager blockchainProposalIdManager;
+
+    @Mock
+    private SmartContractProposalService smartContractProposalService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProposalIdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new ProposalIdAllocator(reservationRepository, blockchainProposalIdManager,
+            smartContractProposalService, transactionManager);
+        ReflectionTestUtils.setField(allocator, "leaseMs", 300_000L);
+        ReflectionTestUtils.setField(allocator, "pendingTimeoutMs", 3_600_000L);
+    }
+
+    @Test
+    void reserve_ShouldSkipIdsHeldOrConfirmedByOtherNodes() {
+        // Given - another node confirmed 9 (contract assigned 9) and still holds a live lease on 10
+        when(blockchainProposalIdManager.getSyncedHighestProposalId()).thenReturn(7);
+        when(reservationRepository.findMaxChainProposalId(ProposalIdReservationStatusType.CONFIRMED)).thenReturn(9);
+        when(reservationRepository.findById(10)).thenReturn(Optional.of(reservation(10,
+            ProposalIdReservationStatusType.RESERVED, LocalDateTime.now().plusMinutes(5))));
+        when(reservationRepository.findById(11)).thenReturn(Optional.empty());
+        when(reservationRepository.insertReservation(eq(11), anyString(), any(), any())).thenReturn(1);
+
+        // When
+        Integer reserved = allocator.reserve();
+
+        // Then
+        assertThat(reserved).isEqualTo(11);
+        verify(reservationRepository, never()).takeOver(eq(10), anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void reserve_ShouldTakeOverAbandonedReservation() {
+        // Given
+        when(blockchainProposalIdManager.getSyncedHighestProposalId()).thenReturn(7);
+        when(reservationRepository.findById(8)).thenReturn(Optional.of(reservation(8,
+            ProposalIdReservationStatusType.ABANDONED, LocalDateTime.now().minusMinutes(1))));
+        when(reservationRepository.takeOver(eq(8), anyString(), eq(ProposalIdReservationStatusType.RESERVED),
+            eq(ProposalIdReservationStatusType.ABANDONED), any(), any())).thenReturn(1);
+
+        // When
+        Integer reserved = allocator.reserve();
+
+        // Then
+        assertThat(reserved).isEqualTo(8);
+    }
+
+    @Test
+    void reserve_WhenAnotherNodeInsertsTheSameIdFirst_ShouldMoveToTheNextId() {
+        // Given
+        when(blockchainProposalIdManager.getSyncedHighestProposalId()).thenReturn(7);
+        when(reservationRepository.findById(8)).thenReturn(Optional.empty());
+        when(reservationRepository.insertReservation(eq(8), anyString(), any(), any()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key proposal_id = 8"));
+        when(reservationRepository.findById(9)).thenReturn(Optional.empty());
+        when(reservationRepository.insertReservation(eq(9), anyString(), any(), any())).thenReturn(1);
+
+        // When
+        Integer reserved = allocator.reserve();
+
+        // Then
+        assertThat(reserved).isEqualTo(9);
+    }
+
+    @Test
+    void markPending_ShouldKeepTheReservationWithItsTransaction() {
+        // Given
+        when(reservationRepository.markPending(eq(8), anyString(), eq("0xabc"), eq("timeout"),
+            eq(ProposalIdReservationStatusType.RESERVED), any())).thenReturn(1);
+
+        // When
+        allocator.markPending(8, "0xabc", "timeout");
+
+        // Then
+        verify(reservationRepository, never()).abandon(any(), anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void reconcile_WhenPendingTransactionWasMined_ShouldConfirmTheProposalCreatedId() {
+        // Given - the contract assigned 9 to the transaction sent for reservation 8
+        ProposalIdReservation pending = pendingReservation(8, "0xabc", LocalDateTime.now().minusMinutes(10));
+        when(reservationRepository.findByStatusAndTxHashIsNotNull(ProposalIdReservationStatusType.RESERVED))
+            .thenReturn(List.of(pending));
+        when(smartContractProposalService.findProposalCreation("0xabc")).thenReturn(CompletableFuture.completedFuture(
+            Optional.of(CreateProposalResult.builder().txHash("0xabc").proposalId(9).success(true).build())));
+
+        // When
+        allocator.reconcile();
+
+        // Then
+        verify(reservationRepository).confirm(eq(8), eq("1@other-node"), eq(9), eq("0xabc"),
+            eq(ProposalIdReservationStatusType.RESERVED), eq(ProposalIdReservationStatusType.CONFIRMED), any());
+        verify(reservationRepository, never()).abandon(any(), anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void reconcile_WhenPendingTransactionHasNoReceipt_ShouldOnlyAbandonItAfterThePendingTimeout() {
+        // Given
+        ProposalIdReservation recent = pendingReservation(8, "0xabc", LocalDateTime.now().minusMinutes(10));
+        ProposalIdReservation old = pendingReservation(9, "0xdef", LocalDateTime.now().minusHours(2));
+        when(reservationRepository.findByStatusAndTxHashIsNotNull(ProposalIdReservationStatusType.RESERVED))
+            .thenReturn(List.of(recent, old));
+        when(smartContractProposalService.findProposalCreation(anyString()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        // When
+        allocator.reconcile();
+
+        // Then
+        verify(reservationRepository).abandon(eq(9), eq("1@other-node"), anyString(),
+            eq(ProposalIdReservationStatusType.RESERVED), eq(ProposalIdReservationStatusType.ABANDONED), any());
+        verify(reservationRepository, never()).abandon(eq(8), anyString(), any(), any(), any(), any());
+        verify(reservationRepository, never()).confirm(any(), anyString(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void isReusable_ShouldOnlyAllowAbandonedOrExpiredReservations() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+
+        // When / Then
+        assertThat(reservation(1, ProposalIdReservationStatusType.RESERVED, now.plusSeconds(1)).isReusable(now)).isFalse();
+        assertThat(reservation(1, ProposalIdReservationStatusType.RESERVED, now.minusSeconds(1)).isReusable(now)).isTrue();
+        assertThat(reservation(1, ProposalIdReservationStatusType.ABANDONED, now.plusSeconds(1)).isReusable(now)).isTrue();
+        assertThat(reservation(1, ProposalIdReservationStatusType.CONFIRMED, now.minusSeconds(1)).isReusable(now)).isFalse();
+        assertThat(pendingReservation(1, "0xabc", now.minusMinutes(10)).isReusable(now)).isFalse();
+    }
+
+    private static ProposalIdReservation reservation(int proposalId, ProposalIdReservationStatusType status,
+                                                     LocalDateTime leaseExpiresAt) {
+        return new ProposalIdReservation(proposalId, status, "1@other-node", leaseExpiresAt);
+    }
+
+    // Sent but unconfirmed reservation whose lease has already expired
+    private static ProposalIdReservation pendingReservation(int proposalId, String txHash, LocalDateTime updatedAt) {
+        ProposalIdReservation reservation = reservation(proposalId, ProposalIdReservationStatusType.RESERVED, updatedAt);
+        ReflectionTestUtils.setField(reservation, "txHash", txHash);
+        ReflectionTestUtils.setField(reservation, "updatedAt", updatedAt);
+        return reservation;
+    }
+}
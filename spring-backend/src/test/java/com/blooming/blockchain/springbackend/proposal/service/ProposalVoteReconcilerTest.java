@@ -0,0 +1,116 @@
+package com.blooming.blockchain.springbackend.proposal.service;
+
+import com.blooming.blockchain.springbackend.proposal.entity.Proposal;
+import com.blooming.blockchain.springbackend.proposal.entity.ProposalVoteCount;
+import com.blooming.blockchain.springbackend.proposal.repository.ProposalRepository;
+import com.blooming.blockchain.springbackend.proposal.repository.ProposalVoteCountRepository;
+import com.blooming.blockchain.springbackend.zksync.service.GovernanceMulticallReader;
+import com.blooming.blockchain.springbackend.zksync.service.GovernanceMulticallReader.ProposalState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProposalVoteReconcilerTest {
+
+    @Mock
+    private ProposalRepository proposalRepository;
+
+    @Mock
+    private ProposalVoteCountRepository proposalVoteCountRepository;
+
+    @Mock
+    private GovernanceMulticallReader governanceMulticallReader;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProposalVoteReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new ProposalVoteReconciler(proposalRepository, proposalVoteCountRepository,
+            governanceMulticallReader, meterRegistry);
+        ReflectionTestUtils.setField(reconciler, "enabled", true);
+    }
+
+    @Test
+    void reconcile_ShouldReadAllActiveProposalsInOneMulticallAndCountDrift() {
+        // Given - 1 matches the chain, 2 is missing a vote, 3 is unknown to the contract
+        when(proposalRepository.findActiveProposals(any())).thenReturn(List.of(proposal(1), proposal(2), proposal(3)));
+        when(proposalVoteCountRepository.findByProposalIds(List.of(1, 2, 3))).thenReturn(List.of(
+            voteCount(1, 100, 50),
+            voteCount(2, 100, 0)));
+        when(governanceMulticallReader.getProposals(List.of(1, 2, 3))).thenReturn(CompletableFuture.completedFuture(Map.of(
+            1, state(100, 50),
+            2, state(100, 40))));
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        verify(governanceMulticallReader).getProposals(List.of(1, 2, 3));
+        assertThat(reconciler.getDriftedProposalCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("proposal.votes.drifted").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void reconcile_WhenChainReadFails_ShouldKeepThePreviousResult() {
+        // Given
+        when(proposalRepository.findActiveProposals(any())).thenReturn(List.of(proposal(1)));
+        when(governanceMulticallReader.getProposals(List.of(1)))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("rpc down")));
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        assertThat(reconciler.getDriftedProposalCount()).isZero();
+        verify(proposalVoteCountRepository, never()).findByProposalIds(any());
+    }
+
+    @Test
+    void reconcile_WhenDisabled_ShouldNotReadAnything() {
+        // Given
+        ReflectionTestUtils.setField(reconciler, "enabled", false);
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        verify(proposalRepository, never()).findActiveProposals(any());
+        verify(governanceMulticallReader, never()).getProposals(any());
+    }
+
+    private static Proposal proposal(int id) {
+        return Proposal.builder().id(id).build();
+    }
+
+    private static ProposalVoteCount voteCount(int proposalId, long forVotes, long againstVotes) {
+        return ProposalVoteCount.builder()
+            .proposalId(proposalId)
+            .forVotes(BigInteger.valueOf(forVotes))
+            .againstVotes(BigInteger.valueOf(againstVotes))
+            .build();
+    }
+
+    private static ProposalState state(long forVotes, long againstVotes) {
+        return new ProposalState("description", "0x00000000000000000000000000000000000000aa",
+            BigInteger.valueOf(forVotes), BigInteger.valueOf(againstVotes), BigInteger.ZERO, false, false, BigInteger.ZERO);
+    }
+}
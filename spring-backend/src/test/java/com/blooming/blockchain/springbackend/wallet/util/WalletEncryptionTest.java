@@ -0,0 +1,59 @@
+package com.blooming.blockchain.springbackend.wallet.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WalletEncryptionTest {
+
+    private static final String PRIVATE_KEY = "4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318";
+    private static final String WALLET = "0x2c7536E3605D9C16a7a3D7b1898e529396a65c23";
+
+    private WalletEncryption walletEncryption;
+
+    @BeforeEach
+    void setUp() {
+        walletEncryption = new WalletEncryption();
+        ReflectionTestUtils.setField(walletEncryption, "adminKey", "testAdminKey");
+        ReflectionTestUtils.setField(walletEncryption, "kekSalt", "testKekSalt");
+        walletEncryption.initKeyEncryptionKey();
+    }
+
+    @Test
+    void encryptPrivateKey_ShouldRoundTripThroughEnvelope() {
+        // When
+        String stored = walletEncryption.encryptPrivateKey(PRIVATE_KEY, WALLET);
+
+        // Then
+        assertThat(stored).startsWith(WalletEncryption.ENVELOPE_PREFIX);
+        assertThat(walletEncryption.needsMigration(stored)).isFalse();
+        assertThat(walletEncryption.decryptPrivateKey(stored, WALLET.toLowerCase())).isEqualTo(PRIVATE_KEY);
+    }
+
+    @Test
+    void decryptPrivateKey_ForAnotherWallet_ShouldFail() {
+        // Given
+        String stored = walletEncryption.encryptPrivateKey(PRIVATE_KEY, WALLET);
+
+        // When / Then
+        assertThatThrownBy(() -> walletEncryption.decryptPrivateKey(stored, "0x0000000000000000000000000000000000000001"))
+            .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void decryptPrivateKey_WithLegacyValue_ShouldDecryptAndNeedMigration() {
+        // Given
+        @SuppressWarnings("deprecation")
+        String legacy = walletEncryption.encryptPrivateKey(PRIVATE_KEY);
+
+        // When
+        String privateKey = walletEncryption.decryptPrivateKey(legacy, WALLET);
+
+        // Then
+        assertThat(privateKey).isEqualTo(PRIVATE_KEY);
+        assertThat(walletEncryption.needsMigration(legacy)).isTrue();
+    }
+}
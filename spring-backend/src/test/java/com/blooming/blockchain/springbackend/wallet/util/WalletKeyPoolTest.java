@@ -0,0 +1,65 @@
+package com.blooming.blockchain.springbackend.wallet.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.crypto.Credentials;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WalletKeyPoolTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WalletEncryption walletEncryption;
+    private WalletKeyPool walletKeyPool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        walletEncryption = new WalletEncryption();
+        ReflectionTestUtils.setField(walletEncryption, "adminKey", "testAdminKey");
+        ReflectionTestUtils.setField(walletEncryption, "kekSalt", "testKekSalt");
+        walletEncryption.initKeyEncryptionKey();
+        walletKeyPool = new WalletKeyPool(walletEncryption, meterRegistry, true, 4, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        walletKeyPool.shutdown();
+    }
+
+    @Test
+    void take_WhenPoolEmpty_ShouldGenerateOnDemandAndRefill() throws Exception {
+        // When
+        WalletKeyPool.PooledKey key = walletKeyPool.take();
+
+        // Then
+        String privateKey = walletEncryption.decryptPrivateKey(key.encryptedPrivateKey(), key.walletAddress());
+        assertThat(Credentials.create(privateKey).getAddress()).isEqualTo(key.walletAddress());
+        assertThat(meterRegistry.get("wallet.key-pool.misses").counter().count()).isEqualTo(1.0);
+
+        for (int i = 0; i < 200 && walletKeyPool.size() < 4; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(walletKeyPool.size()).isEqualTo(4);
+    }
+
+    @Test
+    void take_FromFilledPool_ShouldReturnDistinctKeys() throws Exception {
+        // Given
+        walletKeyPool.triggerRefill();
+        for (int i = 0; i < 200 && walletKeyPool.size() < 4; i++) {
+            Thread.sleep(10);
+        }
+
+        // When
+        WalletKeyPool.PooledKey first = walletKeyPool.take();
+        WalletKeyPool.PooledKey second = walletKeyPool.take();
+
+        // Then
+        assertThat(first.walletAddress()).isNotEqualTo(second.walletAddress());
+        assertThat(meterRegistry.get("wallet.key-pool.misses").counter().count()).isZero();
+    }
+}
@@ -0,0 +1,124 @@
+package com.blooming.blockchain.springbackend.zksync.cassette;
+
+import com.blooming.blockchain.springbackend.global.enums.CassetteLatencyType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CassetteReplayGatewayTest {
+
+    private static final String RECORDED_ADDRESS = "0x00000000000000000000000000000000000000aa";
+    private static final String OTHER_ADDRESS = "0x00000000000000000000000000000000000000bb";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void replay_ShouldServeRecordedResponsesInOrderAndKeepTheLast() throws Exception {
+        // Given
+        Path cassette = record(tempDir.resolve("block-number.cassette"));
+        Web3j web3j = Web3j.build(new CassetteReplayGateway(cassette, settings(false)));
+
+        // When
+        Request<?, EthBlockNumber> first = web3j.ethBlockNumber();
+        EthBlockNumber firstResponse = first.send();
+        BigInteger second = web3j.ethBlockNumber().send().getBlockNumber();
+        BigInteger third = web3j.ethBlockNumber().send().getBlockNumber();
+
+        // Then
+        assertThat(firstResponse.getId()).isEqualTo(first.getId());
+        assertThat(firstResponse.getBlockNumber()).isEqualTo(BigInteger.valueOf(100));
+        assertThat(second).isEqualTo(BigInteger.valueOf(101));
+        assertThat(third).isEqualTo(BigInteger.valueOf(101));
+    }
+
+    @Test
+    void replay_ShouldFallBackByMethodUnlessStrict() throws Exception {
+        // Given
+        Path cassette = record(tempDir.resolve("balance.cassette"));
+        CassetteReplayGateway lenient = new CassetteReplayGateway(cassette, settings(false));
+        CassetteReplayGateway strict = new CassetteReplayGateway(cassette, settings(true));
+
+        // When
+        EthGetBalance recorded = Web3j.build(lenient).ethGetBalance(RECORDED_ADDRESS, DefaultBlockParameterName.LATEST).send();
+        EthGetBalance fallback = Web3j.build(lenient).ethGetBalance(OTHER_ADDRESS, DefaultBlockParameterName.LATEST).send();
+
+        // Then
+        assertThat(recorded.getBalance()).isEqualTo(BigInteger.TEN);
+        assertThat(fallback.getBalance()).isEqualTo(BigInteger.TEN);
+        assertThat(lenient.getFallbackCount()).isEqualTo(1);
+        assertThatThrownBy(() -> Web3j.build(strict).ethGetBalance(OTHER_ADDRESS, DefaultBlockParameterName.LATEST).send())
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("no recorded response for eth_getBalance");
+    }
+
+    @Test
+    void replay_ShouldServeRecordedErrors() throws Exception {
+        // Given
+        Path cassette = record(tempDir.resolve("error.cassette"));
+
+        // When
+        var response = Web3j.build(new CassetteReplayGateway(cassette, settings(true))).ethChainId().send();
+
+        // Then
+        assertThat(response.hasError()).isTrue();
+        assertThat(response.getError().getCode()).isEqualTo(-32005);
+        assertThat(response.getError().getMessage()).isEqualTo("rate limited");
+    }
+
+    @Test
+    void index_ShouldIgnoreTruncatedLastEntry() throws Exception {
+        // Given - an interrupted recording ends in the middle of an entry
+        Path cassette = record(tempDir.resolve("truncated.cassette"));
+        Files.write(cassette, new byte[]{0, 0, 0, 1, 0, 0, 0, 40, 'e', 't', 'h'}, StandardOpenOption.APPEND);
+
+        // When
+        CassetteReplayGateway gateway = new CassetteReplayGateway(cassette, settings(true));
+
+        // Then
+        assertThat(gateway.getEntryCount()).isEqualTo(4);
+    }
+
+    @Test
+    void constructor_ShouldRejectFilesThatAreNotCassettes() throws Exception {
+        // Given
+        Path file = Files.writeString(tempDir.resolve("not-a.cassette"), "{\"result\":\"0x1\"}");
+
+        // When / Then
+        assertThatThrownBy(() -> new CassetteReplayGateway(file, settings(false)))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("is not a JSON-RPC cassette");
+    }
+
+    private static Path record(Path path) throws IOException {
+        try (CassetteWriter writer = new CassetteWriter(path)) {
+            writer.append("eth_blockNumber []", json("{\"result\":\"0x64\"}"), 1_000);
+            writer.append("eth_blockNumber []", json("{\"result\":\"0x65\"}"), 1_000);
+            writer.append("eth_getBalance [\"" + RECORDED_ADDRESS + "\",\"latest\"]", json("{\"result\":\"0xa\"}"), 2_000);
+            writer.append("eth_chainId []", json("{\"error\":{\"code\":-32005,\"message\":\"rate limited\"}}"), 500);
+        }
+        return path;
+    }
+
+    private static CassetteReplayGateway.Settings settings(boolean strict) {
+        return new CassetteReplayGateway.Settings(CassetteLatencyType.NONE, 0, 0, strict);
+    }
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,153 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.exception.BlockchainTransactionException;
+import com.blooming.blockchain.springbackend.global.enums.OutboxOperationType;
+import com.blooming.blockchain.springbackend.zksync.entity.BlockchainOutboxMessage;
+import com.blooming.blockchain.springbackend.zksync.util.ChainMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlockchainOutboxDispatcherTest {
+
+    private static final Long MESSAGE_ID = 7L;
+    private static final String TX_HASH = "0x" + "12".repeat(32);
+
+    @Mock
+    private BlockchainOutboxService blockchainOutboxService;
+
+    @Mock
+    private OutboxHandler outboxHandler;
+
+    @Mock
+    private ChainMetrics chainMetrics;
+
+    private BlockchainOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        when(outboxHandler.getOperationType()).thenReturn(OutboxOperationType.EXCHANGE_MINT);
+        dispatcher = new BlockchainOutboxDispatcher(blockchainOutboxService, List.of(outboxHandler), chainMetrics, 1);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxInFlight", 200);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "backoffBaseMs", 2_000L);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxMs", 300_000L);
+        ReflectionTestUtils.setField(dispatcher, "inFlightLeaseMs", 600_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatchBatch_WhenHandlerSucceeds_ShouldMarkCompleted() {
+        // Given
+        BlockchainOutboxMessage message = claimedMessage(1);
+        when(blockchainOutboxService.claimBatch(50)).thenReturn(List.of(message));
+        when(outboxHandler.dispatch(message)).thenReturn(CompletableFuture.completedFuture(TX_HASH));
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        verify(blockchainOutboxService, timeout(5_000)).markCompleted(MESSAGE_ID, TX_HASH);
+        verify(outboxHandler, timeout(5_000)).onCompleted(message);
+        verify(blockchainOutboxService, never()).markDeadLetter(anyLong(), anyString());
+    }
+
+    @Test
+    void dispatchBatch_WhenHandlerFailsTransiently_ShouldScheduleRetryWithBackoff() {
+        // Given - second attempt, so the backoff is base * 2
+        BlockchainOutboxMessage message = claimedMessage(2);
+        when(blockchainOutboxService.claimBatch(50)).thenReturn(List.of(message));
+        when(outboxHandler.dispatch(message))
+            .thenReturn(CompletableFuture.failedFuture(new IOException("connection reset")));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(blockchainOutboxService, timeout(5_000))
+            .scheduleRetry(eq(MESSAGE_ID), nextAttemptAt.capture(), contains("connection reset"));
+        assertThat(nextAttemptAt.getValue()).isAfterOrEqualTo(before.plusSeconds(4));
+        verify(chainMetrics).recordRetry("outbox", "exchange_mint");
+        verify(outboxHandler, never()).onDeadLetter(any(), any());
+    }
+
+    @Test
+    void dispatchBatch_WhenMintReverts_ShouldDeadLetterAndCompensateImmediately() {
+        // Given
+        BlockchainOutboxMessage message = claimedMessage(1);
+        BlockchainTransactionException reverted = new BlockchainTransactionException("Mint transaction reverted");
+        when(blockchainOutboxService.claimBatch(50)).thenReturn(List.of(message));
+        when(outboxHandler.dispatch(message)).thenReturn(CompletableFuture.failedFuture(reverted));
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        verify(blockchainOutboxService, timeout(5_000)).markDeadLetter(eq(MESSAGE_ID), contains("reverted"));
+        verify(outboxHandler, timeout(5_000)).onDeadLetter(message, reverted);
+        verify(blockchainOutboxService, never()).scheduleRetry(anyLong(), any(), anyString());
+    }
+
+    @Test
+    void dispatchBatch_WhenAttemptsAreExhausted_ShouldDeadLetter() {
+        // Given
+        BlockchainOutboxMessage message = claimedMessage(3);
+        IOException error = new IOException("connection reset");
+        when(blockchainOutboxService.claimBatch(50)).thenReturn(List.of(message));
+        when(outboxHandler.dispatch(message)).thenReturn(CompletableFuture.failedFuture(error));
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        verify(blockchainOutboxService, timeout(5_000)).markDeadLetter(eq(MESSAGE_ID), contains("connection reset"));
+        verify(outboxHandler, timeout(5_000)).onDeadLetter(message, error);
+        verify(blockchainOutboxService, never()).scheduleRetry(anyLong(), any(), anyString());
+    }
+
+    @Test
+    void backoffMillis_ShouldDoublePerAttemptUpToTheCap() {
+        // When / Then
+        assertThat(dispatcher.backoffMillis(1)).isEqualTo(2_000L);
+        assertThat(dispatcher.backoffMillis(2)).isEqualTo(4_000L);
+        assertThat(dispatcher.backoffMillis(4)).isEqualTo(16_000L);
+        assertThat(dispatcher.backoffMillis(30)).isEqualTo(300_000L);
+    }
+
+    private static BlockchainOutboxMessage claimedMessage(int attempts) {
+        BlockchainOutboxMessage message = new BlockchainOutboxMessage(OutboxOperationType.EXCHANGE_MINT, 42,
+            "google-123", "0x1111111111111111111111111111111111111111", "1000000000000000000", "Exchange");
+        message.setId(MESSAGE_ID);
+        message.setAttempts(attempts);
+        return message;
+    }
+}
@@ -0,0 +1,92 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.global.enums.OutboxOperationType;
+import com.blooming.blockchain.springbackend.global.enums.OutboxStatusType;
+import com.blooming.blockchain.springbackend.zksync.entity.BlockchainOutboxMessage;
+import com.blooming.blockchain.springbackend.zksync.repository.BlockchainOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlockchainOutboxServiceTest {
+
+    @Mock
+    private BlockchainOutboxRepository blockchainOutboxRepository;
+
+    private BlockchainOutboxService blockchainOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        blockchainOutboxService = new BlockchainOutboxService(blockchainOutboxRepository);
+    }
+
+    @Test
+    void claimBatch_ShouldOnlyReturnMessagesThisDispatcherClaimed() {
+        // Given - message 2 was claimed by another instance between the select and the update
+        when(blockchainOutboxRepository.findDueIds(eq(OutboxStatusType.PENDING), any(), eq(PageRequest.of(0, 10))))
+            .thenReturn(List.of(1L, 2L, 3L));
+        when(blockchainOutboxRepository.claim(eq(1L), eq(OutboxStatusType.PENDING), eq(OutboxStatusType.IN_FLIGHT), any()))
+            .thenReturn(1);
+        when(blockchainOutboxRepository.claim(eq(2L), eq(OutboxStatusType.PENDING), eq(OutboxStatusType.IN_FLIGHT), any()))
+            .thenReturn(0);
+        when(blockchainOutboxRepository.claim(eq(3L), eq(OutboxStatusType.PENDING), eq(OutboxStatusType.IN_FLIGHT), any()))
+            .thenReturn(1);
+        List<BlockchainOutboxMessage> claimed = List.of(message(1L), message(3L));
+        when(blockchainOutboxRepository.findAllById(List.of(1L, 3L))).thenReturn(claimed);
+
+        // When
+        List<BlockchainOutboxMessage> result = blockchainOutboxService.claimBatch(10);
+
+        // Then
+        assertThat(result).isEqualTo(claimed);
+    }
+
+    @Test
+    void claimBatch_WhenNothingIsClaimed_ShouldNotLoadMessages() {
+        // Given
+        when(blockchainOutboxRepository.findDueIds(eq(OutboxStatusType.PENDING), any(), any())).thenReturn(List.of(5L));
+        when(blockchainOutboxRepository.claim(eq(5L), any(), any(), any())).thenReturn(0);
+
+        // When
+        List<BlockchainOutboxMessage> result = blockchainOutboxService.claimBatch(10);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(blockchainOutboxRepository, never()).findAllById(anyList());
+    }
+
+    @Test
+    void claimBatch_WhenNothingIsDue_ShouldNotClaim() {
+        // Given
+        when(blockchainOutboxRepository.findDueIds(eq(OutboxStatusType.PENDING), any(), any())).thenReturn(List.of());
+
+        // When
+        List<BlockchainOutboxMessage> result = blockchainOutboxService.claimBatch(10);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(blockchainOutboxRepository, never()).claim(anyLong(), any(), any(), any());
+    }
+
+    private static BlockchainOutboxMessage message(Long id) {
+        BlockchainOutboxMessage message = new BlockchainOutboxMessage(OutboxOperationType.EXCHANGE_MINT, id.intValue(),
+            "google-123", "0x1111111111111111111111111111111111111111", "1000000000000000000", "Exchange");
+        message.setId(id);
+        return message;
+    }
+}
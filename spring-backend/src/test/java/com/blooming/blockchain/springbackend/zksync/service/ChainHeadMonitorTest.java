@@ -0,0 +1,108 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChainHeadMonitorTest {
+
+    @Mock
+    private Web3j web3j;
+
+    @Mock
+    private Request<?, EthBlockNumber> blockNumberRequest;
+
+    private ChainHeadMonitor chainHeadMonitor;
+
+    @BeforeEach
+    void setUp() {
+        chainHeadMonitor = new ChainHeadMonitor(web3j);
+        ReflectionTestUtils.setField(chainHeadMonitor, "pollIntervalMs", 1_000L);
+        ReflectionTestUtils.setField(chainHeadMonitor, "idleAfterMs", 60_000L);
+        ReflectionTestUtils.setField(chainHeadMonitor, "failureBackoffMs", 60_000L);
+    }
+
+    @Test
+    void getLatestBlock_AfterAFailedPoll_ShouldNotCallTheNodeAgainWithinTheBackoff() throws Exception {
+        // Given
+        doReturn(blockNumberRequest).when(web3j).ethBlockNumber();
+        when(blockNumberRequest.send()).thenThrow(new IOException("timeout"));
+
+        // When
+        BigInteger first = chainHeadMonitor.getLatestBlock();
+        BigInteger second = chainHeadMonitor.getLatestBlock();
+
+        // Then
+        assertThat(first).isEqualTo(BigInteger.valueOf(-1));
+        assertThat(second).isEqualTo(BigInteger.valueOf(-1));
+        verify(blockNumberRequest, times(1)).send();
+    }
+
+    @Test
+    void getLatestBlock_WhilePollInProgress_ShouldReturnTheCachedHeadInsteadOfWaiting() throws Exception {
+        // Given - a first successful poll, then a slow one that has gone stale
+        doReturn(blockNumberRequest).when(web3j).ethBlockNumber();
+        when(blockNumberRequest.send()).thenReturn(blockNumber(100));
+        assertThat(chainHeadMonitor.getLatestBlock()).isEqualTo(BigInteger.valueOf(100));
+        ReflectionTestUtils.setField(chainHeadMonitor, "lastPolledMillis", 0L);
+
+        CountDownLatch polling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(blockNumberRequest.send()).thenAnswer(invocation -> {
+            polling.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return blockNumber(101);
+        });
+        CompletableFuture<BigInteger> slowCaller = CompletableFuture.supplyAsync(chainHeadMonitor::getLatestBlock);
+        assertThat(polling.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        BigInteger concurrent = chainHeadMonitor.getLatestBlock();
+        release.countDown();
+
+        // Then
+        assertThat(concurrent).isEqualTo(BigInteger.valueOf(100));
+        assertThat(slowCaller.get(5, TimeUnit.SECONDS)).isEqualTo(BigInteger.valueOf(101));
+        verify(blockNumberRequest, times(2)).send();
+    }
+
+    @Test
+    void peekLatestBlock_ShouldNotKeepTheIdlePollerRunning() {
+        // Given - nobody asked for the head for longer than idle-after-ms
+        ReflectionTestUtils.setField(chainHeadMonitor, "lastAccessMillis", System.currentTimeMillis() - 120_000L);
+
+        // When - a background sampler reads the head, then the scheduled poll runs
+        BigInteger peeked = chainHeadMonitor.peekLatestBlock();
+        chainHeadMonitor.pollHead();
+
+        // Then
+        assertThat(peeked).isEqualTo(BigInteger.valueOf(-1));
+        verify(web3j, never()).ethBlockNumber();
+    }
+
+    private static EthBlockNumber blockNumber(long number) {
+        EthBlockNumber response = new EthBlockNumber();
+        response.setResult("0x" + Long.toHexString(number));
+        return response;
+    }
+}
@@ -0,0 +1,87 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.zksync.util.ChainMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GasOracleTest {
+
+    @Mock
+    private Web3j web3j;
+
+    @Mock
+    private ChainHeadMonitor chainHeadMonitor;
+
+    @Mock
+    private ChainMetrics chainMetrics;
+
+    @Mock
+    private Request<?, EthGasPrice> gasPriceRequest;
+
+    @InjectMocks
+    private GasOracle gasOracle;
+
+    @Test
+    void getGasPrice_WithinSameBlock_ShouldFetchOnce() throws Exception {
+        // Given
+        EthGasPrice response = new EthGasPrice();
+        response.setResult("0x3b9aca00"); // 1 Gwei
+        when(chainHeadMonitor.getLatestBlock()).thenReturn(BigInteger.valueOf(100));
+        doReturn(gasPriceRequest).when(web3j).ethGasPrice();
+        when(gasPriceRequest.send()).thenReturn(response);
+
+        // When
+        BigInteger first = gasOracle.getGasPrice();
+        BigInteger second = gasOracle.getGasPrice();
+
+        // Then
+        assertThat(first).isEqualTo(BigInteger.valueOf(1_000_000_000L));
+        assertThat(second).isEqualTo(first);
+        verify(gasPriceRequest, times(1)).send();
+    }
+
+    @Test
+    void getGasPrice_WhenNodeFailsWithoutHistory_ShouldUseDefaultAndCountFallback() throws Exception {
+        // Given
+        when(chainHeadMonitor.getLatestBlock()).thenReturn(BigInteger.valueOf(100));
+        doReturn(gasPriceRequest).when(web3j).ethGasPrice();
+        when(gasPriceRequest.send()).thenThrow(new IOException("connection reset"));
+
+        // When
+        BigInteger gasPrice = gasOracle.getGasPrice();
+
+        // Then
+        assertThat(gasPrice).isEqualTo(BigInteger.valueOf(2_000_000_000L));
+        verify(chainMetrics).recordFallback("gas_oracle", "gas_price_default");
+    }
+
+    @Test
+    void percentile_ShouldUseNearestRank() {
+        // Given
+        List<BigInteger> values = new ArrayList<>();
+        for (int i = 10; i >= 1; i--) {
+            values.add(BigInteger.valueOf(i * 100L));
+        }
+
+        // When & Then
+        assertThat(GasOracle.percentile(new ArrayList<>(values), 90)).isEqualTo(BigInteger.valueOf(900));
+        assertThat(GasOracle.percentile(new ArrayList<>(values), 50)).isEqualTo(BigInteger.valueOf(500));
+        assertThat(GasOracle.percentile(new ArrayList<>(values), 100)).isEqualTo(BigInteger.valueOf(1000));
+        assertThat(GasOracle.percentile(new ArrayList<>(), 90)).isNull();
+    }
+}
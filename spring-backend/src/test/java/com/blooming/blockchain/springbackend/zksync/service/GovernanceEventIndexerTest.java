@@ -0,0 +1,62 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.global.enums.GovernanceEventType;
+import com.blooming.blockchain.springbackend.zksync.entity.GovernanceEventLog;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceEventDecoder;
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GovernanceEventIndexerTest {
+
+    private static final String VOTER = "0x00000000000000000000000000000000000000aa";
+
+    @Test
+    void decode_VoteCast_ShouldExtractIndexedAndDataFields() {
+        // Given
+        Log logEntry = log(List.of(
+                GovernanceEventDecoder.topic(GovernanceEventType.VOTE_CAST),
+                Numeric.toHexStringWithPrefixZeroPadded(BigInteger.valueOf(7), 64),
+                Numeric.toHexStringWithPrefixZeroPadded(Numeric.toBigInt(VOTER), 64)),
+            "0x" + TypeEncoder.encode(new Bool(true)) + TypeEncoder.encode(new Uint256(BigInteger.TEN.pow(18))));
+
+        // When
+        GovernanceEventLog event = GovernanceEventIndexer.decode(logEntry);
+
+        // Then
+        assertThat(event).isNotNull();
+        assertThat(event.getEventType()).isEqualTo(GovernanceEventType.VOTE_CAST);
+        assertThat(event.getProposalId()).isEqualTo(7);
+        assertThat(event.getAccount()).isEqualTo(VOTER);
+        assertThat(event.getSupport()).isTrue();
+        assertThat(event.getAmountWei()).isEqualTo("1000000000000000000");
+        assertThat(event.getLogKey()).isEqualTo("0xabc:3");
+    }
+
+    @Test
+    void decode_UnknownTopic_ShouldReturnNull() {
+        // Given - ERC20 Transfer
+        Log logEntry = log(List.of("0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef"), "0x");
+
+        // When / Then
+        assertThat(GovernanceEventIndexer.decode(logEntry)).isNull();
+    }
+
+    private static Log log(List<String> topics, String data) {
+        Log logEntry = new Log();
+        logEntry.setTopics(topics);
+        logEntry.setData(data);
+        logEntry.setBlockNumber("0x64");
+        logEntry.setTransactionHash("0xabc");
+        logEntry.setLogIndex("0x3");
+        return logEntry;
+    }
+}
@@ -0,0 +1,108 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.zksync.util.ChainMetrics;
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncRpcBatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GovernanceMulticallReaderTest {
+
+    private static final String WALLET_A = "0x00000000000000000000000000000000000000aa";
+    private static final String WALLET_B = "0x00000000000000000000000000000000000000bb";
+
+    @Mock
+    private Web3j web3j;
+
+    @Mock
+    private ZkSyncRpcBatcher zkSyncRpcBatcher;
+
+    @Mock
+    private ChainMetrics chainMetrics;
+
+    private GovernanceMulticallReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = new GovernanceMulticallReader(web3j, zkSyncRpcBatcher, chainMetrics, "0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e");
+        ReflectionTestUtils.setField(reader, "enabled", true);
+        ReflectionTestUtils.setField(reader, "multicallAddress", "0xF9cda624FBC7e059355ce98a31693d299FACd963");
+        ReflectionTestUtils.setField(reader, "maxCallsPerMulticall", 200);
+        ReflectionTestUtils.setField(reader, "fallbackCooldownMs", 60_000L);
+    }
+
+    @Test
+    void getTokenBalances_ShouldDecodeAllResultsFromOneCall() {
+        // Given - second call reverted inside the multicall
+        String aggregateResult = FunctionEncoder.encodeConstructor(List.of(new DynamicArray<>(
+            GovernanceMulticallReader.Result.class,
+            List.of(
+                result(true, uint(BigInteger.TEN)),
+                result(false, new byte[0])
+            ))));
+        doReturn(CompletableFuture.completedFuture(ethCall("0x" + aggregateResult)))
+            .when(zkSyncRpcBatcher).submit(any());
+
+        // When
+        Map<String, BigInteger> balances = reader.getTokenBalances(List.of(WALLET_A, WALLET_B)).join();
+
+        // Then
+        assertThat(balances).containsOnlyKeys(WALLET_A);
+        assertThat(balances.get(WALLET_A)).isEqualTo(BigInteger.TEN);
+        verify(zkSyncRpcBatcher, times(1)).submit(any());
+    }
+
+    @Test
+    void getTokenBalances_WhenMulticallFails_ShouldFallBackToSingleCalls() {
+        // Given
+        EthCall failed = ethCall(null);
+        failed.setError(new Response.Error(-32000, "execution reverted"));
+        doReturn(CompletableFuture.completedFuture(failed))
+            .doReturn(CompletableFuture.completedFuture(ethCall(Numeric.toHexString(uint(BigInteger.ONE)))))
+            .doReturn(CompletableFuture.completedFuture(ethCall(Numeric.toHexString(uint(BigInteger.TWO)))))
+            .when(zkSyncRpcBatcher).submit(any());
+
+        // When
+        Map<String, BigInteger> balances = reader.getTokenBalances(List.of(WALLET_A, WALLET_B)).join();
+
+        // Then
+        assertThat(balances).containsEntry(WALLET_A, BigInteger.ONE).containsEntry(WALLET_B, BigInteger.TWO);
+        verify(zkSyncRpcBatcher, times(3)).submit(any());
+    }
+
+    private static GovernanceMulticallReader.Result result(boolean success, byte[] returnData) {
+        return new GovernanceMulticallReader.Result(new Bool(success), new DynamicBytes(returnData));
+    }
+
+    private static byte[] uint(BigInteger value) {
+        return Numeric.hexStringToByteArray(FunctionEncoder.encodeConstructor(List.of(new Uint256(value))));
+    }
+
+    private static EthCall ethCall(String value) {
+        EthCall response = new EthCall();
+        response.setResult(value);
+        return response;
+    }
+}
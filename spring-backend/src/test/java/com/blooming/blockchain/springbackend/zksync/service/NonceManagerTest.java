@@ -0,0 +1,164 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NonceManagerTest {
+
+    private static final String OWNER = "0x1111111111111111111111111111111111111111";
+
+    @Mock
+    private Web3j web3j;
+
+    @Mock
+    private Request<?, EthGetTransactionCount> countRequest;
+
+    private NonceManager nonceManager;
+
+    @BeforeEach
+    void setUp() {
+        nonceManager = new NonceManager(web3j);
+    }
+
+    private void givenPendingNonce(long... values) throws Exception {
+        doReturn(countRequest).when(web3j)
+            .ethGetTransactionCount(anyString(), eq(DefaultBlockParameterName.PENDING));
+        EthGetTransactionCount[] responses = new EthGetTransactionCount[values.length];
+        for (int i = 0; i < values.length; i++) {
+            EthGetTransactionCount response = new EthGetTransactionCount();
+            response.setResult("0x" + Long.toHexString(values[i]));
+            responses[i] = response;
+        }
+        if (responses.length == 1) {
+            when(countRequest.send()).thenReturn(responses[0]);
+        } else {
+            EthGetTransactionCount[] rest = Arrays.copyOfRange(responses, 1, responses.length);
+            when(countRequest.send()).thenReturn(responses[0], rest);
+        }
+    }
+
+    @Test
+    void acquireNonce_ShouldSyncOnceAndIncrementLocally() throws Exception {
+        // Given
+        givenPendingNonce(7);
+
+        // When
+        BigInteger first = nonceManager.acquireNonce(OWNER);
+        BigInteger second = nonceManager.acquireNonce(OWNER);
+        BigInteger third = nonceManager.acquireNonce(OWNER);
+
+        // Then
+        assertThat(first).isEqualTo(BigInteger.valueOf(7));
+        assertThat(second).isEqualTo(BigInteger.valueOf(8));
+        assertThat(third).isEqualTo(BigInteger.valueOf(9));
+        verify(countRequest, times(1)).send();
+    }
+
+    @Test
+    void releaseNonce_WhenHighest_ShouldRollBackCounter() throws Exception {
+        // Given
+        givenPendingNonce(0);
+        nonceManager.acquireNonce(OWNER);
+        BigInteger highest = nonceManager.acquireNonce(OWNER);
+
+        // When
+        nonceManager.releaseNonce(OWNER, highest);
+
+        // Then
+        assertThat(nonceManager.acquireNonce(OWNER)).isEqualTo(highest);
+    }
+
+    @Test
+    void releaseNonce_WhenInMiddle_ShouldReuseGapFirst() throws Exception {
+        // Given
+        givenPendingNonce(10);
+        nonceManager.acquireNonce(OWNER);
+        BigInteger middle = nonceManager.acquireNonce(OWNER);
+        nonceManager.acquireNonce(OWNER);
+
+        // When
+        nonceManager.releaseNonce(OWNER, middle);
+
+        // Then
+        assertThat(nonceManager.acquireNonce(OWNER)).isEqualTo(BigInteger.valueOf(11));
+        assertThat(nonceManager.acquireNonce(OWNER)).isEqualTo(BigInteger.valueOf(13));
+    }
+
+    @Test
+    void markStale_ShouldResyncFromNodeOnNextAcquire() throws Exception {
+        // Given - both sent, but only nonce 3 reached the node
+        givenPendingNonce(3, 4);
+        nonceManager.settleNonce(OWNER, nonceManager.acquireNonce(OWNER));
+        nonceManager.settleNonce(OWNER, nonceManager.acquireNonce(OWNER));
+
+        // When
+        nonceManager.markStale(OWNER);
+
+        // Then
+        assertThat(nonceManager.acquireNonce(OWNER)).isEqualTo(BigInteger.valueOf(4));
+        verify(countRequest, times(2)).send();
+    }
+
+    @Test
+    void resync_WhileOtherCallersHoldUnsentNonces_ShouldNotHandThemOutAgain() throws Exception {
+        // Given - 5 was sent and rejected, 6 and 7 are signed but not broadcast yet
+        givenPendingNonce(5, 5);
+        BigInteger rejected = nonceManager.acquireNonce(OWNER);
+        nonceManager.acquireNonce(OWNER);
+        nonceManager.acquireNonce(OWNER);
+        nonceManager.settleNonce(OWNER, rejected);
+
+        // When
+        nonceManager.resync(OWNER);
+
+        // Then - 5 is reissued, the held nonces are skipped
+        assertThat(nonceManager.acquireNonce(OWNER)).isEqualTo(BigInteger.valueOf(5));
+        assertThat(nonceManager.acquireNonce(OWNER)).isEqualTo(BigInteger.valueOf(8));
+    }
+
+    @Test
+    void markStale_WhileANonceIsOutstanding_ShouldResyncAboveIt() throws Exception {
+        // Given - the node still reports 3 while nonce 3 is held by a caller that has not sent it
+        givenPendingNonce(3, 3);
+        nonceManager.acquireNonce(OWNER);
+
+        // When
+        nonceManager.markStale(OWNER);
+
+        // Then
+        assertThat(nonceManager.acquireNonce(OWNER)).isEqualTo(BigInteger.valueOf(4));
+    }
+
+    @Test
+    void isNonceError_ShouldMatchNodeMessages() {
+        assertThat(NonceManager.isNonceError("nonce too low")).isTrue();
+        assertThat(NonceManager.isNonceError("Invalid nonce. Expected 5, got 3")).isTrue();
+        assertThat(NonceManager.isNonceError("insufficient funds for gas")).isFalse();
+        assertThat(NonceManager.isNonceError(null)).isFalse();
+    }
+
+    @Test
+    void isAlreadyKnown_ShouldNotBeTreatedAsNonceError() {
+        // "already known" = the same signed transaction is pending, re-sending with a new nonce would mint twice
+        assertThat(NonceManager.isAlreadyKnown("already known")).isTrue();
+        assertThat(NonceManager.isAlreadyKnown("known transaction: 0xabc")).isTrue();
+        assertThat(NonceManager.isAlreadyKnown("nonce too low")).isFalse();
+        assertThat(NonceManager.isNonceError("already known")).isFalse();
+    }
+}
@@ -0,0 +1,83 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.protocol.Web3j;
+
+import java.math.BigInteger;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class PaymasterMonitorTest {
+
+    private static final long HOUR_MS = 3_600_000L;
+    private static final BigInteger ONE_ETH = BigInteger.TEN.pow(18);
+
+    @Mock
+    private Web3j web3j;
+
+    @Mock
+    private ChainHeadMonitor chainHeadMonitor;
+
+    private PaymasterMonitor paymasterMonitor;
+
+    @BeforeEach
+    void setUp() {
+        paymasterMonitor = new PaymasterMonitor(web3j, chainHeadMonitor, "0xpaymaster");
+        ReflectionTestUtils.setField(paymasterMonitor, "minimumBalance", BigInteger.valueOf(1_000_000_000_000_000L));
+        ReflectionTestUtils.setField(paymasterMonitor, "burnWindowMs", 24 * HOUR_MS);
+        ReflectionTestUtils.setField(paymasterMonitor, "staleAfterMs", Long.MAX_VALUE / 2);
+    }
+
+    @Test
+    void record_WhileSpending_ShouldEstimateBurnRateAndTimeToEmpty() {
+        // Given
+        long start = System.currentTimeMillis() - HOUR_MS;
+
+        // When - 2 ETH spent over one hour, 8 ETH left
+        paymasterMonitor.record(ONE_ETH.multiply(BigInteger.TEN), BigInteger.ONE, start);
+        paymasterMonitor.record(ONE_ETH.multiply(BigInteger.valueOf(8)), BigInteger.TWO, start + HOUR_MS);
+
+        // Then
+        PaymasterMonitor.Snapshot snapshot = paymasterMonitor.getSnapshot();
+        assertThat(snapshot.burnRateWeiPerHour()).isEqualTo(ONE_ETH.multiply(BigInteger.TWO));
+        assertThat(snapshot.timeToEmpty()).isEqualTo(Duration.ofHours(4));
+        assertThat(snapshot.funded()).isTrue();
+        assertThat(paymasterMonitor.hasBalanceFor(BigInteger.valueOf(300_000), BigInteger.valueOf(2_000_000_000L))).isTrue();
+    }
+
+    @Test
+    void record_AfterTopUp_ShouldRestartBurnWindow() {
+        // Given
+        long start = System.currentTimeMillis() - 2 * HOUR_MS;
+        paymasterMonitor.record(ONE_ETH, BigInteger.ONE, start);
+        paymasterMonitor.record(BigInteger.ZERO, BigInteger.TWO, start + HOUR_MS);
+        assertThat(paymasterMonitor.isFunded()).isFalse();
+
+        // When
+        paymasterMonitor.record(ONE_ETH.multiply(BigInteger.TEN), BigInteger.valueOf(3), start + 2 * HOUR_MS);
+
+        // Then
+        PaymasterMonitor.Snapshot snapshot = paymasterMonitor.getSnapshot();
+        assertThat(snapshot.burnRateWeiPerHour()).isEqualTo(BigInteger.ZERO);
+        assertThat(snapshot.timeToEmpty()).isNull();
+        assertThat(snapshot.funded()).isTrue();
+    }
+
+    @Test
+    void getSnapshot_BeforeFirstSample_ShouldBeUnavailable() {
+        // When
+        PaymasterMonitor.Snapshot snapshot = paymasterMonitor.getSnapshot();
+
+        // Then
+        assertThat(snapshot.isAvailable()).isFalse();
+        assertThat(paymasterMonitor.isFunded()).isFalse();
+        assertThat(paymasterMonitor.hasBalanceFor(BigInteger.ONE, BigInteger.ONE)).isFalse();
+    }
+}
@@ -0,0 +1,399 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.exception.BlockchainTransactionException;
+import com.blooming.blockchain.springbackend.global.enums.OutboxOperationType;
+import com.blooming.blockchain.springbackend.pointtransaction.entity.TokenTransaction;
+import com.blooming.blockchain.springbackend.pointtransaction.repository.PointTransactionRepository;
+import com.blooming.blockchain.springbackend.pointtransaction.service.TokenTransactionService;
+import com.blooming.blockchain.springbackend.userdetail.service.UserPointTokenService;
+import com.blooming.blockchain.springbackend.zksync.entity.BlockchainOutboxMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenExchangeServiceTest {
+
+    private static final Integer TOKEN_TRANSACTION_ID = 42;
+    private static final String GOOGLE_ID = "google-123";
+    private static final String WALLET = "0x1111111111111111111111111111111111111111";
+    private static final String TX_HASH = "0x" + "ef".repeat(32);
+    private static final String SIGNED_TX = "0xf86c" + "ab".repeat(40);
+    private static final String AMOUNT_WEI = BigInteger.TEN.pow(18).toString();
+
+    @Mock
+    private TokenMintAggregator tokenMintAggregator;
+
+    @Mock
+    private ZkSyncService zkSyncService;
+
+    @Mock
+    private TransactionReceiptTracker transactionReceiptTracker;
+
+    @Mock
+    private TokenTransactionService tokenTransactionService;
+
+    @Mock
+    private UserPointTokenService userPointTokenService;
+
+    @Mock
+    private PointTransactionRepository pointTransactionRepository;
+
+    @Mock
+    private BlockchainOutboxService blockchainOutboxService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TokenExchangeService tokenExchangeService;
+
+    @BeforeEach
+    void setUp() {
+        tokenExchangeService = new TokenExchangeService(tokenMintAggregator, zkSyncService, transactionReceiptTracker,
+            tokenTransactionService, userPointTokenService, pointTransactionRepository, blockchainOutboxService,
+            new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(tokenExchangeService, "sseTimeoutMs", 120_000L);
+        ReflectionTestUtils.setField(tokenExchangeService, "pollIntervalMs", 1_000L);
+        ReflectionTestUtils.setField(tokenExchangeService, "syncWaitMs", 5_000L);
+    }
+
+    @Test
+    void dispatch_WhenTxHashIsAlreadyAttached_ShouldWaitForReceiptInsteadOfMintingAgain() {
+        // Given - a previous attempt sent the batch, then the worker died
+        TokenTransaction transaction = tokenTransaction();
+        transaction.attachTxHash(TX_HASH, null);
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+        when(transactionReceiptTracker.track(TX_HASH)).thenReturn(CompletableFuture.completedFuture(receipt("0x1")));
+
+        // When
+        CompletableFuture<String> result = tokenExchangeService.dispatch(outboxMessage());
+
+        // Then
+        assertThat(result).isCompletedWithValue(TX_HASH);
+        verify(tokenTransactionService).confirmTokenTransaction(TOKEN_TRANSACTION_ID, TX_HASH);
+        verify(tokenMintAggregator, never()).submitMint(anyInt(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void dispatch_WhenAttachedTxHashReverted_ShouldFailTransactionWithoutMinting() {
+        // Given
+        TokenTransaction transaction = tokenTransaction();
+        transaction.attachTxHash(TX_HASH, null);
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+        when(transactionReceiptTracker.track(TX_HASH)).thenReturn(CompletableFuture.completedFuture(receipt("0x0")));
+
+        // When
+        CompletableFuture<String> result = tokenExchangeService.dispatch(outboxMessage());
+
+        // Then
+        assertThat(result).isCompletedExceptionally();
+        assertThat(result.exceptionNow()).isInstanceOf(BlockchainTransactionException.class);
+        verify(tokenTransactionService).failTokenTransaction(TOKEN_TRANSACTION_ID);
+        verify(tokenMintAggregator, never()).submitMint(anyInt(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void dispatch_WhenSignedTxIsRecorded_ShouldRebroadcastItBeforeWaitingForReceipt() {
+        // Given - the worker recorded the batch, then died before (or right after) sending it
+        TokenTransaction transaction = tokenTransaction();
+        transaction.attachTxHash(TX_HASH, SIGNED_TX);
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+        when(zkSyncService.rebroadcastOwnerTransaction(SIGNED_TX)).thenReturn(CompletableFuture.completedFuture(true));
+        when(transactionReceiptTracker.track(TX_HASH)).thenReturn(CompletableFuture.completedFuture(receipt("0x1")));
+
+        // When
+        CompletableFuture<String> result = tokenExchangeService.dispatch(outboxMessage());
+
+        // Then
+        assertThat(result).isCompletedWithValue(TX_HASH);
+        verify(zkSyncService).rebroadcastOwnerTransaction(SIGNED_TX);
+        verify(tokenTransactionService).confirmTokenTransaction(TOKEN_TRANSACTION_ID, TX_HASH);
+        verify(tokenMintAggregator, never()).submitMint(anyInt(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void dispatch_WhenRecordedTxWasReplacedAndNeverMined_ShouldMintAgain() {
+        // Given - its nonce went to another transaction, and no receipt ever appears
+        TokenTransaction transaction = tokenTransaction();
+        transaction.attachTxHash(TX_HASH, SIGNED_TX);
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+        when(zkSyncService.rebroadcastOwnerTransaction(SIGNED_TX)).thenReturn(CompletableFuture.completedFuture(false));
+        when(transactionReceiptTracker.track(TX_HASH))
+            .thenReturn(CompletableFuture.failedFuture(new TimeoutException("Transaction receipt not found")));
+        when(tokenMintAggregator.submitMint(TOKEN_TRANSACTION_ID, WALLET, new BigInteger(AMOUNT_WEI), "Exchange"))
+            .thenReturn(CompletableFuture.completedFuture("0x" + "12".repeat(32)));
+
+        // When
+        CompletableFuture<String> result = tokenExchangeService.dispatch(outboxMessage());
+
+        // Then
+        assertThat(result).isCompletedWithValue("0x" + "12".repeat(32));
+        verify(tokenTransactionService).detachTxHash(List.of(TOKEN_TRANSACTION_ID), TX_HASH);
+    }
+
+    @Test
+    void dispatch_WhenRebroadcastTxIsStillWithoutReceipt_ShouldRetryLaterWithoutMinting() {
+        // Given - the node holds the transaction, it just has not been mined yet
+        TokenTransaction transaction = tokenTransaction();
+        transaction.attachTxHash(TX_HASH, SIGNED_TX);
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+        when(zkSyncService.rebroadcastOwnerTransaction(SIGNED_TX)).thenReturn(CompletableFuture.completedFuture(true));
+        when(transactionReceiptTracker.track(TX_HASH))
+            .thenReturn(CompletableFuture.failedFuture(new TimeoutException("Transaction receipt not found")));
+
+        // When
+        CompletableFuture<String> result = tokenExchangeService.dispatch(outboxMessage());
+
+        // Then
+        assertThat(result).isCompletedExceptionally();
+        assertThat(result.exceptionNow()).isInstanceOf(TimeoutException.class);
+        verify(tokenTransactionService, never()).detachTxHash(anyList(), anyString());
+        verify(tokenMintAggregator, never()).submitMint(anyInt(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void dispatch_WhenAlreadyConfirmed_ShouldReturnExistingHashWithoutMinting() {
+        // Given
+        TokenTransaction transaction = tokenTransaction();
+        transaction.confirmTransaction(TX_HASH);
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+
+        // When
+        CompletableFuture<String> result = tokenExchangeService.dispatch(outboxMessage());
+
+        // Then
+        assertThat(result).isCompletedWithValue(TX_HASH);
+        verify(transactionReceiptTracker, never()).track(anyString());
+        verify(tokenMintAggregator, never()).submitMint(anyInt(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void dispatch_WhenNothingWasSent_ShouldSubmitMint() {
+        // Given
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(tokenTransaction()));
+        CompletableFuture<String> minted = new CompletableFuture<>();
+        when(tokenMintAggregator.submitMint(TOKEN_TRANSACTION_ID, WALLET, new BigInteger(AMOUNT_WEI), "Exchange"))
+            .thenReturn(minted);
+
+        // When
+        CompletableFuture<String> result = tokenExchangeService.dispatch(outboxMessage());
+
+        // Then
+        assertThat(result).isSameAs(minted);
+        verify(transactionReceiptTracker, never()).track(anyString());
+    }
+
+    @Test
+    void onDeadLetter_WhenMintReverted_ShouldCompensateExchange() {
+        // Given
+        TokenTransaction transaction = tokenTransaction();
+        transaction.attachTxHash(TX_HASH, null);
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+        when(tokenTransactionService.markCompensated(TOKEN_TRANSACTION_ID)).thenReturn(true);
+        when(userPointTokenService.revertExchangeMainPointsToTokens(GOOGLE_ID, 10, 1L)).thenReturn(true);
+
+        // When
+        tokenExchangeService.onDeadLetter(outboxMessage(), new BlockchainTransactionException("Mint transaction reverted"));
+
+        // Then
+        verify(tokenTransactionService).markCompensated(TOKEN_TRANSACTION_ID);
+        verify(userPointTokenService).revertExchangeMainPointsToTokens(GOOGLE_ID, 10, 1L);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void onDeadLetter_WhenDeadLetteredAgain_ShouldNotRefundTwice() {
+        // Given - the first dead letter already failed the row and restored the points
+        TokenTransaction transaction = tokenTransaction();
+        transaction.attachTxHash(TX_HASH, null);
+        transaction.failTransaction();
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+        when(tokenTransactionService.markCompensated(TOKEN_TRANSACTION_ID)).thenReturn(false);
+
+        // When
+        tokenExchangeService.onDeadLetter(outboxMessage(), new BlockchainTransactionException("Mint transaction reverted"));
+
+        // Then
+        verify(userPointTokenService, never()).revertExchangeMainPointsToTokens(anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    void onDeadLetter_WhenRefundFails_ShouldRollBackTheCompensatedMarker() {
+        // Given
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(tokenTransaction()));
+        when(tokenTransactionService.markCompensated(TOKEN_TRANSACTION_ID)).thenReturn(true);
+        when(userPointTokenService.revertExchangeMainPointsToTokens(GOOGLE_ID, 10, 1L)).thenReturn(false);
+
+        // When
+        tokenExchangeService.onDeadLetter(outboxMessage(), new SocketTimeoutException("connect timed out"));
+
+        // Then - marker and refund share one transaction, so the next attempt can compensate again
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void onDeadLetter_WhenMintWasNeverSent_ShouldCompensateExchange() {
+        // Given
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(tokenTransaction()));
+        when(tokenTransactionService.markCompensated(TOKEN_TRANSACTION_ID)).thenReturn(true);
+        when(userPointTokenService.revertExchangeMainPointsToTokens(GOOGLE_ID, 10, 1L)).thenReturn(true);
+
+        // When
+        tokenExchangeService.onDeadLetter(outboxMessage(), new SocketTimeoutException("connect timed out"));
+
+        // Then
+        verify(tokenTransactionService).markCompensated(TOKEN_TRANSACTION_ID);
+        verify(userPointTokenService).revertExchangeMainPointsToTokens(GOOGLE_ID, 10, 1L);
+    }
+
+    @Test
+    void onDeadLetter_WhenSentMintOutcomeIsUnknown_ShouldLeaveExchangePending() {
+        // Given - the batch may still be mined, so restoring points could pay out twice
+        TokenTransaction transaction = tokenTransaction();
+        transaction.attachTxHash(TX_HASH, null);
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+
+        // When
+        tokenExchangeService.onDeadLetter(outboxMessage(), new TimeoutException("Transaction receipt not found"));
+
+        // Then
+        verify(tokenTransactionService, never()).markCompensated(anyInt());
+        verify(userPointTokenService, never()).revertExchangeMainPointsToTokens(anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    void onDeadLetter_WhenAlreadyConfirmed_ShouldNotCompensate() {
+        // Given
+        TokenTransaction transaction = tokenTransaction();
+        transaction.confirmTransaction(TX_HASH);
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+
+        // When
+        tokenExchangeService.onDeadLetter(outboxMessage(), new BlockchainTransactionException("late failure"));
+
+        // Then
+        verify(tokenTransactionService, never()).markCompensated(anyInt());
+        verify(userPointTokenService, never()).revertExchangeMainPointsToTokens(anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    void pollSubscribedStatuses_WhileExchangeIsPending_ShouldKeepReadingThePersistedRow() {
+        // Given
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(tokenTransaction()));
+        when(tokenTransactionService.getTokenTransactions(List.of(TOKEN_TRANSACTION_ID))).thenReturn(List.of(tokenTransaction()));
+        assertThat(tokenExchangeService.subscribe(TOKEN_TRANSACTION_ID, GOOGLE_ID)).isPresent();
+
+        // When
+        tokenExchangeService.pollSubscribedStatuses();
+        tokenExchangeService.pollSubscribedStatuses();
+
+        // Then
+        verify(tokenTransactionService, times(2)).getTokenTransactions(List.of(TOKEN_TRANSACTION_ID));
+    }
+
+    @Test
+    void pollSubscribedStatuses_WhenAnotherNodeConfirmedTheExchange_ShouldPublishAndStopPolling() {
+        // Given - the outbox completion ran on another replica, so only the row changed
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(tokenTransaction()));
+        TokenTransaction confirmed = tokenTransaction();
+        confirmed.confirmTransaction(TX_HASH);
+        when(tokenTransactionService.getTokenTransactions(List.of(TOKEN_TRANSACTION_ID))).thenReturn(List.of(confirmed));
+        assertThat(tokenExchangeService.subscribe(TOKEN_TRANSACTION_ID, GOOGLE_ID)).isPresent();
+
+        // When
+        tokenExchangeService.pollSubscribedStatuses();
+        tokenExchangeService.pollSubscribedStatuses();
+
+        // Then - the terminal status completed the stream, so the second poll has nothing to read
+        verify(tokenTransactionService, times(1)).getTokenTransactions(List.of(TOKEN_TRANSACTION_ID));
+    }
+
+    @Test
+    void awaitOutcome_WhenOutboxCompletesOnThisNode_ShouldReturnTheConfirmedExchange() {
+        // Given - the row is confirmed between the first read and the outbox completion callback
+        TokenTransaction confirmed = tokenTransaction();
+        confirmed.confirmTransaction(TX_HASH);
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID))
+            .thenReturn(Optional.of(tokenTransaction()), Optional.of(confirmed));
+        CompletableFuture<TokenTransaction> outcome = CompletableFuture.supplyAsync(
+            () -> tokenExchangeService.awaitOutcome(TOKEN_TRANSACTION_ID));
+
+        Map<?, ?> waiters = (Map<?, ?>) ReflectionTestUtils.getField(tokenExchangeService, "outcomeWaiters");
+
+        // When
+        await(() -> !waiters.isEmpty());
+        tokenExchangeService.onCompleted(outboxMessage());
+
+        // Then - woken by the callback, well before the 1s row poll
+        assertThat(outcome).succeedsWithin(Duration.ofMillis(500)).extracting(TokenTransaction::getTxHash).isEqualTo(TX_HASH);
+    }
+
+    @Test
+    void awaitOutcome_WhenTheWaitRunsOut_ShouldReturnThePendingExchange() {
+        // Given
+        ReflectionTestUtils.setField(tokenExchangeService, "syncWaitMs", 50L);
+        when(tokenTransactionService.getTokenTransaction(TOKEN_TRANSACTION_ID)).thenReturn(Optional.of(tokenTransaction()));
+
+        // When
+        TokenTransaction outcome = tokenExchangeService.awaitOutcome(TOKEN_TRANSACTION_ID);
+
+        // Then
+        assertThat(outcome.isPending()).isTrue();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static TokenTransaction tokenTransaction() {
+        TokenTransaction transaction = new TokenTransaction(GOOGLE_ID, 10, 1L, "Exchange");
+        transaction.setId(TOKEN_TRANSACTION_ID);
+        return transaction;
+    }
+
+    private static BlockchainOutboxMessage outboxMessage() {
+        BlockchainOutboxMessage message = new BlockchainOutboxMessage(OutboxOperationType.EXCHANGE_MINT,
+            TOKEN_TRANSACTION_ID, GOOGLE_ID, WALLET, AMOUNT_WEI, "Exchange");
+        message.setId(7L);
+        return message;
+    }
+
+    private static TransactionReceipt receipt(String status) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash(TX_HASH);
+        receipt.setStatus(status);
+        return receipt;
+    }
+}
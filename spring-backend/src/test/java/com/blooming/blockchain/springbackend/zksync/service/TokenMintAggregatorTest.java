@@ -0,0 +1,206 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.exception.BlockchainTransactionException;
+import com.blooming.blockchain.springbackend.exception.TransactionOutcomeUnknownException;
+import com.blooming.blockchain.springbackend.pointtransaction.service.TokenTransactionService;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceCalldataEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenMintAggregatorTest {
+
+    private static final String TX_HASH = "0x" + "cd".repeat(32);
+    private static final String SIGNED_TX = "0xf86c" + "ab".repeat(40);
+    private static final String WALLET_A = "0x1111111111111111111111111111111111111111";
+    private static final String WALLET_B = "0x2222222222222222222222222222222222222222";
+    private static final BigInteger AMOUNT = BigInteger.TEN.pow(18);
+    private static final String REASON = "Point exchange";
+
+    @Mock
+    private ZkSyncService zkSyncService;
+
+    @Mock
+    private TransactionReceiptTracker transactionReceiptTracker;
+
+    @Mock
+    private TokenTransactionService tokenTransactionService;
+
+    private TokenMintAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new TokenMintAggregator(zkSyncService, transactionReceiptTracker, tokenTransactionService);
+        ReflectionTestUtils.setField(aggregator, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(aggregator, "maxBatchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aggregator.shutdown();
+    }
+
+    @Test
+    void submitMint_WhenCountThresholdIsReached_ShouldSendOneBatchMintImmediately() throws Exception {
+        // Given
+        givenSendSucceeds();
+        when(transactionReceiptTracker.track(TX_HASH)).thenReturn(new CompletableFuture<>());
+
+        // When
+        aggregator.submitMint(1, WALLET_A, AMOUNT, REASON);
+        aggregator.submitMint(2, WALLET_B, AMOUNT, REASON);
+
+        // Then - well before the 60s window
+        String expected = GovernanceCalldataEncoder.batchMint(
+            List.of(WALLET_A, WALLET_B), List.of(AMOUNT, AMOUNT), "Batch (2): " + REASON);
+        verify(zkSyncService, timeout(5_000)).sendGovernanceTokenOwnerCall(eq(expected), any());
+        verify(transactionReceiptTracker, timeout(5_000)).track(TX_HASH);
+        verify(tokenTransactionService).attachTxHash(List.of(1, 2), TX_HASH, SIGNED_TX);
+        assertThat(aggregator.getPendingCount()).isZero();
+    }
+
+    @Test
+    void submitMint_WhenWindowElapses_ShouldSendSingleMintForExchange() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(aggregator, "windowMs", 20L);
+        ReflectionTestUtils.setField(aggregator, "maxBatchSize", 50);
+        givenSendSucceeds();
+        when(transactionReceiptTracker.track(TX_HASH)).thenReturn(new CompletableFuture<>());
+
+        // When
+        aggregator.submitMint(1, WALLET_A, AMOUNT, REASON);
+
+        // Then
+        String expected = GovernanceCalldataEncoder.mintForExchange(WALLET_A, AMOUNT, REASON);
+        verify(zkSyncService, timeout(5_000)).sendGovernanceTokenOwnerCall(eq(expected), any());
+        verify(transactionReceiptTracker, timeout(5_000)).track(TX_HASH);
+    }
+
+    @Test
+    void submitMint_WhenReceiptIsSuccessful_ShouldConfirmTransactionsAndCompleteWithHash() throws Exception {
+        // Given
+        givenSendSucceeds();
+        when(transactionReceiptTracker.track(TX_HASH)).thenReturn(CompletableFuture.completedFuture(receipt("0x1")));
+
+        // When
+        CompletableFuture<String> first = aggregator.submitMint(1, WALLET_A, AMOUNT, REASON);
+        CompletableFuture<String> second = aggregator.submitMint(2, WALLET_B, AMOUNT, REASON);
+
+        // Then
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(TX_HASH);
+        assertThat(second).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(TX_HASH);
+        verify(tokenTransactionService).confirmTokenTransactions(List.of(1, 2), TX_HASH);
+        verify(tokenTransactionService, never()).failTokenTransactions(anyList());
+        verify(zkSyncService).invalidateBalances(WALLET_A);
+        verify(zkSyncService).invalidateBalances(WALLET_B);
+    }
+
+    @Test
+    void submitMint_WhenReceiptIsReverted_ShouldFailTransactionsWithBlockchainTransactionException() throws Exception {
+        // Given
+        givenSendSucceeds();
+        when(transactionReceiptTracker.track(TX_HASH)).thenReturn(CompletableFuture.completedFuture(receipt("0x0")));
+
+        // When
+        CompletableFuture<String> first = aggregator.submitMint(1, WALLET_A, AMOUNT, REASON);
+        aggregator.submitMint(2, WALLET_B, AMOUNT, REASON);
+
+        // Then
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(BlockchainTransactionException.class);
+        verify(tokenTransactionService).failTokenTransactions(List.of(1, 2));
+        verify(tokenTransactionService, never()).confirmTokenTransactions(anyList(), anyString());
+    }
+
+    @Test
+    void submitMint_WhenSendOutcomeIsUnknown_ShouldKeepHashAndTrackReceipt() throws Exception {
+        // Given - signed and recorded, then the connection dropped
+        givenAttachSucceeds();
+        when(zkSyncService.sendGovernanceTokenOwnerCall(anyString(), any())).thenAnswer(invocation -> {
+            Consumer<ZkSyncService.SignedTransaction> beforeSend = invocation.getArgument(1);
+            beforeSend.accept(new ZkSyncService.SignedTransaction(TX_HASH, SIGNED_TX));
+            throw new TransactionOutcomeUnknownException(TX_HASH, new SocketTimeoutException("timeout"));
+        });
+        when(transactionReceiptTracker.track(TX_HASH)).thenReturn(CompletableFuture.completedFuture(receipt("0x1")));
+
+        // When
+        CompletableFuture<String> first = aggregator.submitMint(1, WALLET_A, AMOUNT, REASON);
+        aggregator.submitMint(2, WALLET_B, AMOUNT, REASON);
+
+        // Then
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(TX_HASH);
+        verify(tokenTransactionService, never()).detachTxHash(anyList(), anyString());
+        verify(tokenTransactionService).confirmTokenTransactions(List.of(1, 2), TX_HASH);
+    }
+
+    @Test
+    void submitMint_WhenNodeRejectsTransaction_ShouldDetachHashAndFailWithoutTracking() throws Exception {
+        // Given
+        givenAttachSucceeds();
+        when(zkSyncService.sendGovernanceTokenOwnerCall(anyString(), any())).thenAnswer(invocation -> {
+            Consumer<ZkSyncService.SignedTransaction> beforeSend = invocation.getArgument(1);
+            beforeSend.accept(new ZkSyncService.SignedTransaction(TX_HASH, SIGNED_TX));
+            throw new IOException("Failed to send owner transaction: insufficient funds");
+        });
+
+        // When
+        CompletableFuture<String> first = aggregator.submitMint(1, WALLET_A, AMOUNT, REASON);
+        aggregator.submitMint(2, WALLET_B, AMOUNT, REASON);
+
+        // Then
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IOException.class);
+        verify(tokenTransactionService).detachTxHash(List.of(1, 2), TX_HASH);
+        verify(transactionReceiptTracker, never()).track(anyString());
+    }
+
+    private void givenSendSucceeds() throws IOException {
+        givenAttachSucceeds();
+        when(zkSyncService.sendGovernanceTokenOwnerCall(anyString(), any())).thenAnswer(invocation -> {
+            Consumer<ZkSyncService.SignedTransaction> beforeSend = invocation.getArgument(1);
+            beforeSend.accept(new ZkSyncService.SignedTransaction(TX_HASH, SIGNED_TX));
+            return TX_HASH;
+        });
+    }
+
+    private void givenAttachSucceeds() {
+        when(tokenTransactionService.attachTxHash(anyList(), eq(TX_HASH), eq(SIGNED_TX)))
+            .thenAnswer(invocation -> invocation.<List<Integer>>getArgument(0).size());
+    }
+
+    private static TransactionReceipt receipt(String status) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash(TX_HASH);
+        receipt.setStatus(status);
+        return receipt;
+    }
+}
@@ -0,0 +1,177 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncRpcBatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionReceiptTrackerTest {
+
+    private static final String TX_HASH = "0x" + "ab".repeat(32);
+
+    @Mock
+    private Web3j web3j;
+
+    @Mock
+    private ZkSyncRpcBatcher zkSyncRpcBatcher;
+
+    @Mock
+    private ChainHeadMonitor chainHeadMonitor;
+
+    @Mock
+    private Request<?, EthGetTransactionReceipt> receiptRequest;
+
+    private TransactionReceiptTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new TransactionReceiptTracker(web3j, zkSyncRpcBatcher, chainHeadMonitor);
+        ReflectionTestUtils.setField(tracker, "timeoutMs", 30_000L);
+    }
+
+    @Test
+    void pollNewBlock_WhenReceiptIsMined_ShouldCompleteTheTrackedFuture() throws Exception {
+        // Given
+        givenBlockNumbers(10);
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash(TX_HASH);
+        receipt.setStatus("0x1");
+        givenReceiptLookups(receiptResponse(receipt));
+        CompletableFuture<TransactionReceipt> tracked = tracker.track(TX_HASH);
+
+        // When
+        tracker.pollNewBlock();
+
+        // Then
+        assertThat(tracked).isCompletedWithValue(receipt);
+        assertThat(tracker.getPendingCount()).isZero();
+    }
+
+    @Test
+    void pollNewBlock_ShouldLookUpOutstandingReceiptsOncePerNewBlock() throws Exception {
+        // Given - not mined in block 10, mined in block 11
+        givenBlockNumbers(10, 10, 11);
+        TransactionReceipt receipt = new TransactionReceipt();
+        givenReceiptLookups(receiptResponse(null), receiptResponse(receipt));
+        CompletableFuture<TransactionReceipt> tracked = tracker.track(TX_HASH);
+
+        // When
+        tracker.pollNewBlock();
+        tracker.pollNewBlock();
+        boolean pendingAfterSameBlock = !tracked.isDone();
+        tracker.pollNewBlock();
+
+        // Then
+        assertThat(pendingAfterSameBlock).isTrue();
+        assertThat(tracked).isCompletedWithValue(receipt);
+        verify(zkSyncRpcBatcher, times(2)).submit(any());
+    }
+
+    @Test
+    void pollNewBlock_WhenLookupFails_ShouldRetryTheSameBlock() throws Exception {
+        // Given - the first lookup in block 10 fails, the retry in the same block finds the receipt
+        givenBlockNumbers(10, 10);
+        TransactionReceipt receipt = new TransactionReceipt();
+        doReturn(receiptRequest).when(web3j).ethGetTransactionReceipt(TX_HASH);
+        when(zkSyncRpcBatcher.submit(receiptRequest)).thenReturn(
+            CompletableFuture.failedFuture(new IOException("connection reset")),
+            CompletableFuture.completedFuture(receiptResponse(receipt)));
+        CompletableFuture<TransactionReceipt> tracked = tracker.track(TX_HASH);
+
+        // When
+        tracker.pollNewBlock();
+        boolean pendingAfterFailure = !tracked.isDone();
+        tracker.pollNewBlock();
+
+        // Then
+        assertThat(pendingAfterFailure).isTrue();
+        assertThat(tracked).isCompletedWithValue(receipt);
+        verify(zkSyncRpcBatcher, times(2)).submit(any());
+    }
+
+    @Test
+    void pollNewBlock_WhenChainHeadUnavailable_ShouldNotLookUpReceipts() {
+        // Given
+        when(chainHeadMonitor.getLatestBlock()).thenReturn(BigInteger.valueOf(-1));
+        CompletableFuture<TransactionReceipt> tracked = tracker.track(TX_HASH);
+
+        // When
+        tracker.pollNewBlock();
+
+        // Then
+        assertThat(tracked).isNotDone();
+        verify(zkSyncRpcBatcher, never()).submit(any());
+    }
+
+    @Test
+    void pollNewBlock_WhenNoReceiptBeforeTimeout_ShouldFailWithTimeoutException() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(tracker, "timeoutMs", 0L);
+        CompletableFuture<TransactionReceipt> tracked = tracker.track(TX_HASH);
+
+        // When
+        tracker.pollNewBlock();
+
+        // Then
+        assertThat(tracked).isCompletedExceptionally();
+        assertThat(tracked.exceptionNow()).isInstanceOf(TimeoutException.class).hasMessageContaining(TX_HASH);
+        assertThat(tracker.getPendingCount()).isZero();
+        verify(zkSyncRpcBatcher, never()).submit(any());
+    }
+
+    @Test
+    void track_SameHashTwice_ShouldShareOnePendingLookup() {
+        // When
+        CompletableFuture<TransactionReceipt> first = tracker.track(TX_HASH);
+        CompletableFuture<TransactionReceipt> second = tracker.track(TX_HASH.toUpperCase().replace("0X", "0x"));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(tracker.getPendingCount()).isEqualTo(1);
+    }
+
+    private void givenBlockNumbers(long first, long... rest) {
+        BigInteger[] following = new BigInteger[rest.length];
+        for (int i = 0; i < rest.length; i++) {
+            following[i] = BigInteger.valueOf(rest[i]);
+        }
+        when(chainHeadMonitor.getLatestBlock()).thenReturn(BigInteger.valueOf(first), following);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void givenReceiptLookups(EthGetTransactionReceipt first, EthGetTransactionReceipt... rest) {
+        doReturn(receiptRequest).when(web3j).ethGetTransactionReceipt(TX_HASH);
+        CompletableFuture[] following = new CompletableFuture[rest.length];
+        for (int i = 0; i < rest.length; i++) {
+            following[i] = CompletableFuture.completedFuture(rest[i]);
+        }
+        when(zkSyncRpcBatcher.submit(receiptRequest)).thenReturn(CompletableFuture.completedFuture(first), following);
+    }
+
+    private static EthGetTransactionReceipt receiptResponse(TransactionReceipt receipt) {
+        EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+        response.setResult(receipt);
+        return response;
+    }
+}
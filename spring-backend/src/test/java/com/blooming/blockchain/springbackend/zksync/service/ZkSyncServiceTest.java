@@ -0,0 +1,187 @@
+package com.blooming.blockchain.springbackend.zksync.service;
+
+import com.blooming.blockchain.springbackend.wallet.repository.UserWalletRepository;
+import com.blooming.blockchain.springbackend.wallet.util.WalletEncryption;
+import com.blooming.blockchain.springbackend.wallet.util.WalletKeyPool;
+import com.blooming.blockchain.springbackend.zksync.util.BlockchainExecutor;
+import com.blooming.blockchain.springbackend.zksync.util.ChainMetrics;
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncRpcBatcher;
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncTransactionHelper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ZkSyncServiceTest {
+
+    private static final String WALLET = "0x1111111111111111111111111111111111111111";
+    private static final String TOKEN_ADDRESS = "0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e";
+    private static final String OWNER_PRIVATE_KEY = "0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318";
+    private static final String TX_HASH = "0x" + "ab".repeat(32);
+    private static final BigInteger BEFORE_MINT = BigInteger.TEN.pow(18);
+    private static final BigInteger AFTER_MINT = BigInteger.TWO.multiply(BigInteger.TEN.pow(18));
+
+    @Mock
+    private UserWalletRepository userWalletRepository;
+
+    @Mock
+    private WalletEncryption walletEncryption;
+
+    @Mock
+    private WalletKeyPool walletKeyPool;
+
+    @Mock
+    private ZkSyncTransactionHelper zkSyncTransactionHelper;
+
+    @Mock
+    private Web3j web3j;
+
+    @Mock
+    private ZkSyncRpcBatcher zkSyncRpcBatcher;
+
+    @Mock
+    private TransactionReceiptTracker transactionReceiptTracker;
+
+    @Mock
+    private NonceManager nonceManager;
+
+    @Mock
+    private GasOracle gasOracle;
+
+    @Mock
+    private ChainHeadMonitor chainHeadMonitor;
+
+    @Mock
+    private PaymasterMonitor paymasterMonitor;
+
+    @Mock
+    private ChainMetrics chainMetrics;
+
+    @Mock
+    private Request<?, EthCall> ethCallRequest;
+
+    @Mock
+    private Request<?, EthSendTransaction> sendRequest;
+
+    private BlockchainExecutor blockchainExecutor;
+
+    private ZkSyncService zkSyncService;
+
+    @BeforeEach
+    void setUp() {
+        blockchainExecutor = new BlockchainExecutor(true, 4, new SimpleMeterRegistry());
+        zkSyncService = new ZkSyncService(userWalletRepository, walletEncryption, walletKeyPool, zkSyncTransactionHelper,
+            web3j, zkSyncRpcBatcher, transactionReceiptTracker, nonceManager, gasOracle, chainHeadMonitor,
+            paymasterMonitor, blockchainExecutor, chainMetrics);
+        ReflectionTestUtils.setField(zkSyncService, "governanceTokenAddress", TOKEN_ADDRESS);
+        ReflectionTestUtils.setField(zkSyncService, "chainId", 300);
+        ReflectionTestUtils.setField(zkSyncService, "balanceCacheMaxEntries", 100);
+        ReflectionTestUtils.setField(zkSyncService, "ownerPrivateKey", OWNER_PRIVATE_KEY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchainExecutor.close();
+    }
+
+    @Test
+    void getGovernanceTokenBalance_WithinTheSameBlock_ShouldServeTheSecondReadFromCache() {
+        // Given
+        when(chainHeadMonitor.getLatestBlock()).thenReturn(BigInteger.valueOf(100));
+        givenBalanceReads(BEFORE_MINT);
+
+        // When
+        BigInteger first = zkSyncService.getGovernanceTokenBalance(WALLET).join();
+        BigInteger second = zkSyncService.getGovernanceTokenBalance(WALLET).join();
+
+        // Then
+        assertThat(first).isEqualTo(BEFORE_MINT);
+        assertThat(second).isEqualTo(BEFORE_MINT);
+        verify(zkSyncRpcBatcher, times(1)).submit(ethCallRequest);
+    }
+
+    @Test
+    void getGovernanceTokenBalance_WhenANewBlockArrives_ShouldReadAgain() {
+        // Given
+        when(chainHeadMonitor.getLatestBlock()).thenReturn(BigInteger.valueOf(100), BigInteger.valueOf(101));
+        givenBalanceReads(BEFORE_MINT, AFTER_MINT);
+
+        // When
+        zkSyncService.getGovernanceTokenBalance(WALLET).join();
+        BigInteger afterNewBlock = zkSyncService.getGovernanceTokenBalance(WALLET).join();
+
+        // Then
+        assertThat(afterNewBlock).isEqualTo(AFTER_MINT);
+        verify(zkSyncRpcBatcher, times(2)).submit(ethCallRequest);
+    }
+
+    @Test
+    void mintGovernanceTokens_WhenConfirmed_ShouldInvalidateTheCachedBalanceOfTheRecipient() throws Exception {
+        // Given - the balance is cached, and the mint is confirmed before the next block is seen
+        when(chainHeadMonitor.getLatestBlock()).thenReturn(BigInteger.valueOf(100));
+        givenBalanceReads(BEFORE_MINT, AFTER_MINT);
+        givenOwnerSendSucceeds();
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash(TX_HASH);
+        receipt.setStatus("0x1");
+        when(transactionReceiptTracker.track(TX_HASH)).thenReturn(CompletableFuture.completedFuture(receipt));
+        zkSyncService.getGovernanceTokenBalance(WALLET).join();
+
+        // When
+        CompletableFuture<String> minted = zkSyncService.mintGovernanceTokens(WALLET, BigInteger.TEN.pow(18), "Exchange");
+
+        // Then
+        assertThat(minted).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(TX_HASH);
+        assertThat(zkSyncService.getGovernanceTokenBalance(WALLET).join()).isEqualTo(AFTER_MINT);
+        verify(zkSyncRpcBatcher, times(2)).submit(ethCallRequest);
+    }
+
+    private void givenBalanceReads(BigInteger first, BigInteger... rest) {
+        doReturn(ethCallRequest).when(web3j).ethCall(any(), any());
+        @SuppressWarnings("unchecked")
+        CompletableFuture<EthCall>[] following = new CompletableFuture[rest.length];
+        for (int i = 0; i < rest.length; i++) {
+            following[i] = CompletableFuture.completedFuture(balanceResponse(rest[i]));
+        }
+        when(zkSyncRpcBatcher.submit(ethCallRequest)).thenReturn(CompletableFuture.completedFuture(balanceResponse(first)), following);
+    }
+
+    private void givenOwnerSendSucceeds() throws Exception {
+        when(gasOracle.getGasPrice()).thenReturn(BigInteger.valueOf(25_000_000L));
+        when(gasOracle.estimateGasLimit(anyString(), anyString(), anyString())).thenReturn(BigInteger.valueOf(300_000L));
+        when(nonceManager.acquireNonce(anyString())).thenReturn(BigInteger.ZERO);
+        doReturn(sendRequest).when(web3j).ethSendRawTransaction(anyString());
+        EthSendTransaction sent = new EthSendTransaction();
+        sent.setResult(TX_HASH);
+        when(sendRequest.send()).thenReturn(sent);
+    }
+
+    private static EthCall balanceResponse(BigInteger balance) {
+        EthCall response = new EthCall();
+        response.setResult(Numeric.toHexStringWithPrefixZeroPadded(balance, 64));
+        return response;
+    }
+}
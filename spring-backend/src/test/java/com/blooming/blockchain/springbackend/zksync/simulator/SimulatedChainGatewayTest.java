@@ -0,0 +1,139 @@
+package com.blooming.blockchain.springbackend.zksync.simulator;
+
+import com.blooming.blockchain.springbackend.global.enums.GovernanceEventType;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceCalldataEncoder;
+import com.blooming.blockchain.springbackend.zksync.util.GovernanceEventDecoder;
+import com.blooming.blockchain.springbackend.zksync.util.ZkSyncEip712Signer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimulatedChainGatewayTest {
+
+    private static final long CHAIN_ID = 300;
+    private static final String TOKEN = "0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e";
+    private static final String PAYMASTER = "0x10219e515c3955916d79a1ac614b86187f0872bc";
+    private static final BigInteger GAS_PRICE = BigInteger.valueOf(25_000_000);
+    private static final BigInteger ETH_BALANCE = BigInteger.TEN.pow(18);
+    private static final BigInteger ONE_TOKEN = BigInteger.TEN.pow(18);
+    private static final Credentials OWNER =
+        Credentials.create("0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318");
+    private static final Credentials USER =
+        Credentials.create("0x8da4ef21b864d2cc526dbdb2a120bd2874c36c9d0a1fb7f8c63d7f7a8b41de8f");
+
+    private SimulatedChainGateway gateway;
+    private Web3j web3j;
+    private final ZkSyncEip712Signer signer = new ZkSyncEip712Signer(CHAIN_ID);
+
+    @BeforeEach
+    void setUp() {
+        // Blocks are sealed by the test, not by the producer thread
+        gateway = new SimulatedChainGateway(
+            new SimulatedChainGateway.Settings(CHAIN_ID, 3_600_000, 1000, 0, 0, 0.0, 100,
+                GAS_PRICE, 300_000, ETH_BALANCE),
+            TOKEN, OWNER.getAddress());
+        web3j = Web3j.build(gateway);
+    }
+
+    @AfterEach
+    void tearDown() {
+        web3j.shutdown();
+    }
+
+    @Test
+    void ownerMintAndPaymasterVote_ShouldProduceReceiptsAndLogs() throws Exception {
+        // Given
+        sendOwner(0, GovernanceCalldataEncoder.mintForExchange(USER.getAddress(), ONE_TOKEN.multiply(BigInteger.TWO), "exchange"));
+        sendUser(0, GovernanceCalldataEncoder.createProposal("Plant more trees", BigInteger.valueOf(4_102_444_800L)));
+        gateway.sealBlock();
+
+        // When
+        EthSendTransaction vote = sendUser(1, GovernanceCalldataEncoder.vote(1, true));
+        gateway.sealBlock();
+
+        // Then
+        assertThat(vote.hasError()).isFalse();
+        TransactionReceipt receipt = web3j.ethGetTransactionReceipt(vote.getTransactionHash()).send()
+            .getTransactionReceipt().orElseThrow();
+        assertThat(receipt.isStatusOK()).isTrue();
+        assertThat(receipt.getBlockNumber()).isEqualTo(BigInteger.TWO);
+
+        GovernanceEventDecoder.DecodedEvent voteCast =
+            GovernanceEventDecoder.findFirst(receipt, GovernanceEventType.VOTE_CAST, TOKEN);
+        assertThat(voteCast.proposalId()).isEqualTo(1);
+        assertThat(voteCast.account()).isEqualTo(USER.getAddress().toLowerCase());
+        assertThat(voteCast.support()).isTrue();
+        assertThat(voteCast.amount()).isEqualTo(ONE_TOKEN.multiply(BigInteger.TWO));
+
+        String balance = web3j.ethCall(Transaction.createEthCallTransaction(USER.getAddress(), TOKEN,
+            GovernanceCalldataEncoder.balanceOf(USER.getAddress())), DefaultBlockParameterName.LATEST).send().getValue();
+        assertThat(Numeric.toBigInt(balance)).isEqualTo(ONE_TOKEN.multiply(BigInteger.TWO));
+
+        BigInteger paymasterBalance = web3j.ethGetBalance(PAYMASTER, DefaultBlockParameterName.LATEST).send().getBalance();
+        assertThat(paymasterBalance).isEqualTo(ETH_BALANCE.subtract(GAS_PRICE.multiply(BigInteger.valueOf(600_000))));
+    }
+
+    @Test
+    void revertedCall_ShouldFailReceiptWithoutLogs() throws Exception {
+        // Given - USER is not the owner
+        EthSendTransaction mint = sendUser(0, GovernanceCalldataEncoder.mintForExchange(USER.getAddress(), ONE_TOKEN, "self"));
+
+        // When
+        gateway.sealBlock();
+
+        // Then
+        TransactionReceipt receipt = web3j.ethGetTransactionReceipt(mint.getTransactionHash()).send()
+            .getTransactionReceipt().orElseThrow();
+        assertThat(receipt.isStatusOK()).isFalse();
+        assertThat(receipt.getLogs()).isEmpty();
+    }
+
+    @Test
+    void sendRawTransaction_ShouldRejectNonceGap() throws Exception {
+        // When
+        EthSendTransaction response = sendUser(1, GovernanceCalldataEncoder.vote(1, true));
+
+        // Then
+        assertThat(response.hasError()).isTrue();
+        assertThat(response.getError().getMessage()).startsWith("nonce too high");
+        assertThat(gateway.getMempoolSize()).isZero();
+    }
+
+    @Test
+    void ethCall_ShouldSurfaceRevertReason() throws Exception {
+        // When
+        var response = web3j.ethCall(Transaction.createEthCallTransaction(USER.getAddress(), TOKEN,
+            GovernanceCalldataEncoder.getProposal(7)), DefaultBlockParameterName.LATEST).send();
+
+        // Then
+        assertThat(response.hasError()).isTrue();
+        assertThat(response.getError().getMessage()).isEqualTo("execution reverted: Invalid proposal ID");
+    }
+
+    private EthSendTransaction sendOwner(long nonce, String data) throws Exception {
+        RawTransaction transaction = RawTransaction.createTransaction(BigInteger.valueOf(nonce), GAS_PRICE,
+            BigInteger.valueOf(500_000), TOKEN, data);
+        String signed = Numeric.toHexString(TransactionEncoder.signMessage(transaction, CHAIN_ID, OWNER));
+        return web3j.ethSendRawTransaction(signed).send();
+    }
+
+    private EthSendTransaction sendUser(long nonce, String data) throws Exception {
+        String signed = signer.sign(USER, new ZkSyncEip712Signer.Transaction(USER.getAddress(), TOKEN,
+            BigInteger.valueOf(nonce), BigInteger.valueOf(500_000), GAS_PRICE, BigInteger.ZERO, BigInteger.ZERO,
+            data, ZkSyncEip712Signer.DEFAULT_GAS_PER_PUBDATA, PAYMASTER, ZkSyncEip712Signer.GENERAL_FLOW_INPUT));
+        return web3j.ethSendRawTransaction(signed).send();
+    }
+}
@@ -0,0 +1,104 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockchainExecutorTest {
+
+    @Test
+    void supplyAsync_ShouldNeverRunMoreTasksThanMaxConcurrency() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        try (BlockchainExecutor executor = new BlockchainExecutor(true, 2, meterRegistry)) {
+            // When
+            List<CompletableFuture<Integer>> futures = IntStream.range(0, 20)
+                .mapToObj(i -> executor.supplyAsync(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return i;
+                }))
+                .toList();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            // Then
+            assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+            assertThat(futures).allMatch(future -> !future.isCompletedExceptionally());
+            assertThat(meterRegistry.get("zksync.blockchain.executor.submitted").counter().count()).isEqualTo(20.0);
+        }
+    }
+
+    @Test
+    void supplyAsync_WhenTaskThrows_ShouldCountTheFailure() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        try (BlockchainExecutor executor = new BlockchainExecutor(true, 2, meterRegistry)) {
+            // When
+            CompletableFuture<Object> future = executor.supplyAsync(() -> {
+                throw new IllegalStateException("rpc failed");
+            });
+
+            // Then
+            assertThat(future).failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class)
+                .withRootCauseInstanceOf(IllegalStateException.class);
+            assertThat(meterRegistry.get("zksync.blockchain.executor.failed").counter().count()).isEqualTo(1.0);
+        }
+    }
+
+    @Test
+    void supplyAsync_WhenInterruptedWaitingForPermit_ShouldCompleteExceptionally() throws Exception {
+        // Given - the only permit is held, so the second task parks waiting for it
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (BlockchainExecutor executor = new BlockchainExecutor(true, 1, meterRegistry)) {
+            executor.supplyAsync(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "holder";
+            });
+            CompletableFuture<String> waiting = executor.supplyAsync(() -> "never runs");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((executor.getActiveCount() < 1 || meterRegistry.get("zksync.blockchain.executor.waiting").gauge().value() < 1)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            // When - shutdownNow interrupts every worker thread
+            ExecutorService delegate = (ExecutorService) ReflectionTestUtils.getField(executor, "delegate");
+            delegate.shutdownNow();
+
+            // Then
+            assertThat(waiting).failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class)
+                .withRootCauseInstanceOf(InterruptedException.class);
+            assertThat(meterRegistry.get("zksync.blockchain.executor.failed").counter().count()).isEqualTo(1.0);
+            release.countDown();
+        }
+    }
+}
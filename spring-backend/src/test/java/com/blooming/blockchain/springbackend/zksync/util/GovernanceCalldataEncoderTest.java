@@ -0,0 +1,102 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GovernanceCalldataEncoderTest {
+
+    private static final String WALLET_A = "0x2c7536E3605D9C16a7a3D7b1898e529396a65c23";
+    private static final String WALLET_B = "0x00000000000000000000000000000000000000bb";
+    private static final BigInteger TOKENS = new BigInteger("1000000000000000000000"); // 1000 * 10^18
+
+    @Test
+    void vote_ShouldMatchFunctionEncoder() {
+        // Given
+        String expected = FunctionEncoder.encode(new Function(
+            "vote",
+            Arrays.asList(new Uint256(BigInteger.valueOf(42)), new Bool(true)),
+            Collections.emptyList()));
+
+        // When / Then
+        assertThat(GovernanceCalldataEncoder.vote(42, true)).isEqualTo(expected);
+    }
+
+    @Test
+    void mintForExchange_WithKoreanReason_ShouldMatchFunctionEncoder() {
+        // Given
+        String reason = "포인트 교환 - exchange of 1000 points";
+        String expected = FunctionEncoder.encode(new Function(
+            "mintForExchange",
+            Arrays.asList(new Address(WALLET_A), new Uint256(TOKENS), new Utf8String(reason)),
+            Collections.emptyList()));
+
+        // When / Then
+        assertThat(GovernanceCalldataEncoder.mintForExchange(WALLET_A, TOKENS, reason)).isEqualTo(expected);
+    }
+
+    @Test
+    void batchMint_ShouldMatchFunctionEncoder() {
+        // Given
+        List<String> recipients = List.of(WALLET_A, WALLET_B);
+        List<BigInteger> amounts = List.of(TOKENS, BigInteger.TEN);
+        String expected = FunctionEncoder.encode(new Function(
+            "batchMint",
+            Arrays.asList(
+                new DynamicArray<>(Address.class, recipients.stream().map(Address::new).toList()),
+                new DynamicArray<>(Uint256.class, amounts.stream().map(Uint256::new).toList()),
+                new Utf8String("batch exchange")),
+            Collections.emptyList()));
+
+        // When / Then
+        assertThat(GovernanceCalldataEncoder.batchMint(recipients, amounts, "batch exchange")).isEqualTo(expected);
+    }
+
+    @Test
+    void createProposal_ShouldMatchFunctionEncoder() {
+        // Given - description longer than one word
+        String description = "예산 집행 안건: 커뮤니티 이벤트 보상 풀을 두 배로 늘립니다";
+        BigInteger deadline = BigInteger.valueOf(1_767_225_600L);
+        String expected = FunctionEncoder.encode(new Function(
+            "createProposal",
+            Arrays.asList(new Utf8String(description), new Uint256(deadline)),
+            Collections.singletonList(new TypeReference<Uint256>() {})));
+
+        // When / Then
+        assertThat(GovernanceCalldataEncoder.createProposal(description, deadline)).isEqualTo(expected);
+    }
+
+    @Test
+    void viewCalls_ShouldMatchFunctionEncoder() {
+        assertThat(GovernanceCalldataEncoder.getProposal(7)).isEqualTo(FunctionEncoder.encode(new Function(
+            "getProposal",
+            Collections.singletonList(new Uint256(BigInteger.valueOf(7))),
+            Collections.emptyList())));
+        assertThat(GovernanceCalldataEncoder.balanceOf(WALLET_A)).isEqualTo(FunctionEncoder.encode(new Function(
+            "balanceOf",
+            Collections.singletonList(new Address(WALLET_A)),
+            Collections.emptyList())));
+    }
+
+    @Test
+    void encode_WithInvalidInput_ShouldThrow() {
+        assertThatThrownBy(() -> GovernanceCalldataEncoder.balanceOf("0x1234"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GovernanceCalldataEncoder.mintForExchange(WALLET_A, BigInteger.ONE.negate(), "x"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,145 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import com.blooming.blockchain.springbackend.global.enums.GovernanceEventType;
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GovernanceEventDecoderTest {
+
+    private static final String TOKEN = "0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e";
+    private static final String PROPOSER = "0x2c7536E3605D9C16a7a3D7b1898e529396a65c23";
+    private static final String TRANSFER_TOPIC = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+
+    @Test
+    void topics_ShouldMatchEventEncoder() {
+        assertThat(GovernanceEventDecoder.topic(GovernanceEventType.PROPOSAL_CREATED)).isEqualTo(EventEncoder.encode(
+            new Event("ProposalCreated", Arrays.asList(
+                new TypeReference<Uint256>(true) {},
+                new TypeReference<Address>(true) {},
+                new TypeReference<Utf8String>() {},
+                new TypeReference<Uint256>() {}))));
+        assertThat(GovernanceEventDecoder.topic(GovernanceEventType.TOKENS_MINTED)).isEqualTo(EventEncoder.encode(
+            new Event("TokensMinted", Arrays.asList(
+                new TypeReference<Address>(true) {},
+                new TypeReference<Uint256>() {},
+                new TypeReference<Utf8String>() {}))));
+        assertThat(GovernanceEventDecoder.topics()).hasSize(4);
+    }
+
+    @Test
+    void decode_ProposalCreated_WithKoreanDescription() {
+        // Given
+        String description = "예산 집행 안건: 커뮤니티 이벤트 보상 풀을 두 배로 늘립니다";
+        Log logEntry = log(TOKEN, List.of(
+                GovernanceEventDecoder.topic(GovernanceEventType.PROPOSAL_CREATED),
+                word(BigInteger.valueOf(12)),
+                word(Numeric.toBigInt(PROPOSER))),
+            FunctionEncoder.encodeConstructor(Arrays.asList(
+                new Utf8String(description), new Uint256(1_767_225_600L))));
+
+        // When
+        GovernanceEventDecoder.DecodedEvent event = GovernanceEventDecoder.decode(logEntry);
+
+        // Then
+        assertThat(event.type()).isEqualTo(GovernanceEventType.PROPOSAL_CREATED);
+        assertThat(event.proposalId()).isEqualTo(12);
+        assertThat(event.account()).isEqualTo(PROPOSER.toLowerCase());
+        assertThat(event.text()).isEqualTo(description);
+        assertThat(event.deadline()).isEqualTo(1_767_225_600L);
+    }
+
+    @Test
+    void decode_TokensMinted_WithAmountAbove64Bits() {
+        // Given - 1000 tokens in wei does not fit in a long
+        BigInteger amount = new BigInteger("1000000000000000000000");
+        Log logEntry = log(TOKEN, List.of(
+                GovernanceEventDecoder.topic(GovernanceEventType.TOKENS_MINTED),
+                word(Numeric.toBigInt(PROPOSER))),
+            FunctionEncoder.encodeConstructor(Arrays.asList(
+                new Uint256(amount), new Utf8String("포인트 교환"))));
+
+        // When
+        GovernanceEventDecoder.DecodedEvent event = GovernanceEventDecoder.decode(logEntry);
+
+        // Then
+        assertThat(event.proposalId()).isEqualTo(GovernanceEventDecoder.NO_PROPOSAL_ID);
+        assertThat(event.amount()).isEqualTo(amount);
+        assertThat(event.text()).isEqualTo("포인트 교환");
+    }
+
+    @Test
+    void findFirst_ShouldSkipForeignTopicsAndContracts() {
+        // Given - Transfer from the token, VoteCast from another contract, then the real VoteCast
+        String voteTopic = GovernanceEventDecoder.topic(GovernanceEventType.VOTE_CAST);
+        String voteData = FunctionEncoder.encodeConstructor(Arrays.asList(
+            new Bool(false), new Uint256(BigInteger.TEN.pow(18))));
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setLogs(List.of(
+            log(TOKEN, List.of(TRANSFER_TOPIC, word(BigInteger.ZERO), word(BigInteger.ONE)), "0x"),
+            log("0x00000000000000000000000000000000000000ff",
+                List.of(voteTopic, word(BigInteger.ONE), word(BigInteger.ONE)), voteData),
+            log(TOKEN.toLowerCase(),
+                List.of(voteTopic, word(BigInteger.valueOf(3)), word(Numeric.toBigInt(PROPOSER))), voteData)));
+
+        // When
+        GovernanceEventDecoder.DecodedEvent vote =
+            GovernanceEventDecoder.findFirst(receipt, GovernanceEventType.VOTE_CAST, TOKEN);
+
+        // Then
+        assertThat(vote.proposalId()).isEqualTo(3);
+        assertThat(vote.support()).isFalse();
+        assertThat(vote.amount()).isEqualTo(BigInteger.TEN.pow(18));
+        assertThat(GovernanceEventDecoder.findFirst(receipt, GovernanceEventType.PROPOSAL_CREATED, TOKEN)).isNull();
+    }
+
+    @Test
+    void decode_UnknownOrMalformed() {
+        // Unknown topic
+        assertThat(GovernanceEventDecoder.decode(log(TOKEN, List.of(TRANSFER_TOPIC), "0x"))).isNull();
+
+        // Truncated data
+        Log truncated = log(TOKEN, List.of(
+                GovernanceEventDecoder.topic(GovernanceEventType.VOTE_CAST),
+                word(BigInteger.ONE), word(BigInteger.ONE)),
+            "0x" + "0".repeat(64));
+        assertThatThrownBy(() -> GovernanceEventDecoder.decode(truncated))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        // Proposal id above Long.MAX_VALUE
+        Log overflow = log(TOKEN, List.of(
+                GovernanceEventDecoder.topic(GovernanceEventType.PROPOSAL_EXECUTED),
+                word(BigInteger.ONE.shiftLeft(64))),
+            "0x");
+        assertThatThrownBy(() -> GovernanceEventDecoder.decode(overflow))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String word(BigInteger value) {
+        return Numeric.toHexStringWithPrefixZeroPadded(value, 64);
+    }
+
+    private static Log log(String address, List<String> topics, String data) {
+        Log logEntry = new Log();
+        logEntry.setAddress(address);
+        logEntry.setTopics(topics);
+        logEntry.setData(data.startsWith("0x") ? data : "0x" + data);
+        return logEntry;
+    }
+}
@@ -0,0 +1,53 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RpcEndpointTest {
+
+    @Test
+    void recordFailure_AtThreshold_ShouldOpenCircuitAndProbeBackIn() throws Exception {
+        // Given
+        RpcEndpoint endpoint = new RpcEndpoint("https://rpc.example.org", 3, 20);
+
+        // When
+        endpoint.recordFailure();
+        endpoint.recordFailure();
+        assertThat(endpoint.getState()).isEqualTo(RpcEndpoint.State.CLOSED);
+        endpoint.recordFailure();
+
+        // Then - ejected until the open period passes
+        assertThat(endpoint.getState()).isEqualTo(RpcEndpoint.State.OPEN);
+        assertThat(endpoint.tryAcquire()).isFalse();
+        assertThat(endpoint.getEjections()).isEqualTo(1);
+
+        Thread.sleep(30);
+
+        // Then - one probe at a time, success closes the circuit
+        assertThat(endpoint.tryAcquire()).isTrue();
+        assertThat(endpoint.getState()).isEqualTo(RpcEndpoint.State.HALF_OPEN);
+        assertThat(endpoint.tryAcquire()).isFalse();
+        endpoint.recordSuccess(40);
+        assertThat(endpoint.getState()).isEqualTo(RpcEndpoint.State.CLOSED);
+        assertThat(endpoint.tryAcquire()).isTrue();
+        assertThat(endpoint.getName()).isEqualTo("rpc.example.org");
+    }
+
+    @Test
+    void latencyPercentileMillis_ShouldNeedEnoughSamples() {
+        // Given
+        RpcEndpoint endpoint = new RpcEndpoint("https://rpc.example.org", 3, 1000);
+
+        // When
+        for (int i = 1; i <= 19; i++) {
+            endpoint.recordSuccess(i * 10L);
+        }
+        long beforeEnough = endpoint.latencyPercentileMillis(95);
+        endpoint.recordSuccess(200);
+
+        // Then
+        assertThat(beforeEnough).isEqualTo(-1);
+        assertThat(endpoint.latencyPercentileMillis(95)).isEqualTo(190);
+    }
+}
@@ -0,0 +1,85 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import com.blooming.blockchain.springbackend.global.enums.RpcPriorityType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RpcRateLimiterTest {
+
+    @Test
+    void acquire_WhenBucketEmptyAndLaneFull_ShouldFailFast() throws Exception {
+        // Given
+        RpcRateLimiter limiter = new RpcRateLimiter(1, 2, 0, 5_000, new SimpleMeterRegistry());
+        limiter.acquire(RpcPriorityType.USER_READ, 1);
+        limiter.acquire(RpcPriorityType.USER_READ, 1);
+
+        // When / Then
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> limiter.acquire(RpcPriorityType.USER_READ, 1))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("queue full");
+        assertThat(System.nanoTime() - startedAt).isLessThan(1_000_000_000L);
+    }
+
+    @Test
+    void acquire_ShouldServeUserRequestsBeforeQueuedBackgroundJobs() throws Exception {
+        // Given - one token every 500 ms, bucket drained
+        RpcRateLimiter limiter = new RpcRateLimiter(2, 1, 10, 5_000, new SimpleMeterRegistry());
+        limiter.acquire(RpcPriorityType.USER_READ, 1);
+        List<RpcPriorityType> served = new CopyOnWriteArrayList<>();
+
+        // When - the background job queues first
+        CompletableFuture<Void> background = acquireAsync(limiter, RpcPriorityType.BACKGROUND, served);
+        awaitQueued(limiter, RpcPriorityType.BACKGROUND);
+        CompletableFuture<Void> user = acquireAsync(limiter, RpcPriorityType.USER_READ, served);
+        CompletableFuture.allOf(background, user).join();
+
+        // Then
+        assertThat(served).containsExactly(RpcPriorityType.USER_READ, RpcPriorityType.BACKGROUND);
+    }
+
+    @Test
+    void wrap_ShouldCarryPriorityToAnotherThread() throws Exception {
+        // Given
+        AtomicReference<Runnable> wrapped = new AtomicReference<>();
+        AtomicReference<RpcPriorityType> seen = new AtomicReference<>();
+        RpcRateLimiter.runWithPriority(RpcPriorityType.BACKGROUND,
+            () -> wrapped.set(RpcRateLimiter.wrap(() -> seen.set(RpcRateLimiter.currentPriority()))));
+
+        // When
+        Thread thread = new Thread(wrapped.get());
+        thread.start();
+        thread.join();
+
+        // Then
+        assertThat(seen.get()).isEqualTo(RpcPriorityType.BACKGROUND);
+        assertThat(RpcRateLimiter.currentPriority()).isNull();
+    }
+
+    private static CompletableFuture<Void> acquireAsync(RpcRateLimiter limiter, RpcPriorityType priority,
+                                                        List<RpcPriorityType> served) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                limiter.acquire(priority, 1);
+                served.add(priority);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void awaitQueued(RpcRateLimiter limiter, RpcPriorityType priority) throws InterruptedException {
+        for (int i = 0; i < 100 && limiter.getQueuedCount(priority) == 0; i++) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.Sign;
+import org.web3j.rlp.RlpDecoder;
+import org.web3j.rlp.RlpList;
+import org.web3j.rlp.RlpString;
+import org.web3j.rlp.RlpType;
+import org.web3j.utils.Numeric;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ZkSyncEip712SignerTest {
+
+    private static final String TRANSACTION_TYPE =
+        "Transaction(uint256 txType,uint256 from,uint256 to,uint256 gasLimit,uint256 gasPerPubdataByteLimit,"
+            + "uint256 maxFeePerGas,uint256 maxPriorityFeePerGas,uint256 paymaster,uint256 nonce,uint256 value,"
+            + "bytes data,bytes32[] factoryDeps,bytes paymasterInput)";
+    private static final String TOKEN = "0x21341E1672ee0A7ddADB5D7BFF72F93C8E81EF3e";
+    private static final String PAYMASTER = "0x00000000000000000000000000000000000000cc";
+    private static final Credentials CREDENTIALS =
+        Credentials.create("0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318");
+
+    private final ZkSyncEip712Signer signer = new ZkSyncEip712Signer(300);
+
+    @Test
+    void signingHash_ShouldMatchManualEip712Encoding() {
+        // Given
+        ZkSyncEip712Signer.Transaction transaction = voteTransaction();
+        assertThat(Hash.sha3String(TRANSACTION_TYPE))
+            .isEqualTo("0x848e1bfa1ac4e3576b728bda6721b215c70a7799a5b4866282a71bab954baac8");
+
+        byte[] domainSeparator = Hash.sha3(concat(
+            Hash.sha3("EIP712Domain(string name,string version,uint256 chainId)".getBytes(StandardCharsets.UTF_8)),
+            Hash.sha3("zkSync".getBytes(StandardCharsets.UTF_8)),
+            Hash.sha3("2".getBytes(StandardCharsets.UTF_8)),
+            word(BigInteger.valueOf(300))));
+        byte[] structHash = Hash.sha3(concat(
+            Hash.sha3(TRANSACTION_TYPE.getBytes(StandardCharsets.UTF_8)),
+            word(BigInteger.valueOf(113)),
+            word(Numeric.toBigInt(CREDENTIALS.getAddress())),
+            word(Numeric.toBigInt(TOKEN)),
+            word(transaction.gasLimit()),
+            word(BigInteger.valueOf(50_000)),
+            word(transaction.maxFeePerGas()),
+            word(BigInteger.ZERO),
+            word(Numeric.toBigInt(PAYMASTER)),
+            word(transaction.nonce()),
+            word(BigInteger.ZERO),
+            Hash.sha3(Numeric.hexStringToByteArray(transaction.data())),
+            Hash.sha3(new byte[0]),
+            Hash.sha3(Numeric.hexStringToByteArray(ZkSyncEip712Signer.GENERAL_FLOW_INPUT))));
+        byte[] expected = Hash.sha3(concat(new byte[]{0x19, 0x01}, domainSeparator, structHash));
+
+        // When / Then
+        assertThat(signer.signingHash(transaction)).isEqualTo(expected);
+    }
+
+    @Test
+    void sign_ShouldProduceType113RlpWithRecoverableCustomSignature() throws Exception {
+        // Given
+        ZkSyncEip712Signer.Transaction transaction = voteTransaction();
+
+        // When
+        byte[] raw = Numeric.hexStringToByteArray(signer.sign(CREDENTIALS, transaction));
+
+        // Then
+        assertThat(raw[0]).isEqualTo((byte) 0x71);
+        RlpList decoded = RlpDecoder.decode(Arrays.copyOfRange(raw, 1, raw.length));
+        List<RlpType> fields = ((RlpList) decoded.getValues().get(0)).getValues();
+        assertThat(fields).hasSize(16);
+        assertThat(string(fields, 0).asPositiveBigInteger()).isEqualTo(transaction.nonce());
+        assertThat(string(fields, 1).getBytes()).isEmpty(); // maxPriorityFeePerGas = 0
+        assertThat(string(fields, 3).asPositiveBigInteger()).isEqualTo(transaction.gasLimit());
+        assertThat(string(fields, 4).asString()).isEqualToIgnoringCase(TOKEN);
+        assertThat(string(fields, 6).asString()).isEqualTo(transaction.data());
+        assertThat(string(fields, 7).asPositiveBigInteger()).isEqualTo(BigInteger.valueOf(300));
+        assertThat(string(fields, 10).asPositiveBigInteger()).isEqualTo(BigInteger.valueOf(300));
+        assertThat(string(fields, 11).asString()).isEqualTo(CREDENTIALS.getAddress());
+        assertThat(string(fields, 12).asPositiveBigInteger()).isEqualTo(BigInteger.valueOf(50_000));
+        assertThat(((RlpList) fields.get(13)).getValues()).isEmpty();
+
+        List<RlpType> paymasterParams = ((RlpList) fields.get(15)).getValues();
+        assertThat(((RlpString) paymasterParams.get(0)).asString()).isEqualTo(PAYMASTER);
+        assertThat(((RlpString) paymasterParams.get(1)).asString()).isEqualTo(ZkSyncEip712Signer.GENERAL_FLOW_INPUT);
+
+        byte[] customSignature = string(fields, 14).getBytes();
+        assertThat(customSignature).hasSize(65);
+        Sign.SignatureData signature = new Sign.SignatureData(
+            customSignature[64],
+            Arrays.copyOfRange(customSignature, 0, 32),
+            Arrays.copyOfRange(customSignature, 32, 64));
+        BigInteger publicKey = Sign.signedMessageHashToKey(signer.signingHash(transaction), signature);
+        assertThat("0x" + Keys.getAddress(publicKey)).isEqualTo(CREDENTIALS.getAddress());
+    }
+
+    @Test
+    void sign_WithoutPaymaster_ShouldEncodeEmptyPaymasterParams() {
+        // Given
+        ZkSyncEip712Signer.Transaction transaction = new ZkSyncEip712Signer.Transaction(
+            CREDENTIALS.getAddress(), TOKEN, BigInteger.ZERO, BigInteger.valueOf(21_000),
+            BigInteger.valueOf(25_000_000), BigInteger.ZERO, BigInteger.ONE, "0x",
+            ZkSyncEip712Signer.DEFAULT_GAS_PER_PUBDATA, null, null);
+
+        // When
+        byte[] raw = Numeric.hexStringToByteArray(signer.sign(CREDENTIALS, transaction));
+
+        // Then
+        RlpList decoded = RlpDecoder.decode(Arrays.copyOfRange(raw, 1, raw.length));
+        List<RlpType> fields = ((RlpList) decoded.getValues().get(0)).getValues();
+        assertThat(((RlpList) fields.get(15)).getValues()).isEmpty();
+    }
+
+    @Test
+    void sign_WithForeignSender_ShouldThrow() {
+        ZkSyncEip712Signer.Transaction transaction = new ZkSyncEip712Signer.Transaction(
+            PAYMASTER, TOKEN, BigInteger.ZERO, BigInteger.ONE, BigInteger.ONE, BigInteger.ZERO,
+            BigInteger.ZERO, "0x", ZkSyncEip712Signer.DEFAULT_GAS_PER_PUBDATA, null, null);
+
+        assertThatThrownBy(() -> signer.sign(CREDENTIALS, transaction))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ZkSyncEip712Signer.Transaction voteTransaction() {
+        return new ZkSyncEip712Signer.Transaction(
+            CREDENTIALS.getAddress(),
+            TOKEN,
+            BigInteger.valueOf(7),
+            BigInteger.valueOf(300_000),
+            BigInteger.valueOf(25_000_000),
+            BigInteger.ZERO,
+            BigInteger.ZERO,
+            GovernanceCalldataEncoder.vote(42, true),
+            ZkSyncEip712Signer.DEFAULT_GAS_PER_PUBDATA,
+            PAYMASTER,
+            ZkSyncEip712Signer.GENERAL_FLOW_INPUT);
+    }
+
+    private static RlpString string(List<RlpType> fields, int index) {
+        return (RlpString) fields.get(index);
+    }
+
+    private static byte[] word(BigInteger value) {
+        return Numeric.toBytesPadded(value, 32);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,217 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import com.blooming.blockchain.springbackend.global.enums.RpcPriorityType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ZkSyncHttpServiceTest {
+
+    private static final String PRIMARY = "primary.test";
+    private static final String SECONDARY = "secondary.test";
+    private static final long HEDGE_DELAY_MS = 50;
+
+    private final StubEndpoints stub = new StubEndpoints();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stub.answer(PRIMARY, "0x1");
+        stub.answer(SECONDARY, "0x2");
+    }
+
+    @Test
+    void sendRead_WhenFirstEndpointIsSlow_ShouldHedgeAfterTheDelayAndReturnTheFirstResponse() throws Exception {
+        // Given
+        stub.delay(PRIMARY, 1_000);
+        ZkSyncHttpService service = service(true, 5);
+
+        // When
+        long startedAt = System.nanoTime();
+        EthBlockNumber response = blockNumber(service);
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // Then - the secondary answered while the primary was still pending
+        assertThat(response.getBlockNumber()).isEqualTo(2);
+        assertThat(elapsedMs).isLessThan(1_000);
+        assertThat(stub.hits()).containsExactly(PRIMARY, SECONDARY);
+        assertThat(stub.sentAt(SECONDARY) - stub.sentAt(PRIMARY)).isGreaterThanOrEqualTo((HEDGE_DELAY_MS - 10) * 1_000_000);
+        assertThat(meterRegistry.get("zksync.rpc.requests.hedged").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void sendRead_WhenFirstEndpointAnswersWithinTheDelay_ShouldNotHedge() throws Exception {
+        // Given
+        ZkSyncHttpService service = service(true, 5);
+
+        // When
+        EthBlockNumber response = blockNumber(service);
+
+        // Then
+        assertThat(response.getBlockNumber()).isEqualTo(1);
+        assertThat(stub.hits()).containsExactly(PRIMARY);
+        assertThat(meterRegistry.get("zksync.rpc.requests.hedged").counter().count()).isZero();
+    }
+
+    @Test
+    void sendRead_WhenBreakerIsOpen_ShouldSkipToTheNextEndpoint() throws Exception {
+        // Given - one failure opens the primary's circuit
+        ZkSyncHttpService service = service(true, 1);
+        service.getEndpoints().get(0).recordFailure();
+
+        // When
+        EthBlockNumber response = blockNumber(service);
+
+        // Then
+        assertThat(response.getBlockNumber()).isEqualTo(2);
+        assertThat(stub.hits()).containsExactly(SECONDARY);
+    }
+
+    @Test
+    void sendToPrimary_WhenPrimaryIsSlow_ShouldNotHedgeTheWrite() throws Exception {
+        // Given
+        stub.delay(PRIMARY, 200);
+        ZkSyncHttpService service = service(true, 5);
+
+        // When
+        EthSendTransaction response = sendRawTransaction(service);
+
+        // Then
+        assertThat(response.getTransactionHash()).isEqualTo("0x1");
+        assertThat(stub.hits()).containsExactly(PRIMARY);
+    }
+
+    @Test
+    void sendToPrimary_WhenPrimaryFails_ShouldNotRetryTheWriteElsewhere() {
+        // Given
+        stub.status(PRIMARY, 503);
+        ZkSyncHttpService service = service(true, 5);
+
+        // When / Then
+        assertThatThrownBy(() -> sendRawTransaction(service))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("HTTP 503");
+        assertThat(stub.hits()).containsExactly(PRIMARY);
+    }
+
+    @Test
+    void send_ShouldTagTheRequestTimerWithTheCallerAndPriorityLane() throws Exception {
+        // Given
+        ZkSyncHttpService service = service(false, 5);
+
+        // When - one call on behalf of a named background job, one with no context
+        RpcRateLimiter.runWithPriority(RpcPriorityType.BACKGROUND, "ChainHeadMonitor", () -> {
+            try {
+                blockNumber(service);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        blockNumber(service);
+
+        // Then
+        assertThat(meterRegistry.get("zksync.rpc.requests")
+            .tags("method", "eth_blockNumber", "priority", "background", "caller", "ChainHeadMonitor")
+            .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("zksync.rpc.requests")
+            .tags("method", "eth_blockNumber", "caller", "unset")
+            .timer().count()).isEqualTo(1);
+        assertThat(RpcRateLimiter.currentCaller()).isNull();
+    }
+
+    private ZkSyncHttpService service(boolean hedgeEnabled, int failureThreshold) {
+        OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(stub).build();
+        return new ZkSyncHttpService(
+            List.of("http://" + PRIMARY + "/", "http://" + SECONDARY + "/"),
+            httpClient,
+            new ZkSyncHttpService.Routing(hedgeEnabled, HEDGE_DELAY_MS, HEDGE_DELAY_MS, failureThreshold, 60_000),
+            new RpcRateLimiter(0, 1, 10, 1_000, meterRegistry),
+            8,
+            1_000,
+            meterRegistry);
+    }
+
+    private static EthBlockNumber blockNumber(ZkSyncHttpService service) throws IOException {
+        return new Request<>("eth_blockNumber", List.of(), service, EthBlockNumber.class).send();
+    }
+
+    private static EthSendTransaction sendRawTransaction(ZkSyncHttpService service) throws IOException {
+        return new Request<>("eth_sendRawTransaction", List.of("0xf86c"), service, EthSendTransaction.class).send();
+    }
+
+    /**
+     * Answers every JSON-RPC call in-process, per host, with a fixed result, delay or HTTP status
+     */
+    private static class StubEndpoints implements Interceptor {
+
+        private static final MediaType JSON = MediaType.parse("application/json");
+
+        private final Map<String, String> results = new ConcurrentHashMap<>();
+        private final Map<String, Long> delays = new ConcurrentHashMap<>();
+        private final Map<String, Integer> statuses = new ConcurrentHashMap<>();
+        private final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+        private final List<String> hits = new CopyOnWriteArrayList<>();
+
+        void answer(String host, String result) {
+            results.put(host, result);
+        }
+
+        void delay(String host, long millis) {
+            delays.put(host, millis);
+        }
+
+        void status(String host, int code) {
+            statuses.put(host, code);
+        }
+
+        List<String> hits() {
+            return hits;
+        }
+
+        long sentAt(String host) {
+            return sentAt.get(host);
+        }
+
+        @Override
+        public okhttp3.Response intercept(Chain chain) throws IOException {
+            String host = chain.request().url().host();
+            sentAt.putIfAbsent(host, System.nanoTime());
+            hits.add(host);
+            try {
+                Thread.sleep(delays.getOrDefault(host, 0L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Stub endpoint interrupted");
+            }
+            int code = statuses.getOrDefault(host, 200);
+            String body = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"" + results.get(host) + "\"}";
+            return new okhttp3.Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message(code == 200 ? "OK" : "Error")
+                .body(ResponseBody.create(body, JSON))
+                .build();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.blooming.blockchain.springbackend.zksync.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ZkSyncRpcBatcherTest {
+
+    private static final String ADDRESS_A = "0x1111111111111111111111111111111111111111";
+    private static final String ADDRESS_B = "0x2222222222222222222222222222222222222222";
+    private static final String ADDRESS_C = "0x3333333333333333333333333333333333333333";
+
+    @Mock
+    private ChainGateway chainGateway;
+
+    private Web3j web3j;
+    private ZkSyncRpcBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        web3j = Web3j.build(chainGateway);
+        batcher = new ZkSyncRpcBatcher(web3j, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        // The count threshold flushes - the window never elapses during a test
+        ReflectionTestUtils.setField(batcher, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(batcher, "maxBatchSize", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void submit_ShouldSendOneBatchAndRouteResponsesById() throws Exception {
+        // Given - the node answers out of order
+        when(chainGateway.sendBatch(any())).thenAnswer(invocation -> {
+            List<Request<?, ? extends Response<?>>> requests = invocation.<BatchRequest>getArgument(0).getRequests();
+            List<Response<?>> responses = new ArrayList<>();
+            for (int i = requests.size() - 1; i >= 0; i--) {
+                responses.add(balance(requests.get(i).getId(), i + 1));
+            }
+            return new BatchResponse(requests, responses);
+        });
+
+        // When
+        CompletableFuture<EthGetBalance> a = batcher.submit(getBalance(ADDRESS_A));
+        CompletableFuture<EthGetBalance> b = batcher.submit(getBalance(ADDRESS_B));
+        CompletableFuture<EthGetBalance> c = batcher.submit(getBalance(ADDRESS_C));
+
+        // Then
+        assertThat(a).succeedsWithin(Duration.ofSeconds(5)).extracting(EthGetBalance::getBalance).isEqualTo(BigInteger.ONE);
+        assertThat(b).succeedsWithin(Duration.ofSeconds(5)).extracting(EthGetBalance::getBalance).isEqualTo(BigInteger.TWO);
+        assertThat(c).succeedsWithin(Duration.ofSeconds(5)).extracting(EthGetBalance::getBalance).isEqualTo(BigInteger.valueOf(3));
+        verify(chainGateway, times(1)).sendBatch(any());
+        verify(chainGateway, never()).send(any(), any());
+    }
+
+    @Test
+    void submit_WhenResponseIsMissing_ShouldFailOnlyThatCall() throws Exception {
+        // Given - the node drops the middle response and shifts the last one into its slot
+        when(chainGateway.sendBatch(any())).thenAnswer(invocation -> {
+            List<Request<?, ? extends Response<?>>> requests = invocation.<BatchRequest>getArgument(0).getRequests();
+            List<Response<?>> responses = List.of(
+                balance(requests.get(0).getId(), 1),
+                balance(requests.get(2).getId(), 3));
+            return new BatchResponse(requests, responses);
+        });
+
+        // When
+        CompletableFuture<EthGetBalance> a = batcher.submit(getBalance(ADDRESS_A));
+        CompletableFuture<EthGetBalance> b = batcher.submit(getBalance(ADDRESS_B));
+        CompletableFuture<EthGetBalance> c = batcher.submit(getBalance(ADDRESS_C));
+
+        // Then
+        assertThat(a).succeedsWithin(Duration.ofSeconds(5)).extracting(EthGetBalance::getBalance).isEqualTo(BigInteger.ONE);
+        assertThat(c).succeedsWithin(Duration.ofSeconds(5)).extracting(EthGetBalance::getBalance).isEqualTo(BigInteger.valueOf(3));
+        assertThatThrownBy(() -> b.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("No response in batch");
+    }
+
+    @Test
+    void submit_WhenBatchFails_ShouldFailEveryCall() throws Exception {
+        // Given
+        when(chainGateway.sendBatch(any())).thenThrow(new IOException("connection reset"));
+
+        // When
+        CompletableFuture<EthGetBalance> a = batcher.submit(getBalance(ADDRESS_A));
+        CompletableFuture<EthGetBalance> b = batcher.submit(getBalance(ADDRESS_B));
+        CompletableFuture<EthGetBalance> c = batcher.submit(getBalance(ADDRESS_C));
+
+        // Then
+        for (CompletableFuture<EthGetBalance> future : List.of(a, b, c)) {
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void submit_WhenMethodIsNotBatchable_ShouldSendDirectly() throws Exception {
+        // Given
+        Request<?, EthBlockNumber> request = web3j.ethBlockNumber();
+        EthBlockNumber response = new EthBlockNumber();
+        response.setResult("0x10");
+        when(chainGateway.send(request, EthBlockNumber.class)).thenReturn(response);
+
+        // When
+        CompletableFuture<EthBlockNumber> result = batcher.submit(request);
+
+        // Then
+        assertThat(result).succeedsWithin(Duration.ofSeconds(5)).isSameAs(response);
+        verify(chainGateway, never()).sendBatch(any());
+    }
+
+    private Request<?, EthGetBalance> getBalance(String address) {
+        return web3j.ethGetBalance(address, DefaultBlockParameterName.LATEST);
+    }
+
+    private static EthGetBalance balance(long id, long wei) {
+        EthGetBalance response = new EthGetBalance();
+        response.setId(id);
+        response.setResult("0x" + Long.toHexString(wei));
+        return response;
+    }
+}